@@ -0,0 +1,9 @@
+plugins {
+    id("cmds.base-conventions")
+    id("cmds.library-conventions")
+}
+
+dependencies {
+    // Only the annotation and descriptor types are used, the processor never runs command code
+    implementation(project(":triumph-cmd-core"))
+}
@@ -0,0 +1,354 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.processor;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.annotation.Async;
+import dev.triumphteam.cmd.core.annotation.Command;
+import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.annotation.Flag;
+import dev.triumphteam.cmd.core.annotation.Join;
+import dev.triumphteam.cmd.core.annotation.Requirement;
+import dev.triumphteam.cmd.core.annotation.SubCommand;
+import dev.triumphteam.cmd.core.argument.named.Arguments;
+import dev.triumphteam.cmd.core.flag.Flags;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a {@link dev.triumphteam.cmd.core.descriptor.CommandDescriptor} for every command class at compile time.
+ * The descriptor lists the sub command methods with their names, alias and async marker, and a direct call invoker,
+ * so registration doesn't need to scan every method reflectively. Flags, suggestions and requirements are only
+ * validated, they depend on registries that only exist at runtime, so the processors still read them from the method.
+ * Mistakes the command processors would only find when registering are reported as compile errors instead.
+ */
+public final class CommandDescriptorProcessor extends AbstractProcessor {
+
+    private Types types;
+    private Elements elements;
+    private Messager messager;
+
+    private TypeMirror baseCommandType;
+    private TypeMirror listType;
+    private TypeMirror setType;
+    private TypeMirror stringType;
+    private TypeMirror flagsType;
+    private TypeMirror argumentsType;
+
+    @Override
+    public synchronized void init(@NotNull final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.types = processingEnv.getTypeUtils();
+        this.elements = processingEnv.getElementUtils();
+        this.messager = processingEnv.getMessager();
+
+        this.baseCommandType = erasure(BaseCommand.class);
+        this.listType = erasure(List.class);
+        this.setType = erasure(Set.class);
+        this.stringType = erasure(String.class);
+        this.flagsType = erasure(Flags.class);
+        this.argumentsType = erasure(Arguments.class);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(
+                Command.class.getCanonicalName(),
+                SubCommand.class.getCanonicalName(),
+                Default.class.getCanonicalName()
+        ));
+    }
+
+    @NotNull
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(@NotNull final Set<? extends TypeElement> annotations, @NotNull final RoundEnvironment roundEnv) {
+        final Set<TypeElement> commands = new LinkedHashSet<>();
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(Command.class)) {
+            if (element instanceof TypeElement) commands.add((TypeElement) element);
+        }
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(SubCommand.class)) {
+            commands.add((TypeElement) element.getEnclosingElement());
+        }
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(Default.class)) {
+            commands.add((TypeElement) element.getEnclosingElement());
+        }
+
+        for (final TypeElement command : commands) {
+            processCommand(command);
+        }
+
+        // Other processors can still see the annotations
+        return false;
+    }
+
+    /**
+     * Validates the command class and writes its descriptor.
+     *
+     * @param command The command class.
+     */
+    private void processCommand(@NotNull final TypeElement command) {
+        if (command.getKind() != ElementKind.CLASS || !types.isAssignable(types.erasure(command.asType()), baseCommandType)) {
+            error(command, "Commands must be classes extending \"" + BaseCommand.class.getSimpleName() + "\"");
+            return;
+        }
+
+        final Command commandAnnotation = command.getAnnotation(Command.class);
+        if (commandAnnotation != null && commandAnnotation.value().isEmpty()) {
+            error(command, "Command name must not be empty");
+            return;
+        }
+
+        final List<SubCommandModel> subCommands = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        boolean valid = true;
+
+        for (final ExecutableElement method : ElementFilter.methodsIn(command.getEnclosedElements())) {
+            if (method.getAnnotation(SubCommand.class) == null && method.getAnnotation(Default.class) == null) continue;
+
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                warning(method, "Private sub command methods are ignored");
+                continue;
+            }
+
+            final SubCommandModel subCommand = processSubCommand(method);
+            if (subCommand == null) {
+                valid = false;
+                continue;
+            }
+
+            if (!names.add(subCommand.name)) {
+                warning(method, "Duplicated sub command \"" + subCommand.name + "\", only the first one will be registered");
+            }
+
+            subCommands.add(subCommand);
+        }
+
+        // Errors were already reported, or the class can't be referenced from generated code
+        if (!valid || !isAccessible(command)) return;
+
+        final String descriptorName = DescriptorWriter.getDescriptorName(command, elements);
+        try (final Writer writer = processingEnv.getFiler().createSourceFile(descriptorName, command).openWriter()) {
+            writer.write(new DescriptorWriter(command, commandAnnotation, subCommands, elements).write());
+        } catch (final IOException exception) {
+            error(command, "Could not write the command descriptor: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Validates a sub command method, mirroring the checks the sub command processor does at registration.
+     *
+     * @param method The sub command method.
+     * @return The sub command data or null if it is invalid.
+     */
+    @Nullable
+    private SubCommandModel processSubCommand(@NotNull final ExecutableElement method) {
+        final Default defaultAnnotation = method.getAnnotation(Default.class);
+        final SubCommand subCommandAnnotation = method.getAnnotation(SubCommand.class);
+
+        final boolean isDefault = defaultAnnotation != null;
+        final String name = isDefault ? Default.DEFAULT_CMD_NAME : subCommandAnnotation.value().toLowerCase();
+        final String[] alias = isDefault ? defaultAnnotation.alias() : subCommandAnnotation.alias();
+
+        if (!isDefault && name.isEmpty()) {
+            error(method, "@" + SubCommand.class.getSimpleName() + " name must not be empty");
+            return null;
+        }
+
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.isEmpty()) {
+            error(method, "Sub command must have the sender as its first parameter");
+            return null;
+        }
+
+        boolean valid = true;
+        for (int i = 1; i < parameters.size() - 1; i++) {
+            if (isLimitless(parameters.get(i))) {
+                error(parameters.get(i), "Limitless argument is only allowed as the last argument");
+                valid = false;
+            }
+        }
+
+        final SubCommandModel model = new SubCommandModel(method, name, isDefault, method.getAnnotation(Async.class) != null);
+        for (final String it : alias) model.alias.add(it.toLowerCase());
+
+        for (final Flag flag : method.getAnnotationsByType(Flag.class)) {
+            final String shortFlag = flag.flag().isEmpty() ? null : flag.flag();
+            final String longFlag = flag.longFlag().isEmpty() ? null : flag.longFlag();
+
+            if (shortFlag == null && longFlag == null) {
+                error(method, "@" + Flag.class.getSimpleName() + " must have either a flag or a long flag");
+                valid = false;
+                continue;
+            }
+
+            if (!isValidFlag(shortFlag)) {
+                error(method, "Illegal flag name \"" + shortFlag + "\"");
+                valid = false;
+            }
+
+            if (longFlag != null && longFlag.contains(" ")) {
+                error(method, "@" + Flag.class.getSimpleName() + "'s identifiers must not contain spaces");
+                valid = false;
+            }
+        }
+
+        for (final Requirement requirement : method.getAnnotationsByType(Requirement.class)) {
+            if (requirement.value().isEmpty()) {
+                error(method, "@" + Requirement.class.getSimpleName() + " key must not be empty");
+                valid = false;
+            }
+        }
+
+        return valid ? model : null;
+    }
+
+    /**
+     * Same rules as the command processors, collections, joined strings, flags and named arguments consume all leftover arguments.
+     *
+     * @param parameter The parameter to check.
+     * @return Whether the parameter is limitless.
+     */
+    private boolean isLimitless(@NotNull final VariableElement parameter) {
+        final TypeMirror type = types.erasure(parameter.asType());
+        if (types.isAssignable(type, listType) || types.isAssignable(type, setType)) return true;
+        if (types.isSameType(type, stringType) && parameter.getAnnotation(Join.class) != null) return true;
+        return types.isSameType(type, flagsType) || types.isSameType(type, argumentsType);
+    }
+
+    /**
+     * Same rules as the runtime flag validation.
+     *
+     * @param flag The short flag.
+     * @return Whether the flag is valid or null.
+     */
+    private boolean isValidFlag(@Nullable final String flag) {
+        if (flag == null) return true;
+
+        if (flag.length() == 1) {
+            final char character = flag.charAt(0);
+            return Character.isJavaIdentifierPart(character) || character == '?' || character == '@';
+        }
+
+        for (final char character : flag.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(character)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Only classes the generated code can reference get a descriptor, the others keep using reflection.
+     *
+     * @param command The command class.
+     * @return Whether the class can be referenced from its package.
+     */
+    private boolean isAccessible(@NotNull final TypeElement command) {
+        if (command.getModifiers().contains(Modifier.ABSTRACT)) return false;
+
+        TypeElement current = command;
+        while (true) {
+            final NestingKind nesting = current.getNestingKind();
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) return false;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                warning(command, "Private command classes can't have a generated descriptor");
+                return false;
+            }
+
+            if (nesting == NestingKind.TOP_LEVEL) return true;
+            current = (TypeElement) current.getEnclosingElement();
+        }
+    }
+
+    @NotNull
+    private TypeMirror erasure(@NotNull final Class<?> type) {
+        return types.erasure(elements.getTypeElement(type.getCanonicalName()).asType());
+    }
+
+    private void error(@NotNull final Element element, @NotNull final String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(@NotNull final Element element, @NotNull final String message) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    /**
+     * Validated sub command data, written by the {@link DescriptorWriter}.
+     */
+    static final class SubCommandModel {
+
+        final ExecutableElement method;
+        final String name;
+        final boolean isDefault;
+        final boolean isAsync;
+        final List<String> alias = new ArrayList<>();
+
+        private SubCommandModel(
+                @NotNull final ExecutableElement method,
+                @NotNull final String name,
+                final boolean isDefault,
+                final boolean isAsync
+        ) {
+            this.method = method;
+            this.name = name;
+            this.isDefault = isDefault;
+            this.isAsync = isAsync;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.processor;
+
+import dev.triumphteam.cmd.core.annotation.Command;
+import dev.triumphteam.cmd.core.descriptor.CommandDescriptor;
+import dev.triumphteam.cmd.core.descriptor.SubCommandDescriptor;
+import dev.triumphteam.cmd.processor.CommandDescriptorProcessor.SubCommandModel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.Elements;
+import java.util.List;
+
+/**
+ * Writes the source of a generated {@link CommandDescriptor}.
+ * Every type is written fully qualified, so the generated class never needs imports.
+ */
+final class DescriptorWriter {
+
+    private static final String INDENT = "    ";
+
+    private final TypeElement command;
+    private final Command commandAnnotation;
+    private final List<SubCommandModel> subCommands;
+    private final Elements elements;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    DescriptorWriter(
+            @NotNull final TypeElement command,
+            @Nullable final Command commandAnnotation,
+            @NotNull final List<SubCommandModel> subCommands,
+            @NotNull final Elements elements
+    ) {
+        this.command = command;
+        this.commandAnnotation = commandAnnotation;
+        this.subCommands = subCommands;
+        this.elements = elements;
+    }
+
+    /**
+     * Gets the name of the descriptor generated for a class, must match the runtime lookup.
+     * Nested classes are flattened, <code>a.b.Outer.Inner</code> becomes <code>a.b.Outer_Inner_CommandDescriptor</code>.
+     *
+     * @param command  The command class.
+     * @param elements The element utils.
+     * @return The qualified name of the descriptor.
+     */
+    @NotNull
+    static String getDescriptorName(@NotNull final TypeElement command, @NotNull final Elements elements) {
+        final String packageName = elements.getPackageOf(command).getQualifiedName().toString();
+        final String simpleName = getSimpleDescriptorName(command);
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    @NotNull
+    private static String getSimpleDescriptorName(@NotNull final TypeElement command) {
+        final StringBuilder name = new StringBuilder(command.getSimpleName());
+        Element enclosing = command.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.append(CommandDescriptor.SUFFIX).toString();
+    }
+
+    /**
+     * Writes the whole descriptor source.
+     *
+     * @return The Java source.
+     */
+    @NotNull
+    String write() {
+        final String packageName = elements.getPackageOf(command).getQualifiedName().toString();
+        final String simpleName = getSimpleDescriptorName(command);
+        final String commandType = command.getQualifiedName().toString();
+
+        if (!packageName.isEmpty()) line(0, "package " + packageName + ";").newLine();
+
+        line(0, "// Generated by triumph-cmd-annotation-processor, do not edit.");
+        line(0, "@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        line(0, "public final class " + simpleName + " extends " + CommandDescriptor.class.getName() + " {").newLine();
+        line(1, "public " + simpleName + "() {");
+        line(2, "super(");
+        line(3, commandType + ".class,");
+        line(3, (commandAnnotation == null ? "null" : literal(commandAnnotation.value())) + ",");
+        line(3, "java.util.Arrays.asList(" + literals(commandAnnotation == null ? new String[0] : commandAnnotation.alias()) + ")" + (subCommands.isEmpty() ? "" : ","));
+
+        for (int i = 0; i < subCommands.size(); i++) {
+            writeSubCommand(commandType, subCommands.get(i), i == subCommands.size() - 1);
+        }
+
+        line(2, ");");
+        line(1, "}");
+        line(0, "}");
+        return builder.toString();
+    }
+
+    private void writeSubCommand(@NotNull final String commandType, @NotNull final SubCommandModel subCommand, final boolean last) {
+        final List<? extends VariableElement> parameters = subCommand.method.getParameters();
+
+        final StringBuilder parameterTypes = new StringBuilder(literal(subCommand.method.getSimpleName().toString()));
+        for (final VariableElement parameter : parameters) {
+            parameterTypes.append(", ").append(erased(parameter.asType())).append(".class");
+        }
+
+        line(3, SubCommandDescriptor.class.getName() + ".builder(" + parameterTypes + ")");
+        if (subCommand.isDefault) line(5, ".asDefault()");
+        else line(5, ".name(" + literal(subCommand.name) + ")");
+        if (!subCommand.alias.isEmpty()) line(5, ".alias(" + literals(subCommand.alias.toArray(new String[0])) + ")");
+        if (subCommand.isAsync) line(5, ".async()");
+
+        // Direct call, casting each slot of the invoke array to the parameter type
+        final StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) arguments.append(", ");
+            arguments.append('(').append(erased(parameters.get(i).asType())).append(") arguments[").append(i).append(']');
+        }
+
+        final String target = subCommand.method.getModifiers().contains(Modifier.STATIC)
+                ? commandType
+                : "((" + commandType + ") command)";
+        line(5, ".invoker(command -> arguments -> " + target + "." + subCommand.method.getSimpleName() + "(" + arguments + "))");
+        line(5, ".build()" + (last ? "" : ","));
+    }
+
+    @NotNull
+    private String erased(@NotNull final TypeMirror type) {
+        final TypeKind kind = type.getKind();
+        if (kind.isPrimitive() || kind == TypeKind.VOID) return type.toString();
+        if (kind == TypeKind.ARRAY) return erased(((ArrayType) type).getComponentType()) + "[]";
+
+        final Element element = elementOf(type);
+        return element instanceof TypeElement ? ((TypeElement) element).getQualifiedName().toString() : Object.class.getName();
+    }
+
+    @Nullable
+    private Element elementOf(@NotNull final TypeMirror type) {
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return elementOf(((TypeVariable) type).getUpperBound());
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) return ((DeclaredType) type).asElement();
+        return null;
+    }
+
+    @NotNull
+    private DescriptorWriter line(final int indent, @NotNull final String line) {
+        for (int i = 0; i < indent; i++) builder.append(INDENT);
+        builder.append(line).append('\n');
+        return this;
+    }
+
+    private void newLine() {
+        builder.append('\n');
+    }
+
+    @NotNull
+    private static String literals(@NotNull final String @NotNull [] values) {
+        final StringBuilder joined = new StringBuilder();
+        for (final String value : values) {
+            if (joined.length() > 0) joined.append(", ");
+            joined.append(literal(value));
+        }
+
+        return joined.toString();
+    }
+
+    @NotNull
+    private static String literal(@Nullable final String value) {
+        if (value == null) return "null";
+
+        final StringBuilder literal = new StringBuilder("\"");
+        for (final char character : value.toCharArray()) {
+            switch (character) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) literal.append(String.format("\\u%04x", (int) character));
+                    else literal.append(character);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,33 @@
+plugins {
+    id("cmds.base-conventions")
+}
+
+repositories {
+    maven("https://m2.dv8tion.net/releases")
+}
+
+dependencies {
+    implementation(project(":triumph-cmd-core"))
+    implementation(testFixtures(project(":triumph-cmd-core")))
+    implementation(project(":triumph-cmd-jda-slash"))
+    implementation(libs.guava)
+
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator)
+}
+
+tasks {
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks with the GC profiler, use -Pjmh.includes=<regex> to filter them."
+
+        classpath = sourceSets["main"].runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+
+        // Allocation rate per stage is as important as the throughput
+        args("-prof", "gc", "-rf", "json", "-rff", "$buildDir/reports/jmh/results.json")
+        (project.findProperty("jmh.includes") as String?)?.let { args(it) }
+
+        doFirst { file("$buildDir/reports/jmh").mkdirs() }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.ExampleCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInPlatform;
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.benchmarks.platform.StandInSubCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argument collection for sub commands with 0, 3 and 8 arguments.
+ * {@code legacy} walks the argument list with instanceof checks into a growing list,
+ * {@code plan} fills the pre-sized invoke array from the compiled plan,
+ * and {@code execute} is the whole sub command execution using the plan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class ArgumentPlanBenchmark {
+
+    @Param({"0", "3", "8"})
+    private int arguments;
+
+    private StandInSender sender;
+    private StandInSubCommand subCommand;
+    private List<String> args;
+
+    @Setup
+    public void setup() {
+        final StandInPlatform platform = new StandInPlatform();
+        final StandInCommand command = platform.register(new ExampleCommand());
+        sender = new StandInSender("Notch");
+
+        final String name;
+        switch (arguments) {
+            case 0:
+                name = "none";
+                args = Arrays.asList();
+                break;
+            case 3:
+                name = "give";
+                args = Arrays.asList("Notch", "64", "diamond_sword");
+                break;
+            case 8:
+                name = "eight";
+                args = Arrays.asList("Notch", "64", "-4172144997902289642", "1.5", "true", "world_nether", "16", "diamond_sword");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported argument count " + arguments);
+        }
+
+        subCommand = Objects.requireNonNull(command.getSubCommand(name), name);
+        if (subCommand.getArgumentPlan().size() != arguments) {
+            throw new IllegalStateException("Sub command \"" + name + "\" does not have " + arguments + " arguments");
+        }
+    }
+
+    @Benchmark
+    public Object[] legacy() {
+        return LegacyArgumentCollector.collect(sender, subCommand.getArguments(), args);
+    }
+
+    @Benchmark
+    public Object[] plan() {
+        final Object[] invokeArguments = new Object[subCommand.getArgumentPlan().getInvokeSize()];
+        invokeArguments[0] = sender;
+        subCommand.resolve(sender, args, invokeArguments);
+        return invokeArguments;
+    }
+
+    @Benchmark
+    public int execute() {
+        subCommand.execute(sender, args);
+        return sender.getMessages();
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.StandInSyncClient;
+import dev.triumphteam.cmd.slash.sync.CommandSyncResult;
+import dev.triumphteam.cmd.slash.sync.CommandSynchronizer;
+import dev.triumphteam.cmd.slash.sync.SyncCommand;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronizing a restarted fleet of guilds whose commands didn't change, against {@link StandInSyncClient}.
+ * Before measuring, the setup checks that the synchronizer only sends what changed:
+ * nothing for unchanged scopes, upserts and deletes for changed ones, and privileges again after they failed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class CommandSyncBenchmark {
+
+    private static final long GUILD = 1L;
+
+    @Param({"1000"})
+    private int guilds;
+
+    private Path stateFile;
+    private StandInSyncClient client;
+    private CommandSynchronizer synchronizer;
+    private List<SyncCommand> commands;
+
+    @Setup
+    public void setup() throws IOException {
+        stateFile = Files.createTempFile("command-sync", ".properties");
+        Files.delete(stateFile);
+
+        check();
+
+        client = new StandInSyncClient();
+        commands = Arrays.asList(command("ping", "Pong", 10L), command("ban", "Bans someone", 20L));
+
+        // Fills the state file as a previous run would have
+        try (final CommandSynchronizer first = synchronizer(client)) {
+            syncAll(first);
+        }
+
+        synchronizer = synchronizer(client);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        synchronizer.close();
+        Files.deleteIfExists(stateFile);
+    }
+
+    @Benchmark
+    public Object syncUnchangedFleet() {
+        return syncAll(synchronizer);
+    }
+
+    @NotNull
+    private Object syncAll(@NotNull final CommandSynchronizer synchronizer) {
+        final List<CompletableFuture<CommandSyncResult>> results = new ArrayList<>(guilds);
+        for (long guild = 1; guild <= guilds; guild++) {
+            results.add(synchronizer.sync(guild, commands));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Runs a single guild through every kind of change, checking which requests were sent.
+     */
+    private void check() {
+        final StandInSyncClient client = new StandInSyncClient();
+        CommandSynchronizer synchronizer = synchronizer(client);
+
+        final SyncCommand ping = command("ping", "Pong", 10L);
+        final SyncCommand ban = command("ban", "Bans someone", 20L);
+
+        expect(synchronizer, Arrays.asList(ping, ban), CommandSyncResult.OVERWRITTEN);
+        expectRequests(client, 0, 0, 1, 1);
+
+        expect(synchronizer, Arrays.asList(ban, ping), CommandSyncResult.UNCHANGED);
+        expectRequests(client, 0, 0, 1, 1);
+
+        // One changed, one removed and one added
+        final SyncCommand kick = command("kick", "Kicks someone", 20L);
+        expect(synchronizer, Arrays.asList(command("ping", "Pong!", 10L), kick), CommandSyncResult.UPDATED);
+        expectRequests(client, 2, 1, 1, 2);
+
+        // Privileges that fail to reach Discord are sent again on the next synchronization
+        final List<SyncCommand> restricted = Arrays.asList(command("ping", "Pong!", 10L), command("kick", "Kicks someone", 30L));
+        client.setFailPrivileges(true);
+        try {
+            synchronizer.sync(GUILD, restricted).join();
+            throw new IllegalStateException("Failed privileges weren't reported");
+        } catch (final CompletionException ignored) {
+            // Expected
+        }
+        client.setFailPrivileges(false);
+        expect(synchronizer, restricted, CommandSyncResult.UPDATED);
+        expectRequests(client, 2, 1, 1, 4);
+
+        // A restart compares against the saved file and sends nothing
+        synchronizer.close();
+        synchronizer = synchronizer(client);
+        expect(synchronizer, restricted, CommandSyncResult.UNCHANGED);
+        expectRequests(client, 2, 1, 1, 4);
+        synchronizer.close();
+
+        try {
+            Files.deleteIfExists(stateFile);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @NotNull
+    private CommandSynchronizer synchronizer(@NotNull final StandInSyncClient client) {
+        return CommandSynchronizer.builder(client)
+                .stateFile(stateFile)
+                .batchSize(Integer.MAX_VALUE)
+                .interval(Duration.ofMillis(1))
+                .build();
+    }
+
+    private static void expect(
+            @NotNull final CommandSynchronizer synchronizer,
+            @NotNull final List<SyncCommand> commands,
+            @NotNull final CommandSyncResult expected
+    ) {
+        final CommandSyncResult result = synchronizer.sync(GUILD, commands).join();
+        if (result != expected) throw new IllegalStateException("Expected " + expected + " but got " + result);
+    }
+
+    private static void expectRequests(
+            @NotNull final StandInSyncClient client,
+            final int upserts,
+            final int deletes,
+            final int overwrites,
+            final int privilegeUpdates
+    ) {
+        final int[] expected = {upserts, deletes, overwrites, privilegeUpdates};
+        final int[] actual = {client.getUpserts(), client.getDeletes(), client.getOverwrites(), client.getPrivilegeUpdates()};
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Expected requests " + Arrays.toString(expected) + " but got " + Arrays.toString(actual));
+        }
+    }
+
+    @NotNull
+    private static SyncCommand command(@NotNull final String name, @NotNull final String description, final long role) {
+        return SyncCommand.of(
+                Commands.slash(name, description).addOption(OptionType.STRING, "target", "The target", true),
+                Collections.singletonList(new CommandPrivilege(CommandPrivilege.Type.ROLE, true, role))
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.ExampleCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInPlatform;
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.core.metrics.InMemoryCommandMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full dispatch, from the already split platform arguments to the invoked method.
+ * Runs with the default no-op metrics and with in memory metrics, to see what recording costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class DispatchBenchmark {
+
+    private static final String[] DEFAULT = {};
+    private static final String[] GIVE = {"give", "Notch", "64", "diamond_sword"};
+    private static final String[] GIVE_ALIAS = {"G", "Notch", "64", "DIAMOND_SWORD"};
+    private static final String[] JOIN = {"say", "hello", "there", "from", "the", "benchmarks"};
+    private static final String[] FLAGS = {"flags", "-s", "--reason=griefing", "-t", "30", "trailing"};
+    private static final String[] INVALID = {"give", "Notch", "many", "diamond_sword"};
+    private static final String[] UNKNOWN = {"unknown"};
+
+    @Param({"noop", "memory"})
+    private String metrics;
+
+    private StandInSender sender;
+    private ExampleCommand baseCommand;
+    private StandInCommand command;
+
+    @Setup
+    public void setup() {
+        final StandInPlatform platform = new StandInPlatform();
+        if (metrics.equals("memory")) platform.getRegistryContainer().setMetrics(new InMemoryCommandMetrics());
+        sender = new StandInSender("Notch");
+        baseCommand = new ExampleCommand();
+        command = platform.register(baseCommand);
+    }
+
+    @Benchmark
+    public Object defaultSubCommand() {
+        command.execute(sender, DEFAULT);
+        return baseCommand.getLast();
+    }
+
+    @Benchmark
+    public Object threeArguments() {
+        command.execute(sender, GIVE);
+        return baseCommand.getLast();
+    }
+
+    @Benchmark
+    public Object threeArgumentsAlias() {
+        command.execute(sender, GIVE_ALIAS);
+        return baseCommand.getLast();
+    }
+
+    @Benchmark
+    public Object joinedArgument() {
+        command.execute(sender, JOIN);
+        return baseCommand.getLast();
+    }
+
+    @Benchmark
+    public Object flags() {
+        command.execute(sender, FLAGS);
+        return baseCommand.getLast();
+    }
+
+    @Benchmark
+    public int invalidArgument() {
+        command.execute(sender, INVALID);
+        return sender.getMessages();
+    }
+
+    @Benchmark
+    public int unknownSubCommand() {
+        command.execute(sender, UNKNOWN);
+        return sender.getMessages();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.core.argument.ResolverInternalArgument;
+import dev.triumphteam.cmd.core.flag.Flags;
+import dev.triumphteam.cmd.core.flag.internal.FlagGroup;
+import dev.triumphteam.cmd.core.flag.internal.FlagOptions;
+import dev.triumphteam.cmd.core.flag.internal.FlagParser;
+import dev.triumphteam.cmd.core.flag.internal.LegacyFlagParser;
+import dev.triumphteam.cmd.core.suggestion.EmptySuggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class FlagParserBenchmark {
+
+    private static final List<String> NO_FLAGS = Arrays.asList("just", "some", "regular", "arguments");
+    private static final List<String> SHORT_FLAGS = Arrays.asList("-s", "-r", "griefing", "-t", "30", "trailing");
+    private static final List<String> LONG_FLAGS = Arrays.asList("--silent", "--reason=griefing", "--time=30", "trailing");
+    private static final List<String> MIXED = Arrays.asList("first", "-s", "\\-escaped", "--reason", "griefing", "-x", "last");
+
+    private StandInSender sender;
+    private FlagParser<StandInSender> parser;
+    private LegacyFlagParser<StandInSender> legacyParser;
+
+    @Setup
+    public void setup() {
+        sender = new StandInSender("Notch");
+
+        final FlagGroup<StandInSender> group = new FlagGroup<>();
+        group.addFlag(new FlagOptions<>("s", "silent", null));
+        group.addFlag(new FlagOptions<>("r", "reason", new ResolverInternalArgument<>(
+                "reason", "", String.class, (sender, arg) -> arg, new EmptySuggestion<>(), 0, false
+        )));
+        group.addFlag(new FlagOptions<>("t", "time", new ResolverInternalArgument<>(
+                "time", "", int.class, (sender, arg) -> Integer.parseInt(arg), new EmptySuggestion<>(), 0, false
+        )));
+
+        parser = new FlagParser<>(group);
+        legacyParser = new LegacyFlagParser<>(group);
+    }
+
+    @Benchmark
+    public Flags noFlags() {
+        return parser.parse(sender, NO_FLAGS);
+    }
+
+    @Benchmark
+    public Flags shortFlags() {
+        return parser.parse(sender, SHORT_FLAGS);
+    }
+
+    @Benchmark
+    public Flags longFlags() {
+        return parser.parse(sender, LONG_FLAGS);
+    }
+
+    @Benchmark
+    public Flags mixed() {
+        return parser.parse(sender, MIXED);
+    }
+
+    @Benchmark
+    public Object parseAndRead() {
+        final Flags flags = parser.parse(sender, LONG_FLAGS);
+        return flags.getValue("time", Integer.class);
+    }
+
+    @Benchmark
+    public Flags legacyNoFlags() {
+        return legacyParser.parse(sender, NO_FLAGS);
+    }
+
+    @Benchmark
+    public Flags legacyShortFlags() {
+        return legacyParser.parse(sender, SHORT_FLAGS);
+    }
+
+    @Benchmark
+    public Flags legacyLongFlags() {
+        return legacyParser.parse(sender, LONG_FLAGS);
+    }
+
+    @Benchmark
+    public Flags legacyMixed() {
+        return legacyParser.parse(sender, MIXED);
+    }
+
+    @Benchmark
+    public Object legacyParseAndRead() {
+        final Flags flags = legacyParser.parse(sender, LONG_FLAGS);
+        return flags.getValue("time", Integer.class);
+    }
+}
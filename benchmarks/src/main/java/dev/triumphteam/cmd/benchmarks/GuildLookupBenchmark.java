@@ -0,0 +1,118 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.core.registry.LongRegistryMap;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guild scoped command table lookups, keyed by snowflake like ids.
+ * The boxed map pays for a {@link Long} per lookup, the primitive one doesn't allocate.
+ * Registering covers how long it takes to fill the table one guild at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class GuildLookupBenchmark {
+
+    @Param({"40000"})
+    private int guilds;
+
+    private long[] ids;
+    private RegistryMap<Long, Object> boxed;
+    private LongRegistryMap<Object> primitive;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        ids = new long[guilds];
+
+        final Map<Long, Object> entries = new HashMap<>();
+        primitive = new LongRegistryMap<>();
+        for (int i = 0; i < guilds; i++) {
+            // Snowflakes are a millisecond timestamp shifted over worker and counter bits
+            final long id = (random.nextLong(250_000_000_000L) << 22) | random.nextInt(1 << 22);
+            ids[i] = id;
+            entries.put(id, id);
+            primitive.put(id, id);
+        }
+
+        boxed = new RegistryMap<>();
+        boxed.putAll(entries);
+    }
+
+    private long nextId() {
+        final int next = index++;
+        if (index == ids.length) index = 0;
+        return ids[next];
+    }
+
+    @Benchmark
+    public Object boxedLookup() {
+        return boxed.get(nextId());
+    }
+
+    @Benchmark
+    public Object primitiveLookup() {
+        return primitive.get(nextId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object boxedRegistering() {
+        final RegistryMap<Long, Object> map = new RegistryMap<>();
+        for (final long id : ids) map.put(id, id);
+        return map;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object primitiveRegistering() {
+        final LongRegistryMap<Object> map = new LongRegistryMap<>();
+        for (final long id : ids) map.put(id, id);
+        return map;
+    }
+}
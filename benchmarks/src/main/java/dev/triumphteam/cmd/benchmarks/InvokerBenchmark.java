@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.execution.CommandInvoker;
+import dev.triumphteam.cmd.core.execution.ReflectionCommandInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of invoking a sub command method through the different {@link CommandInvoker}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class InvokerBenchmark {
+
+    private Object[] arguments;
+    private InvokedCommand command;
+    private Method method;
+
+    private CommandInvoker reflectionInvoker;
+    private CommandInvoker handleInvoker;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        command = new InvokedCommand();
+        method = InvokedCommand.class.getDeclaredMethod("run", Object.class, int.class, String.class);
+        arguments = new Object[]{new Object(), 42, "argument"};
+
+        reflectionInvoker = new ReflectionCommandInvoker(command, method);
+        handleInvoker = CommandInvoker.of(command, method);
+    }
+
+    @Benchmark
+    public void direct(final Blackhole blackhole) {
+        command.run(arguments[0], (Integer) arguments[1], (String) arguments[2]);
+        blackhole.consume(command.last);
+    }
+
+    @Benchmark
+    public void methodInvoke(final Blackhole blackhole) throws Exception {
+        method.invoke(command, arguments);
+        blackhole.consume(command.last);
+    }
+
+    @Benchmark
+    public void reflectionInvoker(final Blackhole blackhole) throws Throwable {
+        reflectionInvoker.invoke(arguments);
+        blackhole.consume(command.last);
+    }
+
+    @Benchmark
+    public void methodHandleInvoker(final Blackhole blackhole) throws Throwable {
+        handleInvoker.invoke(arguments);
+        blackhole.consume(command.last);
+    }
+
+    public static class InvokedCommand extends BaseCommand {
+
+        private int last;
+
+        public void run(final Object sender, final int number, final String text) {
+            last = number + text.length();
+        }
+    }
+}
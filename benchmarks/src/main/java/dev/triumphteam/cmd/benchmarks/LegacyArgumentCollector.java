@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.core.argument.InternalArgument;
+import dev.triumphteam.cmd.core.argument.LimitlessInternalArgument;
+import dev.triumphteam.cmd.core.argument.StringInternalArgument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copy of the argument collection that walked the argument list with instanceof checks on every call,
+ * kept only as the baseline for {@link ArgumentPlanBenchmark}.
+ * Messages are left out, a failed argument just returns null.
+ */
+final class LegacyArgumentCollector {
+
+    private LegacyArgumentCollector() {
+        throw new AssertionError("Util must not be initialized");
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <S> Object[] collect(
+            @NotNull final S sender,
+            @NotNull final List<InternalArgument<S, ?>> internalArguments,
+            @NotNull final List<String> commandArgs
+    ) {
+        final List<Object> invokeArguments = new ArrayList<>();
+        invokeArguments.add(sender);
+
+        for (int i = 0; i < internalArguments.size(); i++) {
+            final InternalArgument<S, ?> internalArgument = internalArguments.get(i);
+
+            if (internalArgument instanceof LimitlessInternalArgument) {
+                final LimitlessInternalArgument<S> limitlessArgument = (LimitlessInternalArgument<S>) internalArgument;
+                final Object result = limitlessArgument.resolve(sender, leftOvers(commandArgs, i));
+                if (result == null) return null;
+
+                invokeArguments.add(result);
+                return invokeArguments.toArray();
+            }
+
+            if (!(internalArgument instanceof StringInternalArgument)) {
+                throw new IllegalStateException("Found unsupported internalArgument");
+            }
+
+            final StringInternalArgument<S> stringArgument = (StringInternalArgument<S>) internalArgument;
+            final String arg = valueOrNull(commandArgs, i);
+
+            if (arg == null || arg.isEmpty()) {
+                if (internalArgument.isOptional()) {
+                    invokeArguments.add(null);
+                    continue;
+                }
+
+                return null;
+            }
+
+            final Object result = stringArgument.resolve(sender, arg);
+            if (result == null) return null;
+
+            invokeArguments.add(result);
+        }
+
+        return invokeArguments.toArray();
+    }
+
+    @Nullable
+    private static String valueOrNull(@NotNull final List<String> list, final int index) {
+        if (index >= list.size()) return null;
+        return list.get(index);
+    }
+
+    @NotNull
+    private static List<String> leftOvers(@NotNull final List<String> list, final int from) {
+        if (from > list.size()) return Collections.emptyList();
+        return list.subList(from, list.size());
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.ExampleCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInCommand;
+import dev.triumphteam.cmd.benchmarks.platform.StandInPlatform;
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.core.argument.ArgumentResolver;
+import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.requirement.RequirementKey;
+import dev.triumphteam.cmd.core.suggestion.SuggestionKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress test for registering at runtime while other threads dispatch, the way JDA fires events on many threads
+ * while guild commands are being added.
+ * Dispatching threads fail the run if they ever see a registry or command tree missing something that was there
+ * from the start, which would mean a torn or half published map.
+ * The hot swap group reloads the command the way a plugin reload would, registering the new instance and then
+ * unregistering the old one, so the sub command must never be missing either.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class RegistryConcurrencyBenchmark {
+
+    private static final String[] GIVE = {"give", "Notch", "64", "diamond_sword"};
+    private static final int KEYS = 64;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private StandInPlatform platform;
+    private RegistryContainer<StandInSender> registryContainer;
+    private StandInSender sender;
+    private StandInCommand command;
+    private ExampleCommand current;
+
+    private ArgumentResolver<StandInSender> intResolver;
+    private RequirementKey[] requirementKeys;
+    private SuggestionKey[] suggestionKeys;
+    private List<String> names;
+
+    @Setup
+    public void setup() {
+        platform = new StandInPlatform();
+        registryContainer = platform.getRegistryContainer();
+        sender = new StandInSender("Notch");
+        current = new ExampleCommand();
+        command = platform.register(current);
+
+        intResolver = registryContainer.getArgumentRegistry().getResolver(int.class);
+        names = Collections.singletonList("Notch");
+
+        requirementKeys = new RequirementKey[KEYS];
+        suggestionKeys = new SuggestionKey[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            requirementKeys[i] = RequirementKey.of("stress-" + i);
+            suggestionKeys[i] = SuggestionKey.of("stress-" + i);
+        }
+    }
+
+    @Benchmark
+    @Group("registration")
+    @GroupThreads(3)
+    public Object dispatch() {
+        if (command.getSubCommand("give") == null) {
+            throw new IllegalStateException("Sub command disappeared while registering");
+        }
+
+        if (registryContainer.getArgumentRegistry().getResolver(int.class) == null) {
+            throw new IllegalStateException("Built-in argument disappeared while registering");
+        }
+
+        command.execute(sender, GIVE);
+        return registryContainer.getRequirementRegistry().getRequirement(requirementKeys[0]);
+    }
+
+    @Benchmark
+    @Group("registration")
+    @GroupThreads(1)
+    public void registerResolvers() {
+        final int index = next.getAndIncrement() & (KEYS - 1);
+        registryContainer.getRequirementRegistry().register(requirementKeys[index], it -> true);
+        registryContainer.getSuggestionRegistry().register(suggestionKeys[index], (it, context) -> names);
+        registryContainer.getArgumentRegistry().register(int.class, intResolver);
+    }
+
+    @Benchmark
+    @Group("registration")
+    @GroupThreads(1)
+    public Object registerCommand() {
+        return platform.register(new ExampleCommand());
+    }
+
+    @Benchmark
+    @Group("hotSwap")
+    @GroupThreads(3)
+    public Object dispatchDuringSwap() {
+        if (command.getSubCommand("give") == null) {
+            throw new IllegalStateException("Sub command disappeared while swapping");
+        }
+
+        command.execute(sender, GIVE);
+        return command;
+    }
+
+    @Benchmark
+    @Group("hotSwap")
+    @GroupThreads(1)
+    public void swapCommand() {
+        final ExampleCommand previous = current;
+        current = new ExampleCommand();
+        platform.register(current);
+        platform.unregister(previous);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
+import dev.triumphteam.cmd.core.metrics.InMemoryCommandMetrics;
+import dev.triumphteam.cmd.core.requirement.CachedRequirementResolver;
+import dev.triumphteam.cmd.core.requirement.Requirement;
+import dev.triumphteam.cmd.core.requirement.RequirementKey;
+import dev.triumphteam.cmd.core.requirement.RequirementResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requirement checks against a resolver that burns CPU, standing in for a permission or cooldown lookup.
+ * The cached variants only pay for the resolver once per sender, the rest is the cache lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class RequirementBenchmark {
+
+    private static final RequirementKey KEY = RequirementKey.of("permission");
+
+    @Param({"noop", "memory"})
+    private String metrics;
+
+    private StandInSender sender;
+    private CommandMetrics commandMetrics;
+    private Requirement<StandInSender, DefaultMessageContext> requirement;
+    private Requirement<StandInSender, DefaultMessageContext> cachedRequirement;
+
+    @Setup
+    public void setup() {
+        sender = new StandInSender("Notch");
+        commandMetrics = metrics.equals("memory") ? new InMemoryCommandMetrics() : CommandMetrics.noop();
+
+        final RequirementResolver<StandInSender> resolver = sender -> {
+            Blackhole.consumeCPU(500);
+            return true;
+        };
+        final CachePolicy<StandInSender> policy = CachePolicy.<StandInSender>builder()
+                .expireAfter(Duration.ofHours(1))
+                .perSender()
+                .build();
+
+        requirement = new Requirement<>(KEY, resolver, null, DefaultMessageContext::new, false);
+        cachedRequirement = new Requirement<>(
+                KEY,
+                new CachedRequirementResolver<>(resolver, policy),
+                null,
+                DefaultMessageContext::new,
+                false
+        );
+    }
+
+    @Benchmark
+    public boolean uncached() {
+        return requirement.isMet(sender, commandMetrics);
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return cachedRequirement.isMet(sender, commandMetrics);
+    }
+}
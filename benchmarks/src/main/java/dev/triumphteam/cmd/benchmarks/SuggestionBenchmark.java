@@ -0,0 +1,119 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks;
+
+import dev.triumphteam.cmd.benchmarks.platform.StandInSender;
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.suggestion.CachedSuggestionResolver;
+import dev.triumphteam.cmd.core.suggestion.SimpleSuggestion;
+import dev.triumphteam.cmd.core.suggestion.SuggestionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestion filtering over a resolver returning a list of player-like names.
+ * The indexed variants go through a cached resolver, which filters with a {@link dev.triumphteam.cmd.core.suggestion.PrefixIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-XX:+UseParallelGC")
+public class SuggestionBenchmark {
+
+    @Param({"100", "2000"})
+    private int size;
+
+    private StandInSender sender;
+    private SuggestionContext context;
+    private SimpleSuggestion<StandInSender> suggestion;
+    private SimpleSuggestion<StandInSender> cachedSuggestion;
+
+    @Setup
+    public void setup() {
+        sender = new StandInSender("Notch");
+        context = new SuggestionContext(Collections.emptyList(), "example", "give");
+
+        final List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add("Player_" + Integer.toString(i * 7919, 36));
+        }
+
+        suggestion = new SimpleSuggestion<>((sender, context) -> names);
+        cachedSuggestion = new SimpleSuggestion<>(
+                new CachedSuggestionResolver<>((sender, context) -> names, CachePolicy.expireAfter(Duration.ofHours(1)))
+        );
+    }
+
+    @Benchmark
+    public List<String> emptyInput() {
+        return suggestion.getSuggestions(sender, "", context);
+    }
+
+    @Benchmark
+    public List<String> shortPrefix() {
+        return suggestion.getSuggestions(sender, "pl", context);
+    }
+
+    @Benchmark
+    public List<String> longPrefix() {
+        return suggestion.getSuggestions(sender, "player_1a", context);
+    }
+
+    @Benchmark
+    public List<String> noMatch() {
+        return suggestion.getSuggestions(sender, "zzz", context);
+    }
+
+    @Benchmark
+    public List<String> shortPrefixIndexed() {
+        return cachedSuggestion.getSuggestions(sender, "pl", context);
+    }
+
+    @Benchmark
+    public List<String> longPrefixIndexed() {
+        return cachedSuggestion.getSuggestions(sender, "player_1a", context);
+    }
+
+    @Benchmark
+    public List<String> noMatchIndexed() {
+        return cachedSuggestion.getSuggestions(sender, "zzz", context);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.annotation.Command;
+import dev.triumphteam.cmd.core.annotation.CommandFlags;
+import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.annotation.Flag;
+import dev.triumphteam.cmd.core.annotation.Join;
+import dev.triumphteam.cmd.core.annotation.SubCommand;
+import dev.triumphteam.cmd.core.flag.Flags;
+
+/**
+ * Command covering the common argument shapes, shared by the dispatch benchmarks.
+ */
+@Command(value = "example", alias = {"ex"})
+public class ExampleCommand extends BaseCommand {
+
+    private Object last;
+
+    @Default
+    public void base(final StandInSender sender) {
+        last = sender;
+    }
+
+    @SubCommand(value = "give", alias = {"g"})
+    public void give(final StandInSender sender, final String target, final int amount, final ExampleMaterial material) {
+        last = material;
+    }
+
+    @SubCommand("none")
+    public void none(final StandInSender sender) {
+        last = sender;
+    }
+
+    @SubCommand("eight")
+    public void eight(
+            final StandInSender sender,
+            final String target,
+            final int amount,
+            final long seed,
+            final double multiplier,
+            final boolean silent,
+            final String world,
+            final int radius,
+            final ExampleMaterial material
+    ) {
+        last = material;
+    }
+
+    @SubCommand("say")
+    public void say(final StandInSender sender, @Join final String message) {
+        last = message;
+    }
+
+    @SubCommand("flags")
+    @CommandFlags({
+            @Flag(flag = "s", longFlag = "silent"),
+            @Flag(flag = "r", longFlag = "reason", argument = String.class),
+            @Flag(flag = "t", longFlag = "time", argument = int.class)
+    })
+    public void flags(final StandInSender sender, final Flags flags) {
+        last = flags;
+    }
+
+    public Object getLast() {
+        return last;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+/**
+ * Enum with a realistic amount of constants, modelled after the first entries of Bukkit's {@code Material}.
+ */
+public enum ExampleMaterial {
+    STONE,
+    GRANITE,
+    POLISHED_GRANITE,
+    DIORITE,
+    POLISHED_DIORITE,
+    ANDESITE,
+    POLISHED_ANDESITE,
+    DEEPSLATE,
+    COBBLED_DEEPSLATE,
+    POLISHED_DEEPSLATE,
+    CALCITE,
+    TUFF,
+    DRIPSTONE_BLOCK,
+    GRASS_BLOCK,
+    DIRT,
+    COARSE_DIRT,
+    PODZOL,
+    ROOTED_DIRT,
+    CRIMSON_NYLIUM,
+    WARPED_NYLIUM,
+    COBBLESTONE,
+    OAK_PLANKS,
+    SPRUCE_PLANKS,
+    BIRCH_PLANKS,
+    JUNGLE_PLANKS,
+    ACACIA_PLANKS,
+    DARK_OAK_PLANKS,
+    CRIMSON_PLANKS,
+    WARPED_PLANKS,
+    OAK_SAPLING,
+    SPRUCE_SAPLING,
+    BIRCH_SAPLING,
+    JUNGLE_SAPLING,
+    ACACIA_SAPLING,
+    DARK_OAK_SAPLING,
+    BEDROCK,
+    SAND,
+    RED_SAND,
+    GRAVEL,
+    COAL_ORE,
+    DEEPSLATE_COAL_ORE,
+    IRON_ORE,
+    DEEPSLATE_IRON_ORE,
+    COPPER_ORE,
+    DEEPSLATE_COPPER_ORE,
+    GOLD_ORE,
+    DEEPSLATE_GOLD_ORE,
+    REDSTONE_ORE,
+    DEEPSLATE_REDSTONE_ORE,
+    EMERALD_ORE,
+    DEEPSLATE_EMERALD_ORE,
+    LAPIS_ORE,
+    DEEPSLATE_LAPIS_ORE,
+    DIAMOND_ORE,
+    DEEPSLATE_DIAMOND_ORE,
+    NETHER_GOLD_ORE,
+    NETHER_QUARTZ_ORE,
+    ANCIENT_DEBRIS,
+    COAL_BLOCK,
+    RAW_IRON_BLOCK,
+    RAW_COPPER_BLOCK,
+    RAW_GOLD_BLOCK,
+    AMETHYST_BLOCK,
+    BUDDING_AMETHYST,
+    IRON_BLOCK,
+    COPPER_BLOCK,
+    GOLD_BLOCK,
+    DIAMOND_BLOCK,
+    NETHERITE_BLOCK,
+    DIAMOND_SWORD,
+    DIAMOND_PICKAXE;
+}
@@ -0,0 +1,115 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.Command;
+import dev.triumphteam.cmd.core.CommandTree;
+import dev.triumphteam.cmd.core.message.MessageKey;
+import dev.triumphteam.cmd.core.message.MessageRegistry;
+import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
+import dev.triumphteam.cmd.core.sender.SenderMapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Command that dispatches the same way the platform commands do, for example {@code BukkitCommand#execute}.
+ * It receives the already split arguments, finds the sub command and executes it.
+ */
+public final class StandInCommand implements Command<StandInSender, StandInSubCommand> {
+
+    private final String name;
+    private final MessageRegistry<StandInSender> messageRegistry;
+    private final SenderMapper<StandInSender, StandInSender> senderMapper;
+
+    private volatile CommandTree<StandInSubCommand> subCommands = CommandTree.empty();
+    private volatile StandInSubCommand defaultSubCommand = null;
+
+    StandInCommand(@NotNull final String name, @NotNull final StandInCommandProcessor processor) {
+        this.name = name;
+        this.messageRegistry = processor.getRegistryContainer().getMessageRegistry();
+        this.senderMapper = processor.getSenderMapper();
+    }
+
+    @Override
+    public synchronized void addSubCommands(
+            @NotNull final Map<String, StandInSubCommand> subCommands,
+            @NotNull final Map<String, StandInSubCommand> subCommandAliases
+    ) {
+        final CommandTree.Builder<StandInSubCommand> builder = this.subCommands.toBuilder();
+        subCommands.forEach((name, subCommand) -> {
+            if (subCommand.isDefault()) {
+                defaultSubCommand = subCommand;
+                return;
+            }
+
+            builder.name(name, subCommand);
+        });
+        subCommandAliases.forEach(builder::alias);
+
+        this.subCommands = builder.build();
+    }
+
+    @Override
+    public boolean removeSubCommands(@NotNull final BaseCommand baseCommand) {
+        return removeSubCommandsIf(it -> it.getBaseCommand() == baseCommand);
+    }
+
+    @Override
+    public synchronized boolean removeSubCommandsIf(@NotNull final Predicate<? super StandInSubCommand> filter) {
+        final StandInSubCommand defaultSubCommand = this.defaultSubCommand;
+        if (defaultSubCommand != null && filter.test(defaultSubCommand)) {
+            this.defaultSubCommand = null;
+        }
+
+        this.subCommands = subCommands.toBuilder().removeIf(filter).build();
+        return subCommands.isEmpty() && this.defaultSubCommand == null;
+    }
+
+    public void execute(@NotNull final StandInSender sender, @NotNull final String[] args) {
+        StandInSubCommand subCommand = args.length > 0 ? subCommands.get(args[0]) : null;
+        if (subCommand == null) subCommand = defaultSubCommand;
+
+        final StandInSender mappedSender = senderMapper.map(sender);
+
+        if (subCommand == null || (args.length > 0 && subCommand.isDefault() && !subCommand.hasArguments())) {
+            final String subCommandName = args.length > 0 ? args[0].toLowerCase() : "";
+            messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, mappedSender, new DefaultMessageContext(name, subCommandName));
+            return;
+        }
+
+        final List<String> commandArgs = Arrays.asList(!subCommand.isDefault() ? Arrays.copyOfRange(args, 1, args.length) : args);
+        subCommand.execute(mappedSender, commandArgs);
+    }
+
+    @Nullable
+    public StandInSubCommand getSubCommand(@NotNull final String key) {
+        return subCommands.get(key);
+    }
+}
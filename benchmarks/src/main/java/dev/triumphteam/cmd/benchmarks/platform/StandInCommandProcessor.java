@@ -0,0 +1,63 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.execution.ExecutionProvider;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
+import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.sender.SenderMapper;
+import dev.triumphteam.cmd.core.sender.SenderValidator;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+
+final class StandInCommandProcessor extends AbstractCommandProcessor<StandInSender, StandInSender, StandInSubCommand, StandInSubCommandProcessor> {
+
+    StandInCommandProcessor(
+            @NotNull final BaseCommand baseCommand,
+            @NotNull final RegistryContainer<StandInSender> registryContainer,
+            @NotNull final SenderMapper<StandInSender, StandInSender> senderMapper,
+            @NotNull final SenderValidator<StandInSender> senderValidator,
+            @NotNull final ExecutionProvider syncExecutionProvider,
+            @NotNull final ExecutionProvider asyncExecutionProvider
+    ) {
+        super(baseCommand, registryContainer, senderMapper, senderValidator, syncExecutionProvider, asyncExecutionProvider);
+    }
+
+    @NotNull
+    @Override
+    protected StandInSubCommandProcessor createProcessor(@NotNull final Method method) {
+        return new StandInSubCommandProcessor(getBaseCommand(), getName(), method, getRegistryContainer(), getSenderValidator());
+    }
+
+    @NotNull
+    @Override
+    protected StandInSubCommand createSubCommand(
+            @NotNull final StandInSubCommandProcessor processor,
+            @NotNull final ExecutionProvider executionProvider
+    ) {
+        return new StandInSubCommand(processor, getName(), executionProvider);
+    }
+}
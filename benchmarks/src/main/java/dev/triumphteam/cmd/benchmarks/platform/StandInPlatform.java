@@ -0,0 +1,79 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
+import dev.triumphteam.cmd.core.message.MessageKey;
+import dev.triumphteam.cmd.core.message.MessageRegistry;
+import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
+import dev.triumphteam.cmd.core.sender.SenderMapper;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Minimal platform so commands can be registered and dispatched without a Bukkit server or a JDA connection.
+ */
+public final class StandInPlatform {
+
+    private final RegistryContainer<StandInSender> registryContainer = new RegistryContainer<>();
+    private final StandInSenderValidator senderValidator = new StandInSenderValidator();
+    private final SenderMapper<StandInSender, StandInSender> senderMapper = SenderMapper.defaultMapper();
+    private final SyncExecutionProvider executionProvider = new SyncExecutionProvider();
+
+    private final RegistryMap<String, StandInCommand> commands = new RegistryMap<>();
+
+    public StandInPlatform() {
+        final MessageRegistry<StandInSender> messageRegistry = registryContainer.getMessageRegistry();
+        messageRegistry.register(MessageKey.UNKNOWN_COMMAND, (sender, context) -> sender.sendMessage("Unknown command."));
+        messageRegistry.register(MessageKey.TOO_MANY_ARGUMENTS, (sender, context) -> sender.sendMessage("Too many arguments."));
+        messageRegistry.register(MessageKey.NOT_ENOUGH_ARGUMENTS, (sender, context) -> sender.sendMessage("Not enough arguments."));
+        messageRegistry.register(MessageKey.INVALID_ARGUMENT, (sender, context) -> sender.sendMessage("Invalid argument."));
+    }
+
+    @NotNull
+    public RegistryContainer<StandInSender> getRegistryContainer() {
+        return registryContainer;
+    }
+
+    @NotNull
+    public StandInCommand register(@NotNull final BaseCommand baseCommand) {
+        final StandInCommandProcessor processor = new StandInCommandProcessor(
+                baseCommand,
+                registryContainer,
+                senderMapper,
+                senderValidator,
+                executionProvider,
+                executionProvider
+        );
+
+        final StandInCommand command = commands.computeIfAbsent(processor.getName(), it -> new StandInCommand(it, processor));
+        command.addSubCommands(processor.getSubCommands(), processor.getSubCommandsAlias());
+        return command;
+    }
+
+    public void unregister(@NotNull final BaseCommand baseCommand) {
+        commands.removeIf((name, command) -> command.removeSubCommands(baseCommand));
+    }
+}
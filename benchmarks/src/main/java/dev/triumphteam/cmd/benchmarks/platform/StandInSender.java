@@ -21,6 +21,33 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package dev.triumphteam.cmd.core.flag.internal;
+package dev.triumphteam.cmd.benchmarks.platform;
 
-public interface FlagValue {}
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sender used by the benchmarks, replaces a platform sender like a player or a Discord user.
+ * Messages are only counted, so message sending doesn't show up in the results.
+ */
+public final class StandInSender {
+
+    private final String name;
+    private int messages = 0;
+
+    public StandInSender(@NotNull final String name) {
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public void sendMessage(@NotNull final String message) {
+        messages++;
+    }
+
+    public int getMessages() {
+        return messages;
+    }
+}
@@ -21,38 +21,33 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package dev.triumphteam.cmd.core.flag.internal;
+package dev.triumphteam.cmd.benchmarks.platform;
 
-import dev.triumphteam.cmd.core.argument.StringInternalArgument;
+import dev.triumphteam.cmd.core.SubCommand;
+import dev.triumphteam.cmd.core.message.MessageRegistry;
+import dev.triumphteam.cmd.core.sender.SenderValidator;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-class ArgFlagValue<S> implements FlagValue {
+import java.util.Collections;
+import java.util.Set;
 
-    private final String value;
-    private final StringInternalArgument<S> argument;
-
-    public ArgFlagValue(@NotNull final String value, @NotNull final StringInternalArgument<S> argument) {
-        this.value = value;
-        this.argument = argument;
-    }
-
-    @Nullable
-    public Object getValue(@NotNull final S sender, @NotNull final Class<?> type) {
-        if (!type.equals(argument.getType())) return null;
-        return argument.resolve(sender, value);
-    }
+/**
+ * Validator that accepts every {@link StandInSender}.
+ */
+final class StandInSenderValidator implements SenderValidator<StandInSender> {
 
     @NotNull
-    public String getAsString() {
-        return value;
+    @Override
+    public Set<Class<? extends StandInSender>> getAllowedSenders() {
+        return Collections.singleton(StandInSender.class);
     }
 
     @Override
-    public String toString() {
-        return "ArgFlagValue{" +
-                "value='" + value + '\'' +
-                ", argument=" + argument +
-                '}';
+    public boolean validate(
+            @NotNull final MessageRegistry<StandInSender> messageRegistry,
+            @NotNull final SubCommand<StandInSender> subCommand,
+            @NotNull final StandInSender sender
+    ) {
+        return true;
     }
 }
@@ -0,0 +1,71 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.core.AbstractSubCommand;
+import dev.triumphteam.cmd.core.argument.ArgumentPlan;
+import dev.triumphteam.cmd.core.argument.InternalArgument;
+import dev.triumphteam.cmd.core.execution.ExecutionProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public final class StandInSubCommand extends AbstractSubCommand<StandInSender> {
+
+    StandInSubCommand(
+            @NotNull final StandInSubCommandProcessor processor,
+            @NotNull final String parentName,
+            @NotNull final ExecutionProvider executionProvider
+    ) {
+        super(processor, parentName, executionProvider);
+    }
+
+    @NotNull
+    @Override
+    public List<InternalArgument<StandInSender, ?>> getArguments() {
+        return super.getArguments();
+    }
+
+    @NotNull
+    @Override
+    public ArgumentPlan<StandInSender> getArgumentPlan() {
+        return super.getArgumentPlan();
+    }
+
+    /**
+     * Exposes the argument resolution step alone, without requirements or invocation.
+     *
+     * @param sender          The sender.
+     * @param args            The arguments.
+     * @param invokeArguments The pre-sized invoke array.
+     * @return Whether all arguments resolved.
+     */
+    public boolean resolve(
+            @NotNull final StandInSender sender,
+            @NotNull final List<String> args,
+            @NotNull final Object[] invokeArguments
+    ) {
+        return resolveArguments(sender, args, invokeArguments);
+    }
+}
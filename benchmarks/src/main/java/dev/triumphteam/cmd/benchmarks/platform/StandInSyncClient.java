@@ -0,0 +1,142 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.benchmarks.platform;
+
+import dev.triumphteam.cmd.slash.sync.CommandSyncClient;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client used by the benchmarks instead of Discord's REST API, keeps the commands of each scope in memory.
+ * Every request is counted and completes straight away, deleting an unknown id fails like Discord would,
+ * and privilege updates can be made to fail to check that they're retried.
+ */
+public final class StandInSyncClient implements CommandSyncClient {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Map<String, Long>> scopes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger upserts = new AtomicInteger();
+    private final AtomicInteger deletes = new AtomicInteger();
+    private final AtomicInteger overwrites = new AtomicInteger();
+    private final AtomicInteger privilegeUpdates = new AtomicInteger();
+
+    private volatile boolean failPrivileges = false;
+
+    @NotNull
+    @Override
+    public CompletableFuture<Long> upsert(final long scope, @NotNull final SlashCommandData data) {
+        upserts.incrementAndGet();
+        final Map<String, Long> commands = getScope(scope);
+        synchronized (commands) {
+            return CompletableFuture.completedFuture(commands.computeIfAbsent(data.getName(), ignored -> ids.incrementAndGet()));
+        }
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Void> delete(final long scope, final long id) {
+        deletes.incrementAndGet();
+        final Map<String, Long> commands = getScope(scope);
+        synchronized (commands) {
+            if (commands.values().remove(id)) return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("Unknown command " + id));
+        return future;
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Map<String, Long>> overwrite(final long scope, @NotNull final Collection<SlashCommandData> commands) {
+        overwrites.incrementAndGet();
+        final Map<String, Long> created = new HashMap<>();
+        for (final SlashCommandData data : commands) {
+            created.put(data.getName(), ids.incrementAndGet());
+        }
+
+        final Map<String, Long> scopeCommands = getScope(scope);
+        synchronized (scopeCommands) {
+            scopeCommands.clear();
+            scopeCommands.putAll(created);
+        }
+        return CompletableFuture.completedFuture(created);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Void> updatePrivileges(final long guildId, @NotNull final Map<Long, List<CommandPrivilege>> privileges) {
+        privilegeUpdates.incrementAndGet();
+        if (!failPrivileges) return CompletableFuture.completedFuture(null);
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("Privileges rejected"));
+        return future;
+    }
+
+    public void setFailPrivileges(final boolean failPrivileges) {
+        this.failPrivileges = failPrivileges;
+    }
+
+    public int getUpserts() {
+        return upserts.get();
+    }
+
+    public int getDeletes() {
+        return deletes.get();
+    }
+
+    public int getOverwrites() {
+        return overwrites.get();
+    }
+
+    public int getPrivilegeUpdates() {
+        return privilegeUpdates.get();
+    }
+
+    /**
+     * Gets the total amount of requests made so far.
+     *
+     * @return The amount of requests.
+     */
+    public int getRequests() {
+        return getUpserts() + getDeletes() + getOverwrites() + getPrivilegeUpdates();
+    }
+
+    @NotNull
+    private Map<String, Long> getScope(final long scope) {
+        return scopes.computeIfAbsent(scope, ignored -> new HashMap<>());
+    }
+}
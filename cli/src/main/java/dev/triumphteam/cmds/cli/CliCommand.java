@@ -25,8 +25,7 @@ package dev.triumphteam.cmds.cli;
 
 import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.Command;
-import dev.triumphteam.cmd.core.SubCommand;
-import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.CommandTree;
 import dev.triumphteam.cmd.core.argument.ArgumentRegistry;
 import dev.triumphteam.cmd.core.argument.named.NamedArgumentRegistry;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
@@ -39,14 +38,12 @@ import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmds.cli.sender.CliSender;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 public final class CliCommand<S> implements Command {
 
@@ -61,8 +58,8 @@ public final class CliCommand<S> implements Command {
     private final ExecutionProvider syncExecutionProvider;
     private final ExecutionProvider asyncExecutionProvider;
 
-    private final Map<String, CliSubCommand<S>> subCommands = new HashMap<>();
-    private final Map<String, CliSubCommand<S>> subCommandAliases = new HashMap<>();
+    private volatile CommandTree<CliSubCommand<S>> subCommands = CommandTree.empty();
+    private volatile CliSubCommand<S> defaultSubCommand = null;
 
     @SuppressWarnings("unchecked")
     public CliCommand(
@@ -86,7 +83,8 @@ public final class CliCommand<S> implements Command {
      * @param baseCommand The {@link BaseCommand} to get the sub commands from.
      */
     @Override
-    public void addSubCommands(@NotNull final BaseCommand baseCommand) {
+    public synchronized void addSubCommands(@NotNull final BaseCommand baseCommand) {
+        final CommandTree.Builder<CliSubCommand<S>> builder = subCommands.toBuilder();
         for (final Method method : baseCommand.getClass().getDeclaredMethods()) {
             if (Modifier.isPrivate(method.getModifiers())) continue;
 
@@ -102,65 +100,52 @@ public final class CliCommand<S> implements Command {
             if (subCommandName == null) continue;
 
             final ExecutionProvider executionProvider = processor.isAsync() ? asyncExecutionProvider : syncExecutionProvider;
-            final CliSubCommand<S> subCommand = subCommands.computeIfAbsent(subCommandName, it -> new CliSubCommand<>(processor, name, executionProvider));
-            processor.getAlias().forEach(alias -> subCommandAliases.putIfAbsent(alias, subCommand));
+            final CliSubCommand<S> subCommand = new CliSubCommand<>(processor, name, executionProvider);
+            if (subCommand.isDefault()) {
+                defaultSubCommand = subCommand;
+                continue;
+            }
+
+            builder.name(subCommandName, subCommand);
+            processor.getAlias().forEach(alias -> builder.alias(alias, subCommand));
         }
+
+        subCommands = builder.build();
+    }
+
+    @Override
+    public boolean removeSubCommands(@NotNull final BaseCommand baseCommand) {
+        return removeSubCommandsIf(it -> it.getBaseCommand() == baseCommand);
+    }
+
+    @Override
+    public synchronized boolean removeSubCommandsIf(@NotNull final Predicate<? super CliSubCommand<S>> filter) {
+        final CliSubCommand<S> defaultSubCommand = this.defaultSubCommand;
+        if (defaultSubCommand != null && filter.test(defaultSubCommand)) {
+            this.defaultSubCommand = null;
+        }
+
+        this.subCommands = subCommands.toBuilder().removeIf(filter).build();
+        return subCommands.isEmpty() && this.defaultSubCommand == null;
     }
 
     // TODO: Comments
     public void execute(
             @NotNull final CliSender sender,
-            @NotNull final String[] args
+            @NotNull final List<String> args
     ) {
-        CliSubCommand<S> subCommand = getDefaultSubCommand();
-
-        String subCommandName = "";
-        if (args.length > 0) subCommandName = args[0].toLowerCase();
-        if (subCommand == null || subCommandExists(subCommandName)) {
-            subCommand = getSubCommand(subCommandName);
-        }
+        CliSubCommand<S> subCommand = args.isEmpty() ? null : subCommands.get(args.get(0));
+        if (subCommand == null) subCommand = defaultSubCommand;
 
         final S mappedSender = senderMapper.map(sender);
 
         if (subCommand == null) {
+            final String subCommandName = args.isEmpty() ? "" : args.get(0).toLowerCase();
             messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, mappedSender, new DefaultMessageContext(name, subCommandName));
             return;
         }
 
-        final List<String> commandArgs = Arrays.asList(!subCommand.isDefault() ? Arrays.copyOfRange(args, 1, args.length) : args);
+        final List<String> commandArgs = !subCommand.isDefault() ? args.subList(1, args.size()) : args;
         subCommand.execute(mappedSender, commandArgs);
     }
-
-    /**
-     * Gets a default command if present.
-     *
-     * @return A default SubCommand.
-     */
-    @Nullable
-    private CliSubCommand<S> getDefaultSubCommand() {
-        return subCommands.get(Default.DEFAULT_CMD_NAME);
-    }
-
-    /**
-     * Used in order to search for the given {@link SubCommand<S>} in the {@link #subCommandAliases}
-     *
-     * @param key the String to look for the {@link SubCommand<S>}
-     * @return the {@link SubCommand<S>} for the particular key or NULL
-     */
-    @Nullable
-    private CliSubCommand<S> getSubCommand(@NotNull final String key) {
-        final CliSubCommand<S> subCommand = subCommands.get(key);
-        if (subCommand != null) return subCommand;
-        return subCommandAliases.get(key);
-    }
-
-    /**
-     * Checks if a SubCommand with the specified key exists.
-     *
-     * @param key the Key to check for
-     * @return whether a SubCommand with that key exists
-     */
-    private boolean subCommandExists(@NotNull final String key) {
-        return subCommands.containsKey(key) || subCommandAliases.containsKey(key);
-    }
 }
@@ -25,23 +25,28 @@ package dev.triumphteam.cmds.cli;
 
 import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.CommandManager;
+import dev.triumphteam.cmd.core.CommandTree;
 import dev.triumphteam.cmd.core.execution.AsyncExecutionProvider;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
+import dev.triumphteam.cmd.core.tokenizer.TokenizedInput;
+import dev.triumphteam.cmd.core.tokenizer.Tokenizer;
 import dev.triumphteam.cmds.cli.sender.CliSender;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public final class CliCommandManager<S> extends CommandManager<CliSender, S> {
 
-    private final Map<String, CliCommand<S>> commands = new HashMap<>();
+    private volatile CommandTree<CliCommand<S>> commands = CommandTree.empty();
 
     private final ExecutionProvider syncExecutionProvider = new SyncExecutionProvider();
     private final ExecutionProvider asyncExecutionProvider = new AsyncExecutionProvider();
@@ -53,7 +58,6 @@ public final class CliCommandManager<S> extends CommandManager<CliSender, S> {
         super(senderMapper, senderValidator);
     }
 
-
     @NotNull
     @Contract(" -> new")
     public static CliCommandManager<CliSender> create() {
@@ -74,28 +78,56 @@ public final class CliCommandManager<S> extends CommandManager<CliSender, S> {
         return new CliCommandManager<>(senderMapper, senderValidator);
     }
 
+    @NotNull
     @Override
-    public void registerCommand(@NotNull final BaseCommand baseCommand) {
-        final CliCommandProcessor<S> processor = new CliCommandProcessor<>(
+    protected CliCommandProcessor<S> scanCommand(@NotNull final BaseCommand baseCommand) {
+        return new CliCommandProcessor<>(
                 baseCommand,
                 getRegistries(),
                 getSenderMapper(),
                 getSenderValidator()
         );
+    }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void publishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> scanned) {
+        final CliCommandProcessor<S> processor = (CliCommandProcessor<S>) scanned;
         final String name = processor.getName();
 
-        final CliCommand<S> command = commands.computeIfAbsent(
-                name,
-                ignored -> new CliCommand<>(processor, syncExecutionProvider, asyncExecutionProvider)
-        );
+        CliCommand<S> command = commands.get(name);
+        if (command == null) {
+            command = new CliCommand<>(processor, syncExecutionProvider, asyncExecutionProvider);
+            commands = commands.toBuilder().name(name, command).build();
+        }
+
+        command.addSubCommands(processor.getBaseCommand());
+    }
 
-        command.addSubCommands(baseCommand);
+    @Override
+    public synchronized void unregisterCommand(@NotNull final BaseCommand command) {
+        removeSubCommands(it -> it.getBaseCommand() == command);
     }
 
+    /**
+     * Removes the sub commands published for the processor.
+     * Cli commands create their sub commands when published, so this removes every sub command of the processor's
+     * {@link BaseCommand} instance, including one registered before the batch.
+     *
+     * @param processor The processor holding the published command.
+     */
     @Override
-    public void unregisterCommand(@NotNull final BaseCommand command) {
-        // TODO add a remove functionality
+    protected void unpublishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        removeSubCommands(it -> it.getBaseCommand() == processor.getBaseCommand());
+    }
+
+    private void removeSubCommands(@NotNull final Predicate<? super CliSubCommand<S>> filter) {
+        final Set<CliCommand<S>> emptied = Collections.newSetFromMap(new IdentityHashMap<>());
+        commands.forEach((name, cliCommand) -> {
+            if (cliCommand.removeSubCommandsIf(filter)) emptied.add(cliCommand);
+        });
+
+        if (!emptied.isEmpty()) commands = commands.toBuilder().removeIf(emptied::contains).build();
     }
 
     public void startManager() {
@@ -103,18 +135,19 @@ public final class CliCommandManager<S> extends CommandManager<CliSender, S> {
         while (true) {
             final String line = scanner.nextLine();
             if (line.isEmpty()) continue;
-            final String[] args = line.split(" ");
-            if (args.length == 0) continue;
-            final String commandName = args[0];
-
-            final CliCommand<S> command = commands.get(commandName);
-            if (command == null) {
-                // TODO: Change this to a logger
-                System.out.println("Command not found");
-                continue;
-            }
 
-            command.execute(new CliCommandSender(), Arrays.copyOfRange(args, 1, args.length));
+            try (final TokenizedInput args = Tokenizer.acquire(line)) {
+                if (args.isEmpty()) continue;
+
+                final CliCommand<S> command = commands.get(line, args.start(0), args.end(0));
+                if (command == null) {
+                    // TODO: Change this to a logger
+                    System.out.println("Command not found");
+                    continue;
+                }
+
+                command.execute(new CliCommandSender(), args.subList(1, args.size()));
+            }
         }
     }
 
@@ -123,6 +156,7 @@ public final class CliCommandManager<S> extends CommandManager<CliSender, S> {
         manager.registerMessage(MessageKey.TOO_MANY_ARGUMENTS, (sender, context) -> sender.sendMessage("Invalid usage."));
         manager.registerMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, (sender, context) -> sender.sendMessage("Invalid usage."));
         manager.registerMessage(MessageKey.INVALID_ARGUMENT, (sender, context) -> sender.sendMessage("Invalid argument `" + context.getTypedArgument() + "` for type `" + context.getArgumentType().getSimpleName() + "`."));
+        manager.registerMessage(MessageKey.RESOLUTION_TIMEOUT, (sender, context) -> sender.sendMessage("The command took too long to respond, try again."));
         manager.registerMessage(MessageKey.MISSING_REQUIRED_FLAG, (sender, context) -> sender.sendMessage("Command is missing required flags."));
         manager.registerMessage(MessageKey.MISSING_REQUIRED_FLAG_ARGUMENT, (sender, context) -> sender.sendMessage("Command is missing required flags argument."));
         manager.registerMessage(MessageKey.INVALID_FLAG_ARGUMENT, (sender, context) -> sender.sendMessage("Invalid flag argument `" + context.getTypedArgument() + "` for type `" + context.getArgumentType().getSimpleName() + "`."));
@@ -1,6 +1,7 @@
 plugins {
     id("cmds.base-conventions")
     id("cmds.library-conventions")
+    `java-test-fixtures`
 }
 
 dependencies {
@@ -10,10 +11,18 @@ dependencies {
     testImplementation(libs.assertj)
 
     compileOnly(libs.guava)
+
+    testFixturesCompileOnly("org.jetbrains:annotations:23.0.0")
 }
 
 tasks {
     test {
         useJUnitPlatform()
     }
+}
+
+// The fixtures are shared by the tests and the benchmarks only, they aren't published
+(components["java"] as AdhocComponentWithVariants).apply {
+    withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+    withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
 }
\ No newline at end of file
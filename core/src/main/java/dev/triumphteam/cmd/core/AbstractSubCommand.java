@@ -24,28 +24,33 @@
 package dev.triumphteam.cmd.core;
 
 import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.argument.ArgumentPlan;
 import dev.triumphteam.cmd.core.argument.InternalArgument;
-import dev.triumphteam.cmd.core.exceptions.CommandExecutionException;
-import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.argument.LimitlessInternalArgument;
 import dev.triumphteam.cmd.core.argument.StringInternalArgument;
+import dev.triumphteam.cmd.core.exceptions.CommandExecutionException;
+import dev.triumphteam.cmd.core.execution.CommandInvoker;
+import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
 import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
 import dev.triumphteam.cmd.core.message.context.InvalidArgumentContext;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
 import dev.triumphteam.cmd.core.processor.AbstractSubCommandProcessor;
+import dev.triumphteam.cmd.core.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.requirement.Requirement;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
+import dev.triumphteam.cmd.core.util.FutureUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -58,6 +63,7 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
 
     private final BaseCommand baseCommand;
     private final Method method;
+    private final CommandInvoker invoker;
 
     private final String parentName;
     private final String name;
@@ -67,9 +73,13 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
     private final Class<? extends S> senderType;
 
     private final List<InternalArgument<S, ?>> internalArguments;
+    private final ArgumentPlan<S> argumentPlan;
+    private final ArgumentPlan.Step<S>[] steps;
+    // Already sorted by the processor in the order they're checked, cheapest first
     private final Set<Requirement<S, ?>> requirements;
 
     private final MessageRegistry<S> messageRegistry;
+    private final RegistryContainer<S> registryContainer;
     private final ExecutionProvider executionProvider;
 
     private final SenderValidator<S> senderValidator;
@@ -77,6 +87,10 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
     private final boolean hasArguments;
     private final boolean containsLimitless;
 
+    // Compiled once, sub commands without asynchronous resolvers never create a future
+    private final boolean asyncResolution;
+    private final long resolutionTimeoutMillis;
+
     public AbstractSubCommand(
             @NotNull final AbstractSubCommandProcessor<S> processor,
             @NotNull final String parentName,
@@ -84,11 +98,16 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
     ) {
         this.baseCommand = processor.getBaseCommand();
         this.method = processor.getMethod();
+        this.invoker = processor.getInvoker();
         this.name = processor.getName();
         this.alias = processor.getAlias();
         this.internalArguments = processor.getArguments();
-        this.requirements = processor.getRequirements();
+        this.argumentPlan = processor.getArgumentPlan();
+        this.steps = argumentPlan.getSteps();
+        this.requirements = Collections.unmodifiableSet(processor.getRequirements());
+        this.resolutionTimeoutMillis = processor.getResolutionTimeoutMillis();
         this.messageRegistry = processor.getMessageRegistry();
+        this.registryContainer = processor.getRegistryContainer();
         this.isDefault = processor.isDefault();
         this.senderValidator = processor.getSenderValidator();
 
@@ -99,7 +118,18 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
         this.executionProvider = executionProvider;
 
         this.hasArguments = !internalArguments.isEmpty();
-        this.containsLimitless = internalArguments.stream().anyMatch(LimitlessInternalArgument.class::isInstance);
+        this.containsLimitless = argumentPlan.containsLimitless();
+        this.asyncResolution = hasAsyncResolution();
+    }
+
+    /**
+     * Gets the base command the sub command was declared in.
+     *
+     * @return The {@link BaseCommand} instance.
+     */
+    @NotNull
+    public BaseCommand getBaseCommand() {
+        return baseCommand;
     }
 
     /**
@@ -147,6 +177,16 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
         return hasArguments;
     }
 
+    /**
+     * Gets the requirements in the order they are checked.
+     *
+     * @return An unmodifiable set with the ordered requirements.
+     */
+    @NotNull
+    public Set<Requirement<S, ?>> getRequirements() {
+        return requirements;
+    }
+
     /**
      * Gets the message registry.
      *
@@ -159,36 +199,98 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
 
     /**
      * Executes the sub command.
+     * Each stage is timed into the {@link CommandMetrics} of the registry container, unless the metrics are disabled.
      *
      * @param sender The sender.
      * @param args   The arguments to pass to the executor.
      */
     @Override
     public void execute(@NotNull final S sender, @NotNull final List<String> args) {
+        execute(sender, args, null);
+    }
+
+    /**
+     * Executes the sub command with some arguments already resolved by the platform, like typed slash command options.
+     * Steps without a resolved value fall back to resolving their raw argument.
+     *
+     * @param sender   The sender.
+     * @param args     The raw arguments, one per step.
+     * @param resolved The values already resolved, indexed by step, or null if there are none.
+     */
+    protected void execute(@NotNull final S sender, @NotNull final List<String> args, @Nullable final Object[] resolved) {
+        final CommandMetrics metrics = registryContainer.getMetrics();
+        final boolean timed = metrics.isEnabled();
+        if (timed) metrics.recordInvocation(parentName, name);
+
         if (!senderValidator.validate(messageRegistry, this, sender)) return;
-        if (!meetRequirements(sender)) return;
 
-        // Creates the invoking arguments list
-        final List<Object> invokeArguments = new ArrayList<>();
-        invokeArguments.add(sender);
+        final long requirementsStart = timed ? System.nanoTime() : 0L;
+        final boolean metRequirements = meetRequirements(sender, metrics);
+        if (timed) metrics.recordTime(parentName, name, CommandMetrics.Stage.REQUIREMENTS, System.nanoTime() - requirementsStart);
+        if (!metRequirements) return;
+
+        if (asyncResolution) {
+            resolveAsync(sender, args, resolved, metrics, timed);
+            return;
+        }
+
+        // Creates the invoking arguments, slot 0 is always the sender
+        final Object[] invokeArguments = new Object[argumentPlan.getInvokeSize()];
+        invokeArguments[0] = sender;
 
-        if (!validateAndCollectArguments(sender, invokeArguments, args)) {
+        final long argumentsStart = timed ? System.nanoTime() : 0L;
+        final boolean allResolved = resolveArguments(sender, args, resolved, invokeArguments);
+        if (timed) metrics.recordTime(parentName, name, CommandMetrics.Stage.ARGUMENTS, System.nanoTime() - argumentsStart);
+        if (!allResolved) {
             return;
         }
 
-        if ((!containsLimitless) && args.size() >= invokeArguments.size()) {
+        if ((!containsLimitless) && args.size() > steps.length) {
             messageRegistry.sendMessage(MessageKey.TOO_MANY_ARGUMENTS, sender, new DefaultMessageContext(parentName, name));
             return;
         }
 
-        executionProvider.execute(() -> {
-            try {
-                method.invoke(baseCommand, invokeArguments.toArray());
-            } catch (IllegalAccessException | InvocationTargetException exception) {
-                throw new CommandExecutionException("An error occurred while executing the command", parentName, name)
-                        .initCause(exception instanceof InvocationTargetException ? exception.getCause() : exception);
-            }
-        });
+        invoke(invokeArguments, metrics, timed);
+    }
+
+    /**
+     * Hands the command method to the {@link ExecutionProvider}, once everything is resolved.
+     *
+     * @param invokeArguments The resolved arguments, slot 0 being the sender.
+     * @param metrics         The metrics to record into.
+     * @param timed           Whether the stages are being timed.
+     */
+    private void invoke(@NotNull final Object[] invokeArguments, @NotNull final CommandMetrics metrics, final boolean timed) {
+        final long submitted = timed ? System.nanoTime() : 0L;
+        executionProvider.execute(this, () -> run(invokeArguments, metrics, timed, submitted));
+    }
+
+    /**
+     * Runs the command method on the current thread, which must be the one the {@link ExecutionProvider} chose.
+     *
+     * @param invokeArguments The resolved arguments, slot 0 being the sender.
+     * @param metrics         The metrics to record into.
+     * @param timed           Whether the stages are being timed.
+     * @param submitted       When the command was handed to the {@link ExecutionProvider}.
+     */
+    private void run(
+            @NotNull final Object[] invokeArguments,
+            @NotNull final CommandMetrics metrics,
+            final boolean timed,
+            final long submitted
+    ) {
+        final long started = timed ? System.nanoTime() : 0L;
+        if (timed) metrics.recordTime(parentName, name, CommandMetrics.Stage.QUEUE, started - submitted);
+
+        try {
+            invoker.invoke(invokeArguments);
+        } catch (final Throwable throwable) {
+            if (timed) metrics.recordFailure(parentName, name, throwable);
+            throw new CommandExecutionException("An error occurred while executing the command", parentName, name)
+                    .initCause(throwable);
+        } finally {
+            if (timed) metrics.recordTime(parentName, name, CommandMetrics.Stage.EXECUTION, System.nanoTime() - started);
+        }
     }
 
     /**
@@ -201,6 +303,16 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
         return internalArguments;
     }
 
+    /**
+     * Gets the argument plan compiled for the sub command.
+     *
+     * @return The argument plan.
+     */
+    @NotNull
+    protected ArgumentPlan<S> getArgumentPlan() {
+        return argumentPlan;
+    }
+
     @Nullable
     protected InternalArgument<S, ?> getArgument(@NotNull final String name) {
         final List<InternalArgument<S, ?>> foundArgs = internalArguments.stream()
@@ -224,120 +336,270 @@ public abstract class AbstractSubCommand<S> implements SubCommand<S> {
         return internalArguments.get(index);
     }
 
-    // TODO: 2/1/2022 Comments
-    public List<@Nullable String> mapArguments(@NotNull final Map<String, String> args) {
-        final List<String> arguments = getArguments().stream().map(InternalArgument::getName).collect(Collectors.toList());
-        return arguments.stream().map(it -> {
-            final String value = args.get(it);
-            return value == null ? "" : value;
-        }).collect(Collectors.toList());
+    /**
+     * Resolves the command arguments following the compiled {@link ArgumentPlan}, writing each value into its slot.
+     * Missing optional arguments are left as null.
+     *
+     * @param sender          The sender of the command.
+     * @param commandArgs     The raw command arguments.
+     * @param invokeArguments The pre-sized array that'll be used on the `invoke` of the command method.
+     * @return False if any internalArgument fails to pass.
+     */
+    protected boolean resolveArguments(
+            @NotNull final S sender,
+            @NotNull final List<String> commandArgs,
+            @NotNull final Object[] invokeArguments
+    ) {
+        return resolveArguments(sender, commandArgs, null, invokeArguments);
     }
 
     /**
-     * Used for checking if the arguments are valid and adding them to the `invokeArguments`.
+     * Resolves the command arguments like {@link #resolveArguments(Object, List, Object[])},
+     * taking the values the platform already resolved as they are.
      *
      * @param sender          The sender of the command.
-     * @param invokeArguments A list with the arguments that'll be used on the `invoke` of the command method.
-     * @param commandArgs     The command arguments type.
+     * @param commandArgs     The raw command arguments.
+     * @param resolved        The values already resolved, indexed by step, or null if there are none.
+     * @param invokeArguments The pre-sized array that'll be used on the `invoke` of the command method.
      * @return False if any internalArgument fails to pass.
      */
-    @SuppressWarnings("unchecked")
-    private boolean validateAndCollectArguments(
+    protected boolean resolveArguments(
             @NotNull final S sender,
-            @NotNull final List<Object> invokeArguments,
-            @NotNull final List<String> commandArgs
+            @NotNull final List<String> commandArgs,
+            @Nullable final Object[] resolved,
+            @NotNull final Object[] invokeArguments
     ) {
-        for (int i = 0; i < internalArguments.size(); i++) {
-            final InternalArgument<S, ?> internalArgument = internalArguments.get(i);
+        final ArgumentPlan.Step<S>[] steps = this.steps;
+        final int provided = commandArgs.size();
 
-            if (internalArgument instanceof LimitlessInternalArgument) {
-                final LimitlessInternalArgument<S> limitlessArgument = (LimitlessInternalArgument<S>) internalArgument;
-                final List<String> leftOvers = leftOvers(commandArgs, i);
+        for (int i = 0; i < steps.length; i++) {
+            final ArgumentPlan.Step<S> step = steps[i];
 
-                final Object result = limitlessArgument.resolve(sender, leftOvers);
+            final Object value = resolved != null ? resolved[i] : null;
+            if (value != null) {
+                invokeArguments[step.getSlot()] = value;
+                continue;
+            }
 
+            if (step.isLimitless()) {
+                final Object result = step.getLimitlessArgument().resolve(sender, leftOvers(commandArgs, i, provided));
                 if (result == null) {
                     return false;
                 }
 
-                invokeArguments.add(result);
+                invokeArguments[step.getSlot()] = result;
                 return true;
             }
 
-            if (!(internalArgument instanceof StringInternalArgument)) {
-                throw new CommandExecutionException("Found unsupported internalArgument", parentName, name);
-            }
-
-            final StringInternalArgument<S> stringArgument = (StringInternalArgument<S>) internalArgument;
-            final String arg = valueOrNull(commandArgs, i);
+            final String arg = i < provided ? commandArgs.get(i) : null;
 
             if (arg == null || arg.isEmpty()) {
-                if (internalArgument.isOptional()) {
-                    invokeArguments.add(null);
-                    continue;
-                }
+                if (step.isOptional()) continue;
 
                 messageRegistry.sendMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, sender, new DefaultMessageContext(parentName, name));
                 return false;
             }
 
+            final StringInternalArgument<S> stringArgument = step.getStringArgument();
             final Object result = stringArgument.resolve(sender, arg);
             if (result == null) {
                 messageRegistry.sendMessage(
                         MessageKey.INVALID_ARGUMENT,
                         sender,
-                        new InvalidArgumentContext(parentName, name, arg, internalArgument.getName(), internalArgument.getType())
+                        new InvalidArgumentContext(parentName, name, arg, stringArgument.getName(), stringArgument.getType())
                 );
                 return false;
             }
 
-            invokeArguments.add(result);
+            invokeArguments[step.getSlot()] = result;
         }
 
         return true;
     }
 
     /**
-     * Checks if the requirements to run the command are met.
+     * Starts every asynchronous requirement and resolves all the arguments, asynchronous ones concurrently.
+     * The command only runs once all of them complete, if they take longer than the sub command's timeout
+     * {@link MessageKey#RESOLUTION_TIMEOUT} is sent instead.
+     * Failures are reported like in the synchronous path, requirements first and then the arguments in order.
      *
-     * @param sender The sender of the command.
-     * @return Whether all requirements are met.
+     * @param sender   The sender of the command.
+     * @param args     The raw command arguments.
+     * @param resolved The values already resolved, indexed by step, or null if there are none.
+     * @param metrics  The metrics to record into.
+     * @param timed    Whether the stages are being timed.
      */
-    private boolean meetRequirements(@NotNull final S sender) {
+    private void resolveAsync(
+            @NotNull final S sender,
+            @NotNull final List<String> args,
+            @Nullable final Object[] resolved,
+            @NotNull final CommandMetrics metrics,
+            final boolean timed
+    ) {
+        final long start = timed ? System.nanoTime() : 0L;
+        final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        // Synchronous requirements were already checked by now
+        final List<Requirement<S, ?>> asyncRequirements = new ArrayList<>();
+        final List<CompletableFuture<Boolean>> requirementResults = new ArrayList<>();
         for (final Requirement<S, ?> requirement : requirements) {
-            if (!requirement.isMet(sender)) {
-                requirement.sendMessage(messageRegistry, sender, parentName, name);
-                return false;
+            if (!requirement.isAsync()) continue;
+
+            final CompletableFuture<Boolean> result = requirement.isMetAsync(sender, metrics);
+            asyncRequirements.add(requirement);
+            requirementResults.add(result);
+            pending.add(result);
+        }
+
+        final ArgumentPlan.Step<S>[] steps = this.steps;
+        final CompletableFuture<?>[] argumentResults = new CompletableFuture<?>[steps.length];
+        final int provided = args.size();
+        int missing = -1;
+        for (int i = 0; i < steps.length; i++) {
+            final ArgumentPlan.Step<S> step = steps[i];
+
+            // Same order as the synchronous path, values resolved ahead of time win over resolving them again
+            final Object value = resolved != null ? resolved[i] : null;
+            if (value != null) {
+                argumentResults[i] = CompletableFuture.completedFuture(value);
+                continue;
+            }
+
+            if (step.isLimitless()) {
+                final Object result = step.getLimitlessArgument().resolve(sender, leftOvers(args, i, provided));
+                argumentResults[i] = CompletableFuture.completedFuture(result);
+                break;
+            }
+
+            final String arg = i < provided ? args.get(i) : null;
+            if (arg == null || arg.isEmpty()) {
+                if (step.isOptional()) continue;
+                missing = i;
+                break;
+            }
+
+            final CompletableFuture<?> result = step.getStringArgument().resolveAsync(sender, arg);
+            argumentResults[i] = result;
+            pending.add(result);
+        }
+
+        final boolean missingArguments = missing >= 0;
+        // The arguments may be a view over a pooled buffer that's reused once the caller returns, so copy them first
+        final String[] rawArgs = args.toArray(new String[0]);
+        final CompletableFuture<Void> all = CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]));
+        // The futures complete on whichever thread resolved them, so the rest goes back through the execution provider,
+        // which keeps synchronous commands on the platform's own thread
+        FutureUtils.within(all, resolutionTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((ignored, throwable) -> {
+            if (timed) metrics.recordTime(parentName, name, CommandMetrics.Stage.ASYNC_RESOLUTION, System.nanoTime() - start);
+            final long submitted = timed ? System.nanoTime() : 0L;
+
+            try {
+                executionProvider.execute(this, () -> {
+                    if (!all.isDone()) {
+                        messageRegistry.sendMessage(MessageKey.RESOLUTION_TIMEOUT, sender, new DefaultMessageContext(parentName, name));
+                        return;
+                    }
+
+                    for (int i = 0; i < asyncRequirements.size(); i++) {
+                        if (Boolean.TRUE.equals(FutureUtils.resultOrNull(requirementResults.get(i)))) continue;
+                        asyncRequirements.get(i).sendMessage(messageRegistry, sender, parentName, name);
+                        return;
+                    }
+
+                    final Object[] invokeArguments = new Object[argumentPlan.getInvokeSize()];
+                    invokeArguments[0] = sender;
+                    for (int i = 0; i < argumentResults.length; i++) {
+                        final CompletableFuture<?> future = argumentResults[i];
+                        if (future == null) continue;
+
+                        final ArgumentPlan.Step<S> step = steps[i];
+                        final Object result = FutureUtils.resultOrNull(future);
+                        if (result == null) {
+                            if (step.isLimitless()) return;
+
+                            final StringInternalArgument<S> stringArgument = step.getStringArgument();
+                            messageRegistry.sendMessage(
+                                    MessageKey.INVALID_ARGUMENT,
+                                    sender,
+                                    new InvalidArgumentContext(parentName, name, rawArgs[i], stringArgument.getName(), stringArgument.getType())
+                            );
+                            return;
+                        }
+
+                        invokeArguments[step.getSlot()] = result;
+                    }
+
+                    if (missingArguments) {
+                        messageRegistry.sendMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, sender, new DefaultMessageContext(parentName, name));
+                        return;
+                    }
+
+                    if ((!containsLimitless) && provided > steps.length) {
+                        messageRegistry.sendMessage(MessageKey.TOO_MANY_ARGUMENTS, sender, new DefaultMessageContext(parentName, name));
+                        return;
+                    }
+
+                    run(invokeArguments, metrics, timed, submitted);
+                });
+            } catch (final Throwable exception) {
+                // Nothing is waiting on this future, so report it like an asynchronous command would
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
             }
+        });
+    }
+
+    /**
+     * Checks if any requirement or argument of the sub command is resolved asynchronously.
+     *
+     * @return True if the sub command has to wait on asynchronous resolvers.
+     */
+    private boolean hasAsyncResolution() {
+        for (final Requirement<S, ?> requirement : requirements) {
+            if (requirement.isAsync()) return true;
         }
 
-        return true;
+        for (final ArgumentPlan.Step<S> step : steps) {
+            if (!step.isLimitless() && step.getStringArgument().isAsync()) return true;
+        }
+
+        return false;
     }
 
     /**
-     * Gets an internalArgument value or null.
+     * Checks if the requirements to run the command are met.
+     * Asynchronous requirements are skipped, they're checked together with the arguments.
      *
-     * @param list  The list to check from.
-     * @param index The current index of the internalArgument.
-     * @return The internalArgument name or null.
+     * @param sender  The sender of the command.
+     * @param metrics The metrics the requirement checks are recorded into.
+     * @return Whether all requirements are met.
      */
-    @Nullable
-    private String valueOrNull(@NotNull final List<String> list, final int index) {
-        if (index >= list.size()) return null;
-        return list.get(index);
+    private boolean meetRequirements(@NotNull final S sender, @NotNull final CommandMetrics metrics) {
+        for (final Requirement<S, ?> requirement : requirements) {
+            if (requirement.isAsync()) continue;
+            if (!requirement.isMet(sender, metrics)) {
+                requirement.sendMessage(messageRegistry, sender, parentName, name);
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
      * Gets the left over of the arguments.
+     * Avoids creating a sub list when the limitless argument is the first one.
      *
      * @param list The list with all the arguments.
      * @param from The index from which should start removing.
+     * @param size The size of the list.
      * @return A list with the leftover arguments.
      */
     @NotNull
-    private List<String> leftOvers(@NotNull final List<String> list, final int from) {
-        if (from > list.size()) return Collections.emptyList();
-        return list.subList(from, list.size());
+    private List<String> leftOvers(@NotNull final List<String> list, final int from, final int size) {
+        if (from == 0) return list;
+        if (from >= size) return Collections.emptyList();
+        return list.subList(from, size);
     }
 
     @NotNull
@@ -26,6 +26,7 @@ package dev.triumphteam.cmd.core;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Command interface which all platforms will implement.
@@ -46,4 +47,22 @@ public interface Command<S, SC extends SubCommand<S>> {
             @NotNull final Map<String, SC> subCommandAliases
     );
 
+    /**
+     * Removes every sub command that was registered from the given {@link BaseCommand}.
+     * Implementations rebuild their sub commands and publish them in a single write, so executions already
+     * running finish with the old sub commands while new ones only see the remaining ones.
+     *
+     * @param baseCommand The base command whose sub commands should be removed.
+     * @return Whether the command has no sub commands left.
+     */
+    boolean removeSubCommands(@NotNull final BaseCommand baseCommand);
+
+    /**
+     * Removes every sub command matching the filter, the same way as {@link #removeSubCommands(BaseCommand)}.
+     *
+     * @param filter The filter for the sub commands to remove.
+     * @return Whether the command has no sub commands left.
+     */
+    boolean removeSubCommandsIf(@NotNull final Predicate<? super SC> filter);
+
 }
@@ -24,12 +24,20 @@
 package dev.triumphteam.cmd.core;
 
 import dev.triumphteam.cmd.core.argument.ArgumentResolver;
+import dev.triumphteam.cmd.core.argument.AsyncArgumentResolver;
 import dev.triumphteam.cmd.core.argument.named.Argument;
 import dev.triumphteam.cmd.core.argument.named.ArgumentKey;
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
 import dev.triumphteam.cmd.core.message.ContextualKey;
 import dev.triumphteam.cmd.core.message.MessageResolver;
 import dev.triumphteam.cmd.core.message.context.MessageContext;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
+import dev.triumphteam.cmd.core.processor.CommandScan;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.requirement.AsyncRequirementResolver;
+import dev.triumphteam.cmd.core.requirement.RequirementCost;
 import dev.triumphteam.cmd.core.requirement.RequirementKey;
 import dev.triumphteam.cmd.core.requirement.RequirementResolver;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
@@ -37,9 +45,14 @@ import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmd.core.suggestion.SuggestionKey;
 import dev.triumphteam.cmd.core.suggestion.SuggestionResolver;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * Base command manager for all platforms.
@@ -66,7 +79,12 @@ public abstract class CommandManager<DS, S> {
      *
      * @param baseCommand The {@link BaseCommand} to be registered.
      */
-    public abstract void registerCommand(@NotNull final BaseCommand baseCommand);
+    public void registerCommand(@NotNull final BaseCommand baseCommand) {
+        final AbstractCommandProcessor<?, S, ?, ?> processor = scanCommand(baseCommand);
+        synchronized (this) {
+            publishCommand(processor);
+        }
+    }
 
     /**
      * Registers {@link BaseCommand}s.
@@ -79,6 +97,104 @@ public abstract class CommandManager<DS, S> {
         }
     }
 
+    /**
+     * Registers a batch of {@link BaseCommand}s, scanning them in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param baseCommands The commands to be registered.
+     * @return The scan result of each command, in the same order as given.
+     * @see #registerCommands(Collection, ForkJoinPool)
+     */
+    @NotNull
+    public final List<CommandScan> registerCommands(@NotNull final Collection<? extends BaseCommand> baseCommands) {
+        return registerCommands(baseCommands, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Registers a batch of {@link BaseCommand}s.
+     * All commands are scanned and validated in parallel on the given pool first, and only once every command passed
+     * they are published to the platform, one after the other while holding the manager's lock.
+     * If any command fails to scan none of them are published, and if one fails to publish, or an error is thrown,
+     * the sub commands the batch already published are removed again, including the ones of the failed command.
+     * Only what the batch added is removed, commands registered before it keep their sub commands and are left in place,
+     * though a sub command the batch replaced isn't restored. Dispatch isn't blocked while publishing,
+     * so it may see part of the batch.
+     *
+     * @param baseCommands The commands to be registered.
+     * @param pool         The pool to scan the commands on.
+     * @return The scan result of each command, in the same order as given.
+     */
+    @NotNull
+    public final List<CommandScan> registerCommands(
+            @NotNull final Collection<? extends BaseCommand> baseCommands,
+            @NotNull final ForkJoinPool pool
+    ) {
+        final List<ScannedCommand<S>> scanned = pool.submit(() -> baseCommands.parallelStream()
+                .map(this::timedScan)
+                .collect(Collectors.toList())
+        ).join();
+
+        synchronized (this) {
+            final List<AbstractCommandProcessor<?, S, ?, ?>> published = new ArrayList<>(scanned.size());
+            boolean success = false;
+            try {
+                for (final ScannedCommand<S> command : scanned) {
+                    // Tracked before publishing, since a command that fails may have been partially published
+                    published.add(command.processor);
+                    publishCommand(command.processor);
+                }
+                success = true;
+            } finally {
+                if (!success) unpublishCommands(published);
+            }
+        }
+
+        return scanned.stream().map(it -> it.scan).collect(Collectors.toList());
+    }
+
+    /**
+     * Removes the published commands again, last one first.
+     * A command that fails to be removed doesn't stop the others, the failure that stopped the batch is the one thrown.
+     *
+     * @param published The processors published by the batch.
+     */
+    private void unpublishCommands(@NotNull final List<AbstractCommandProcessor<?, S, ?, ?>> published) {
+        for (int i = published.size() - 1; i >= 0; i--) {
+            try {
+                unpublishCommand(published.get(i));
+            } catch (final RuntimeException ignored) {
+                // Keeps undoing the rest of the batch
+            }
+        }
+    }
+
+    /**
+     * Scans and validates the command, creating its processor and sub commands.
+     * Called concurrently during batch registrations, so it must not touch any platform state.
+     *
+     * @param baseCommand The {@link BaseCommand} to scan.
+     * @return The processor holding the scanned command.
+     */
+    @NotNull
+    protected abstract AbstractCommandProcessor<?, S, ?, ?> scanCommand(@NotNull final BaseCommand baseCommand);
+
+    /**
+     * Publishes an already scanned command to the platform.
+     * Always called with the processor returned by {@link #scanCommand(BaseCommand)} and never concurrently.
+     *
+     * @param processor The processor holding the scanned command.
+     */
+    protected abstract void publishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor);
+
+    /**
+     * Removes what {@link #publishCommand(AbstractCommandProcessor)} added for the processor, used to roll back a batch.
+     * Unlike {@link #unregisterCommand(BaseCommand)}, only the processor's own sub commands are removed,
+     * so earlier registrations of the same {@link BaseCommand} stay, and commands are only removed if left empty.
+     * Always called while holding the manager's lock.
+     *
+     * @param processor The processor holding the published command, which may have been only partially published.
+     */
+    protected abstract void unpublishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor);
+
     /**
      * Main method for unregistering commands to be implemented in other platform command managers.
      *
@@ -107,6 +223,17 @@ public abstract class CommandManager<DS, S> {
         getRegistryContainer().getArgumentRegistry().register(clazz, resolver);
     }
 
+    /**
+     * Registers an argument type that is resolved asynchronously, like a user that has to be fetched from an API.
+     * Sub commands using it resolve it concurrently with their other asynchronous resolvers and wait without blocking.
+     *
+     * @param clazz    The class of the argument to be registered.
+     * @param resolver The {@link AsyncArgumentResolver} with the argument resolution.
+     */
+    public final void registerAsyncArgument(@NotNull final Class<?> clazz, @NotNull final AsyncArgumentResolver<S> resolver) {
+        getRegistryContainer().getArgumentRegistry().register(clazz, resolver);
+    }
+
     // TODO: Comments
     public void registerSuggestion(@NotNull final SuggestionKey key, @NotNull final SuggestionResolver<S> suggestionResolver) {
         getRegistryContainer().getSuggestionRegistry().register(key, suggestionResolver);
@@ -117,6 +244,75 @@ public abstract class CommandManager<DS, S> {
         getRegistryContainer().getSuggestionRegistry().register(type, suggestionResolver);
     }
 
+    /**
+     * Registers a custom suggestion whose results are cached following the given {@link CachePolicy}.
+     *
+     * @param key                The suggestion key.
+     * @param suggestionResolver The action to get the suggestions.
+     * @param policy             How the suggestions should be cached.
+     */
+    public void registerSuggestion(
+            @NotNull final SuggestionKey key,
+            @NotNull final SuggestionResolver<S> suggestionResolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        getRegistryContainer().getSuggestionRegistry().register(key, suggestionResolver, policy);
+    }
+
+    /**
+     * Registers a type suggestion whose results are cached following the given {@link CachePolicy}.
+     *
+     * @param type               The type to suggest for.
+     * @param suggestionResolver The action to get the suggestions.
+     * @param policy             How the suggestions should be cached.
+     */
+    public void registerSuggestion(
+            @NotNull final Class<?> type,
+            @NotNull final SuggestionResolver<S> suggestionResolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        getRegistryContainer().getSuggestionRegistry().register(type, suggestionResolver, policy);
+    }
+
+    /**
+     * Clears the cached results of a suggestion, so the next completion resolves it again.
+     *
+     * @param key The suggestion key.
+     */
+    public final void invalidateSuggestion(@NotNull final SuggestionKey key) {
+        getRegistryContainer().getSuggestionRegistry().invalidate(key);
+    }
+
+    /**
+     * Clears the cached results of a suggestion for a single sender.
+     *
+     * @param key    The suggestion key.
+     * @param sender The sender to clear the results for.
+     */
+    public final void invalidateSuggestion(@NotNull final SuggestionKey key, @NotNull final S sender) {
+        getRegistryContainer().getSuggestionRegistry().invalidate(key, sender);
+    }
+
+    /**
+     * Clears the cached results of a type suggestion.
+     *
+     * @param type The type the suggestion is for.
+     */
+    public final void invalidateSuggestion(@NotNull final Class<?> type) {
+        getRegistryContainer().getSuggestionRegistry().invalidate(type);
+    }
+
+    /**
+     * Gets the hit and miss counters of a cached suggestion.
+     *
+     * @param key The suggestion key.
+     * @return The {@link CacheStatistics} or null if the suggestion isn't cached.
+     */
+    @Nullable
+    public final CacheStatistics getSuggestionStatistics(@NotNull final SuggestionKey key) {
+        return getRegistryContainer().getSuggestionRegistry().getStatistics(key);
+    }
+
     // TODO: Comments
     public final void registerNamedArguments(@NotNull final ArgumentKey key, @NotNull final Argument @NotNull ... arguments) {
         registerNamedArguments(key, Arrays.asList(arguments));
@@ -143,7 +339,7 @@ public abstract class CommandManager<DS, S> {
      * Registers a requirement.
      *
      * @param key      The {@link RequirementKey} of the requirement to be registered.
-     * @param resolver The {@link ArgumentResolver} with the requirement resolution.
+     * @param resolver The {@link RequirementResolver} with the requirement resolution.
      */
     public final void registerRequirement(
             @NotNull final RequirementKey key,
@@ -152,6 +348,144 @@ public abstract class CommandManager<DS, S> {
         getRegistryContainer().getRequirementRegistry().register(key, resolver);
     }
 
+    /**
+     * Registers a requirement whose results are cached, so repeated checks within the policy's time skip the resolver.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link RequirementResolver} with the requirement resolution.
+     * @param policy   The {@link CachePolicy} for the results.
+     */
+    public final void registerRequirement(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        getRegistryContainer().getRequirementRegistry().register(key, resolver, policy);
+    }
+
+    /**
+     * Registers a requirement with a declared cost.
+     * Sub commands check cheaper requirements first, the cost has to be declared before the commands using it are registered.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link RequirementResolver} with the requirement resolution.
+     * @param cost     How expensive the resolver is to run.
+     */
+    public final void registerRequirement(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final RequirementCost cost
+    ) {
+        getRegistryContainer().getRequirementRegistry().register(key, resolver, cost);
+    }
+
+    /**
+     * Registers a cached requirement with a declared cost.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link RequirementResolver} with the requirement resolution.
+     * @param policy   The {@link CachePolicy} for the results.
+     * @param cost     How expensive the resolver is to run.
+     */
+    public final void registerRequirement(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy,
+            @NotNull final RequirementCost cost
+    ) {
+        getRegistryContainer().getRequirementRegistry().register(key, resolver, policy, cost);
+    }
+
+    /**
+     * Registers a requirement that is checked asynchronously.
+     * Sub commands using it wait for the result without blocking, together with their other asynchronous resolvers.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link AsyncRequirementResolver} with the requirement resolution.
+     * @param cost     How expensive the resolver is to run.
+     */
+    public final void registerAsyncRequirement(
+            @NotNull final RequirementKey key,
+            @NotNull final AsyncRequirementResolver<S> resolver,
+            @NotNull final RequirementCost cost
+    ) {
+        getRegistryContainer().getRequirementRegistry().register(key, resolver, cost);
+    }
+
+    /**
+     * Registers a requirement that is checked asynchronously, with {@link RequirementCost#EXPENSIVE} cost.
+     *
+     * @param key      The {@link RequirementKey} of the requirement to be registered.
+     * @param resolver The {@link AsyncRequirementResolver} with the requirement resolution.
+     */
+    public final void registerAsyncRequirement(
+            @NotNull final RequirementKey key,
+            @NotNull final AsyncRequirementResolver<S> resolver
+    ) {
+        registerAsyncRequirement(key, resolver, RequirementCost.EXPENSIVE);
+    }
+
+    /**
+     * Clears the cached results of a requirement, so the next check resolves it again.
+     *
+     * @param key The requirement key.
+     */
+    public final void invalidateRequirement(@NotNull final RequirementKey key) {
+        getRegistryContainer().getRequirementRegistry().invalidate(key);
+    }
+
+    /**
+     * Clears the cached result of a requirement for a single sender.
+     *
+     * @param key    The requirement key.
+     * @param sender The sender to clear the result for.
+     */
+    public final void invalidateRequirement(@NotNull final RequirementKey key, @NotNull final S sender) {
+        getRegistryContainer().getRequirementRegistry().invalidate(key, sender);
+    }
+
+    /**
+     * Clears everything cached for a sender, in every sender scoped requirement and suggestion.
+     * Should be called when the sender's state changes, like their permissions or when they disconnect.
+     *
+     * @param sender The sender to clear the results for.
+     */
+    public final void invalidateSender(@NotNull final S sender) {
+        getRegistryContainer().getRequirementRegistry().invalidateSender(sender);
+        getRegistryContainer().getSuggestionRegistry().invalidateSender(sender);
+    }
+
+    /**
+     * Gets the hit and miss counters of a cached requirement.
+     *
+     * @param key The requirement key.
+     * @return The {@link CacheStatistics} or null if the requirement isn't cached.
+     */
+    @Nullable
+    public final CacheStatistics getRequirementStatistics(@NotNull final RequirementKey key) {
+        return getRegistryContainer().getRequirementRegistry().getStatistics(key);
+    }
+
+    /**
+     * Sets the metrics every command execution is recorded into.
+     * Defaults to {@link CommandMetrics#noop()}, for in memory metrics use {@link dev.triumphteam.cmd.core.metrics.InMemoryCommandMetrics}.
+     *
+     * @param metrics The {@link CommandMetrics} to use.
+     */
+    public final void setMetrics(@NotNull final CommandMetrics metrics) {
+        getRegistryContainer().setMetrics(metrics);
+    }
+
+    /**
+     * Gets the metrics command executions are recorded into.
+     *
+     * @return The current {@link CommandMetrics}.
+     */
+    @NotNull
+    public final CommandMetrics getMetrics() {
+        return getRegistryContainer().getMetrics();
+    }
+
     // TODO: Comments
     @NotNull
     protected abstract RegistryContainer<S> getRegistryContainer();
@@ -164,4 +498,31 @@ public abstract class CommandManager<DS, S> {
     protected SenderValidator<S> getSenderValidator() {
         return senderValidator;
     }
+
+    @NotNull
+    private ScannedCommand<S> timedScan(@NotNull final BaseCommand baseCommand) {
+        final long start = System.nanoTime();
+        final AbstractCommandProcessor<?, S, ?, ?> processor = scanCommand(baseCommand);
+        final long time = System.nanoTime() - start;
+        return new ScannedCommand<>(
+                processor,
+                new CommandScan(baseCommand.getClass(), processor.getName(), processor.getSubCommands().size(), time)
+        );
+    }
+
+    /**
+     * A command scanned during a batch registration, waiting to be published.
+     *
+     * @param <S> The sender type.
+     */
+    private static final class ScannedCommand<S> {
+
+        private final AbstractCommandProcessor<?, S, ?, ?> processor;
+        private final CommandScan scan;
+
+        private ScannedCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor, @NotNull final CommandScan scan) {
+            this.processor = processor;
+            this.scan = scan;
+        }
+    }
 }
@@ -0,0 +1,492 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, case-insensitive radix trie used to resolve commands and sub commands by name or alias.
+ * Names and aliases share the same tree, so resolving a command is a single walk over the input,
+ * which can be any region of a {@link CharSequence}, meaning no substring or lower-cased copy is ever created.
+ * <br/>
+ * Trees are never modified after being built, to change one use {@link #toBuilder()} and swap the instance.
+ *
+ * @param <T> The type of the value, usually a command or sub command.
+ */
+public final class CommandTree<T> {
+
+    private static final CommandTree<?> EMPTY = new CommandTree<>(new Node<>(new char[0]), 0);
+
+    private final Node<T> root;
+    private final int size;
+
+    private CommandTree(@NotNull final Node<T> root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets an empty tree.
+     *
+     * @param <T> The type of the value.
+     * @return An empty {@link CommandTree}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T> CommandTree<T> empty() {
+        return (CommandTree<T>) EMPTY;
+    }
+
+    /**
+     * Creates a new builder for a tree.
+     *
+     * @param <T> The type of the value.
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract(" -> new")
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates a builder populated with all the names and aliases of this tree.
+     *
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract(" -> new")
+    public Builder<T> toBuilder() {
+        final Builder<T> builder = new Builder<>();
+        visit(root, true, (name, node) -> builder.put(name, node.value, node.alias));
+        return builder;
+    }
+
+    /**
+     * Gets the value for the given name or alias, ignoring case.
+     *
+     * @param key The name or alias.
+     * @return The value or null if there is none.
+     */
+    @Nullable
+    public T get(@NotNull final CharSequence key) {
+        return get(key, 0, key.length());
+    }
+
+    /**
+     * Gets the value for the name or alias contained in the given region of the input, ignoring case.
+     *
+     * @param input The input containing the name, for example a full command line.
+     * @param start The start of the name, inclusive.
+     * @param end   The end of the name, exclusive.
+     * @return The value or null if there is none.
+     */
+    @Nullable
+    public T get(@NotNull final CharSequence input, final int start, final int end) {
+        Node<T> node = root;
+        int index = start;
+
+        while (index < end) {
+            final Node<T> child = node.child(fold(input.charAt(index)));
+            if (child == null) return null;
+
+            final char[] label = child.label;
+            if (end - index < label.length) return null;
+
+            // First character was already matched when finding the child
+            for (int i = 1; i < label.length; i++) {
+                if (fold(input.charAt(index + i)) != label[i]) return null;
+            }
+
+            index += label.length;
+            node = child;
+        }
+
+        return node.value;
+    }
+
+    /**
+     * Checks whether the tree contains the given name or alias, ignoring case.
+     *
+     * @param key The name or alias.
+     * @return Whether the key is present.
+     */
+    public boolean contains(@NotNull final CharSequence key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Visits every entry whose name or alias starts with the given prefix, ignoring case, in alphabetical order.
+     * Used for tab completion, only the matching part of the tree is walked.
+     *
+     * @param prefix         The prefix typed so far.
+     * @param includeAliases Whether aliases should also be visited.
+     * @param consumer       The consumer of the name (in its original case) and the value.
+     */
+    public void forEachMatching(
+            @NotNull final CharSequence prefix,
+            final boolean includeAliases,
+            @NotNull final BiConsumer<String, T> consumer
+    ) {
+        final Node<T> node = findPrefix(prefix);
+        if (node == null) return;
+        visit(node, includeAliases, (name, found) -> consumer.accept(name, found.value));
+    }
+
+    /**
+     * Gets the names (not aliases) starting with the given prefix whose value passes the filter.
+     *
+     * @param prefix The prefix typed so far.
+     * @param filter Filter for the values, for example a permission check.
+     * @return A list with the matching names, in alphabetical order.
+     */
+    @NotNull
+    public List<String> complete(@NotNull final CharSequence prefix, @NotNull final Predicate<? super T> filter) {
+        final List<String> names = new ArrayList<>();
+        forEachMatching(prefix, false, (name, value) -> {
+            if (filter.test(value)) names.add(name);
+        });
+        return names;
+    }
+
+    /**
+     * Visits every name (not aliases) of the tree.
+     *
+     * @param consumer The consumer of the name and the value.
+     */
+    public void forEach(@NotNull final BiConsumer<String, T> consumer) {
+        visit(root, false, (name, node) -> consumer.accept(name, node.value));
+    }
+
+    /**
+     * Gets the amount of names and aliases in the tree.
+     *
+     * @return The size of the tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is empty.
+     *
+     * @return Whether the tree is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the node under which every key starts with the given prefix.
+     *
+     * @param prefix The prefix.
+     * @return The node or null if no key starts with the prefix.
+     */
+    @Nullable
+    private Node<T> findPrefix(@NotNull final CharSequence prefix) {
+        final int end = prefix.length();
+        Node<T> node = root;
+        int index = 0;
+
+        while (index < end) {
+            final Node<T> child = node.child(fold(prefix.charAt(index)));
+            if (child == null) return null;
+
+            final char[] label = child.label;
+            final int length = Math.min(label.length, end - index);
+            for (int i = 1; i < length; i++) {
+                if (fold(prefix.charAt(index + i)) != label[i]) return null;
+            }
+
+            index += label.length;
+            node = child;
+        }
+
+        return node;
+    }
+
+    /**
+     * Depth first walk of the nodes, children are sorted so the visiting order is alphabetical.
+     *
+     * @param node           The node to start from.
+     * @param includeAliases Whether aliases should be visited.
+     * @param consumer       The consumer of the name and node.
+     */
+    private static <T> void visit(
+            @NotNull final Node<T> node,
+            final boolean includeAliases,
+            @NotNull final BiConsumer<String, Node<T>> consumer
+    ) {
+        if (node.value != null && (includeAliases || !node.alias)) consumer.accept(node.name, node);
+        for (final Node<T> child : node.children) {
+            visit(child, includeAliases, consumer);
+        }
+    }
+
+    /**
+     * Folds the case of a character, same as {@link String#equalsIgnoreCase(String)} does.
+     *
+     * @param character The character.
+     * @return The case folded character.
+     */
+    private static char fold(final char character) {
+        if (character < 128) {
+            return character >= 'A' && character <= 'Z' ? (char) (character + 32) : character;
+        }
+
+        return Character.toLowerCase(Character.toUpperCase(character));
+    }
+
+    @NotNull
+    private static char[] fold(@NotNull final String key) {
+        final char[] folded = new char[key.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(key.charAt(i));
+        }
+        return folded;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        final List<String> names = new ArrayList<>();
+        visit(root, true, (name, node) -> names.add(node.alias ? name + "*" : name));
+        return "CommandTree{" +
+                "entries=" + names +
+                '}';
+    }
+
+    /**
+     * Builder for the {@link CommandTree}.
+     * Names always take precedence over aliases with the same key.
+     *
+     * @param <T> The type of the value.
+     */
+    public static final class Builder<T> {
+
+        private final Map<String, Entry<T>> entries = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a name to the tree, replacing any previous value for it.
+         *
+         * @param name  The name.
+         * @param value The value.
+         * @return The builder.
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Builder<T> name(@NotNull final String name, @NotNull final T value) {
+            return put(name, value, false);
+        }
+
+        /**
+         * Adds an alias to the tree, unless a name with the same key is already present.
+         *
+         * @param alias The alias.
+         * @param value The value.
+         * @return The builder.
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Builder<T> alias(@NotNull final String alias, @NotNull final T value) {
+            return put(alias, value, true);
+        }
+
+        /**
+         * Adds all the names and aliases from the processor maps.
+         *
+         * @param names   Map with the names.
+         * @param aliases Map with the aliases.
+         * @return The builder.
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Builder<T> putAll(
+                @NotNull final Map<String, ? extends T> names,
+                @NotNull final Map<String, ? extends T> aliases
+        ) {
+            names.forEach(this::name);
+            aliases.forEach(this::alias);
+            return this;
+        }
+
+        /**
+         * Removes every name and alias whose value matches the predicate.
+         *
+         * @param predicate The predicate.
+         * @return The builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder<T> removeIf(@NotNull final Predicate<? super T> predicate) {
+            entries.values().removeIf(entry -> predicate.test(entry.value));
+            return this;
+        }
+
+        /**
+         * Builds the immutable tree.
+         *
+         * @return A new {@link CommandTree}.
+         */
+        @NotNull
+        @Contract(" -> new")
+        public CommandTree<T> build() {
+            if (entries.isEmpty()) return empty();
+
+            final Node<T> root = new Node<>(new char[0]);
+            entries.forEach((key, entry) -> insert(root, key.toCharArray(), entry));
+            return new CommandTree<>(root, entries.size());
+        }
+
+        @NotNull
+        private Builder<T> put(@NotNull final String name, @NotNull final T value, final boolean alias) {
+            final String key = new String(fold(name));
+            if (alias) {
+                final Entry<T> existing = entries.get(key);
+                if (existing != null && !existing.alias) return this;
+            }
+
+            entries.put(key, new Entry<>(name, value, alias));
+            return this;
+        }
+
+        private static <T> void insert(@NotNull final Node<T> root, @NotNull final char[] key, @NotNull final Entry<T> entry) {
+            Node<T> node = root;
+            int index = 0;
+
+            while (index < key.length) {
+                final Node<T> child = node.child(key[index]);
+                if (child == null) {
+                    node.addChild(new Node<T>(Arrays.copyOfRange(key, index, key.length)).set(entry));
+                    return;
+                }
+
+                final char[] label = child.label;
+                int common = 1;
+                while (common < label.length && index + common < key.length && label[common] == key[index + common]) {
+                    common++;
+                }
+
+                if (common < label.length) {
+                    // Splits the child so the common part becomes its own node
+                    final Node<T> split = new Node<>(Arrays.copyOf(label, common));
+                    child.label = Arrays.copyOfRange(label, common, label.length);
+                    split.addChild(child);
+                    node.replaceChild(split);
+                    node = split;
+                } else {
+                    node = child;
+                }
+
+                index += common;
+            }
+
+            node.set(entry);
+        }
+    }
+
+    /**
+     * Entry of the builder, the original name and the value.
+     */
+    private static final class Entry<T> {
+
+        private final String name;
+        private final T value;
+        private final boolean alias;
+
+        private Entry(@NotNull final String name, @NotNull final T value, final boolean alias) {
+            this.name = name;
+            this.value = value;
+            this.alias = alias;
+        }
+    }
+
+    /**
+     * Node of the trie, only mutated while building.
+     */
+    private static final class Node<T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] label;
+        private char[] firstChars = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<T>[] children = NO_CHILDREN;
+
+        private String name = null;
+        private T value = null;
+        private boolean alias = false;
+
+        private Node(@NotNull final char[] label) {
+            this.label = label;
+        }
+
+        @Nullable
+        private Node<T> child(final char first) {
+            final int index = Arrays.binarySearch(firstChars, first);
+            return index < 0 ? null : children[index];
+        }
+
+        @NotNull
+        private Node<T> set(@NotNull final Entry<T> entry) {
+            this.name = entry.name;
+            this.value = entry.value;
+            this.alias = entry.alias;
+            return this;
+        }
+
+        private void addChild(@NotNull final Node<T> child) {
+            final int index = -(Arrays.binarySearch(firstChars, child.label[0]) + 1);
+
+            final char[] newFirstChars = new char[firstChars.length + 1];
+            System.arraycopy(firstChars, 0, newFirstChars, 0, index);
+            System.arraycopy(firstChars, index, newFirstChars, index + 1, firstChars.length - index);
+            newFirstChars[index] = child.label[0];
+
+            final Node<T>[] newChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newChildren[index] = child;
+
+            firstChars = newFirstChars;
+            children = newChildren;
+        }
+
+        private void replaceChild(@NotNull final Node<T> child) {
+            children[Arrays.binarySearch(firstChars, child.label[0])] = child;
+        }
+    }
+}
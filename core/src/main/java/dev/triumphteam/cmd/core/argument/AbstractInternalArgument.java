@@ -72,6 +72,11 @@ public abstract class AbstractInternalArgument<S, T> implements InternalArgument
         return suggestion.getSuggestions(sender, trimmed.get(0), context);
     }
 
+    @Override
+    public boolean hasSenderScopedSuggestions() {
+        return suggestion.isSenderScoped();
+    }
+
     /**
      * Gets the name of the internalArgument.
      * This will be either the parameter name or <code>arg1</code>, <code>arg2</code>, etc.
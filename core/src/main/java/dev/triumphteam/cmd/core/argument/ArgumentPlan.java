@@ -0,0 +1,204 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Flat execution plan of a sub command's arguments, compiled once during registration.
+ * Each {@link Step} knows which slot of the invoke array it fills and whether it is optional or limitless,
+ * so executing the sub command needs no type checks and no intermediate collections.
+ *
+ * @param <S> The sender type.
+ */
+public final class ArgumentPlan<S> {
+
+    private final Step<S>[] steps;
+    private final boolean containsLimitless;
+
+    private ArgumentPlan(@NotNull final Step<S>[] steps, final boolean containsLimitless) {
+        this.steps = steps;
+        this.containsLimitless = containsLimitless;
+    }
+
+    /**
+     * Compiles the given arguments into a plan.
+     *
+     * @param arguments The already validated arguments of the sub command.
+     * @param <S>       The sender type.
+     * @return The compiled plan.
+     * @throws IllegalArgumentException If an argument is neither a {@link StringInternalArgument} nor a {@link LimitlessInternalArgument}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <S> ArgumentPlan<S> compile(@NotNull final List<InternalArgument<S, ?>> arguments) {
+        final Step<S>[] steps = new Step[arguments.size()];
+        boolean containsLimitless = false;
+
+        for (int i = 0; i < steps.length; i++) {
+            final InternalArgument<S, ?> argument = arguments.get(i);
+
+            if (argument instanceof LimitlessInternalArgument) {
+                steps[i] = new Step<>(i, argument, null, (LimitlessInternalArgument<S>) argument);
+                containsLimitless = true;
+                continue;
+            }
+
+            if (argument instanceof StringInternalArgument) {
+                steps[i] = new Step<>(i, argument, (StringInternalArgument<S>) argument, null);
+                continue;
+            }
+
+            throw new IllegalArgumentException("Found unsupported argument \"" + argument.getName() + "\"");
+        }
+
+        return new ArgumentPlan<>(steps, containsLimitless);
+    }
+
+    /**
+     * Gets the steps of the plan, in the order the arguments are consumed.
+     * The returned array is shared and must not be modified.
+     *
+     * @return The plan steps.
+     */
+    @NotNull
+    public Step<S>[] getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the size of the array the command method is invoked with, the sender plus every argument.
+     *
+     * @return The invoke array size.
+     */
+    public int getInvokeSize() {
+        return steps.length + 1;
+    }
+
+    /**
+     * Gets the amount of arguments in the plan.
+     *
+     * @return The amount of arguments.
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    /**
+     * Whether the plan ends with a limitless argument.
+     *
+     * @return True if the last argument consumes all leftover input.
+     */
+    public boolean containsLimitless() {
+        return containsLimitless;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "ArgumentPlan{steps=" + steps.length + ", containsLimitless=" + containsLimitless + "}";
+    }
+
+    /**
+     * A single pre-resolved argument step.
+     * Exactly one of {@link #getStringArgument()} or {@link #getLimitlessArgument()} is present.
+     *
+     * @param <S> The sender type.
+     */
+    public static final class Step<S> {
+
+        private final int slot;
+        private final InternalArgument<S, ?> argument;
+        private final StringInternalArgument<S> stringArgument;
+        private final LimitlessInternalArgument<S> limitlessArgument;
+        private final boolean optional;
+        private final boolean limitless;
+
+        private Step(
+                final int index,
+                @NotNull final InternalArgument<S, ?> argument,
+                @Nullable final StringInternalArgument<S> stringArgument,
+                @Nullable final LimitlessInternalArgument<S> limitlessArgument
+        ) {
+            this.slot = index + 1;
+            this.argument = argument;
+            this.stringArgument = stringArgument;
+            this.limitlessArgument = limitlessArgument;
+            this.optional = argument.isOptional();
+            this.limitless = limitlessArgument != null;
+        }
+
+        /**
+         * Gets the slot of the invoke array this step fills, slot 0 is always the sender.
+         *
+         * @return The invoke array slot.
+         */
+        public int getSlot() {
+            return slot;
+        }
+
+        /**
+         * Gets the argument this step was compiled from.
+         *
+         * @return The argument.
+         */
+        @NotNull
+        public InternalArgument<S, ?> getArgument() {
+            return argument;
+        }
+
+        /**
+         * Gets the argument as a string argument.
+         *
+         * @return The string argument or null if the step is limitless.
+         */
+        @Nullable
+        public StringInternalArgument<S> getStringArgument() {
+            return stringArgument;
+        }
+
+        /**
+         * Gets the argument as a limitless argument.
+         *
+         * @return The limitless argument or null if the step is not limitless.
+         */
+        @Nullable
+        public LimitlessInternalArgument<S> getLimitlessArgument() {
+            return limitlessArgument;
+        }
+
+        public boolean isOptional() {
+            return optional;
+        }
+
+        public boolean isLimitless() {
+            return limitless;
+        }
+    }
+}
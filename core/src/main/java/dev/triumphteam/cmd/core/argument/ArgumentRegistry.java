@@ -28,12 +28,10 @@ import com.google.common.primitives.Floats;
 import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * The argument registry holds simple types of all common argument types.
  * Also allows for registration of custom ones.
@@ -43,7 +41,7 @@ import java.util.Map;
  */
 public final class ArgumentRegistry<S> implements Registry {
 
-    private final Map<Class<?>, ArgumentResolver<S>> arguments = new HashMap<>();
+    private final RegistryMap<Class<?>, ArgumentResolver<S>> arguments = new RegistryMap<>();
 
     @SuppressWarnings("UnstableApiUsage")
     public ArgumentRegistry() {
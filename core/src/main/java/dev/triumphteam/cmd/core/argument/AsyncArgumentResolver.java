@@ -0,0 +1,64 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.argument;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ArgumentResolver} for types that have to be fetched, like a user retrieved from an API.
+ * Sub commands resolve every asynchronous argument concurrently and only run the command once all of them complete.
+ * A future completing with null, or exceptionally, counts as an invalid argument.
+ *
+ * @param <S> The sender type.
+ */
+@FunctionalInterface
+public interface AsyncArgumentResolver<S> extends ArgumentResolver<S> {
+
+    /**
+     * Resolves the current argument asynchronously based on the given arg.
+     *
+     * @param sender The sender which can be used for checks.
+     * @param arg    The typed argument.
+     * @return A future completing with the resolved value or null.
+     */
+    @NotNull
+    CompletableFuture<?> resolveAsync(@NotNull final S sender, @NotNull final String arg);
+
+    /**
+     * Blocks until the argument is resolved.
+     * Only used by code paths that can't wait asynchronously, sub commands never call it.
+     *
+     * @param sender The sender which can be used for checks.
+     * @param arg    The typed argument.
+     * @return An Object with the resolved value or null.
+     */
+    @Nullable
+    @Override
+    default Object resolve(@NotNull final S sender, @NotNull final String arg) {
+        return resolveAsync(sender, arg).exceptionally(throwable -> null).join();
+    }
+}
@@ -24,14 +24,13 @@
 package dev.triumphteam.cmd.core.argument;
 
 import dev.triumphteam.cmd.core.suggestion.Suggestion;
+import dev.triumphteam.cmd.core.util.EnumLookup;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.ref.WeakReference;
 import java.util.Objects;
 
-import static dev.triumphteam.cmd.core.util.EnumUtils.getEnumConstants;
-import static dev.triumphteam.cmd.core.util.EnumUtils.populateCache;
+import static dev.triumphteam.cmd.core.util.EnumUtils.getLookup;
 
 /**
  * An argument type for {@link Enum}s.
@@ -42,6 +41,7 @@ import static dev.triumphteam.cmd.core.util.EnumUtils.populateCache;
 public final class EnumInternalArgument<S> extends StringInternalArgument<S> {
 
     private final Class<? extends Enum<?>> enumType;
+    private final EnumLookup lookup;
 
     public EnumInternalArgument(
             @NotNull final String name,
@@ -54,8 +54,8 @@ public final class EnumInternalArgument<S> extends StringInternalArgument<S> {
         super(name, description, type, suggestion, position, optional);
         this.enumType = type;
 
-        // Populates on creation to reduce runtime of first run for certain enums, like Bukkit's Material.
-        populateCache(type);
+        // Built on creation to reduce runtime of first run for certain enums, like Bukkit's Material.
+        this.lookup = getLookup(type);
     }
 
     public Class<? extends Enum<?>> getEnumType() {
@@ -72,9 +72,7 @@ public final class EnumInternalArgument<S> extends StringInternalArgument<S> {
     @Nullable
     @Override
     public Object resolve(@NotNull final S sender, @NotNull final String value) {
-        final WeakReference<? extends Enum<?>> reference = getEnumConstants(enumType).get(value.toUpperCase());
-        if (reference == null) return null;
-        return reference.get();
+        return lookup.get(value);
     }
 
     @Override
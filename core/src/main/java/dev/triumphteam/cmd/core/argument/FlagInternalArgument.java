@@ -29,11 +29,12 @@ import dev.triumphteam.cmd.core.flag.internal.FlagOptions;
 import dev.triumphteam.cmd.core.flag.internal.FlagParser;
 import dev.triumphteam.cmd.core.suggestion.EmptySuggestion;
 import dev.triumphteam.cmd.core.suggestion.SuggestionContext;
+import dev.triumphteam.cmd.core.tokenizer.TokenizedInput;
+import dev.triumphteam.cmd.core.tokenizer.Tokenizer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -73,7 +74,12 @@ public final class FlagInternalArgument<S> extends LimitlessInternalArgument<S>
     @NotNull
     @Override
     public Object resolve(@NotNull final S sender, @NotNull final List<String> value) {
-        return flagParser.parse(sender, value.size() == 1 ? Arrays.asList(value.get(0).split(" ")) : value);
+        if (value.size() != 1) return flagParser.parse(sender, value);
+
+        // Single value means the flags came as one string, for example from a slash command option
+        try (final TokenizedInput tokens = Tokenizer.acquire(value.get(0))) {
+            return flagParser.parse(sender, tokens);
+        }
     }
 
     @Override
@@ -91,4 +91,11 @@ public interface InternalArgument<S, T> {
             @NotNull final SuggestionContext context
     );
 
+    /**
+     * Whether the argument's suggestions are kept per sender, so they can't be shared between senders.
+     *
+     * @return True if the suggestions are sender scoped.
+     */
+    boolean hasSenderScopedSuggestions();
+
 }
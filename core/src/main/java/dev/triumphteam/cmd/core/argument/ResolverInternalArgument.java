@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Normal {@link StringInternalArgument}.
@@ -67,6 +68,20 @@ public final class ResolverInternalArgument<S> extends StringInternalArgument<S>
         return resolver.resolve(sender, value);
     }
 
+    @Override
+    public boolean isAsync() {
+        return resolver instanceof AsyncArgumentResolver;
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<?> resolveAsync(@NotNull final S sender, @NotNull final String value) {
+        if (resolver instanceof AsyncArgumentResolver) {
+            return ((AsyncArgumentResolver<S>) resolver).resolveAsync(sender, value);
+        }
+        return super.resolveAsync(sender, value);
+    }
+
     @Override
     public boolean equals(@Nullable final Object o) {
         if (this == o) return true;
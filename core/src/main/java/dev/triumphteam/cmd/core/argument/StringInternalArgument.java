@@ -26,6 +26,8 @@ package dev.triumphteam.cmd.core.argument;
 import dev.triumphteam.cmd.core.suggestion.Suggestion;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Differently from the {@link LimitlessInternalArgument}, this internalArgument will always be just one string as the arg value.
  * And will return one single value as the resolved value.
@@ -45,6 +47,27 @@ public abstract class StringInternalArgument<S> extends AbstractInternalArgument
         super(name, description, type, suggestion, position, optional);
     }
 
+    /**
+     * Whether the argument is resolved asynchronously, through {@link #resolveAsync(Object, String)}.
+     *
+     * @return True if the argument resolution is asynchronous.
+     */
+    public boolean isAsync() {
+        return false;
+    }
+
+    /**
+     * Resolves the argument asynchronously, by default this is just the synchronous resolution already completed.
+     *
+     * @param sender The sender to resolve to.
+     * @param value  The {@link String} argument value.
+     * @return A future completing with the resolved value or null.
+     */
+    @NotNull
+    public CompletableFuture<?> resolveAsync(@NotNull final S sender, @NotNull final String value) {
+        return CompletableFuture.completedFuture(resolve(sender, value));
+    }
+
     @NotNull
     @Override
     public String toString() {
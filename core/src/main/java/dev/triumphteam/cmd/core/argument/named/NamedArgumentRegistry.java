@@ -24,16 +24,15 @@
 package dev.triumphteam.cmd.core.argument.named;
 
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public final class NamedArgumentRegistry<S> implements Registry {
 
-    private final Map<ArgumentKey, List<Argument>> namedArguments = new HashMap<>();
+    private final RegistryMap<ArgumentKey, List<Argument>> namedArguments = new RegistryMap<>();
 
     public void register(@NotNull final ArgumentKey key, @NotNull final List<Argument> arguments) {
         namedArguments.put(key, arguments);
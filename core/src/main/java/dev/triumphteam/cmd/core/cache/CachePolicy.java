@@ -0,0 +1,256 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.cache;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Describes how the results of a resolver should be cached.
+ * A policy can either be global, where every sender shares the same cached value,
+ * or sender scoped, where each sender gets its own entry.
+ *
+ * @param <S> The sender type.
+ */
+public final class CachePolicy<S> {
+
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final Function<? super S, ?> senderKey;
+    private final boolean contextual;
+
+    private CachePolicy(@NotNull final Builder<S> builder) {
+        this.timeToLiveNanos = builder.timeToLiveNanos;
+        this.maxEntries = builder.maxEntries;
+        this.senderKey = builder.senderKey;
+        this.contextual = builder.contextual;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a cache policy.
+     *
+     * @param <S> The sender type.
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract(" -> new")
+    public static <S> Builder<S> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates a global policy that keeps the result for the given time.
+     *
+     * @param timeToLive How long the result should be kept.
+     * @param <S>        The sender type.
+     * @return A new global {@link CachePolicy}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static <S> CachePolicy<S> expireAfter(@NotNull final Duration timeToLive) {
+        return CachePolicy.<S>builder().expireAfter(timeToLive).build();
+    }
+
+    /**
+     * Gets how long, in nanoseconds, an entry is considered fresh.
+     *
+     * @return The time to live in nanoseconds.
+     */
+    public long getTimeToLiveNanos() {
+        return timeToLiveNanos;
+    }
+
+    /**
+     * Gets the maximum amount of entries kept before the least recently used ones are evicted.
+     *
+     * @return The maximum amount of entries.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Whether each sender has its own cached entry.
+     *
+     * @return True if the cache is scoped per sender.
+     */
+    public boolean isSenderScoped() {
+        return senderKey != null;
+    }
+
+    /**
+     * Whether the command and sub command being completed are part of the cache key.
+     *
+     * @return True if the cache key includes the command context.
+     */
+    public boolean isContextual() {
+        return contextual;
+    }
+
+    /**
+     * Gets the key that identifies the sender in the cache.
+     *
+     * @param sender The sender.
+     * @return The sender key, or null if the policy is global.
+     */
+    @Nullable
+    public Object getSenderKey(@NotNull final S sender) {
+        if (senderKey == null) return null;
+        return senderKey.apply(sender);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CachePolicy{" +
+                "timeToLive=" + Duration.ofNanos(timeToLiveNanos) +
+                ", maxEntries=" + maxEntries +
+                ", senderScoped=" + isSenderScoped() +
+                ", contextual=" + contextual +
+                '}';
+    }
+
+    /**
+     * Builder for the {@link CachePolicy}.
+     *
+     * @param <S> The sender type.
+     */
+    public static final class Builder<S> {
+
+        private long timeToLiveNanos = TimeUnit.SECONDS.toNanos(1);
+        private int maxEntries = 256;
+        private Function<? super S, ?> senderKey = null;
+        private boolean contextual = false;
+
+        private Builder() {}
+
+        /**
+         * Sets how long an entry stays fresh, defaults to one second.
+         *
+         * @param timeToLive The time to live.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder<S> expireAfter(@NotNull final Duration timeToLive) {
+            return expireAfter(timeToLive.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Sets how long an entry stays fresh, defaults to one second.
+         *
+         * @param timeToLive The time to live.
+         * @param unit       The unit of the time to live.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Builder<S> expireAfter(final long timeToLive, @NotNull final TimeUnit unit) {
+            if (timeToLive <= 0) throw new IllegalArgumentException("Time to live must be positive");
+            this.timeToLiveNanos = unit.toNanos(timeToLive);
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of entries, defaults to 256.
+         * Only relevant for sender scoped or contextual caches, a global cache only has one entry.
+         *
+         * @param maxEntries The maximum amount of entries.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder<S> maxEntries(final int maxEntries) {
+            if (maxEntries < 1) throw new IllegalArgumentException("Max entries must be at least 1");
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Makes every sender share the same cached entry, this is the default.
+         *
+         * @return This builder.
+         */
+        @NotNull
+        @Contract(" -> this")
+        public Builder<S> global() {
+            this.senderKey = null;
+            return this;
+        }
+
+        /**
+         * Gives each sender its own cached entry, using the sender itself as the key.
+         *
+         * @return This builder.
+         */
+        @NotNull
+        @Contract(" -> this")
+        public Builder<S> perSender() {
+            return perSender(Function.identity());
+        }
+
+        /**
+         * Gives each sender its own cached entry, using the given function to create the key.
+         * Useful to key on something lighter than the sender, like an id.
+         *
+         * @param senderKey The function that maps a sender to its key.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder<S> perSender(@NotNull final Function<? super S, ?> senderKey) {
+            this.senderKey = senderKey;
+            return this;
+        }
+
+        /**
+         * Includes the command and sub command in the cache key.
+         * Should be used when the same resolver returns different values depending on where it's used.
+         *
+         * @return This builder.
+         */
+        @NotNull
+        @Contract(" -> this")
+        public Builder<S> contextual() {
+            this.contextual = true;
+            return this;
+        }
+
+        /**
+         * Builds the {@link CachePolicy}.
+         *
+         * @return A new {@link CachePolicy}.
+         */
+        @NotNull
+        @Contract(" -> new")
+        public CachePolicy<S> build() {
+            return new CachePolicy<>(this);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Small size bounded cache where every entry expires after a fixed time.
+ * Keys are spread over segments with their own lock, so lookups for different senders rarely wait on each other.
+ * Each segment keeps its entries in access order and evicts its least recently used entry once full,
+ * which makes the eviction an approximate LRU over the whole cache.
+ * The loader runs outside the lock, so a slow resolver doesn't block other keys, at the cost of
+ * concurrent misses on the same key possibly resolving more than once.
+ * A load that overlaps an invalidation of its segment isn't cached, so a revoked value never comes back.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class ExpiringCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final long timeToLiveNanos;
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExpiringCache(final long timeToLiveNanos, final int maxEntries) {
+        this.timeToLiveNanos = timeToLiveNanos;
+
+        // Small caches keep a single segment, so their eviction stays an exact LRU
+        final int count = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxEntries / MAX_SEGMENTS))));
+        final int segmentEntries = (maxEntries + count - 1) / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(segmentEntries, statistics);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Gets the value for the key, loading it again if missing or expired.
+     *
+     * @param key    The key.
+     * @param loader The loader used on a miss.
+     * @return The cached or newly loaded value.
+     */
+    public V get(@Nullable final K key, @NotNull final Supplier<V> loader) {
+        final long stamp = stamp(key);
+        final V cached = getIfPresent(key);
+        if (cached != null) return cached;
+
+        final V value = loader.get();
+        put(key, value, stamp);
+        return value;
+    }
+
+    /**
+     * Gets the value for the key without loading it, counting the lookup as a hit or a miss.
+     *
+     * @param key The key.
+     * @return The cached value or null if missing or expired.
+     */
+    @Nullable
+    public V getIfPresent(@Nullable final K key) {
+        final long now = System.nanoTime();
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final CachedValue<V> entry = segment.entries.get(key);
+            if (entry != null && now - entry.expiresAt < 0) {
+                statistics.recordHit();
+                return entry.value;
+            }
+        }
+
+        statistics.recordMiss();
+        return null;
+    }
+
+    /**
+     * Gets the value for the key even if it already expired, without counting a hit or a miss.
+     * Useful to serve a stale value when loading a fresh one takes too long.
+     *
+     * @param key The key.
+     * @return The cached value, expired or not, or null if missing.
+     */
+    @Nullable
+    public V peek(@Nullable final K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final CachedValue<V> entry = segment.entries.get(key);
+            return entry != null ? entry.value : null;
+        }
+    }
+
+    /**
+     * Gets the stamp to take before loading a value, so {@link #put(Object, Object, long)} can tell
+     * if the key was invalidated while it loaded.
+     *
+     * @param key The key about to be loaded.
+     * @return The stamp.
+     */
+    public long stamp(@Nullable final K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    /**
+     * Caches the value for the key, replacing any previous one and restarting its expiry.
+     *
+     * @param key   The key.
+     * @param value The value to cache.
+     */
+    public void put(@Nullable final K key, @NotNull final V value) {
+        final CachedValue<V> entry = new CachedValue<>(value, System.nanoTime() + timeToLiveNanos);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Caches a loaded value, unless the key may have been invalidated since the stamp was taken.
+     *
+     * @param key   The key.
+     * @param value The value to cache.
+     * @param stamp The stamp from {@link #stamp(Object)}, taken before loading the value.
+     * @return Whether the value was cached.
+     */
+    public boolean put(@Nullable final K key, @NotNull final V value, final long stamp) {
+        final CachedValue<V> entry = new CachedValue<>(value, System.nanoTime() + timeToLiveNanos);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (segment.generation != stamp) return false;
+            segment.entries.put(key, entry);
+            return true;
+        }
+    }
+
+    /**
+     * Removes the entry for the key.
+     *
+     * @param key The key to invalidate.
+     */
+    public void invalidate(@Nullable final K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.generation++;
+            segment.entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries whose key matches the predicate.
+     *
+     * @param predicate The predicate to test the keys with.
+     */
+    public void invalidateIf(@NotNull final Predicate<? super K> predicate) {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.entries.keySet().removeIf(predicate);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the current amount of entries, expired ones included until they're replaced or evicted.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the statistics of the cache.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    @NotNull
+    private Segment<K, V> segmentFor(@Nullable final K key) {
+        if (mask == 0) return segments[0];
+        final int hash = key == null ? 0 : key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Part of the cache with its own lock, bumping its generation on every invalidation.
+     */
+    private static final class Segment<K, V> {
+
+        private final Map<K, CachedValue<V>> entries;
+        private long generation = 0L;
+
+        private Segment(final int maxEntries, @NotNull final CacheStatistics statistics) {
+            this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<K, CachedValue<V>> eldest) {
+                    if (size() <= maxEntries) return false;
+                    statistics.recordEviction();
+                    return true;
+                }
+            };
+        }
+    }
+
+    private static final class CachedValue<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        private CachedValue(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Size bounded cache keyed by a primitive <code>long</code>, where every entry expires after a fixed time.
+ * It's set associative, a key maps to a small set of slots and a new key replaces an empty or expired slot of the set,
+ * otherwise its least recently used one, so lookups never lock nor box the key and a few colliding keys don't keep
+ * evicting each other. Null values are cached too, so a key known to have no value isn't loaded again until it expires.
+ * Like {@link ExpiringCache}, concurrent misses on the same key may load more than once.
+ *
+ * @param <V> The value type.
+ */
+public final class LongExpiringCache<V> {
+
+    private static final int MAX_WAYS = 8;
+
+    private final long timeToLiveNanos;
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final AtomicReferenceArray<Entry<V>> entries;
+    private final int ways;
+    private final int setMask;
+
+    public LongExpiringCache(final long timeToLiveNanos, final int maxEntries) {
+        if (timeToLiveNanos <= 0) throw new IllegalArgumentException("The time to live must be positive");
+        if (maxEntries <= 0) throw new IllegalArgumentException("The max entries must be positive");
+
+        // Rounds down to a power of two, so the set is a mask instead of a modulo
+        final int capacity = Integer.highestOneBit(maxEntries);
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.ways = Math.min(MAX_WAYS, capacity);
+        this.setMask = capacity / ways - 1;
+    }
+
+    /**
+     * Gets the value for the key, loading it again if missing or expired.
+     *
+     * @param key    The key.
+     * @param loader The loader used on a miss, it may return null.
+     * @return The cached or newly loaded value.
+     */
+    @Nullable
+    public V get(final long key, @NotNull final LongFunction<? extends V> loader) {
+        final int base = base(key);
+        final long now = System.nanoTime();
+
+        for (int way = 0; way < ways; way++) {
+            final Entry<V> entry = entries.get(base + way);
+            if (entry != null && entry.key == key && now - entry.expiresAt < 0) {
+                entry.accessedAt = now;
+                statistics.recordHit();
+                return entry.value;
+            }
+        }
+
+        statistics.recordMiss();
+        final V value = loader.apply(key);
+        store(base, new Entry<>(key, value, System.nanoTime(), timeToLiveNanos));
+        return value;
+    }
+
+    /**
+     * Removes the entry for the key.
+     *
+     * @param key The key to invalidate.
+     */
+    public void invalidate(final long key) {
+        final int base = base(key);
+        for (int way = 0; way < ways; way++) {
+            final Entry<V> entry = entries.get(base + way);
+            if (entry != null && entry.key == key) entries.compareAndSet(base + way, entry, null);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        for (int slot = 0; slot < entries.length(); slot++) {
+            entries.set(slot, null);
+        }
+    }
+
+    /**
+     * Gets the statistics of the cache.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Stores the entry in its set, over the key's previous entry, an empty or expired slot, or the least recently used one.
+     * If another thread keeps replacing the chosen slot it gives up, the loaded value is still returned, just not cached.
+     */
+    private void store(final int base, @NotNull final Entry<V> entry) {
+        for (int attempt = 0; attempt < ways; attempt++) {
+            int victim = -1;
+            Entry<V> replaced = null;
+            for (int way = 0; way < ways; way++) {
+                final Entry<V> current = entries.get(base + way);
+                if (current == null || current.key == entry.key || entry.accessedAt - current.expiresAt >= 0) {
+                    victim = way;
+                    replaced = current;
+                    break;
+                }
+
+                if (victim == -1 || current.accessedAt - replaced.accessedAt < 0) {
+                    victim = way;
+                    replaced = current;
+                }
+            }
+
+            if (!entries.compareAndSet(base + victim, replaced, entry)) continue;
+            if (replaced != null && replaced.key != entry.key && entry.accessedAt - replaced.expiresAt < 0) {
+                statistics.recordEviction();
+            }
+            return;
+        }
+    }
+
+    private int base(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return ((int) (hash ^ (hash >>> 32)) & setMask) * ways;
+    }
+
+    private static final class Entry<V> {
+
+        private final long key;
+        private final V value;
+        private final long expiresAt;
+        private volatile long accessedAt;
+
+        private Entry(final long key, @Nullable final V value, final long now, final long timeToLiveNanos) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = now + timeToLiveNanos;
+            this.accessedAt = now;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.descriptor;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Command metadata generated at compile time by the <code>triumph-cmd-annotation-processor</code>.
+ * When present, the command processors use it instead of scanning every declared method of the command,
+ * and the sub commands are invoked through generated direct calls instead of reflection.
+ * Generated classes are named after the command class with the {@link #SUFFIX} appended, see {@link CommandDescriptors}.
+ */
+public abstract class CommandDescriptor {
+
+    /**
+     * Suffix appended to the command class name to get the name of its generated descriptor.
+     */
+    public static final String SUFFIX = "_CommandDescriptor";
+
+    private final Class<? extends BaseCommand> commandClass;
+    private final String name;
+    private final List<String> alias;
+    private final List<SubCommandDescriptor> subCommands;
+
+    protected CommandDescriptor(
+            @NotNull final Class<? extends BaseCommand> commandClass,
+            @Nullable final String name,
+            @NotNull final List<String> alias,
+            @NotNull final SubCommandDescriptor @NotNull ... subCommands
+    ) {
+        this.commandClass = commandClass;
+        this.name = name;
+        this.alias = Collections.unmodifiableList(new ArrayList<>(alias));
+        this.subCommands = Collections.unmodifiableList(Arrays.asList(subCommands));
+    }
+
+    /**
+     * Gets the command class the descriptor was generated for.
+     *
+     * @return The command class.
+     */
+    @NotNull
+    public Class<? extends BaseCommand> getCommandClass() {
+        return commandClass;
+    }
+
+    /**
+     * Gets the command name from the <code>@Command</code> annotation.
+     *
+     * @return The command name or null if the command is named through its constructor.
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the command alias from the <code>@Command</code> annotation.
+     *
+     * @return The command alias.
+     */
+    @NotNull
+    public List<String> getAlias() {
+        return alias;
+    }
+
+    /**
+     * Gets all the sub commands declared in the command class.
+     *
+     * @return The sub commands.
+     */
+    @NotNull
+    public List<SubCommandDescriptor> getSubCommands() {
+        return subCommands;
+    }
+
+    /**
+     * Finds the sub command generated for the given method.
+     *
+     * @param method The sub command method.
+     * @return The sub command descriptor or null if the method isn't a sub command.
+     */
+    @Nullable
+    public SubCommandDescriptor getSubCommand(@NotNull final Method method) {
+        for (final SubCommandDescriptor subCommand : subCommands) {
+            if (subCommand.matches(method)) return subCommand;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the methods of all the sub commands, without going through every declared method of the class.
+     *
+     * @return The sub command methods.
+     * @throws CommandRegistrationException If the descriptor doesn't match the class anymore.
+     */
+    @NotNull
+    public List<Method> getMethods() {
+        final List<Method> methods = new ArrayList<>(subCommands.size());
+        for (final SubCommandDescriptor subCommand : subCommands) {
+            try {
+                methods.add(commandClass.getDeclaredMethod(subCommand.getMethodName(), subCommand.getParameterTypes()));
+            } catch (final NoSuchMethodException exception) {
+                throw new CommandRegistrationException(
+                        "Generated descriptor is out of date, method \"" + subCommand.getMethodName() + "\" no longer exists",
+                        commandClass
+                );
+            }
+        }
+
+        return methods;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CommandDescriptor{" +
+                "commandClass=" + commandClass.getName() +
+                ", name='" + name + '\'' +
+                ", alias=" + alias +
+                ", subCommands=" + subCommands +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.descriptor;
+
+import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Finds the {@link CommandDescriptor} generated for a command class, if the annotation processor ran for it.
+ * Lookups are cached per class, so the class loader is only asked once.
+ */
+public final class CommandDescriptors {
+
+    private static final ClassValue<Optional<CommandDescriptor>> DESCRIPTORS = new ClassValue<Optional<CommandDescriptor>>() {
+        @Override
+        protected Optional<CommandDescriptor> computeValue(@NotNull final Class<?> type) {
+            return Optional.ofNullable(load(type));
+        }
+    };
+
+    private CommandDescriptors() {
+        throw new AssertionError("Util must not be initialized");
+    }
+
+    /**
+     * Gets the generated descriptor of the command class.
+     *
+     * @param commandClass The command class.
+     * @return The descriptor or null if none was generated for the class.
+     */
+    @Nullable
+    public static CommandDescriptor find(@NotNull final Class<?> commandClass) {
+        return DESCRIPTORS.get(commandClass).orElse(null);
+    }
+
+    /**
+     * Gets the generated descriptor of a sub command method.
+     *
+     * @param commandClass The command class.
+     * @param method       The sub command method.
+     * @return The sub command descriptor or null if none was generated for the method.
+     */
+    @Nullable
+    public static SubCommandDescriptor find(@NotNull final Class<?> commandClass, @NotNull final Method method) {
+        final CommandDescriptor descriptor = find(commandClass);
+        if (descriptor == null) return null;
+        return descriptor.getSubCommand(method);
+    }
+
+    /**
+     * Gets the name of the descriptor generated for a class.
+     * Nested classes are flattened, <code>a.b.Outer.Inner</code> becomes <code>a.b.Outer_Inner_CommandDescriptor</code>.
+     *
+     * @param commandClass The command class.
+     * @return The binary name of the descriptor class.
+     */
+    @NotNull
+    public static String getDescriptorName(@NotNull final Class<?> commandClass) {
+        final StringBuilder builder = new StringBuilder(commandClass.getSimpleName());
+        Class<?> enclosing = commandClass.getEnclosingClass();
+        while (enclosing != null) {
+            builder.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingClass();
+        }
+
+        // Package from the binary name, getPackage can be null on some class loaders
+        final String binaryName = commandClass.getName();
+        final int packageEnd = binaryName.lastIndexOf('.');
+        if (packageEnd != -1) {
+            builder.insert(0, binaryName.substring(0, packageEnd + 1));
+        }
+
+        return builder.append(CommandDescriptor.SUFFIX).toString();
+    }
+
+    @Nullable
+    private static CommandDescriptor load(@NotNull final Class<?> commandClass) {
+        // Anonymous and local classes are never processed
+        if (commandClass.isAnonymousClass() || commandClass.isLocalClass() || commandClass.isSynthetic()) return null;
+
+        final Class<?> descriptorClass;
+        try {
+            descriptorClass = Class.forName(getDescriptorName(commandClass), true, commandClass.getClassLoader());
+        } catch (final ClassNotFoundException | LinkageError exception) {
+            return null;
+        }
+
+        if (!CommandDescriptor.class.isAssignableFrom(descriptorClass)) return null;
+
+        try {
+            final CommandDescriptor descriptor = (CommandDescriptor) descriptorClass.getDeclaredConstructor().newInstance();
+            if (descriptor.getCommandClass() != commandClass) return null;
+            return descriptor;
+        } catch (final ReflectiveOperationException exception) {
+            throw new CommandRegistrationException("Could not create the generated descriptor \"" + descriptorClass.getName() + "\"");
+        }
+    }
+}
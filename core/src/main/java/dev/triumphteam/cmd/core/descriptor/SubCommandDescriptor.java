@@ -0,0 +1,214 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.descriptor;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.execution.CommandInvoker;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compile time metadata of a single sub command method, part of a {@link CommandDescriptor}.
+ * Names and alias are already normalized the same way the sub command processor does it.
+ */
+public final class SubCommandDescriptor {
+
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+    private final String name;
+    private final List<String> alias;
+    private final boolean isDefault;
+    private final boolean isAsync;
+    private final Function<BaseCommand, CommandInvoker> invokerFactory;
+
+    private SubCommandDescriptor(@NotNull final Builder builder) {
+        this.methodName = builder.methodName;
+        this.parameterTypes = builder.parameterTypes;
+        this.name = builder.name;
+        this.alias = Collections.unmodifiableList(builder.alias);
+        this.isDefault = builder.isDefault;
+        this.isAsync = builder.isAsync;
+        this.invokerFactory = builder.invokerFactory;
+    }
+
+    /**
+     * Creates a new builder for the sub command declared by the given method.
+     *
+     * @param methodName     The name of the method.
+     * @param parameterTypes The erased types of the method parameters, the sender first.
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static Builder builder(@NotNull final String methodName, @NotNull final Class<?> @NotNull ... parameterTypes) {
+        return new Builder(methodName, parameterTypes);
+    }
+
+    @NotNull
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Gets the parameter types of the method, the sender first followed by the argument types.
+     *
+     * @return A copy of the parameter types.
+     */
+    @NotNull
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes.clone();
+    }
+
+    /**
+     * Gets the sub command name, {@link Default#DEFAULT_CMD_NAME} for default sub commands.
+     *
+     * @return The sub command name.
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public List<String> getAlias() {
+        return alias;
+    }
+
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    public boolean isAsync() {
+        return isAsync;
+    }
+
+    /**
+     * Creates the generated direct call invoker bound to the given command instance.
+     *
+     * @param baseCommand The command instance, must be of the descriptor's command class.
+     * @return The invoker.
+     */
+    @NotNull
+    public CommandInvoker createInvoker(@NotNull final BaseCommand baseCommand) {
+        return invokerFactory.apply(baseCommand);
+    }
+
+    /**
+     * Checks whether this descriptor was generated for the given method.
+     *
+     * @param method The method to check.
+     * @return True if the name and parameter types match.
+     */
+    public boolean matches(@NotNull final Method method) {
+        return methodName.equals(method.getName()) && Arrays.equals(parameterTypes, method.getParameterTypes());
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "SubCommandDescriptor{" +
+                "method=" + methodName + Arrays.toString(parameterTypes) +
+                ", name='" + name + '\'' +
+                ", alias=" + alias +
+                ", isDefault=" + isDefault +
+                ", isAsync=" + isAsync +
+                '}';
+    }
+
+    /**
+     * Builder used by the generated descriptors.
+     */
+    public static final class Builder {
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+        private String name = null;
+        private final List<String> alias = new ArrayList<>();
+        private boolean isDefault = false;
+        private boolean isAsync = false;
+        private Function<BaseCommand, CommandInvoker> invokerFactory = null;
+
+        private Builder(@NotNull final String methodName, @NotNull final Class<?>[] parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @NotNull
+        @Contract("_ -> this")
+        public Builder name(@NotNull final String name) {
+            this.name = name;
+            return this;
+        }
+
+        @NotNull
+        @Contract("_ -> this")
+        public Builder alias(@NotNull final String @NotNull ... alias) {
+            Collections.addAll(this.alias, alias);
+            return this;
+        }
+
+        /**
+         * Marks the sub command as the default one, also setting its name to {@link Default#DEFAULT_CMD_NAME}.
+         *
+         * @return This builder.
+         */
+        @NotNull
+        @Contract(" -> this")
+        public Builder asDefault() {
+            this.isDefault = true;
+            this.name = Default.DEFAULT_CMD_NAME;
+            return this;
+        }
+
+        @NotNull
+        @Contract(" -> this")
+        public Builder async() {
+            this.isAsync = true;
+            return this;
+        }
+
+        @NotNull
+        @Contract("_ -> this")
+        public Builder invoker(@NotNull final Function<BaseCommand, CommandInvoker> invokerFactory) {
+            this.invokerFactory = invokerFactory;
+            return this;
+        }
+
+        @NotNull
+        @Contract(" -> new")
+        public SubCommandDescriptor build() {
+            if (name == null) throw new IllegalStateException("Sub command name is required");
+            if (invokerFactory == null) throw new IllegalStateException("Sub command invoker is required");
+            return new SubCommandDescriptor(this);
+        }
+    }
+}
@@ -29,6 +29,8 @@ import java.util.concurrent.CompletableFuture;
 
 /**
  * Implementation of asynchronous execution, not necessarily used in all platforms.
+ * Runs on the common pool, with no bound; for a bounded and instrumented alternative see {@link ThreadPoolExecutionProvider}.
+ * Errors thrown by the command are reported to the uncaught exception handler of the thread that ran it.
  */
 public final class AsyncExecutionProvider implements ExecutionProvider {
 
@@ -37,6 +39,13 @@ public final class AsyncExecutionProvider implements ExecutionProvider {
      */
     @Override
     public void execute(final @NotNull Runnable command) {
-        CompletableFuture.runAsync(command);
+        CompletableFuture.runAsync(() -> {
+            try {
+                command.run();
+            } catch (final Throwable throwable) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        });
     }
 }
@@ -0,0 +1,66 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.execution;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invokes the method of a sub command.
+ * Invokers are created once when the sub command is registered, so no lookups happen when the command is executed.
+ */
+@FunctionalInterface
+public interface CommandInvoker {
+
+    /**
+     * Invokes the sub command method.
+     * Exceptions thrown by the method itself are rethrown as they are, without any wrapping.
+     *
+     * @param arguments The arguments to invoke the method with, the sender being the first one.
+     * @throws Throwable Anything thrown by the method.
+     */
+    void invoke(@NotNull final Object[] arguments) throws Throwable;
+
+    /**
+     * Creates the fastest invoker available for the given method.
+     * A {@link MethodHandleCommandInvoker} is used whenever the method can be unreflected,
+     * falling back to {@link ReflectionCommandInvoker} when it can't, for example due to module or security restrictions.
+     *
+     * @param baseCommand The instance of the command which the method belongs to.
+     * @param method      The sub command method.
+     * @return A new {@link CommandInvoker}.
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    static CommandInvoker of(@NotNull final BaseCommand baseCommand, @NotNull final Method method) {
+        try {
+            return new MethodHandleCommandInvoker(baseCommand, method);
+        } catch (final IllegalAccessException | RuntimeException ignored) {
+            return new ReflectionCommandInvoker(baseCommand, method);
+        }
+    }
+}
@@ -23,6 +23,7 @@
  */
 package dev.triumphteam.cmd.core.execution;
 
+import dev.triumphteam.cmd.core.SubCommand;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -39,4 +40,15 @@ public interface ExecutionProvider {
      */
     void execute(@NotNull final Runnable command);
 
+    /**
+     * Executes the command on behalf of the given sub command.
+     * Providers that apply per command limits or report per command data can override this, by default it simply calls {@link #execute(Runnable)}.
+     *
+     * @param subCommand The sub command the execution belongs to.
+     * @param command    The command to execute.
+     */
+    default void execute(@NotNull final SubCommand<?> subCommand, @NotNull final Runnable command) {
+        execute(command);
+    }
+
 }
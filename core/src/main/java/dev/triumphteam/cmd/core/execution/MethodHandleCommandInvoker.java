@@ -0,0 +1,90 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.execution;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invoker backed by a {@link MethodHandle} that is already bound to the command instance and spread over an argument array.
+ * Unlike {@link Method#invoke(Object, Object...)}, there are no access checks, no argument array copies and no exception wrapping per call.
+ */
+public final class MethodHandleCommandInvoker implements CommandInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object[].class);
+
+    private final MethodHandle handle;
+
+    /**
+     * Main constructor, unreflects the method and adapts it to {@code (Object[]) -> void}.
+     *
+     * @param baseCommand The instance of the command which the method belongs to.
+     * @param method      The sub command method.
+     * @throws IllegalAccessException If the method can't be accessed, even after making it accessible.
+     */
+    public MethodHandleCommandInvoker(
+            @NotNull final BaseCommand baseCommand,
+            @NotNull final Method method
+    ) throws IllegalAccessException {
+        MethodHandle handle = unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) handle = handle.bindTo(baseCommand);
+
+        this.handle = handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invoke(@NotNull final Object[] arguments) throws Throwable {
+        handle.invokeExact(arguments);
+    }
+
+    /**
+     * Unreflects the method, making it accessible first if the public lookup isn't enough.
+     * Methods declared in non-public classes or with package/protected visibility need this.
+     *
+     * @param method The method to unreflect.
+     * @return The direct method handle.
+     * @throws IllegalAccessException If the method can't be accessed.
+     */
+    @NotNull
+    private static MethodHandle unreflect(@NotNull final Method method) throws IllegalAccessException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return lookup.unreflect(method);
+        } catch (final IllegalAccessException exception) {
+            method.setAccessible(true);
+            return lookup.unreflect(method);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.execution;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Fallback invoker that uses plain reflection.
+ * Only used when a {@link MethodHandleCommandInvoker} can't be created for the method.
+ */
+public final class ReflectionCommandInvoker implements CommandInvoker {
+
+    private final BaseCommand baseCommand;
+    private final Method method;
+
+    public ReflectionCommandInvoker(@NotNull final BaseCommand baseCommand, @NotNull final Method method) {
+        this.baseCommand = baseCommand;
+        this.method = method;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invoke(@NotNull final Object[] arguments) throws Throwable {
+        try {
+            method.invoke(baseCommand, arguments);
+        } catch (final InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+}
@@ -0,0 +1,525 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.execution;
+
+import dev.triumphteam.cmd.core.SubCommand;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Configurable asynchronous execution, instead of dumping every command on the common pool.
+ * Commands either run on a virtual thread each, when the runtime supports it, or on a bounded pool of platform threads
+ * with a limited queue and a {@link RejectionPolicy} for when it is full.
+ * Optionally limits how many executions of the same sub command can run at once.
+ * Exposes the queue depth, active count and rejection counters, and reports errors thrown by commands to an error handler.
+ */
+public final class ThreadPoolExecutionProvider implements ExecutionProvider, AutoCloseable {
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final RejectionPolicy rejectionPolicy;
+    private final int commandConcurrency;
+    private final Map<String, Integer> commandLimits;
+    private final Consumer<Throwable> errorHandler;
+
+    private final Map<String, Map<String, AtomicInteger>> running = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private ThreadPoolExecutionProvider(@NotNull final Builder builder) {
+        this.rejectionPolicy = builder.rejectionPolicy;
+        this.commandConcurrency = builder.commandConcurrency;
+        this.commandLimits = new HashMap<>(builder.commandLimits);
+        this.errorHandler = builder.errorHandler;
+
+        final ExecutorService virtualExecutor = builder.virtualThreads ? VirtualThreads.newExecutor(builder.threadName) : null;
+        this.virtual = virtualExecutor != null;
+        this.executor = virtualExecutor != null ? virtualExecutor : newPool(builder);
+    }
+
+    /**
+     * Creates a new builder for the provider.
+     *
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract(" -> new")
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether the running JVM can create virtual threads.
+     *
+     * @return True if virtual threads are available.
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return VirtualThreads.AVAILABLE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(@NotNull final Runnable command) {
+        submit(command, null, 0);
+    }
+
+    /**
+     * Executes the command, applying the concurrency limit of the sub command.
+     *
+     * @param subCommand The sub command the execution belongs to.
+     * @param command    The command to execute.
+     */
+    @Override
+    public void execute(@NotNull final SubCommand<?> subCommand, @NotNull final Runnable command) {
+        final String parentName = subCommand.getParentName();
+        final AtomicInteger counter = running
+                .computeIfAbsent(parentName, it -> new ConcurrentHashMap<>())
+                .computeIfAbsent(subCommand.getName(), it -> new AtomicInteger());
+        submit(command, counter, commandLimits.getOrDefault(parentName, commandConcurrency));
+    }
+
+    /**
+     * Whether commands are running on virtual threads.
+     * Can be false even if requested, when the runtime doesn't support them.
+     *
+     * @return True if running on virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Gets the amount of commands submitted that haven't started running yet.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the amount of commands currently running.
+     *
+     * @return The active count.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Gets the amount of executions of a specific sub command that are queued or running.
+     *
+     * @param command    The name of the command.
+     * @param subCommand The name of the sub command.
+     * @return The amount of queued or running executions.
+     */
+    public int getActiveCount(@NotNull final String command, @NotNull final String subCommand) {
+        final Map<String, AtomicInteger> subCommands = running.get(command);
+        if (subCommands == null) return 0;
+        final AtomicInteger counter = subCommands.get(subCommand);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Gets the amount of commands rejected, either because the queue was full or a concurrency limit was reached.
+     *
+     * @return The rejection count.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stops accepting commands, already submitted commands will still run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Submits the command, taking a permit from the sub command's counter when there is one.
+     *
+     * @param command The command to run.
+     * @param counter The counter of the sub command, or null.
+     * @param limit   The maximum amount of concurrent executions, 0 or less for no limit.
+     */
+    private void submit(@NotNull final Runnable command, @Nullable final AtomicInteger counter, final int limit) {
+        if (counter != null && counter.incrementAndGet() > limit && limit > 0) {
+            counter.decrementAndGet();
+            reject(command, "Concurrency limit of " + limit + " reached", null, false);
+            return;
+        }
+
+        final Task task = new Task(command, counter);
+        queued.incrementAndGet();
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException exception) {
+            task.release();
+            reject(command, executor.isShutdown() ? "Provider is closed" : "Queue is full", exception, true);
+        }
+    }
+
+    /**
+     * Applies the rejection policy to a command that couldn't be submitted.
+     * Running over the concurrency limit on the caller would defeat the limit, so those are aborted instead.
+     *
+     * @param command    The rejected command.
+     * @param reason     Why the command was rejected.
+     * @param cause      The exception thrown by the executor, if any.
+     * @param callerRuns Whether {@link RejectionPolicy#CALLER_RUNS} may run the command.
+     */
+    private void reject(
+            @NotNull final Runnable command,
+            @NotNull final String reason,
+            @Nullable final Throwable cause,
+            final boolean callerRuns
+    ) {
+        rejected.increment();
+
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                if (!callerRuns) break;
+                run(command);
+                return;
+
+            case DISCARD:
+                return;
+
+            default:
+                break;
+        }
+
+        final RejectedExecutionException exception = new RejectedExecutionException("Command rejected: " + reason);
+        if (cause != null) exception.initCause(cause);
+        throw exception;
+    }
+
+    /**
+     * Runs the command, counting it as active and reporting any error it throws.
+     *
+     * @param command The command to run.
+     */
+    private void run(@NotNull final Runnable command) {
+        active.incrementAndGet();
+        try {
+            command.run();
+        } catch (final Throwable throwable) {
+            errorHandler.accept(throwable);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @NotNull
+    private static ExecutorService newPool(@NotNull final Builder builder) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                builder.threads,
+                builder.threads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(builder.queueSize),
+                new NamedThreadFactory(builder.threadName),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "ThreadPoolExecutionProvider{" +
+                "virtual=" + virtual +
+                ", rejectionPolicy=" + rejectionPolicy +
+                ", queueDepth=" + queued.get() +
+                ", active=" + active.get() +
+                ", rejected=" + rejected.sum() +
+                '}';
+    }
+
+    /**
+     * What to do with a command that can't be submitted, because the queue is full or its concurrency limit was reached.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Throws a {@link RejectedExecutionException} to the thread dispatching the command.
+         */
+        ABORT,
+        /**
+         * Runs the command on the thread dispatching it, slowing the dispatcher down.
+         * Commands over their concurrency limit are still aborted, running them would bypass the limit.
+         */
+        CALLER_RUNS,
+        /**
+         * Silently drops the command, it is still counted as rejected.
+         */
+        DISCARD
+    }
+
+    /**
+     * Builder for the {@link ThreadPoolExecutionProvider}.
+     */
+    public static final class Builder {
+
+        private boolean virtualThreads = false;
+        private int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private int queueSize = 1024;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+        private int commandConcurrency = 0;
+        private final Map<String, Integer> commandLimits = new HashMap<>();
+        private String threadName = "triumph-cmd-async";
+        private Consumer<Throwable> errorHandler = ThreadPoolExecutionProvider::reportUncaught;
+
+        private Builder() {}
+
+        /**
+         * Runs each command on its own virtual thread when the runtime supports it.
+         * Falls back to the bounded pool otherwise, in which case the pool settings apply.
+         *
+         * @param virtualThreads Whether to prefer virtual threads.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder virtualThreads(final boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the amount of platform threads in the pool.
+         *
+         * @param threads The amount of threads.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder threads(final int threads) {
+            if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets how many commands can wait for a free platform thread before they are rejected.
+         *
+         * @param queueSize The queue limit.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder queueSize(final int queueSize) {
+            if (queueSize < 1) throw new IllegalArgumentException("Queue size must be at least 1");
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * Sets what happens to commands that can't be submitted.
+         *
+         * @param rejectionPolicy The rejection policy.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder rejectionPolicy(@NotNull final RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+            return this;
+        }
+
+        /**
+         * Sets how many executions of the same sub command can be queued or running at once.
+         *
+         * @param limit The limit, 0 for no limit.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder commandConcurrency(final int limit) {
+            this.commandConcurrency = limit;
+            return this;
+        }
+
+        /**
+         * Sets the concurrency limit for each sub command of a specific command, overriding {@link #commandConcurrency(int)}.
+         *
+         * @param command The name of the command.
+         * @param limit   The limit, 0 for no limit.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Builder commandConcurrency(@NotNull final String command, final int limit) {
+            commandLimits.put(command, limit);
+            return this;
+        }
+
+        /**
+         * Sets the prefix used to name the threads.
+         *
+         * @param threadName The thread name prefix.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder threadName(@NotNull final String threadName) {
+            this.threadName = threadName;
+            return this;
+        }
+
+        /**
+         * Sets the handler for errors thrown by commands.
+         * By default, they are passed to the uncaught exception handler of the thread that ran the command.
+         *
+         * @param errorHandler The error handler.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder errorHandler(@NotNull final Consumer<Throwable> errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Creates the provider.
+         *
+         * @return A new {@link ThreadPoolExecutionProvider}.
+         */
+        @NotNull
+        @Contract(" -> new")
+        public ThreadPoolExecutionProvider build() {
+            return new ThreadPoolExecutionProvider(this);
+        }
+    }
+
+    private static void reportUncaught(@NotNull final Throwable throwable) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+
+    /**
+     * Submitted command, keeps the counters in sync when it starts and finishes.
+     */
+    private final class Task implements Runnable {
+
+        private final Runnable command;
+        private final AtomicInteger counter;
+
+        private Task(@NotNull final Runnable command, @Nullable final AtomicInteger counter) {
+            this.command = command;
+            this.counter = counter;
+        }
+
+        @Override
+        public void run() {
+            queued.decrementAndGet();
+            try {
+                ThreadPoolExecutionProvider.this.run(command);
+            } finally {
+                if (counter != null) counter.decrementAndGet();
+            }
+        }
+
+        /**
+         * Releases the counters of a task that never ran.
+         */
+        private void release() {
+            queued.decrementAndGet();
+            if (counter != null) counter.decrementAndGet();
+        }
+    }
+
+    /**
+     * Daemon thread factory with numbered names.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private NamedThreadFactory(@NotNull final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NotNull final Runnable runnable) {
+            final Thread thread = new Thread(runnable, name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Looks up the virtual thread API reflectively, so the provider still runs on older runtimes.
+     */
+    private static final class VirtualThreads {
+
+        private static final boolean AVAILABLE = probe();
+
+        private static boolean probe() {
+            final ExecutorService executor = newExecutor("triumph-cmd-probe");
+            if (executor == null) return false;
+            executor.shutdown();
+            return true;
+        }
+
+        @Nullable
+        private static ExecutorService newExecutor(@NotNull final String name) {
+            try {
+                final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                final Object builder = builderClass.getMethod("name", String.class, long.class)
+                        .invoke(ofVirtual.invoke(null), name + "-", 0L);
+                final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+                return (ExecutorService) Executors.class
+                        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (final ReflectiveOperationException | RuntimeException | LinkageError exception) {
+                return null;
+            }
+        }
+    }
+}
@@ -24,17 +24,14 @@
 package dev.triumphteam.cmd.core.flag;
 
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import dev.triumphteam.cmd.core.suggestion.SuggestionResolver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public final class FlagRegistry<S> implements Registry {
 
-    private final Map<FlagKey, SuggestionResolver<S>> suggestions = new HashMap<>();
-
+    private final RegistryMap<FlagKey, SuggestionResolver<S>> suggestions = new RegistryMap<>();
 
     public void register(@NotNull final FlagKey key, @NotNull final SuggestionResolver<S> resolver) {
         suggestions.put(key, resolver);
@@ -27,29 +27,26 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Basically a holder that contains all the needed flags for the command.
+ * Each flag gets an ordinal, its position in the group, which the parser uses to store values in plain arrays.
  *
  * @param <S> The sender type.
  */
 public final class FlagGroup<S> {
 
-    private final Map<String, FlagOptions<S>> flags = new HashMap<>();
-    private final Map<String, FlagOptions<S>> longFlags = new HashMap<>();
+    private final List<FlagOptions<S>> options = new ArrayList<>();
 
-    private final List<String> allFlags = new ArrayList<>();
-
-    public Map<String, FlagOptions<S>> getFlags() {
-        return flags;
-    }
+    // Names in the order they were added, flags are few so a scan with region matching beats hashing a substring
+    private final List<String> keys = new ArrayList<>();
+    private final List<FlagOptions<S>> keyOptions = new ArrayList<>();
+    private final List<String> longFlags = new ArrayList<>();
+    private final List<FlagOptions<S>> longFlagOptions = new ArrayList<>();
 
-    public Map<String, FlagOptions<S>> getLongFlags() {
-        return longFlags;
-    }
+    private final List<String> allFlags = new ArrayList<>();
 
     /**
      * Adds a new flag to the group.
@@ -58,28 +55,51 @@ public final class FlagGroup<S> {
      */
     public void addFlag(@NotNull final FlagOptions<S> flagOptions) {
         final String key = flagOptions.getKey();
+        flagOptions.setOrdinal(options.size());
+        options.add(flagOptions);
 
         final String longFlag = flagOptions.getLongFlag();
         if (longFlag != null) {
             allFlags.add("--" + longFlag);
-            longFlags.put(longFlag, flagOptions);
+            longFlags.add(longFlag);
+            longFlagOptions.add(flagOptions);
         }
 
         allFlags.add("-" + key);
-        flags.put(key, flagOptions);
+        keys.add(key);
+        keyOptions.add(flagOptions);
     }
 
     public List<String> getAllFlags() {
         return allFlags;
     }
 
+    /**
+     * Gets all the flags of the group, the index of each one is its ordinal.
+     *
+     * @return An unmodifiable {@link List} of the flags.
+     */
+    @NotNull
+    public List<FlagOptions<S>> getFlagOptions() {
+        return Collections.unmodifiableList(options);
+    }
+
+    /**
+     * Gets the amount of flags in the group.
+     *
+     * @return The amount of flags.
+     */
+    public int size() {
+        return options.size();
+    }
+
     /**
      * Checks if the flags are empty.
      *
      * @return Whether the flag lists are empty.
      */
     public boolean isEmpty() {
-        return flags.isEmpty() && longFlags.isEmpty();
+        return options.isEmpty();
     }
 
     /**
@@ -90,22 +110,40 @@ public final class FlagGroup<S> {
      */
     @Nullable
     public FlagOptions<S> getMatchingFlag(@NotNull final String token) {
-        final String stripped = stripLeadingHyphens(token);
-
-        final FlagOptions<S> flag = flags.get(stripped);
-        return flag != null ? flag : longFlags.get(stripped);
+        int start = 0;
+        if (token.startsWith("--")) start = 2;
+        else if (token.startsWith("-")) start = 1;
+        return getFlag(token, start, token.length());
     }
 
     /**
-     * Strips the hyphens from the token.
+     * Gets the flag whose name, short or long, is the given region of the token.
+     * The short name, or the long one of flags without it, takes precedence and a name added later replaces an earlier one.
      *
-     * @param token The flag token.
-     * @return The flag token without hyphens.
+     * @param token The token containing the name.
+     * @param start The start of the name, inclusive.
+     * @param end   The end of the name, exclusive.
+     * @return The flag if found or null if not a valid flag.
      */
-    @NotNull
-    private String stripLeadingHyphens(@NotNull final String token) {
-        if (token.startsWith("--")) return token.substring(2);
-        if (token.startsWith("-")) return token.substring(1);
-        return token;
+    @Nullable
+    public FlagOptions<S> getFlag(@NotNull final String token, final int start, final int end) {
+        final FlagOptions<S> flag = find(keys, keyOptions, token, start, end);
+        return flag != null ? flag : find(longFlags, longFlagOptions, token, start, end);
+    }
+
+    @Nullable
+    private FlagOptions<S> find(
+            @NotNull final List<String> names,
+            @NotNull final List<FlagOptions<S>> owners,
+            @NotNull final String token,
+            final int start,
+            final int end
+    ) {
+        final int length = end - start;
+        for (int i = names.size() - 1; i >= 0; i--) {
+            final String name = names.get(i);
+            if (name.length() == length && token.regionMatches(start, name, 0, length)) return owners.get(i);
+        }
+        return null;
     }
 }
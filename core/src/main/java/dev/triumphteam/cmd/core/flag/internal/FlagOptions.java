@@ -41,6 +41,9 @@ public final class FlagOptions<S> {
     // TODO: 9/16/2021 Check if flag description is needed.
     private final StringInternalArgument<S> argument;
 
+    // Position in the group, set once the flag is added to one
+    private int ordinal = -1;
+
     public FlagOptions(
             @Nullable final String flag,
             @Nullable final String longFlag,
@@ -76,6 +79,19 @@ public final class FlagOptions<S> {
         return argument;
     }
 
+    /**
+     * Gets the position of the flag in its {@link FlagGroup}.
+     *
+     * @return The ordinal, -1 if the flag isn't in a group.
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void setOrdinal(final int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     /**
      * They key will either be the {@link FlagOptions#getFlag()} or the {@link FlagOptions#getLongFlag()}.
      *
@@ -23,17 +23,18 @@
  */
 package dev.triumphteam.cmd.core.flag.internal;
 
-import com.google.common.collect.Maps;
 import dev.triumphteam.cmd.core.flag.Flags;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Basic flag parser.
+ * Parses in a single pass over the tokens, matching flag names against regions of the tokens
+ * and recording where each value is instead of cutting it out.
  *
  * @param <S> The sender type.
  */
@@ -41,94 +42,87 @@ public final class FlagParser<S> {
 
     private final FlagGroup<S> flagGroup;
 
-    private static final String ESCAPE = "\\";
-    private static final String LONG = "--";
-    private static final String SHORT = "-";
-    private static final int EQUALS = '=';
+    private static final char HYPHEN = '-';
+    private static final char EQUALS = '=';
 
     public FlagParser(@NotNull final FlagGroup<S> flagGroup) {
         this.flagGroup = flagGroup;
     }
 
     public Map<FlagOptions<S>, String> parseFlags(@NotNull final List<String> toParse) {
-        return parseInternal(toParse).getKey();
+        final FlagsResult<S> result = parseInternal(null, toParse);
+        final List<FlagOptions<S>> options = flagGroup.getFlagOptions();
+
+        final Map<FlagOptions<S>, String> flags = new LinkedHashMap<>();
+        for (int i = 0; i < result.getFlagCount(); i++) {
+            final int ordinal = result.getFlagOrdinal(i);
+            flags.put(options.get(ordinal), result.getRawValue(ordinal));
+        }
+        return flags;
     }
 
     public Flags parse(@NotNull final S sender, @NotNull final List<String> toParse) {
-        final Map.Entry<Map<FlagOptions<S>, String>, List<String>> parsed = parseInternal(toParse);
-        return new FlagsResult<>(sender, parsed.getKey(), parsed.getValue());
+        return parseInternal(sender, toParse);
     }
 
-    private Map.Entry<Map<FlagOptions<S>, String>, List<String>> parseInternal(@NotNull final List<String> toParse) {
-        final FlagScanner tokens = new FlagScanner(toParse);
-
-        final Map<FlagOptions<S>, String> flags = new LinkedHashMap<>();
-        final List<String> args = new ArrayList<>();
+    @NotNull
+    private FlagsResult<S> parseInternal(@Nullable final S sender, @NotNull final List<String> toParse) {
+        final int size = toParse.size();
+        final FlagsResult<S> result = new FlagsResult<>(sender, flagGroup, size);
 
-        while (tokens.hasNext()) {
-            final String token = tokens.next();
+        for (int i = 0; i < size; i++) {
+            final String token = toParse.get(i);
+            final int length = token.length();
 
-            // If escaping the flag then just, skip
-            if (token.startsWith(ESCAPE)) {
-                args.add(token);
+            // Escaped flags, single hyphens and anything not starting with one are plain arguments
+            if (length < 2 || token.charAt(0) != HYPHEN) {
+                result.addArg(token);
                 continue;
             }
 
-            // Checks if it's a flag, if not then skip
-            if ((!token.startsWith(LONG) || LONG.equals(token)) && (!token.startsWith(SHORT) || SHORT.equals(token))) {
-                args.add(token);
-                continue;
-            }
+            final int nameStart = token.charAt(1) == HYPHEN ? 2 : 1;
+            final int equals = token.indexOf(EQUALS, 1);
 
-            final int equals = token.indexOf(EQUALS);
             // No equals char was found
             if (equals == -1) {
-                final FlagOptions<S> flag = flagGroup.getMatchingFlag(token);
+                final FlagOptions<S> flag = flagGroup.getFlag(token, nameStart, length);
                 // No valid flag with the name, skip
                 if (flag == null) {
-                    args.add(token);
+                    result.addArg(token);
                     continue;
                 }
 
                 // Checks if the flag needs argument
                 if (flag.hasArgument()) {
                     // If an argument is needed and no more tokens present, then just append empty as value
-                    if (!tokens.hasNext()) {
-                        flags.put(flag, "");
+                    if (i == size - 1) {
+                        result.setFlag(flag.getOrdinal(), token, FlagsResult.EMPTY_VALUE);
                         continue;
                     }
 
                     // Value found so append
-                    flags.put(flag, tokens.next());
+                    result.setFlag(flag.getOrdinal(), toParse.get(++i), 0);
                     continue;
                 }
 
                 // No argument needed just add flag
-                flags.put(flag, null);
+                result.setFlag(flag.getOrdinal(), token, FlagsResult.NO_VALUE);
                 continue;
             }
 
             // Splits the flag from `flag=arg`
-            final String flagToken = token.substring(0, equals);
-            final String argToken = token.substring(equals + 1);
-
-            final FlagOptions<S> flag = flagGroup.getMatchingFlag(flagToken);
-            // No valid flag with the name, skip
-            if (flag == null) {
-                args.add(token);
-                continue;
-            }
+            final FlagOptions<S> flag = flagGroup.getFlag(token, nameStart, equals);
 
-            // Flag with equals should always have argument, so we ignore if it doesn't
-            if (!flag.hasArgument()) {
-                args.add(token);
+            // No valid flag with the name, or one without argument, which `flag=arg` should always have
+            if (flag == null || !flag.hasArgument()) {
+                result.addArg(token);
                 continue;
             }
 
-            // Add flag normally
-            flags.put(flag, argToken);
+            // The value stays in the token, only its offset is kept
+            result.setFlag(flag.getOrdinal(), token, equals + 1);
         }
 
-        return Maps.immutableEntry(flags, args);
+        return result;
     }
 }
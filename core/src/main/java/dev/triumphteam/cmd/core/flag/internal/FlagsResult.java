@@ -23,53 +23,92 @@
  */
 package dev.triumphteam.cmd.core.flag.internal;
 
+import dev.triumphteam.cmd.core.argument.StringInternalArgument;
 import dev.triumphteam.cmd.core.flag.Flags;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
  * Implementation of the {@link Flags} which will be passed to the command method.
+ * Values are kept as the token they're in plus an offset and stored by flag ordinal,
+ * they are only cut out and resolved when asked for, and resolved values are kept for the next call.
  */
 @SuppressWarnings("unchecked")
-class FlagsResult<S> implements Flags {
+final class FlagsResult<S> implements Flags {
+
+    // Offsets for flags that take no argument and for flags whose argument was missing
+    static final int NO_VALUE = -1;
+    static final int EMPTY_VALUE = -2;
+
+    // Marks a value that was resolved to null, so it isn't resolved again
+    private static final Object NULL = new Object();
 
-    private final Map<String, FlagValue> flags = new HashMap<>();
-    private final List<String> args;
     private final S sender;
+    private final FlagGroup<S> flagGroup;
 
-    FlagsResult(
-            @NotNull final S sender,
-            @NotNull final Map<FlagOptions<S>, String> flags,
-            @NotNull final List<String> args
-    ) {
-        this.sender = sender;
-        flags.forEach(this::addFlag);
-        this.args = args;
-    }
+    // Indexed by flag ordinal, a null token means the flag isn't present, only created once a flag is found
+    private String[] valueTokens = null;
+    private int[] valueOffsets = null;
+    private Object[] resolved = null;
 
-    void addFlag(@NotNull final FlagOptions<S> flag, @Nullable final String value) {
-        final String shortFlag = flag.getFlag();
-        final String longFlag = flag.getLongFlag();
+    // Ordinals in the order the flags were first typed
+    private int[] order = null;
+    private int flagCount = 0;
 
-        final FlagValue flagValue = value == null ? EmptyFlagValue.INSTANCE : new ArgFlagValue<>(value, flag.getArgument());
+    private final String[] args;
+    private int argCount = 0;
+    private List<String> argList = null;
 
-        if (shortFlag != null) {
-            flags.put(shortFlag, flagValue);
-        }
+    FlagsResult(@Nullable final S sender, @NotNull final FlagGroup<S> flagGroup, final int tokens) {
+        this.sender = sender;
+        this.flagGroup = flagGroup;
+        this.args = new String[tokens];
+    }
 
-        if (longFlag != null) {
-            flags.put(longFlag, flagValue);
+    void setFlag(final int ordinal, @NotNull final String token, final int offset) {
+        if (valueTokens == null) {
+            final int flags = flagGroup.size();
+            valueTokens = new String[flags];
+            valueOffsets = new int[flags];
+            order = new int[flags];
         }
+
+        if (valueTokens[ordinal] == null) order[flagCount++] = ordinal;
+        valueTokens[ordinal] = token;
+        valueOffsets[ordinal] = offset;
     }
 
     void addArg(@NotNull final String arg) {
-        args.add(arg);
+        args[argCount++] = arg;
+    }
+
+    int getFlagCount() {
+        return flagCount;
+    }
+
+    int getFlagOrdinal(final int index) {
+        return order[index];
+    }
+
+    /**
+     * Gets the value of a present flag as typed.
+     *
+     * @param ordinal The ordinal of the flag.
+     * @return The value, null for flags that take no argument.
+     */
+    @Nullable
+    String getRawValue(final int ordinal) {
+        final int offset = valueOffsets[ordinal];
+        if (offset == NO_VALUE) return null;
+        if (offset == EMPTY_VALUE) return "";
+
+        final String token = valueTokens[ordinal];
+        return offset == 0 ? token : token.substring(offset);
     }
 
     /**
@@ -77,7 +116,9 @@ class FlagsResult<S> implements Flags {
      */
     @Override
     public boolean hasFlag(final @NotNull String flag) {
-        return flags.containsKey(flag);
+        if (valueTokens == null) return false;
+        final FlagOptions<S> options = flagGroup.getFlag(flag, 0, flag.length());
+        return options != null && valueTokens[options.getOrdinal()] != null;
     }
 
     /**
@@ -86,11 +127,21 @@ class FlagsResult<S> implements Flags {
     @NotNull
     @Override
     public <T> Optional<T> getValue(final @NotNull String flag, final @NotNull Class<T> type) {
-        final FlagValue flagValue = flags.get(flag);
-        if (flagValue == null) return Optional.empty();
-        if (!(flagValue instanceof ArgFlagValue)) return Optional.empty();
-        final ArgFlagValue<S> argFlagValue = (ArgFlagValue<S>) flagValue;
-        return Optional.ofNullable((T) argFlagValue.getValue(sender, type));
+        final int ordinal = getValueOrdinal(flag);
+        if (ordinal == -1) return Optional.empty();
+
+        final StringInternalArgument<S> argument = flagGroup.getFlagOptions().get(ordinal).getArgument();
+        if (!type.equals(argument.getType())) return Optional.empty();
+
+        if (resolved == null) resolved = new Object[valueTokens.length];
+        Object value = resolved[ordinal];
+        if (value == null) {
+            final String raw = getRawValue(ordinal);
+            value = sender == null || raw == null ? null : argument.resolve(sender, raw);
+            resolved[ordinal] = value == null ? NULL : value;
+        }
+
+        return value == NULL ? Optional.empty() : Optional.ofNullable((T) value);
     }
 
     /**
@@ -99,11 +150,9 @@ class FlagsResult<S> implements Flags {
     @NotNull
     @Override
     public Optional<String> getValue(final @NotNull String flag) {
-        final FlagValue flagValue = flags.get(flag);
-        if (flagValue == null) return Optional.empty();
-        if (!(flagValue instanceof ArgFlagValue)) return Optional.empty();
-        final ArgFlagValue<S> argFlagValue = (ArgFlagValue<S>) flagValue;
-        return Optional.of(argFlagValue.getAsString());
+        final int ordinal = getValueOrdinal(flag);
+        if (ordinal == -1) return Optional.empty();
+        return Optional.ofNullable(getRawValue(ordinal));
     }
 
     /**
@@ -119,7 +168,7 @@ class FlagsResult<S> implements Flags {
      */
     @Override
     public @NotNull String getText(final @NotNull String delimiter) {
-        return String.join(delimiter, args);
+        return String.join(delimiter, getArgs());
     }
 
     /**
@@ -127,7 +176,23 @@ class FlagsResult<S> implements Flags {
      */
     @Override
     public @NotNull List<String> getArgs() {
-        return Collections.unmodifiableList(args);
+        if (argList == null) argList = Collections.unmodifiableList(Arrays.asList(args).subList(0, argCount));
+        return argList;
     }
 
+    /**
+     * Gets the ordinal of a present flag that has a value.
+     *
+     * @param flag The short or long name of the flag.
+     * @return The ordinal or -1 if the flag isn't present or takes no argument.
+     */
+    private int getValueOrdinal(@NotNull final String flag) {
+        if (valueTokens == null) return -1;
+        final FlagOptions<S> options = flagGroup.getFlag(flag, 0, flag.length());
+        if (options == null) return -1;
+
+        final int ordinal = options.getOrdinal();
+        if (valueTokens[ordinal] == null || valueOffsets[ordinal] == NO_VALUE) return -1;
+        return ordinal;
+    }
 }
@@ -28,9 +28,9 @@ import dev.triumphteam.cmd.core.message.context.MessageContext;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry key, for more organized way of registering and getting things from the registries.
@@ -38,7 +38,7 @@ import java.util.Set;
 public abstract class ContextualKey<C extends MessageContext> extends RegistryKey {
 
     // Holds all registered keys, default and custom ones
-    private static final Set<ContextualKey<? extends MessageContext>> REGISTERED_KEYS = new HashSet<>();
+    private static final Set<ContextualKey<? extends MessageContext>> REGISTERED_KEYS = ConcurrentHashMap.newKeySet();
 
     private final Class<C> type;
 
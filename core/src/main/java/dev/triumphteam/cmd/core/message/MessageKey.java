@@ -41,6 +41,7 @@ public class MessageKey<C extends MessageContext> extends ContextualKey<C> {
     public static final MessageKey<DefaultMessageContext> TOO_MANY_ARGUMENTS = of("too.many.arguments", DefaultMessageContext.class);
     public static final MessageKey<DefaultMessageContext> NOT_ENOUGH_ARGUMENTS = of("not.enough.arguments", DefaultMessageContext.class);
     public static final MessageKey<InvalidArgumentContext> INVALID_ARGUMENT = of("invalid.argument", InvalidArgumentContext.class);
+    public static final MessageKey<DefaultMessageContext> RESOLUTION_TIMEOUT = of("resolution.timeout", DefaultMessageContext.class);
 
     protected MessageKey(@NotNull final String key, @NotNull final Class<C> type) {
         super(key, type);
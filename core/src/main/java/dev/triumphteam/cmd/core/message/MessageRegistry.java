@@ -24,12 +24,11 @@
 package dev.triumphteam.cmd.core.message;
 
 import dev.triumphteam.cmd.core.message.context.MessageContext;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Registry with all the messages that'll be sent to the user.
  *
@@ -37,7 +36,9 @@ import java.util.Map;
  */
 public final class MessageRegistry<S> implements Registry {
 
-    private final Map<ContextualKey<?>, MessageResolver<S, ? extends MessageContext>> messages = new HashMap<>();
+    private final RegistryMap<ContextualKey<?>, MessageResolver<S, ? extends MessageContext>> messages = new RegistryMap<>();
+
+    private volatile CommandMetrics metrics = CommandMetrics.noop();
 
     /**
      * Registers a new message to be used by the plugin.
@@ -66,10 +67,22 @@ public final class MessageRegistry<S> implements Registry {
             @NotNull final S sender,
             @NotNull final C context
     ) {
+        final CommandMetrics metrics = this.metrics;
+        if (metrics.isEnabled()) metrics.recordOutcome(context.getCommand(), context.getSubCommand(), key);
+
         //noinspection unchecked
         final MessageResolver<S, C> messageResolver = (MessageResolver<S, C>) messages.get(key);
         if (messageResolver == null) return;
         messageResolver.resolve(sender, context);
     }
 
+    /**
+     * Sets the metrics every sent message is counted in.
+     *
+     * @param metrics The {@link CommandMetrics} to record the outcomes into.
+     */
+    public void setMetrics(@NotNull final CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
 }
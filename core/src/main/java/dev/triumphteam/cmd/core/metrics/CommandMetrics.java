@@ -0,0 +1,133 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.metrics;
+
+import dev.triumphteam.cmd.core.message.ContextualKey;
+import dev.triumphteam.cmd.core.requirement.RequirementKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives timings and outcomes of every command execution.
+ * Implementations must be thread safe, async commands record from the executor threads.
+ * The default is {@link #noop()}, which reports itself as disabled so commands skip taking any timing at all.
+ */
+public interface CommandMetrics {
+
+    /**
+     * Gets the metrics implementation that records nothing.
+     *
+     * @return The no-op {@link CommandMetrics}.
+     */
+    @NotNull
+    static CommandMetrics noop() {
+        return NoopCommandMetrics.INSTANCE;
+    }
+
+    /**
+     * Whether the metrics are recording, commands don't take timings when this is false.
+     *
+     * @return True if the metrics are recording.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records that a sub command was invoked, before any validation.
+     *
+     * @param command    The command name.
+     * @param subCommand The sub command name.
+     */
+    void recordInvocation(@NotNull final String command, @NotNull final String subCommand);
+
+    /**
+     * Records the time a stage of the execution took.
+     *
+     * @param command    The command name.
+     * @param subCommand The sub command name.
+     * @param stage      The stage that was timed.
+     * @param nanos      The time it took in nanoseconds.
+     */
+    void recordTime(@NotNull final String command, @NotNull final String subCommand, @NotNull final Stage stage, final long nanos);
+
+    /**
+     * Records a message sent to the sender, like {@link dev.triumphteam.cmd.core.message.MessageKey#INVALID_ARGUMENT}.
+     *
+     * @param command    The command name.
+     * @param subCommand The sub command name.
+     * @param key        The key of the message sent.
+     */
+    void recordOutcome(@NotNull final String command, @NotNull final String subCommand, @NotNull final ContextualKey<?> key);
+
+    /**
+     * Records that the command method threw.
+     *
+     * @param command    The command name.
+     * @param subCommand The sub command name.
+     * @param throwable  What was thrown.
+     */
+    void recordFailure(@NotNull final String command, @NotNull final String subCommand, @NotNull final Throwable throwable);
+
+    /**
+     * Records the time a requirement resolver took to run.
+     * Not called when the result came from the requirement's cache.
+     *
+     * @param key   The key of the requirement.
+     * @param nanos The time it took in nanoseconds.
+     */
+    default void recordRequirementTime(@NotNull final RequirementKey key, final long nanos) {}
+
+    /**
+     * Records that a requirement was answered by its cache, without running the resolver.
+     *
+     * @param key The key of the requirement.
+     */
+    default void recordRequirementCacheHit(@NotNull final RequirementKey key) {}
+
+    /**
+     * The timed stages of a command execution.
+     */
+    enum Stage {
+        /**
+         * Checking the requirements of the sub command.
+         */
+        REQUIREMENTS,
+        /**
+         * Resolving the typed arguments.
+         */
+        ARGUMENTS,
+        /**
+         * Waiting on the asynchronous requirements and arguments, only recorded for sub commands that have any.
+         */
+        ASYNC_RESOLUTION,
+        /**
+         * Time between handing the command to the execution provider and it starting to run.
+         */
+        QUEUE,
+        /**
+         * Running the command method.
+         */
+        EXECUTION
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.metrics;
+
+import dev.triumphteam.cmd.core.message.ContextualKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable copy of the metrics recorded for a single sub command.
+ */
+public final class CommandMetricsSnapshot {
+
+    private final String command;
+    private final String subCommand;
+    private final long invocations;
+    private final long failures;
+    private final Map<CommandMetrics.Stage, HistogramSnapshot> timings;
+    private final Map<ContextualKey<?>, Long> outcomes;
+
+    CommandMetricsSnapshot(
+            @NotNull final String command,
+            @NotNull final String subCommand,
+            final long invocations,
+            final long failures,
+            @NotNull final Map<CommandMetrics.Stage, HistogramSnapshot> timings,
+            @NotNull final Map<ContextualKey<?>, Long> outcomes
+    ) {
+        this.command = command;
+        this.subCommand = subCommand;
+        this.invocations = invocations;
+        this.failures = failures;
+        this.timings = Collections.unmodifiableMap(timings);
+        this.outcomes = Collections.unmodifiableMap(outcomes);
+    }
+
+    /**
+     * Gets the command name.
+     *
+     * @return The command name.
+     */
+    @NotNull
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets the sub command name.
+     *
+     * @return The sub command name.
+     */
+    @NotNull
+    public String getSubCommand() {
+        return subCommand;
+    }
+
+    /**
+     * Gets how many times the sub command was invoked.
+     *
+     * @return The amount of invocations.
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Gets how many times the command method threw.
+     *
+     * @return The amount of failures.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the timings of a stage.
+     *
+     * @param stage The stage.
+     * @return The {@link HistogramSnapshot} of the stage.
+     */
+    @NotNull
+    public HistogramSnapshot getTimings(@NotNull final CommandMetrics.Stage stage) {
+        return timings.get(stage);
+    }
+
+    /**
+     * Gets how many times each message was sent while running the sub command.
+     *
+     * @return An unmodifiable map with the message keys and counts.
+     */
+    @NotNull
+    public Map<ContextualKey<?>, Long> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Gets how many times a specific message was sent.
+     *
+     * @param key The message key.
+     * @return The count, 0 if never sent.
+     */
+    public long getOutcome(@NotNull final ContextualKey<?> key) {
+        return outcomes.getOrDefault(key, 0L);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CommandMetricsSnapshot{" +
+                "command='" + command + '\'' +
+                ", subCommand='" + subCommand + '\'' +
+                ", invocations=" + invocations +
+                ", failures=" + failures +
+                ", timings=" + timings +
+                ", outcomes=" + outcomes +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}.
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(@NotNull final long[] counts, final long count, final long sum, final long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * Gets the amount of recorded values.
+     *
+     * @return The amount of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the highest recorded value, in nanoseconds.
+     *
+     * @return The highest value.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the recorded values, in nanoseconds.
+     *
+     * @return The mean, 0 if nothing was recorded.
+     */
+    public double getMean() {
+        if (count == 0) return 0;
+        return (double) sum / count;
+    }
+
+    /**
+     * Gets the value at the given percentile, in nanoseconds.
+     * The result is the highest value of the bucket the percentile falls in, capped at {@link #getMax()}.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value at the percentile, 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (count == 0) return 0;
+        final double clamped = Math.max(0, Math.min(100, percentile));
+        final long target = Math.max(1, (long) Math.ceil(clamped / 100 * count));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(LatencyHistogram.highestValue(i), max);
+        }
+
+        return max;
+    }
+
+    /**
+     * Gets the value at the given percentile converted to the given unit.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @param unit       The unit to convert to.
+     * @return The value at the percentile.
+     */
+    public long getValueAtPercentile(final double percentile, @NotNull final TimeUnit unit) {
+        return unit.convert(getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", mean=" + (long) getMean() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.metrics;
+
+import dev.triumphteam.cmd.core.message.ContextualKey;
+import dev.triumphteam.cmd.core.requirement.RequirementKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link CommandMetrics} that keeps everything in memory and can be snapshotted at any time.
+ * Entries are only created for sub commands that were invoked, messages sent for anything else,
+ * like an unknown command typed by a user, are counted per key without the names, so the memory used stays bounded.
+ */
+public final class InMemoryCommandMetrics implements CommandMetrics {
+
+    private final Map<String, Map<String, Entry>> commands = new ConcurrentHashMap<>();
+    private final Map<ContextualKey<?>, LongAdder> unattributedOutcomes = new ConcurrentHashMap<>();
+    private final Map<RequirementKey, RequirementEntry> requirements = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordInvocation(@NotNull final String command, @NotNull final String subCommand) {
+        commands.computeIfAbsent(command, it -> new ConcurrentHashMap<>())
+                .computeIfAbsent(subCommand, it -> new Entry())
+                .invocations
+                .increment();
+    }
+
+    @Override
+    public void recordTime(@NotNull final String command, @NotNull final String subCommand, @NotNull final Stage stage, final long nanos) {
+        final Entry entry = getEntry(command, subCommand);
+        if (entry == null) return;
+        entry.timings[stage.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordOutcome(@NotNull final String command, @NotNull final String subCommand, @NotNull final ContextualKey<?> key) {
+        final Entry entry = getEntry(command, subCommand);
+        final Map<ContextualKey<?>, LongAdder> outcomes = entry == null ? unattributedOutcomes : entry.outcomes;
+        outcomes.computeIfAbsent(key, it -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void recordFailure(@NotNull final String command, @NotNull final String subCommand, @NotNull final Throwable throwable) {
+        final Entry entry = getEntry(command, subCommand);
+        if (entry == null) return;
+        entry.failures.increment();
+    }
+
+    @Override
+    public void recordRequirementTime(@NotNull final RequirementKey key, final long nanos) {
+        requirements.computeIfAbsent(key, it -> new RequirementEntry()).timings.record(nanos);
+    }
+
+    @Override
+    public void recordRequirementCacheHit(@NotNull final RequirementKey key) {
+        requirements.computeIfAbsent(key, it -> new RequirementEntry()).cacheHits.increment();
+    }
+
+    /**
+     * Takes a snapshot of every sub command that was invoked.
+     *
+     * @return A list with the snapshot of each sub command.
+     */
+    @NotNull
+    public List<CommandMetricsSnapshot> snapshot() {
+        final List<CommandMetricsSnapshot> snapshots = new ArrayList<>();
+        commands.forEach((command, subCommands) ->
+                subCommands.forEach((subCommand, entry) -> snapshots.add(entry.snapshot(command, subCommand)))
+        );
+        return snapshots;
+    }
+
+    /**
+     * Takes a snapshot of a single sub command.
+     *
+     * @param command    The command name.
+     * @param subCommand The sub command name.
+     * @return The snapshot or null if the sub command was never invoked.
+     */
+    @Nullable
+    public CommandMetricsSnapshot snapshot(@NotNull final String command, @NotNull final String subCommand) {
+        final Entry entry = getEntry(command, subCommand);
+        if (entry == null) return null;
+        return entry.snapshot(command, subCommand);
+    }
+
+    /**
+     * Takes a snapshot of every requirement that was checked.
+     *
+     * @return A list with the snapshot of each requirement.
+     */
+    @NotNull
+    public List<RequirementMetricsSnapshot> requirementSnapshot() {
+        final List<RequirementMetricsSnapshot> snapshots = new ArrayList<>();
+        requirements.forEach((key, entry) -> snapshots.add(entry.snapshot(key)));
+        return snapshots;
+    }
+
+    /**
+     * Takes a snapshot of a single requirement.
+     *
+     * @param key The key of the requirement.
+     * @return The snapshot or null if the requirement was never checked.
+     */
+    @Nullable
+    public RequirementMetricsSnapshot snapshot(@NotNull final RequirementKey key) {
+        final RequirementEntry entry = requirements.get(key);
+        if (entry == null) return null;
+        return entry.snapshot(key);
+    }
+
+    /**
+     * Gets the counts of messages sent outside an invoked sub command, like {@link dev.triumphteam.cmd.core.message.MessageKey#UNKNOWN_COMMAND}.
+     *
+     * @return A map with the message keys and counts.
+     */
+    @NotNull
+    public Map<ContextualKey<?>, Long> getUnattributedOutcomes() {
+        return Collections.unmodifiableMap(sum(unattributedOutcomes));
+    }
+
+    /**
+     * Clears everything recorded so far.
+     */
+    public void reset() {
+        commands.clear();
+        unattributedOutcomes.clear();
+        requirements.clear();
+    }
+
+    @Nullable
+    private Entry getEntry(@NotNull final String command, @NotNull final String subCommand) {
+        final Map<String, Entry> subCommands = commands.get(command);
+        if (subCommands == null) return null;
+        return subCommands.get(subCommand);
+    }
+
+    @NotNull
+    private static Map<ContextualKey<?>, Long> sum(@NotNull final Map<ContextualKey<?>, LongAdder> adders) {
+        final Map<ContextualKey<?>, Long> result = new HashMap<>();
+        adders.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "InMemoryCommandMetrics{" +
+                "commands=" + commands.keySet() +
+                ", requirements=" + requirements.keySet() +
+                '}';
+    }
+
+    private static final class Entry {
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram[] timings = new LatencyHistogram[Stage.values().length];
+        private final Map<ContextualKey<?>, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private Entry() {
+            for (int i = 0; i < timings.length; i++) {
+                timings[i] = new LatencyHistogram();
+            }
+        }
+
+        @NotNull
+        private CommandMetricsSnapshot snapshot(@NotNull final String command, @NotNull final String subCommand) {
+            final Map<Stage, HistogramSnapshot> snapshots = new EnumMap<>(Stage.class);
+            for (final Stage stage : Stage.values()) {
+                snapshots.put(stage, timings[stage.ordinal()].snapshot());
+            }
+
+            return new CommandMetricsSnapshot(command, subCommand, invocations.sum(), failures.sum(), snapshots, sum(outcomes));
+        }
+    }
+
+    private static final class RequirementEntry {
+
+        private final LongAdder cacheHits = new LongAdder();
+        private final LatencyHistogram timings = new LatencyHistogram();
+
+        @NotNull
+        private RequirementMetricsSnapshot snapshot(@NotNull final RequirementKey key) {
+            return new RequirementMetricsSnapshot(key, cacheHits.sum(), timings.snapshot());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.metrics;
+
+import dev.triumphteam.cmd.core.requirement.RequirementKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable copy of the metrics recorded for a single requirement.
+ */
+public final class RequirementMetricsSnapshot {
+
+    private final RequirementKey key;
+    private final long cacheHits;
+    private final HistogramSnapshot timings;
+
+    RequirementMetricsSnapshot(
+            @NotNull final RequirementKey key,
+            final long cacheHits,
+            @NotNull final HistogramSnapshot timings
+    ) {
+        this.key = key;
+        this.cacheHits = cacheHits;
+        this.timings = timings;
+    }
+
+    /**
+     * Gets the key of the requirement.
+     *
+     * @return The {@link RequirementKey}.
+     */
+    @NotNull
+    public RequirementKey getKey() {
+        return key;
+    }
+
+    /**
+     * Gets how many checks were answered by the cache without running the resolver.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets how many times the resolver actually ran.
+     *
+     * @return The amount of resolutions.
+     */
+    public long getResolutions() {
+        return timings.getCount();
+    }
+
+    /**
+     * Gets the timings of the resolver, cache hits aren't included.
+     *
+     * @return The {@link HistogramSnapshot} of the resolver.
+     */
+    @NotNull
+    public HistogramSnapshot getTimings() {
+        return timings;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "RequirementMetricsSnapshot{" +
+                "key=" + key +
+                ", cacheHits=" + cacheHits +
+                ", timings=" + timings +
+                '}';
+    }
+}
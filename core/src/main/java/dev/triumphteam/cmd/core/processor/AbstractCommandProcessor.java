@@ -27,6 +27,8 @@ import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.SubCommand;
 import dev.triumphteam.cmd.core.annotation.Command;
 import dev.triumphteam.cmd.core.annotation.Description;
+import dev.triumphteam.cmd.core.descriptor.CommandDescriptor;
+import dev.triumphteam.cmd.core.descriptor.CommandDescriptors;
 import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
@@ -38,6 +40,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -92,7 +95,13 @@ public abstract class AbstractCommandProcessor<SD, S, SC extends SubCommand<S>,
     }
 
     private void collectSubCommands() {
-        for (final Method method : baseCommand.getClass().getDeclaredMethods()) {
+        // Generated descriptors already know which methods are sub commands
+        final CommandDescriptor descriptor = CommandDescriptors.find(baseCommand.getClass());
+        final List<Method> methods = descriptor != null
+                ? descriptor.getMethods()
+                : Arrays.asList(baseCommand.getClass().getDeclaredMethods());
+
+        for (final Method method : methods) {
             if (Modifier.isPrivate(method.getModifiers())) continue;
 
             final P processor = createProcessor(method);
@@ -170,6 +179,17 @@ public abstract class AbstractCommandProcessor<SD, S, SC extends SubCommand<S>,
         return subCommandsAlias;
     }
 
+    /**
+     * Checks if the sub command is one this processor created, by identity,
+     * so the same sub command from another scan of the {@link BaseCommand} doesn't match.
+     *
+     * @param subCommand The sub command to check.
+     * @return Whether the sub command was created by this processor.
+     */
+    public boolean ownsSubCommand(@NotNull final SubCommand<S> subCommand) {
+        return subCommands.get(subCommand.getName()) == subCommand;
+    }
+
     public ExecutionProvider getSyncExecutionProvider() {
         return syncExecutionProvider;
     }
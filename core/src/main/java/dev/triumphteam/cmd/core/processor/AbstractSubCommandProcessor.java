@@ -39,6 +39,8 @@ import dev.triumphteam.cmd.core.annotation.Optional;
 import dev.triumphteam.cmd.core.annotation.Requirements;
 import dev.triumphteam.cmd.core.annotation.Split;
 import dev.triumphteam.cmd.core.annotation.Suggestions;
+import dev.triumphteam.cmd.core.annotation.Timeout;
+import dev.triumphteam.cmd.core.argument.ArgumentPlan;
 import dev.triumphteam.cmd.core.argument.ArgumentRegistry;
 import dev.triumphteam.cmd.core.argument.ArgumentResolver;
 import dev.triumphteam.cmd.core.argument.CollectionInternalArgument;
@@ -56,7 +58,10 @@ import dev.triumphteam.cmd.core.argument.named.ArgumentKey;
 import dev.triumphteam.cmd.core.argument.named.Arguments;
 import dev.triumphteam.cmd.core.argument.named.ListArgument;
 import dev.triumphteam.cmd.core.argument.named.NamedArgumentRegistry;
+import dev.triumphteam.cmd.core.descriptor.CommandDescriptors;
+import dev.triumphteam.cmd.core.descriptor.SubCommandDescriptor;
 import dev.triumphteam.cmd.core.exceptions.SubCommandRegistrationException;
+import dev.triumphteam.cmd.core.execution.CommandInvoker;
 import dev.triumphteam.cmd.core.flag.Flags;
 import dev.triumphteam.cmd.core.flag.internal.FlagGroup;
 import dev.triumphteam.cmd.core.flag.internal.FlagOptions;
@@ -67,6 +72,7 @@ import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
 import dev.triumphteam.cmd.core.message.context.MessageContext;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.requirement.Requirement;
+import dev.triumphteam.cmd.core.requirement.RequirementCost;
 import dev.triumphteam.cmd.core.requirement.RequirementKey;
 import dev.triumphteam.cmd.core.requirement.RequirementRegistry;
 import dev.triumphteam.cmd.core.requirement.RequirementResolver;
@@ -90,8 +96,10 @@ import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -125,14 +133,19 @@ public abstract class AbstractSubCommandProcessor<S> {
 
     private boolean isDefault = false;
     private final boolean isAsync;
+    private long resolutionTimeoutMillis = DEFAULT_RESOLUTION_TIMEOUT_MILLIS;
 
     private Class<? extends S> senderType;
+    private CommandInvoker invoker = null;
+    private ArgumentPlan<S> argumentPlan = null;
 
     private final FlagGroup<S> flagGroup = new FlagGroup<>();
     private final List<Suggestion<S>> suggestionList = new ArrayList<>();
     private final List<InternalArgument<S, ?>> internalArguments = new ArrayList<>();
-    private final Set<Requirement<S, ?>> requirements = new HashSet<>();
+    // Kept in declaration order, then sorted by cost once extracted, so ties keep the order they were written
+    private final Set<Requirement<S, ?>> requirements = new LinkedHashSet<>();
 
+    private final RegistryContainer<S> registryContainer;
     private final SuggestionRegistry<S> suggestionRegistry;
     private final ArgumentRegistry<S> argumentRegistry;
     private final NamedArgumentRegistry<S> namedArgumentRegistry;
@@ -141,6 +154,7 @@ public abstract class AbstractSubCommandProcessor<S> {
     private final SenderValidator<S> senderValidator;
 
     private static final Set<Class<?>> COLLECTIONS = new HashSet<>(Arrays.asList(List.class, Set.class));
+    private static final long DEFAULT_RESOLUTION_TIMEOUT_MILLIS = 5000L;
 
     protected AbstractSubCommandProcessor(
             @NotNull final BaseCommand baseCommand,
@@ -154,6 +168,7 @@ public abstract class AbstractSubCommandProcessor<S> {
 
         this.method = method;
 
+        this.registryContainer = registryContainer;
         this.suggestionRegistry = registryContainer.getSuggestionRegistry();
         this.argumentRegistry = registryContainer.getArgumentRegistry();
         this.namedArgumentRegistry = registryContainer.getNamedArgumentRegistry();
@@ -161,18 +176,32 @@ public abstract class AbstractSubCommandProcessor<S> {
         this.messageRegistry = registryContainer.getMessageRegistry();
         this.senderValidator = senderValidator;
 
-        this.isAsync = method.isAnnotationPresent(Async.class);
+        // Generated at compile time, when the annotation processor is used
+        final SubCommandDescriptor descriptor = CommandDescriptors.find(baseCommand.getClass(), method);
+        this.isAsync = descriptor != null ? descriptor.isAsync() : method.isAnnotationPresent(Async.class);
+
+        if (descriptor != null) {
+            name = descriptor.getName();
+            alias.addAll(descriptor.getAlias());
+            isDefault = descriptor.isDefault();
+        } else {
+            extractSubCommandNames();
+        }
 
-        extractSubCommandNames();
         if (name == null) return;
 
         extractFlags();
         extractRequirements();
         extractDescription();
+        extractTimeout();
         extractArgDescriptions();
         extractSuggestions();
         extractArguments(method);
         validateArguments();
+        sortRequirements();
+        compileArguments();
+
+        this.invoker = descriptor != null ? descriptor.createInvoker(baseCommand) : CommandInvoker.of(baseCommand, method);
     }
 
     /**
@@ -248,6 +277,15 @@ public abstract class AbstractSubCommandProcessor<S> {
         return isAsync;
     }
 
+    /**
+     * Gets how long the sub command waits for its asynchronous requirements and arguments.
+     *
+     * @return The timeout in milliseconds.
+     */
+    public long getResolutionTimeoutMillis() {
+        return resolutionTimeoutMillis;
+    }
+
     /**
      * Gets the {@link BaseCommand} instance, so it can be used later to invoke.
      *
@@ -269,9 +307,32 @@ public abstract class AbstractSubCommandProcessor<S> {
     }
 
     /**
-     * Gets a set with the requirements.
+     * Gets the invoker bound to the sub command method, created once during registration.
      *
-     * @return The requirements.
+     * @return The method invoker.
+     */
+    @NotNull
+    public CommandInvoker getInvoker() {
+        if (invoker == null) throw createException("Invoker could not be created.");
+        return invoker;
+    }
+
+    /**
+     * Gets the argument plan compiled from the arguments during registration.
+     *
+     * @return The argument plan.
+     */
+    @NotNull
+    public ArgumentPlan<S> getArgumentPlan() {
+        if (argumentPlan == null) throw createException("Argument plan could not be created.");
+        return argumentPlan;
+    }
+
+    /**
+     * Gets a set with the requirements, in the order they should be checked.
+     * Sorted from the cheapest to the most expensive {@link RequirementCost}, ties keep their declaration order.
+     *
+     * @return The ordered requirements.
      */
     @NotNull
     public Set<Requirement<S, ?>> getRequirements() {
@@ -288,6 +349,16 @@ public abstract class AbstractSubCommandProcessor<S> {
         return messageRegistry;
     }
 
+    /**
+     * Gets the registry container the sub command was created with.
+     *
+     * @return The registry container.
+     */
+    @NotNull
+    public RegistryContainer<S> getRegistryContainer() {
+        return registryContainer;
+    }
+
     // TODO: 2/4/2022 comments
     @NotNull
     public SenderValidator<S> getSenderValidator() {
@@ -720,10 +791,28 @@ public abstract class AbstractSubCommandProcessor<S> {
                 throw createException("Could not find Requirement Key \"" + requirementKey.getKey() + "\"");
             }
 
-            addRequirement(new Requirement<>(resolver, messageKey, DefaultMessageContext::new, requirementAnnotation.invert()));
+            addRequirement(new Requirement<>(
+                    requirementKey,
+                    resolver,
+                    messageKey,
+                    DefaultMessageContext::new,
+                    requirementAnnotation.invert(),
+                    requirementRegistry.getCost(requirementKey)
+            ));
         }
     }
 
+    /**
+     * Sorts the requirements by cost once every requirement was added, so the sub command doesn't have to.
+     */
+    private void sortRequirements() {
+        final List<Requirement<S, ?>> ordered = new ArrayList<>(requirements);
+        // List.sort is stable
+        ordered.sort(Comparator.comparing(Requirement::getCost));
+        requirements.clear();
+        requirements.addAll(ordered);
+    }
+
     /**
      * Gets the requirements from the annotations.
      *
@@ -738,6 +827,16 @@ public abstract class AbstractSubCommandProcessor<S> {
         return Collections.singletonList(requirement);
     }
 
+    /**
+     * Gets the timeout for asynchronous resolution used when the sub command has no {@link Timeout}.
+     * Platforms that must answer within a fixed window override it with something shorter.
+     *
+     * @return The default timeout in milliseconds.
+     */
+    protected long getDefaultResolutionTimeoutMillis() {
+        return DEFAULT_RESOLUTION_TIMEOUT_MILLIS;
+    }
+
     /**
      * Gets a list of all the arg validations for the platform.
      * Defaults to just optional and limitless.
@@ -762,6 +861,17 @@ public abstract class AbstractSubCommandProcessor<S> {
         }
     }
 
+    /**
+     * Compiles the validated arguments into the plan used when executing the sub command.
+     */
+    private void compileArguments() {
+        try {
+            argumentPlan = ArgumentPlan.compile(internalArguments);
+        } catch (final IllegalArgumentException exception) {
+            throw createException(exception.getMessage());
+        }
+    }
+
     /**
      * Validation function for optionals.
      *
@@ -797,6 +907,24 @@ public abstract class AbstractSubCommandProcessor<S> {
         this.description = description.value();
     }
 
+    /**
+     * Extracts the {@link Timeout} Annotation from the Method, falling back to the one in the command class.
+     */
+    private void extractTimeout() {
+        Timeout timeout = method.getAnnotation(Timeout.class);
+        if (timeout == null) timeout = baseCommand.getClass().getAnnotation(Timeout.class);
+        if (timeout == null) {
+            this.resolutionTimeoutMillis = getDefaultResolutionTimeoutMillis();
+            return;
+        }
+
+        if (timeout.value() <= 0) {
+            throw createException("@Timeout must be positive");
+        }
+
+        this.resolutionTimeoutMillis = timeout.unit().toMillis(timeout.value());
+    }
+
     /**
      * Extracts the {@link ArgDescriptions} Annotation from the Method.
      */
@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.processor;
+
+import dev.triumphteam.cmd.core.BaseCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of scanning a {@link BaseCommand} during a batch registration.
+ * Holds how long the command took to scan and validate, useful to find which classes are slow to register.
+ */
+public final class CommandScan {
+
+    private final Class<? extends BaseCommand> commandClass;
+    private final String name;
+    private final int subCommands;
+    private final long scanNanos;
+
+    public CommandScan(
+            @NotNull final Class<? extends BaseCommand> commandClass,
+            @NotNull final String name,
+            final int subCommands,
+            final long scanNanos
+    ) {
+        this.commandClass = commandClass;
+        this.name = name;
+        this.subCommands = subCommands;
+        this.scanNanos = scanNanos;
+    }
+
+    /**
+     * Gets the class of the scanned command.
+     *
+     * @return The command class.
+     */
+    @NotNull
+    public Class<? extends BaseCommand> getCommandClass() {
+        return commandClass;
+    }
+
+    /**
+     * Gets the name of the scanned command.
+     *
+     * @return The command name.
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the amount of sub commands found in the command.
+     *
+     * @return The amount of sub commands.
+     */
+    public int getSubCommands() {
+        return subCommands;
+    }
+
+    /**
+     * Gets the time it took to scan and validate the command.
+     *
+     * @param unit The unit to convert the time to.
+     * @return The scan time.
+     */
+    public long getScanTime(@NotNull final TimeUnit unit) {
+        return unit.convert(scanNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CommandScan{" +
+                "commandClass=" + commandClass.getName() +
+                ", name='" + name + '\'' +
+                ", subCommands=" + subCommands +
+                ", scanMicros=" + TimeUnit.NANOSECONDS.toMicros(scanNanos) +
+                '}';
+    }
+}
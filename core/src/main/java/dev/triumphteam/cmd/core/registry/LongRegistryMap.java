@@ -0,0 +1,329 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.registry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Open addressed map keyed by a primitive <code>long</code>, used for tables keyed by ids, like guild commands.
+ * Lookups don't box the key and never lock, every slot holds an immutable entry so a read either sees a complete
+ * entry or none at all. Unlike {@link RegistryMap} a write only touches the slots it needs instead of copying the
+ * whole map, which matters once there are tens of thousands of keys.
+ * Writes are serialized, removed entries leave a tombstone behind that's dropped on the next resize.
+ *
+ * @param <V> The value type.
+ */
+public final class LongRegistryMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // Linear probing degrades quickly when the table is crowded, so keep it at most half full
+    private static final int MAX_LOAD_DIVISOR = 2;
+
+    private static final Entry<?> TOMBSTONE = new Entry<>(0L, null);
+
+    private volatile AtomicReferenceArray<Entry<V>> table = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+    private volatile int size = 0;
+    // Live entries plus tombstones, guarded by the write lock
+    private int used = 0;
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key The key.
+     * @return The value or null if there is none.
+     */
+    @Nullable
+    public V get(final long key) {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+        final int mask = table.length() - 1;
+
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null) return null;
+            if (entry != TOMBSTONE && entry.key == key) return entry.value;
+        }
+    }
+
+    /**
+     * Checks whether the key is mapped.
+     *
+     * @param key The key.
+     * @return True if a value is mapped to the key.
+     */
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The previous value or null if there was none.
+     */
+    @Nullable
+    public synchronized V put(final long key, @NotNull final V value) {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+        final int mask = table.length() - 1;
+
+        int free = -1;
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null) {
+                if (free < 0) {
+                    free = index;
+                    used++;
+                }
+                break;
+            }
+
+            if (entry == TOMBSTONE) {
+                if (free < 0) free = index;
+                continue;
+            }
+
+            if (entry.key == key) {
+                table.set(index, new Entry<>(key, value));
+                return entry.value;
+            }
+        }
+
+        table.set(free, new Entry<>(key, value));
+        size++;
+        if (used * MAX_LOAD_DIVISOR > table.length()) resize();
+        return null;
+    }
+
+    /**
+     * Maps the key to the value only if the key isn't mapped yet.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The current value, or null if the new value was added.
+     */
+    @Nullable
+    public synchronized V putIfAbsent(final long key, @NotNull final V value) {
+        final V current = get(key);
+        if (current != null) return current;
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Gets the value mapped to the key, creating and publishing it if missing.
+     * The function runs while holding the write lock, so it must not register anything in this map.
+     *
+     * @param key      The key.
+     * @param function The function to create the value with.
+     * @return The current or newly created value.
+     */
+    @NotNull
+    public V computeIfAbsent(final long key, @NotNull final LongFunction<? extends V> function) {
+        final V current = get(key);
+        if (current != null) return current;
+
+        synchronized (this) {
+            final V existing = get(key);
+            if (existing != null) return existing;
+            final V value = function.apply(key);
+            put(key, value);
+            return value;
+        }
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key The key.
+     * @return The removed value or null if there was none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(final long key) {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+        final int mask = table.length() - 1;
+
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null) return null;
+            if (entry == TOMBSTONE || entry.key != key) continue;
+
+            table.set(index, (Entry<V>) TOMBSTONE);
+            size--;
+            return entry.value;
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches the predicate.
+     *
+     * @param predicate The predicate to test the values with.
+     * @return True if anything was removed.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean removeIf(@NotNull final Predicate<? super V> predicate) {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+
+        boolean removed = false;
+        for (int index = 0; index < table.length(); index++) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null || entry == TOMBSTONE || !predicate.test(entry.value)) continue;
+
+            table.set(index, (Entry<V>) TOMBSTONE);
+            size--;
+            removed = true;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Runs the consumer for every entry.
+     * Entries written while iterating may or may not be seen.
+     *
+     * @param consumer The consumer to run.
+     */
+    public void forEach(@NotNull final EntryConsumer<? super V> consumer) {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+        for (int index = 0; index < table.length(); index++) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null || entry == TOMBSTONE) continue;
+            consumer.accept(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Gets the values currently mapped, later writes aren't reflected in it.
+     *
+     * @return An unmodifiable collection with the values.
+     */
+    @NotNull
+    public Collection<V> values() {
+        final List<V> values = new ArrayList<>(size);
+        forEach((key, value) -> values.add(value));
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Gets the amount of entries.
+     *
+     * @return The size of the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return True if there are no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the live entries into a new table and publishes it, dropping the tombstones.
+     * Only called while holding the write lock.
+     */
+    private void resize() {
+        final AtomicReferenceArray<Entry<V>> table = this.table;
+
+        int capacity = DEFAULT_CAPACITY;
+        while (size * MAX_LOAD_DIVISOR * 2 > capacity) capacity <<= 1;
+
+        final AtomicReferenceArray<Entry<V>> resized = new AtomicReferenceArray<>(capacity);
+        final int mask = capacity - 1;
+        for (int index = 0; index < table.length(); index++) {
+            final Entry<V> entry = table.get(index);
+            if (entry == null || entry == TOMBSTONE) continue;
+
+            int slot = hash(entry.key) & mask;
+            while (resized.get(slot) != null) slot = (slot + 1) & mask;
+            resized.set(slot, entry);
+        }
+
+        used = size;
+        this.table = resized;
+    }
+
+    /**
+     * Spreads the key bits, ids like Discord snowflakes have their low bits mostly made of counters.
+     *
+     * @param key The key.
+     * @return The spread hash.
+     */
+    private static int hash(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("LongRegistryMap{");
+        forEach((key, value) -> {
+            if (builder.length() > 16) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Consumer for the entries of a {@link LongRegistryMap}, which doesn't box the key.
+     *
+     * @param <V> The value type.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Consumes an entry.
+         *
+         * @param key   The key.
+         * @param value The value.
+         */
+        void accept(final long key, @NotNull final V value);
+    }
+
+    private static final class Entry<V> {
+
+        private final long key;
+        private final V value;
+
+        private Entry(final long key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
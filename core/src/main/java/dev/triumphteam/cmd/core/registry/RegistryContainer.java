@@ -26,6 +26,7 @@ package dev.triumphteam.cmd.core.registry;
 import dev.triumphteam.cmd.core.argument.ArgumentRegistry;
 import dev.triumphteam.cmd.core.argument.named.NamedArgumentRegistry;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
 import dev.triumphteam.cmd.core.requirement.RequirementRegistry;
 import dev.triumphteam.cmd.core.suggestion.SuggestionRegistry;
 import org.jetbrains.annotations.NotNull;
@@ -38,6 +39,8 @@ public class RegistryContainer<S> {
     private final MessageRegistry<S> messageRegistry = new MessageRegistry<>();
     private final SuggestionRegistry<S> suggestionRegistry = new SuggestionRegistry<>();
 
+    private volatile CommandMetrics metrics = CommandMetrics.noop();
+
     @NotNull
     public ArgumentRegistry<S> getArgumentRegistry() {
         return argumentRegistry;
@@ -62,4 +65,24 @@ public class RegistryContainer<S> {
     public SuggestionRegistry<S> getSuggestionRegistry() {
         return suggestionRegistry;
     }
+
+    /**
+     * Gets the metrics commands record into.
+     *
+     * @return The current {@link CommandMetrics}.
+     */
+    @NotNull
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics commands record into, takes effect on the next execution.
+     *
+     * @param metrics The new {@link CommandMetrics}.
+     */
+    public void setMetrics(@NotNull final CommandMetrics metrics) {
+        this.metrics = metrics;
+        messageRegistry.setMetrics(metrics);
+    }
 }
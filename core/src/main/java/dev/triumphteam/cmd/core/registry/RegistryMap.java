@@ -0,0 +1,206 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.registry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Copy-on-write map used by the registries.
+ * Every write copies the current map, changes the copy and publishes it through a single volatile reference,
+ * so reads on the dispatch path never lock and always see a complete map, even while commands are registered
+ * from other threads. Writes are serialized, which is fine since registering is rare compared to dispatching.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class RegistryMap<K, V> {
+
+    // Never modified after being published
+    private volatile Map<K, V> map = Collections.emptyMap();
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key The key.
+     * @return The value or null if there is none.
+     */
+    @Nullable
+    public V get(@NotNull final K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Checks whether the key is mapped.
+     *
+     * @param key The key.
+     * @return True if a value is mapped to the key.
+     */
+    public boolean containsKey(@NotNull final K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The previous value or null if there was none.
+     */
+    @Nullable
+    public synchronized V put(@NotNull final K key, @NotNull final V value) {
+        final Map<K, V> copy = new HashMap<>(map);
+        final V previous = copy.put(key, value);
+        map = copy;
+        return previous;
+    }
+
+    /**
+     * Copies every entry of the given map, publishing the result once.
+     *
+     * @param entries The entries to add.
+     */
+    public synchronized void putAll(@NotNull final Map<? extends K, ? extends V> entries) {
+        if (entries.isEmpty()) return;
+        final Map<K, V> copy = new HashMap<>(map);
+        copy.putAll(entries);
+        map = copy;
+    }
+
+    /**
+     * Maps the key to the value only if the key isn't mapped yet.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The current value, or null if the new value was added.
+     */
+    @Nullable
+    public synchronized V putIfAbsent(@NotNull final K key, @NotNull final V value) {
+        final V current = map.get(key);
+        if (current != null) return current;
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Gets the value mapped to the key, creating and publishing it if missing.
+     * The function runs while holding the write lock, so it must not register anything in this map.
+     *
+     * @param key      The key.
+     * @param function The function to create the value with.
+     * @return The current or newly created value.
+     */
+    @NotNull
+    public V computeIfAbsent(@NotNull final K key, @NotNull final Function<? super K, ? extends V> function) {
+        final V current = map.get(key);
+        if (current != null) return current;
+
+        synchronized (this) {
+            final V existing = map.get(key);
+            if (existing != null) return existing;
+            final V value = function.apply(key);
+            put(key, value);
+            return value;
+        }
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key The key.
+     * @return The removed value or null if there was none.
+     */
+    @Nullable
+    public synchronized V remove(@NotNull final K key) {
+        if (!map.containsKey(key)) return null;
+        final Map<K, V> copy = new HashMap<>(map);
+        final V previous = copy.remove(key);
+        map = copy;
+        return previous;
+    }
+
+    /**
+     * Removes every entry matching the predicate, publishing the result once.
+     *
+     * @param predicate The predicate to test the entries with.
+     * @return True if anything was removed.
+     */
+    public synchronized boolean removeIf(@NotNull final BiPredicate<? super K, ? super V> predicate) {
+        final Map<K, V> copy = new HashMap<>(map);
+        if (!copy.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()))) return false;
+        map = copy;
+        return true;
+    }
+
+    /**
+     * Gets a consistent snapshot of the map, later writes aren't reflected in it.
+     *
+     * @return An unmodifiable snapshot.
+     */
+    @NotNull
+    public Map<K, V> snapshot() {
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Gets the values of the current snapshot.
+     *
+     * @return An unmodifiable collection with the values.
+     */
+    @NotNull
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map.values());
+    }
+
+    /**
+     * Gets the amount of entries.
+     *
+     * @return The size of the map.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return True if there are no entries.
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "RegistryMap" + map;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.requirement;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link RequirementResolver} for checks that can't answer right away, like a database lookup.
+ * Sub commands start every asynchronous check together with the argument resolution and only run the command
+ * once all of them complete, without blocking the thread the command was dispatched on.
+ * A future that completes exceptionally counts as the requirement not being met.
+ *
+ * @param <S> The command sender type.
+ */
+@FunctionalInterface
+public interface AsyncRequirementResolver<S> extends RequirementResolver<S> {
+
+    /**
+     * Resolves the requirement asynchronously.
+     *
+     * @param sender The sender to check the requirement.
+     * @return A future completing with whether the requirement is met or not.
+     */
+    @NotNull
+    CompletableFuture<Boolean> resolveAsync(@NotNull final S sender);
+
+    /**
+     * Blocks until the requirement is resolved.
+     * Only used by code paths that can't wait asynchronously, sub commands never call it.
+     *
+     * @param sender The sender to check the requirement.
+     * @return Whether the requirement is met or not.
+     */
+    @Override
+    default boolean resolve(@NotNull final S sender) {
+        return Boolean.TRUE.equals(resolveAsync(sender).join());
+    }
+}
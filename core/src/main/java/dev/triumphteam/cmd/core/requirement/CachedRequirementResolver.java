@@ -0,0 +1,139 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.requirement;
+
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
+import dev.triumphteam.cmd.core.cache.ExpiringCache;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link RequirementResolver} that keeps the result of another resolver for the time set by its {@link CachePolicy}.
+ * Useful for requirements backed by a database or a remote service, so a sender running commands in a row
+ * only pays for the first check.
+ * Requirements have no command context, so {@link CachePolicy#isContextual()} is ignored.
+ *
+ * @param <S> The sender type.
+ */
+public final class CachedRequirementResolver<S> implements RequirementResolver<S> {
+
+    private final RequirementResolver<S> resolver;
+    private final CachePolicy<S> policy;
+    private final ExpiringCache<Object, Boolean> cache;
+
+    public CachedRequirementResolver(@NotNull final RequirementResolver<S> resolver, @NotNull final CachePolicy<S> policy) {
+        this.resolver = resolver;
+        this.policy = policy;
+        this.cache = new ExpiringCache<>(policy.getTimeToLiveNanos(), policy.getMaxEntries());
+    }
+
+    @Override
+    public boolean resolve(@NotNull final S sender) {
+        return cache.get(policy.getSenderKey(sender), () -> resolver.resolve(sender));
+    }
+
+    /**
+     * Resolves the requirement, recording either the cache hit or the time the resolver took.
+     *
+     * @param sender  The sender to check the requirement.
+     * @param key     The key the requirement is registered under.
+     * @param metrics The metrics to record into.
+     * @return Whether the requirement is met or not.
+     */
+    public boolean resolve(@NotNull final S sender, @NotNull final RequirementKey key, @NotNull final CommandMetrics metrics) {
+        final Object senderKey = policy.getSenderKey(sender);
+        // Taken before the lookup, so a result that loads across an invalidation is dropped instead of cached
+        final long stamp = cache.stamp(senderKey);
+        final Boolean cached = cache.getIfPresent(senderKey);
+        if (cached != null) {
+            metrics.recordRequirementCacheHit(key);
+            return cached;
+        }
+
+        final long start = System.nanoTime();
+        final boolean met = resolver.resolve(sender);
+        metrics.recordRequirementTime(key, System.nanoTime() - start);
+        cache.put(senderKey, met, stamp);
+        return met;
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Removes the cached result of a specific sender.
+     * If the policy is global, this removes the shared result instead.
+     * A check that is resolving at the same time still returns its result, but doesn't cache it.
+     *
+     * @param sender The sender to invalidate.
+     */
+    public void invalidate(@NotNull final S sender) {
+        cache.invalidate(policy.getSenderKey(sender));
+    }
+
+    /**
+     * Gets the hit and miss counters of this resolver.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Gets the resolver being cached.
+     *
+     * @return The original {@link RequirementResolver}.
+     */
+    @NotNull
+    public RequirementResolver<S> getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Gets the policy used for caching.
+     *
+     * @return The {@link CachePolicy}.
+     */
+    @NotNull
+    public CachePolicy<S> getPolicy() {
+        return policy;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CachedRequirementResolver{" +
+                "resolver=" + resolver +
+                ", policy=" + policy +
+                ", statistics=" + cache.getStatistics() +
+                '}';
+    }
+}
@@ -27,10 +27,12 @@ import dev.triumphteam.cmd.core.message.ContextualKey;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
 import dev.triumphteam.cmd.core.message.context.MessageContext;
 import dev.triumphteam.cmd.core.message.context.MessageContextFactory;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contains the data for the requirement.
@@ -39,21 +41,66 @@ import java.util.Objects;
  */
 public final class Requirement<S, C extends MessageContext> {
 
+    private final RequirementKey key;
     private final RequirementResolver<S> resolver;
     private final ContextualKey<C> messageKey;
     private final MessageContextFactory<C> contextFactory;
     private final boolean invert;
+    private final RequirementCost cost;
 
     public Requirement(
+            @Nullable final RequirementKey key,
             @NotNull final RequirementResolver<S> resolver,
             @Nullable final ContextualKey<C> messageKey,
             @NotNull final MessageContextFactory<C> contextFactory,
-            final boolean invert
+            final boolean invert,
+            @NotNull final RequirementCost cost
     ) {
+        this.key = key;
         this.resolver = resolver;
         this.messageKey = messageKey;
         this.contextFactory = contextFactory;
         this.invert = invert;
+        this.cost = cost;
+    }
+
+    public Requirement(
+            @Nullable final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @Nullable final ContextualKey<C> messageKey,
+            @NotNull final MessageContextFactory<C> contextFactory,
+            final boolean invert
+    ) {
+        this(key, resolver, messageKey, contextFactory, invert, RequirementCost.NORMAL);
+    }
+
+    public Requirement(
+            @NotNull final RequirementResolver<S> resolver,
+            @Nullable final ContextualKey<C> messageKey,
+            @NotNull final MessageContextFactory<C> contextFactory,
+            final boolean invert
+    ) {
+        this(null, resolver, messageKey, contextFactory, invert);
+    }
+
+    /**
+     * The key the requirement was registered under.
+     *
+     * @return The requirement key or null if the requirement wasn't created from a registered key.
+     */
+    @Nullable
+    public RequirementKey getKey() {
+        return key;
+    }
+
+    /**
+     * How expensive the requirement is to check, used to order the requirements of a sub command.
+     *
+     * @return The {@link RequirementCost}.
+     */
+    @NotNull
+    public RequirementCost getCost() {
+        return cost;
     }
 
     /**
@@ -95,6 +142,57 @@ public final class Requirement<S, C extends MessageContext> {
         return resolver.resolve(sender) != invert;
     }
 
+    /**
+     * Whether the requirement is resolved asynchronously, through {@link #isMetAsync(Object, CommandMetrics)}.
+     *
+     * @return True if the resolver is an {@link AsyncRequirementResolver}.
+     */
+    public boolean isAsync() {
+        return resolver instanceof AsyncRequirementResolver;
+    }
+
+    /**
+     * Checks asynchronously if the requirement is met or not, recording the resolver time into the metrics.
+     * A future completing exceptionally counts as not met.
+     *
+     * @param sender  The sender which will be needed to check if the requirement is met or not.
+     * @param metrics The metrics to record into.
+     * @return A future completing with whether the requirement is met.
+     */
+    @NotNull
+    public CompletableFuture<Boolean> isMetAsync(@NotNull final S sender, @NotNull final CommandMetrics metrics) {
+        if (!(resolver instanceof AsyncRequirementResolver)) {
+            return CompletableFuture.completedFuture(isMet(sender, metrics));
+        }
+
+        final boolean timed = key != null && metrics.isEnabled();
+        final long start = timed ? System.nanoTime() : 0L;
+        return ((AsyncRequirementResolver<S>) resolver).resolveAsync(sender).handle((met, throwable) -> {
+            if (timed) metrics.recordRequirementTime(key, System.nanoTime() - start);
+            return throwable == null && Boolean.TRUE.equals(met) != invert;
+        });
+    }
+
+    /**
+     * Checks if the requirement is met or not, recording the resolver time or cache hit into the metrics.
+     *
+     * @param sender  The sender which will be needed to check if the requirement is met or not.
+     * @param metrics The metrics to record into.
+     * @return Whether the requirement is met.
+     */
+    public boolean isMet(@NotNull final S sender, @NotNull final CommandMetrics metrics) {
+        if (key == null || !metrics.isEnabled()) return isMet(sender);
+
+        if (resolver instanceof CachedRequirementResolver) {
+            return ((CachedRequirementResolver<S>) resolver).resolve(sender, key, metrics) != invert;
+        }
+
+        final long start = System.nanoTime();
+        final boolean met = resolver.resolve(sender);
+        metrics.recordRequirementTime(key, System.nanoTime() - start);
+        return met != invert;
+    }
+
     @Override
     public boolean equals(@Nullable final Object o) {
         if (this == o) return true;
@@ -111,7 +209,9 @@ public final class Requirement<S, C extends MessageContext> {
     @Override
     public String toString() {
         return "Requirement{" +
-                "resolver=" + resolver +
+                "key=" + key +
+                ", cost=" + cost +
+                ", resolver=" + resolver +
                 ", messageKey=" + messageKey +
                 '}';
     }
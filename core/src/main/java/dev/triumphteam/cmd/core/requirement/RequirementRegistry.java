@@ -23,13 +23,13 @@
  */
 package dev.triumphteam.cmd.core.requirement;
 
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Registry used for registering new requirements for all commands to use.
  *
@@ -37,7 +37,8 @@ import java.util.Map;
  */
 public final class RequirementRegistry<S> implements Registry {
 
-    private final Map<RequirementKey, RequirementResolver<S>> requirements = new HashMap<>();
+    private final RegistryMap<RequirementKey, RequirementResolver<S>> requirements = new RegistryMap<>();
+    private final RegistryMap<RequirementKey, RequirementCost> costs = new RegistryMap<>();
 
     /**
      * Registers a new {@link RequirementResolver} for the specific Key.
@@ -46,9 +47,109 @@ public final class RequirementRegistry<S> implements Registry {
      * @param resolver The resolver to check if the requirement is met.
      */
     public void register(@NotNull final RequirementKey key, @NotNull final RequirementResolver<S> resolver) {
+        register(key, resolver, RequirementCost.NORMAL);
+    }
+
+    /**
+     * Registers a new {@link RequirementResolver} for the specific Key with a declared cost.
+     *
+     * @param key      The requirement key.
+     * @param resolver The resolver to check if the requirement is met.
+     * @param cost     How expensive the resolver is to run.
+     */
+    public void register(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final RequirementCost cost
+    ) {
+        costs.put(key, cost);
         requirements.put(key, resolver);
     }
 
+    /**
+     * Registers a new {@link RequirementResolver} whose results are cached following the given policy.
+     *
+     * @param key      The requirement key.
+     * @param resolver The resolver to check if the requirement is met.
+     * @param policy   The {@link CachePolicy} for the results.
+     */
+    public void register(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        register(key, resolver, policy, RequirementCost.NORMAL);
+    }
+
+    /**
+     * Registers a new {@link RequirementResolver} whose results are cached following the given policy, with a declared cost.
+     * The cost is the one of the resolver itself, cache hits are always cheap.
+     * Asynchronous resolvers can't be cached this way, they should cache inside the resolver instead.
+     *
+     * @param key      The requirement key.
+     * @param resolver The resolver to check if the requirement is met.
+     * @param policy   The {@link CachePolicy} for the results.
+     * @param cost     How expensive the resolver is to run.
+     */
+    public void register(
+            @NotNull final RequirementKey key,
+            @NotNull final RequirementResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy,
+            @NotNull final RequirementCost cost
+    ) {
+        if (resolver instanceof AsyncRequirementResolver) {
+            throw new IllegalArgumentException("Asynchronous requirements can't be cached by the registry, requirement: " + key);
+        }
+
+        register(key, new CachedRequirementResolver<>(resolver, policy), cost);
+    }
+
+    /**
+     * Removes every cached result of the requirement, does nothing if it isn't cached.
+     *
+     * @param key The requirement key.
+     */
+    public void invalidate(@NotNull final RequirementKey key) {
+        final CachedRequirementResolver<S> resolver = getCached(requirements.get(key));
+        if (resolver != null) resolver.invalidate();
+    }
+
+    /**
+     * Removes the cached result of the requirement for a specific sender, does nothing if it isn't cached.
+     *
+     * @param key    The requirement key.
+     * @param sender The sender to invalidate.
+     */
+    public void invalidate(@NotNull final RequirementKey key, @NotNull final S sender) {
+        final CachedRequirementResolver<S> resolver = getCached(requirements.get(key));
+        if (resolver != null) resolver.invalidate(sender);
+    }
+
+    /**
+     * Removes the cached results of a specific sender from every sender scoped requirement.
+     * Meant to be called when something about the sender changed, like their permissions.
+     *
+     * @param sender The sender to invalidate.
+     */
+    public void invalidateSender(@NotNull final S sender) {
+        for (final RequirementResolver<S> resolver : requirements.values()) {
+            final CachedRequirementResolver<S> cached = getCached(resolver);
+            if (cached != null && cached.getPolicy().isSenderScoped()) cached.invalidate(sender);
+        }
+    }
+
+    /**
+     * Gets the cache statistics of a requirement.
+     *
+     * @param key The requirement key.
+     * @return The {@link CacheStatistics} or null if the requirement isn't cached.
+     */
+    @Nullable
+    public CacheStatistics getStatistics(@NotNull final RequirementKey key) {
+        final CachedRequirementResolver<S> resolver = getCached(requirements.get(key));
+        return resolver == null ? null : resolver.getStatistics();
+    }
+
     /**
      * Gets the {@link RequirementResolver} for the specific Key.
      *
@@ -60,4 +161,22 @@ public final class RequirementRegistry<S> implements Registry {
         return requirements.get(key);
     }
 
+    /**
+     * Gets the declared cost of the requirement.
+     *
+     * @param key The specific key.
+     * @return The {@link RequirementCost}, {@link RequirementCost#NORMAL} if none was declared.
+     */
+    @NotNull
+    public RequirementCost getCost(@NotNull final RequirementKey key) {
+        final RequirementCost cost = costs.get(key);
+        return cost == null ? RequirementCost.NORMAL : cost;
+    }
+
+    @Nullable
+    private CachedRequirementResolver<S> getCached(@Nullable final RequirementResolver<S> resolver) {
+        if (!(resolver instanceof CachedRequirementResolver)) return null;
+        return (CachedRequirementResolver<S>) resolver;
+    }
+
 }
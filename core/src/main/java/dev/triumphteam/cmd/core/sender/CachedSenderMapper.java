@@ -0,0 +1,136 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.sender;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link SenderMapper} that remembers the mapped sender of each default sender instance, for expensive mappers.
+ * Keys are compared by identity and held weakly, so platforms that keep their sender objects alive, like Bukkit's players,
+ * map each sender once, and the entry goes away with the sender.
+ * Platforms that create a new default sender per event, like the JDA ones, never hit the cache.
+ * The mapped sender must not hold a strong reference to the default sender, otherwise the entry is never collected,
+ * in that case {@link #invalidate(Object)} has to be called when the sender goes away.
+ *
+ * @param <DS> The type of the default sender.
+ * @param <S>  The type of the custom sender.
+ */
+public final class CachedSenderMapper<DS, S> implements SenderMapper<DS, S> {
+
+    private final SenderMapper<DS, S> mapper;
+    private final ReferenceQueue<DS> queue = new ReferenceQueue<>();
+    private final Map<IdentityKey<DS>, S> senders = new ConcurrentHashMap<>();
+
+    public CachedSenderMapper(@NotNull final SenderMapper<DS, S> mapper) {
+        this.mapper = mapper;
+    }
+
+    @NotNull
+    @Override
+    public S map(@NotNull final DS defaultSender) {
+        expungeCollected();
+
+        final S cached = senders.get(new IdentityKey<>(defaultSender, null));
+        if (cached != null) return cached;
+
+        final S sender = mapper.map(defaultSender);
+        senders.put(new IdentityKey<>(defaultSender, queue), sender);
+        return sender;
+    }
+
+    /**
+     * Removes the mapped sender of a default sender, so it's mapped again next time.
+     *
+     * @param defaultSender The default sender to invalidate.
+     */
+    public void invalidate(@NotNull final DS defaultSender) {
+        senders.remove(new IdentityKey<>(defaultSender, null));
+    }
+
+    /**
+     * Removes every mapped sender.
+     */
+    public void invalidateAll() {
+        senders.clear();
+    }
+
+    /**
+     * Gets the amount of mapped senders currently cached.
+     *
+     * @return The amount of cached senders.
+     */
+    public int size() {
+        expungeCollected();
+        return senders.size();
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CachedSenderMapper{" +
+                "mapper=" + mapper +
+                ", size=" + senders.size() +
+                '}';
+    }
+
+    private void expungeCollected() {
+        Object collected;
+        while ((collected = queue.poll()) != null) {
+            senders.remove(collected);
+        }
+    }
+
+    /**
+     * Weak key compared by the identity of the referent.
+     * Collected keys are only equal to themselves, which is what lets them be removed once enqueued.
+     */
+    private static final class IdentityKey<T> extends WeakReference<T> {
+
+        private final int hash;
+
+        private IdentityKey(@NotNull final T referent, @Nullable final ReferenceQueue<T> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IdentityKey)) return false;
+            final Object referent = get();
+            return referent != null && referent == ((IdentityKey<?>) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
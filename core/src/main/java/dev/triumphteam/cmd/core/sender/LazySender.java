@@ -0,0 +1,106 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.sender;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Handle to a sender that is only mapped the first time it's needed.
+ * Lets platforms pass the sender around while dispatching without paying for the {@link SenderMapper}
+ * on paths that end up not needing it.
+ * Meant to live for a single dispatch on a single thread, so it isn't thread safe.
+ *
+ * @param <DS> The type of the default sender.
+ * @param <S>  The type of the custom sender.
+ */
+public final class LazySender<DS, S> {
+
+    private final SenderMapper<DS, S> mapper;
+    private final DS defaultSender;
+    private S sender = null;
+
+    private LazySender(@NotNull final SenderMapper<DS, S> mapper, @NotNull final DS defaultSender) {
+        this.mapper = mapper;
+        this.defaultSender = defaultSender;
+    }
+
+    /**
+     * Creates a new lazy handle for the default sender.
+     *
+     * @param mapper        The mapper used once the sender is needed.
+     * @param defaultSender The default sender of the platform.
+     * @param <DS>          The type of the default sender.
+     * @param <S>           The type of the custom sender.
+     * @return A new {@link LazySender}.
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static <DS, S> LazySender<DS, S> of(@NotNull final SenderMapper<DS, S> mapper, @NotNull final DS defaultSender) {
+        return new LazySender<>(mapper, defaultSender);
+    }
+
+    /**
+     * Gets the mapped sender, mapping it on the first call.
+     *
+     * @return The custom sender.
+     */
+    @NotNull
+    public S get() {
+        S sender = this.sender;
+        if (sender == null) {
+            sender = mapper.map(defaultSender);
+            this.sender = sender;
+        }
+        return sender;
+    }
+
+    /**
+     * Gets the default sender, without mapping it.
+     *
+     * @return The default sender.
+     */
+    @NotNull
+    public DS getDefaultSender() {
+        return defaultSender;
+    }
+
+    /**
+     * Whether the sender was already mapped.
+     *
+     * @return True if {@link #get()} was called.
+     */
+    public boolean isMapped() {
+        return sender != null;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "LazySender{" +
+                "defaultSender=" + defaultSender +
+                ", mapped=" + (sender != null) +
+                '}';
+    }
+}
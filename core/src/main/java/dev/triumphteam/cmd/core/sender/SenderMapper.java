@@ -23,6 +23,7 @@
  */
 package dev.triumphteam.cmd.core.sender;
 
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -40,4 +41,18 @@ public interface SenderMapper<DS, S> {
     static <S> SenderMapper<S, S> defaultMapper() {
         return defaultMapper -> defaultMapper;
     }
+
+    /**
+     * Wraps a mapper so each default sender instance is only mapped once, see {@link CachedSenderMapper}.
+     *
+     * @param mapper The expensive mapper.
+     * @param <DS>   The type of the default sender.
+     * @param <S>    The type of the custom sender.
+     * @return A new {@link CachedSenderMapper}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    static <DS, S> CachedSenderMapper<DS, S> cached(@NotNull final SenderMapper<DS, S> mapper) {
+        return new CachedSenderMapper<>(mapper);
+    }
 }
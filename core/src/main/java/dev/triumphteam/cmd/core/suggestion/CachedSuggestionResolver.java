@@ -0,0 +1,187 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
+import dev.triumphteam.cmd.core.cache.ExpiringCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link SuggestionResolver} that keeps the result of another resolver for the time set by its {@link CachePolicy}.
+ * Avoids rebuilding the same list on every key press while the sender is typing.
+ *
+ * @param <S> The sender type.
+ */
+public final class CachedSuggestionResolver<S> implements SuggestionResolver<S> {
+
+    private final SuggestionResolver<S> resolver;
+    private final CachePolicy<S> policy;
+    private final ExpiringCache<CacheKey, Resolved> cache;
+
+    public CachedSuggestionResolver(@NotNull final SuggestionResolver<S> resolver, @NotNull final CachePolicy<S> policy) {
+        this.resolver = resolver;
+        this.policy = policy;
+        this.cache = new ExpiringCache<>(policy.getTimeToLiveNanos(), policy.getMaxEntries());
+    }
+
+    @NotNull
+    @Override
+    public List<String> resolve(@NotNull final S sender, @NotNull final SuggestionContext context) {
+        return getResolved(sender, context).values;
+    }
+
+    /**
+     * Resolves the suggestions as a {@link PrefixIndex}.
+     * The index is built once per cached result, so repeated completions only pay for the binary search.
+     *
+     * @param sender  The command sender.
+     * @param context The command context for the suggestion.
+     * @return The {@link PrefixIndex} of the cached suggestions.
+     */
+    @NotNull
+    public PrefixIndex resolveIndex(@NotNull final S sender, @NotNull final SuggestionContext context) {
+        return getResolved(sender, context).getIndex();
+    }
+
+    @NotNull
+    private Resolved getResolved(@NotNull final S sender, @NotNull final SuggestionContext context) {
+        final CacheKey key = policy.isContextual()
+                ? new CacheKey(policy.getSenderKey(sender), context.getCommand(), context.getSubCommand())
+                : new CacheKey(policy.getSenderKey(sender), null, null);
+
+        return cache.get(key, () -> new Resolved(Collections.unmodifiableList(resolver.resolve(sender, context))));
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Removes the cached results of a specific sender.
+     * If the policy is global, this removes the shared result instead.
+     *
+     * @param sender The sender to invalidate.
+     */
+    public void invalidate(@NotNull final S sender) {
+        final Object senderKey = policy.getSenderKey(sender);
+        cache.invalidateIf(key -> Objects.equals(key.sender, senderKey));
+    }
+
+    /**
+     * Gets the hit and miss counters of this resolver.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Gets the resolver being cached.
+     *
+     * @return The original {@link SuggestionResolver}.
+     */
+    @NotNull
+    public SuggestionResolver<S> getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Gets the policy used for caching.
+     *
+     * @return The {@link CachePolicy}.
+     */
+    @NotNull
+    public CachePolicy<S> getPolicy() {
+        return policy;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CachedSuggestionResolver{" +
+                "resolver=" + resolver +
+                ", policy=" + policy +
+                ", statistics=" + cache.getStatistics() +
+                '}';
+    }
+
+    private static final class Resolved {
+
+        private final List<String> values;
+        private volatile PrefixIndex index;
+
+        private Resolved(@NotNull final List<String> values) {
+            this.values = values;
+        }
+
+        @NotNull
+        private PrefixIndex getIndex() {
+            PrefixIndex index = this.index;
+            if (index == null) {
+                index = PrefixIndex.of(values);
+                this.index = index;
+            }
+            return index;
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final Object sender;
+        private final String command;
+        private final String subCommand;
+
+        private CacheKey(@Nullable final Object sender, @Nullable final String command, @Nullable final String subCommand) {
+            this.sender = sender;
+            this.command = command;
+            this.subCommand = subCommand;
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final CacheKey that = (CacheKey) o;
+            return Objects.equals(sender, that.sender) &&
+                    Objects.equals(command, that.command) &&
+                    Objects.equals(subCommand, that.subCommand);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sender, command, subCommand);
+        }
+    }
+}
@@ -29,32 +29,21 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public final class EnumSuggestion<S> implements Suggestion<S> {
 
     private final Class<? extends Enum<?>> enumType;
+    private final PrefixIndex index;
 
     public EnumSuggestion(@NotNull final Class<? extends Enum<?>> enumType) {
         this.enumType = enumType;
-
-        EnumUtils.populateCache(enumType);
+        this.index = EnumUtils.getPrefixIndex(enumType);
     }
 
     @NotNull
     @Override
     public List<String> getSuggestions(@NotNull final S sender, @NotNull final String current, @NotNull final SuggestionContext context) {
-        return EnumUtils.getEnumConstants(enumType)
-                .values()
-                .stream()
-                .map(it -> {
-                    final Enum<?> constant = it.get();
-                    if (constant == null) return null;
-                    return constant.name();
-                })
-                .filter(Objects::nonNull)
-                .filter(it -> it.toLowerCase().startsWith(current.toLowerCase()))
-                .collect(Collectors.toList());
+        return index.match(current);
     }
 
     @Override
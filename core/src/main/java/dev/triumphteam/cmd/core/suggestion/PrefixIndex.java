@@ -0,0 +1,194 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.suggestion;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive prefix index over a fixed set of suggestions.
+ * The values are sorted once by their lower case form, so every value starting with a prefix sits in a
+ * single contiguous range that is found with two binary searches.
+ * Matching costs O(log n + k) and only lower cases the typed prefix, never the candidates.
+ */
+public final class PrefixIndex {
+
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+
+    private PrefixIndex(@NotNull final String[] keys, @NotNull final String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Builds an index with the given values.
+     * Matches are returned sorted alphabetically, ignoring case.
+     *
+     * @param values The values to index.
+     * @return A new {@link PrefixIndex}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static PrefixIndex of(@NotNull final Collection<String> values) {
+        final int size = values.size();
+        final Entry[] entries = new Entry[size];
+        int index = 0;
+        for (final String value : values) {
+            entries[index++] = new Entry(fold(value), value);
+        }
+
+        Arrays.sort(entries, Comparator.comparing((Entry it) -> it.key).thenComparing(it -> it.value));
+
+        final String[] keys = new String[size];
+        final String[] sorted = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = entries[i].key;
+            sorted[i] = entries[i].value;
+        }
+
+        return new PrefixIndex(keys, sorted);
+    }
+
+    /**
+     * Gets an index without any value.
+     *
+     * @return The empty {@link PrefixIndex}.
+     */
+    @NotNull
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets all the values that start with the given prefix, ignoring case.
+     *
+     * @param prefix The typed prefix.
+     * @return A new mutable list with the matches.
+     */
+    @NotNull
+    public List<String> match(@NotNull final String prefix) {
+        if (prefix.isEmpty()) return new ArrayList<>(Arrays.asList(values));
+
+        final String key = fold(prefix);
+        final int from = lowerBound(key);
+        final int to = upperBound(key, from);
+        if (from == to) return new ArrayList<>(0);
+        return new ArrayList<>(Arrays.asList(values).subList(from, to));
+    }
+
+    /**
+     * Counts the values that start with the given prefix, ignoring case.
+     *
+     * @param prefix The typed prefix.
+     * @return The amount of matches.
+     */
+    public int count(@NotNull final String prefix) {
+        if (prefix.isEmpty()) return values.length;
+        final String key = fold(prefix);
+        final int from = lowerBound(key);
+        return upperBound(key, from) - from;
+    }
+
+    /**
+     * Gets all the indexed values, sorted.
+     *
+     * @return An unmodifiable list with every value.
+     */
+    @NotNull
+    public List<String> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Gets the amount of indexed values.
+     *
+     * @return The size of the index.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * First index whose key is not lower than the prefix.
+     */
+    private int lowerBound(@NotNull final String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * First index, starting from the lower bound, whose key no longer starts with the prefix.
+     */
+    private int upperBound(@NotNull final String prefix, final int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(prefix)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    @NotNull
+    private static String fold(@NotNull final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "PrefixIndex{" +
+                "size=" + values.length +
+                '}';
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final String value;
+
+        private Entry(@NotNull final String key, @NotNull final String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
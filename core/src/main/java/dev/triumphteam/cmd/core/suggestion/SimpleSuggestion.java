@@ -26,9 +26,9 @@ package dev.triumphteam.cmd.core.suggestion;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public final class SimpleSuggestion<S> implements Suggestion<S> {
 
@@ -38,14 +38,30 @@ public final class SimpleSuggestion<S> implements Suggestion<S> {
         this.resolver = resolver;
     }
 
+    /**
+     * Cached resolvers hand out a {@link PrefixIndex} that lives as long as the cached result.
+     * Other resolvers can return a different list every time, so they're filtered with a linear scan that
+     * compares in place instead of lower casing each candidate.
+     */
     @NotNull
     @Override
     public List<String> getSuggestions(@NotNull final S sender, @NotNull final String current, @NotNull final SuggestionContext context) {
-        return resolver
-                .resolve(sender, context)
-                .stream()
-                .filter(it -> it.toLowerCase().startsWith(current.toLowerCase()))
-                .collect(Collectors.toList());
+        if (resolver instanceof CachedSuggestionResolver) {
+            return ((CachedSuggestionResolver<S>) resolver).resolveIndex(sender, context).match(current);
+        }
+
+        final List<String> suggestions = resolver.resolve(sender, context);
+        final int length = current.length();
+        final List<String> matches = new ArrayList<>();
+        for (final String suggestion : suggestions) {
+            if (suggestion.regionMatches(true, 0, current, 0, length)) matches.add(suggestion);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean isSenderScoped() {
+        return resolver instanceof CachedSuggestionResolver && ((CachedSuggestionResolver<S>) resolver).getPolicy().isSenderScoped();
     }
 
     @Override
@@ -31,4 +31,13 @@ public interface Suggestion<S> {
 
     @NotNull
     List<String> getSuggestions(@NotNull final S sender, @NotNull final String current, @NotNull final SuggestionContext context);
+
+    /**
+     * Whether the suggestions are kept per sender, so the result of one sender can't be reused for another.
+     *
+     * @return True if the suggestions are sender scoped.
+     */
+    default boolean isSenderScoped() {
+        return false;
+    }
 }
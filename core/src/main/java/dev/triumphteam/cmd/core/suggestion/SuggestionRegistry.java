@@ -23,14 +23,14 @@
  */
 package dev.triumphteam.cmd.core.suggestion;
 
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
 import dev.triumphteam.cmd.core.registry.Registry;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Registry used for registering new suggestions for all commands to use.
  *
@@ -38,8 +38,8 @@ import java.util.Map;
  */
 public final class SuggestionRegistry<S> implements Registry {
 
-    private final Map<SuggestionKey, SuggestionResolver<S>> suggestions = new HashMap<>();
-    private final Map<Class<?>, SuggestionResolver<S>> typeSuggestions = new HashMap<>();
+    private final RegistryMap<SuggestionKey, SuggestionResolver<S>> suggestions = new RegistryMap<>();
+    private final RegistryMap<Class<?>, SuggestionResolver<S>> typeSuggestions = new RegistryMap<>();
 
     /**
      * Registers a new {@link SuggestionResolver} for the specific Key.
@@ -61,6 +61,102 @@ public final class SuggestionRegistry<S> implements Registry {
         typeSuggestions.put(type, resolver);
     }
 
+    /**
+     * Registers a new {@link SuggestionResolver} for the specific Key, caching its results following the policy.
+     *
+     * @param key      The suggestion key.
+     * @param resolver The action to get the suggestions.
+     * @param policy   The policy used to cache the suggestions.
+     */
+    public void register(
+            @NotNull final SuggestionKey key,
+            @NotNull final SuggestionResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        suggestions.put(key, new CachedSuggestionResolver<>(resolver, policy));
+    }
+
+    /**
+     * Registers a new {@link SuggestionResolver} for the specific type, caching its results following the policy.
+     *
+     * @param type     The type to suggest for.
+     * @param resolver The action to get the suggestions.
+     * @param policy   The policy used to cache the suggestions.
+     */
+    public void register(
+            @NotNull final Class<?> type,
+            @NotNull final SuggestionResolver<S> resolver,
+            @NotNull final CachePolicy<S> policy
+    ) {
+        typeSuggestions.put(type, new CachedSuggestionResolver<>(resolver, policy));
+    }
+
+    /**
+     * Clears the cached suggestions of the specific Key, does nothing if the suggestion isn't cached.
+     *
+     * @param key The suggestion key.
+     */
+    public void invalidate(@NotNull final SuggestionKey key) {
+        final CachedSuggestionResolver<S> resolver = getCached(suggestions.get(key));
+        if (resolver != null) resolver.invalidate();
+    }
+
+    /**
+     * Clears the cached suggestions of the specific Key for a sender.
+     *
+     * @param key    The suggestion key.
+     * @param sender The sender to clear the suggestions for.
+     */
+    public void invalidate(@NotNull final SuggestionKey key, @NotNull final S sender) {
+        final CachedSuggestionResolver<S> resolver = getCached(suggestions.get(key));
+        if (resolver != null) resolver.invalidate(sender);
+    }
+
+    /**
+     * Clears the cached suggestions of the specific type, does nothing if the suggestion isn't cached.
+     *
+     * @param type The type the suggestion is for.
+     */
+    public void invalidate(@NotNull final Class<?> type) {
+        final CachedSuggestionResolver<S> resolver = getCached(typeSuggestions.get(type));
+        if (resolver != null) resolver.invalidate();
+    }
+
+    /**
+     * Clears the cached suggestions of every cached resolver for a sender.
+     * Useful when a sender leaves.
+     *
+     * @param sender The sender to clear the suggestions for.
+     */
+    public void invalidateSender(@NotNull final S sender) {
+        suggestions.values().forEach(it -> invalidate(it, sender));
+        typeSuggestions.values().forEach(it -> invalidate(it, sender));
+    }
+
+    /**
+     * Gets the cache statistics of the specific Key.
+     *
+     * @param key The suggestion key.
+     * @return The {@link CacheStatistics} or null if the suggestion isn't cached.
+     */
+    @Nullable
+    public CacheStatistics getStatistics(@NotNull final SuggestionKey key) {
+        final CachedSuggestionResolver<S> resolver = getCached(suggestions.get(key));
+        return resolver == null ? null : resolver.getStatistics();
+    }
+
+    /**
+     * Gets the cache statistics of the specific type.
+     *
+     * @param type The type the suggestion is for.
+     * @return The {@link CacheStatistics} or null if the suggestion isn't cached.
+     */
+    @Nullable
+    public CacheStatistics getStatistics(@NotNull final Class<?> type) {
+        final CachedSuggestionResolver<S> resolver = getCached(typeSuggestions.get(type));
+        return resolver == null ? null : resolver.getStatistics();
+    }
+
     /**
      * Gets the {@link SuggestionResolver} for the specific Key.
      *
@@ -84,4 +180,15 @@ public final class SuggestionRegistry<S> implements Registry {
     public SuggestionResolver<S> getSuggestionResolver(@NotNull final Class<?> type) {
         return typeSuggestions.get(type);
     }
+
+    private void invalidate(@NotNull final SuggestionResolver<S> resolver, @NotNull final S sender) {
+        final CachedSuggestionResolver<S> cached = getCached(resolver);
+        if (cached != null && cached.getPolicy().isSenderScoped()) cached.invalidate(sender);
+    }
+
+    @Nullable
+    private CachedSuggestionResolver<S> getCached(@Nullable final SuggestionResolver<S> resolver) {
+        if (!(resolver instanceof CachedSuggestionResolver)) return null;
+        return (CachedSuggestionResolver<S>) resolver;
+    }
 }
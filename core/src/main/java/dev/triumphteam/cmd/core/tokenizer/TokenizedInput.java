@@ -0,0 +1,173 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.tokenizer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Result of {@link Tokenizer}, an index of where each token is in the raw input.
+ * It's a {@link java.util.List} so it can be passed wherever arguments are expected,
+ * but a token is only turned into a {@link String} the first time it's requested through {@link #get(int)}.
+ * Lookups that don't need a {@link String}, like the command tree, should use {@link #start(int)} and {@link #end(int)} over {@link #getInput()}.
+ */
+public final class TokenizedInput extends AbstractList<String> implements RandomAccess, AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final boolean pooled;
+    private boolean inUse = false;
+
+    private CharSequence input = "";
+    private int size = 0;
+
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private boolean[] escaped = new boolean[INITIAL_CAPACITY];
+    private String[] materialised = new String[INITIAL_CAPACITY];
+
+    TokenizedInput(final boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Gets the raw input the tokens point to.
+     *
+     * @return The raw input.
+     */
+    @NotNull
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the start of the token in the raw input, quotes excluded.
+     *
+     * @param index The index of the token.
+     * @return The start of the token, inclusive.
+     */
+    public int start(final int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    /**
+     * Gets the end of the token in the raw input, quotes excluded.
+     *
+     * @param index The index of the token.
+     * @return The end of the token, exclusive.
+     */
+    public int end(final int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * Gets a view of the token without copying it.
+     * Tokens with escapes can't be viewed directly, so those are materialised.
+     *
+     * @param index The index of the token.
+     * @return A {@link CharSequence} with the token's content.
+     */
+    @NotNull
+    public CharSequence view(final int index) {
+        checkIndex(index);
+        if (escaped[index] || materialised[index] != null) return get(index);
+        return CharBuffer.wrap(input, starts[index], ends[index]);
+    }
+
+    /**
+     * Gets the token as a {@link String}, creating it only the first time it's requested.
+     *
+     * @param index The index of the token.
+     * @return The token.
+     */
+    @NotNull
+    @Override
+    public String get(final int index) {
+        checkIndex(index);
+
+        final String cached = materialised[index];
+        if (cached != null) return cached;
+
+        final String token = escaped[index]
+                ? Tokenizer.unescape(input, starts[index], ends[index])
+                : input.subSequence(starts[index], ends[index]).toString();
+        materialised[index] = token;
+        return token;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Releases the pooled instance so the thread can reuse it.
+     * Does nothing for instances that aren't pooled.
+     */
+    @Override
+    public void close() {
+        if (!pooled) return;
+        Arrays.fill(materialised, 0, size, null);
+        input = "";
+        size = 0;
+        inUse = false;
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    void reset(@NotNull final CharSequence input) {
+        Arrays.fill(materialised, 0, size, null);
+        this.input = input;
+        this.size = 0;
+        this.inUse = true;
+        modCount++;
+    }
+
+    void add(final int start, final int end, final boolean escaped) {
+        if (size == starts.length) {
+            final int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            this.escaped = Arrays.copyOf(this.escaped, capacity);
+            materialised = Arrays.copyOf(materialised, capacity);
+        }
+
+        starts[size] = start;
+        ends[size] = end;
+        this.escaped[size] = escaped;
+        size++;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.tokenizer;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * Splits raw command input into arguments in a single pass, without regex or intermediate arrays.
+ * <ul>
+ *     <li>Arguments are separated by any amount of whitespace.</li>
+ *     <li>An argument starting with {@code "} or {@code '} runs until the matching quote, whitespace included.</li>
+ *     <li>A backslash before whitespace or a quote escapes it, any other backslash is kept as is,
+ *     so escapes used by flags and named arguments still reach their parsers.</li>
+ * </ul>
+ */
+public final class Tokenizer {
+
+    // Soft reference so the pooled instance never keeps the class loader alive from a long-lived thread
+    private static final ThreadLocal<SoftReference<TokenizedInput>> POOL = new ThreadLocal<>();
+
+    private static final char ESCAPE = '\\';
+
+    private Tokenizer() {throw new AssertionError("Util must not be initialized");}
+
+    /**
+     * Tokenizes the input into a new {@link TokenizedInput} that can be kept around freely.
+     *
+     * @param input The raw input.
+     * @return A new {@link TokenizedInput}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static TokenizedInput tokenize(@NotNull final CharSequence input) {
+        return scan(new TokenizedInput(false), input);
+    }
+
+    /**
+     * Tokenizes the input reusing the current thread's {@link TokenizedInput}.
+     * The result must be closed once the command is done with it, ideally in a try-with-resources,
+     * and must not be used after that, materialised {@link String}s can of course be kept.
+     * If the pooled instance is still in use, for example a command dispatching another command, a new one is created.
+     *
+     * @param input The raw input.
+     * @return The pooled {@link TokenizedInput}.
+     */
+    @NotNull
+    public static TokenizedInput acquire(@NotNull final CharSequence input) {
+        final SoftReference<TokenizedInput> reference = POOL.get();
+        TokenizedInput tokens = reference == null ? null : reference.get();
+
+        if (tokens == null) {
+            tokens = new TokenizedInput(true);
+            POOL.set(new SoftReference<>(tokens));
+        } else if (tokens.isInUse()) {
+            tokens = new TokenizedInput(false);
+        }
+
+        return scan(tokens, input);
+    }
+
+    /**
+     * Scans the input, recording where each token starts and ends.
+     *
+     * @param tokens The index to fill.
+     * @param input  The raw input.
+     * @return The filled index.
+     */
+    @NotNull
+    private static TokenizedInput scan(@NotNull final TokenizedInput tokens, @NotNull final CharSequence input) {
+        tokens.reset(input);
+
+        final int length = input.length();
+        int index = 0;
+
+        while (index < length) {
+            final char current = input.charAt(index);
+            if (Character.isWhitespace(current)) {
+                index++;
+                continue;
+            }
+
+            boolean escaped = false;
+
+            // Quoted token, runs until the closing quote or the end of the input
+            if (current == '"' || current == '\'') {
+                final int start = index + 1;
+                index = start;
+                while (index < length) {
+                    final char character = input.charAt(index);
+                    if (character == ESCAPE && index + 1 < length && isEscapable(input.charAt(index + 1))) {
+                        escaped = true;
+                        index += 2;
+                        continue;
+                    }
+
+                    if (character == current) break;
+                    index++;
+                }
+
+                tokens.add(start, index, escaped);
+                // Skips the closing quote
+                index++;
+                continue;
+            }
+
+            final int start = index;
+            while (index < length) {
+                final char character = input.charAt(index);
+                if (character == ESCAPE && index + 1 < length && isEscapable(input.charAt(index + 1))) {
+                    escaped = true;
+                    index += 2;
+                    continue;
+                }
+
+                if (Character.isWhitespace(character)) break;
+                index++;
+            }
+
+            tokens.add(start, index, escaped);
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Removes the escaping backslashes from the given region of the input.
+     *
+     * @param input The raw input.
+     * @param start The start of the token, inclusive.
+     * @param end   The end of the token, exclusive.
+     * @return The unescaped token.
+     */
+    @NotNull
+    static String unescape(@NotNull final CharSequence input, final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            final char character = input.charAt(i);
+            if (character == ESCAPE && i + 1 < end && isEscapable(input.charAt(i + 1))) {
+                builder.append(input.charAt(++i));
+                continue;
+            }
+
+            builder.append(character);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isEscapable(final char character) {
+        return character == '"' || character == '\'' || Character.isWhitespace(character);
+    }
+}
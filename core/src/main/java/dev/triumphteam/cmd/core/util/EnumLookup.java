@@ -0,0 +1,213 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Case-insensitive lookup table for the constants of an enum, plus optional aliases.
+ * Uses open addressing with linear probing over a power of two table, the hash is computed by folding
+ * each character in place, so a lookup never allocates and never locks.
+ * Instances are immutable once built and safe to share between threads.
+ */
+public final class EnumLookup {
+
+    private final String[] keys;
+    private final String[] foldedKeys;
+    private final Enum<?>[] values;
+    private final int mask;
+    private final int size;
+
+    private EnumLookup(@NotNull final String[] keys, @NotNull final Enum<?>[] values, final int size) {
+        this.keys = keys;
+        this.foldedKeys = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) foldedKeys[i] = fold(keys[i]);
+        }
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Builds a lookup with the names of every constant of the enum.
+     *
+     * @param enumClass A non-generic Enum class.
+     * @return A new {@link EnumLookup}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static EnumLookup of(@NotNull final Class<? extends Enum<?>> enumClass) {
+        return of(enumClass, Collections.emptyMap());
+    }
+
+    /**
+     * Builds a lookup with the names of every constant of the enum and extra aliases.
+     * Constant names always win over an alias with the same name.
+     *
+     * @param enumClass A non-generic Enum class.
+     * @param aliases   Extra names mapped to constants of the enum.
+     * @return A new {@link EnumLookup}.
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static EnumLookup of(
+            @NotNull final Class<? extends Enum<?>> enumClass,
+            @NotNull final Map<String, ? extends Enum<?>> aliases
+    ) {
+        final Enum<?>[] constants = enumClass.getEnumConstants();
+        final int expected = constants.length + aliases.size();
+
+        // Keeps the load factor at or under 0.5 so probe chains stay short
+        int capacity = 2;
+        while (capacity < expected * 2) capacity <<= 1;
+
+        final String[] keys = new String[capacity];
+        final Enum<?>[] values = new Enum<?>[capacity];
+
+        int size = 0;
+        for (final Enum<?> constant : constants) {
+            if (insert(keys, values, constant.name(), constant)) size++;
+        }
+
+        for (final Map.Entry<String, ? extends Enum<?>> entry : aliases.entrySet()) {
+            final Enum<?> constant = entry.getValue();
+            if (constant.getDeclaringClass() != enumClass) {
+                throw new IllegalArgumentException("Alias \"" + entry.getKey() + "\" is not a constant of " + enumClass.getName());
+            }
+            if (insert(keys, values, entry.getKey(), constant)) size++;
+        }
+
+        return new EnumLookup(keys, values, size);
+    }
+
+    /**
+     * Finds the constant with the given name, ignoring case.
+     * If two names only differ in case, the exact match is preferred, otherwise the first one declared.
+     *
+     * @param name The typed name.
+     * @return The matching constant or null if there is none.
+     */
+    @Nullable
+    public Enum<?> get(@NotNull final String name) {
+        final String[] keys = this.keys;
+        final int length = name.length();
+
+        Enum<?> candidate = null;
+        int index = hash(name) & mask;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (key.length() == length) {
+                if (key.equals(name)) return values[index];
+                if (candidate == null && matchesFolded(foldedKeys[index], name)) candidate = values[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Gets the amount of names, constants and aliases, in the lookup.
+     *
+     * @return The size of the lookup.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean insert(
+            @NotNull final String[] keys,
+            @NotNull final Enum<?>[] values,
+            @NotNull final String key,
+            @NotNull final Enum<?> value
+    ) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (keys[index] != null) {
+            // Constants are inserted before aliases, so a repeated name keeps the constant
+            if (keys[index].equals(key)) return false;
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        return true;
+    }
+
+    /**
+     * Case-insensitive hash, consistent with {@link String#equalsIgnoreCase(String)}.
+     * The result is spread so that names sharing a long common prefix don't cluster.
+     */
+    private static int hash(@NotNull final String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + fold(key.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compares an already folded key with the typed name, folding the name one character at a time.
+     */
+    private static boolean matchesFolded(@NotNull final String foldedKey, @NotNull final String name) {
+        for (int i = 0; i < foldedKey.length(); i++) {
+            if (foldedKey.charAt(i) != fold(name.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    private static String fold(@NotNull final String key) {
+        final char[] folded = new char[key.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(key.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * Folds the case of a character, same as {@link String#equalsIgnoreCase(String)} does.
+     */
+    private static char fold(final char character) {
+        if (character < 128) {
+            return character >= 'A' && character <= 'Z' ? (char) (character + 32) : character;
+        }
+
+        return Character.toLowerCase(Character.toUpperCase(character));
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "EnumLookup{" +
+                "size=" + size +
+                '}';
+    }
+}
@@ -23,16 +23,52 @@
  */
 package dev.triumphteam.cmd.core.util;
 
+import dev.triumphteam.cmd.core.suggestion.PrefixIndex;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
+/**
+ * Per enum caches, kept in {@link ClassValue}s so reads are lock-free and the cached data goes away together
+ * with the enum class, for example when a plugin holding it is reloaded.
+ */
+@SuppressWarnings("unchecked")
 public final class EnumUtils {
 
-    private static final Map<Class<? extends Enum<?>>, Map<String, WeakReference<? extends Enum<?>>>> ENUM_CONSTANT_CACHE = new WeakHashMap<>();
+    private static final ClassValue<Map<String, WeakReference<? extends Enum<?>>>> ENUM_CONSTANT_CACHE = new ClassValue<Map<String, WeakReference<? extends Enum<?>>>>() {
+        @Override
+        protected Map<String, WeakReference<? extends Enum<?>>> computeValue(@NotNull final Class<?> type) {
+            final Map<String, WeakReference<? extends Enum<?>>> result = new HashMap<>();
+            for (final Enum<?> enumInstance : ((Class<? extends Enum<?>>) type).getEnumConstants()) {
+                result.put(enumInstance.name(), new WeakReference<Enum<?>>(enumInstance));
+            }
+            return Collections.unmodifiableMap(result);
+        }
+    };
+
+    private static final ClassValue<EnumLookup> ENUM_LOOKUP_CACHE = new ClassValue<EnumLookup>() {
+        @Override
+        protected EnumLookup computeValue(@NotNull final Class<?> type) {
+            return EnumLookup.of((Class<? extends Enum<?>>) type);
+        }
+    };
+
+    private static final ClassValue<PrefixIndex> ENUM_PREFIX_CACHE = new ClassValue<PrefixIndex>() {
+        @Override
+        protected PrefixIndex computeValue(@NotNull final Class<?> type) {
+            final Enum<?>[] constants = ((Class<? extends Enum<?>>) type).getEnumConstants();
+            final List<String> names = new ArrayList<>(constants.length);
+            for (final Enum<?> constant : constants) {
+                names.add(constant.name());
+            }
+            return PrefixIndex.of(names);
+        }
+    };
 
     private EnumUtils() {throw new AssertionError("Util must not be initialized");}
 
@@ -45,11 +81,7 @@ public final class EnumUtils {
      */
     @NotNull
     public static Map<String, WeakReference<? extends Enum<?>>> getEnumConstants(@NotNull final Class<? extends Enum<?>> enumClass) {
-        synchronized (ENUM_CONSTANT_CACHE) {
-            Map<String, WeakReference<? extends Enum<?>>> constants = ENUM_CONSTANT_CACHE.get(enumClass);
-            if (constants == null) constants = populateCache(enumClass);
-            return constants;
-        }
+        return ENUM_CONSTANT_CACHE.get(enumClass);
     }
 
     /**
@@ -59,12 +91,32 @@ public final class EnumUtils {
      * @param enumClass A non-generic Enum class.
      * @return A map with enum values that was just populated to the cache.
      */
+    @NotNull
     public static Map<String, WeakReference<? extends Enum<?>>> populateCache(@NotNull final Class<? extends Enum<?>> enumClass) {
-        final Map<String, WeakReference<? extends Enum<?>>> result = new HashMap<>();
-        for (Enum<?> enumInstance : enumClass.getEnumConstants()) {
-            result.put(enumInstance.name(), new WeakReference<Enum<?>>(enumInstance));
-        }
-        ENUM_CONSTANT_CACHE.put(enumClass, result);
-        return result;
+        return ENUM_CONSTANT_CACHE.get(enumClass);
+    }
+
+    /**
+     * Gets the case-insensitive {@link EnumLookup} of the enum constants, used to resolve arguments.
+     * The lookup is built the first time it's requested and then kept for the enum class.
+     *
+     * @param enumClass A non-generic Enum class.
+     * @return The cached {@link EnumLookup}.
+     */
+    @NotNull
+    public static EnumLookup getLookup(@NotNull final Class<? extends Enum<?>> enumClass) {
+        return ENUM_LOOKUP_CACHE.get(enumClass);
+    }
+
+    /**
+     * Gets the {@link PrefixIndex} with the names of the enum constants, used for suggestions.
+     * The index is built the first time it's requested and then kept for the enum class.
+     *
+     * @param enumClass A non-generic Enum class.
+     * @return The cached {@link PrefixIndex} of the constant names.
+     */
+    @NotNull
+    public static PrefixIndex getPrefixIndex(@NotNull final Class<? extends Enum<?>> enumClass) {
+        return ENUM_PREFIX_CACHE.get(enumClass);
     }
 }
@@ -0,0 +1,101 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers for {@link CompletableFuture}s, mostly what Java 9 added and Java 8 doesn't have.
+ */
+public final class FutureUtils {
+
+    // One daemon thread is enough, it only completes futures, the callbacks are expected to be light
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        final Thread thread = new Thread(runnable, "triumph-cmd-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private FutureUtils() {
+        throw new AssertionError("Util must not be initialized");
+    }
+
+    /**
+     * Creates a future that completes like the given one, or exceptionally with a {@link TimeoutException}
+     * if it takes longer than the timeout.
+     * The given future is left untouched, so whatever it's doing keeps running.
+     *
+     * @param future  The future to wait on.
+     * @param timeout The timeout.
+     * @param unit    The unit of the timeout.
+     * @param <T>     The type of the result.
+     * @return A new future bound by the timeout.
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> within(
+            @NotNull final CompletableFuture<T> future,
+            final long timeout,
+            @NotNull final TimeUnit unit
+    ) {
+        if (future.isDone()) return future;
+
+        final CompletableFuture<T> bounded = new CompletableFuture<>();
+        final ScheduledFuture<?> task = SCHEDULER.schedule(
+                () -> bounded.completeExceptionally(new TimeoutException()),
+                timeout,
+                unit
+        );
+
+        future.whenComplete((result, throwable) -> {
+            task.cancel(false);
+            if (throwable != null) bounded.completeExceptionally(throwable);
+            else bounded.complete(result);
+        });
+        return bounded;
+    }
+
+    /**
+     * Gets the result of a completed future, without throwing.
+     *
+     * @param future The completed future.
+     * @param <T>    The type of the result.
+     * @return The result, or null if the future completed exceptionally or isn't done.
+     */
+    @Nullable
+    public static <T> T resultOrNull(@NotNull final CompletableFuture<T> future) {
+        if (!future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.getNow(null);
+    }
+}
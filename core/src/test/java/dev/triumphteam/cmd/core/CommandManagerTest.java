@@ -0,0 +1,257 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core;
+
+import dev.triumphteam.cmd.core.annotation.Command;
+import dev.triumphteam.cmd.core.annotation.SubCommand;
+import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
+import dev.triumphteam.cmd.core.execution.ExecutionProvider;
+import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
+import dev.triumphteam.cmd.core.message.MessageRegistry;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
+import dev.triumphteam.cmd.core.processor.AbstractSubCommandProcessor;
+import dev.triumphteam.cmd.core.processor.CommandScan;
+import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.sender.SenderMapper;
+import dev.triumphteam.cmd.core.sender.SenderValidator;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandManagerTest {
+
+    @Test
+    void batchIsPublishedInOrder() {
+        final TestManager manager = new TestManager();
+
+        final List<CommandScan> scans = manager.registerCommands(Arrays.asList(new Alpha(), new Beta()));
+
+        assertThat(scans).extracting(CommandScan::getName).containsExactly("alpha", "beta");
+        assertThat(manager.names("alpha")).containsExactly("one");
+        assertThat(manager.names("beta")).containsExactly("two");
+    }
+
+    @Test
+    void failedBatchOnlyRemovesWhatItAdded() {
+        final TestManager manager = new TestManager();
+        final Alpha alpha = new Alpha();
+        manager.registerCommand(alpha);
+        final List<TestSubCommand> registered = manager.roots.get("alpha");
+
+        // Alpha is registered again by the batch, so only the instances the batch scanned may be removed
+        assertThatThrownBy(() -> manager.registerCommands(Arrays.asList(new AlphaExtra(), alpha, new Broken())))
+                .isInstanceOf(CommandRegistrationException.class);
+
+        assertThat(manager.roots).containsOnlyKeys("alpha");
+        assertThat(manager.roots.get("alpha")).containsExactlyElementsOf(registered);
+    }
+
+    @Test
+    void errorsAlsoRollBackTheBatch() {
+        final TestManager manager = new TestManager();
+        manager.failure = new AssertionError("Publishing failed");
+
+        assertThatThrownBy(() -> manager.registerCommands(Arrays.asList(new Beta(), new Broken())))
+                .isInstanceOf(AssertionError.class);
+
+        assertThat(manager.roots).isEmpty();
+    }
+
+    @Test
+    void failedScanPublishesNothing() {
+        final TestManager manager = new TestManager();
+
+        assertThatThrownBy(() -> manager.registerCommands(Arrays.asList(new Beta(), new NotACommand())))
+                .isInstanceOf(CommandRegistrationException.class);
+
+        assertThat(manager.roots).isEmpty();
+    }
+
+    @Command("alpha")
+    static final class Alpha extends BaseCommand {
+
+        @SubCommand("one")
+        public void one(final TestSender sender) {}
+    }
+
+    @Command("alpha")
+    static final class AlphaExtra extends BaseCommand {
+
+        @SubCommand("extra")
+        public void extra(final TestSender sender) {}
+    }
+
+    @Command("beta")
+    static final class Beta extends BaseCommand {
+
+        @SubCommand("two")
+        public void two(final TestSender sender) {}
+    }
+
+    @Command("broken")
+    static final class Broken extends BaseCommand {
+
+        @SubCommand("three")
+        public void three(final TestSender sender) {}
+    }
+
+    static final class NotACommand extends BaseCommand {}
+
+    static final class TestSender {}
+
+    /**
+     * Manager keeping each root's sub commands in a list, publishing the "broken" root fails once half published.
+     */
+    static final class TestManager extends CommandManager<TestSender, TestSender> {
+
+        private final RegistryContainer<TestSender> registryContainer = new RegistryContainer<>();
+        private final ExecutionProvider executionProvider = new SyncExecutionProvider();
+        private final Map<String, List<TestSubCommand>> roots = new LinkedHashMap<>();
+        private Throwable failure = new CommandRegistrationException("Publishing failed", Broken.class);
+
+        TestManager() {
+            super(SenderMapper.defaultMapper(), new TestSenderValidator());
+        }
+
+        private List<String> names(final String root) {
+            return roots.get(root).stream().map(TestSubCommand::getName).collect(Collectors.toList());
+        }
+
+        @Override
+        protected AbstractCommandProcessor<?, TestSender, ?, ?> scanCommand(final BaseCommand baseCommand) {
+            return new TestProcessor(baseCommand, registryContainer, getSenderMapper(), getSenderValidator(), executionProvider);
+        }
+
+        @Override
+        protected void publishCommand(final AbstractCommandProcessor<?, TestSender, ?, ?> scanned) {
+            final TestProcessor processor = (TestProcessor) scanned;
+            roots.computeIfAbsent(processor.getName(), ignored -> new ArrayList<>()).addAll(processor.getSubCommands().values());
+            if (processor.getName().equals("broken")) throwFailure();
+        }
+
+        @Override
+        protected void unpublishCommand(final AbstractCommandProcessor<?, TestSender, ?, ?> processor) {
+            roots.values().removeIf(subCommands -> {
+                subCommands.removeIf(processor::ownsSubCommand);
+                return subCommands.isEmpty();
+            });
+        }
+
+        @Override
+        public void unregisterCommand(final BaseCommand command) {
+            roots.values().removeIf(subCommands -> {
+                subCommands.removeIf(it -> it.getBaseCommand() == command);
+                return subCommands.isEmpty();
+            });
+        }
+
+        @Override
+        protected RegistryContainer<TestSender> getRegistryContainer() {
+            return registryContainer;
+        }
+
+        private void throwFailure() {
+            if (failure instanceof Error) throw (Error) failure;
+            throw (RuntimeException) failure;
+        }
+    }
+
+    static final class TestProcessor extends AbstractCommandProcessor<TestSender, TestSender, TestSubCommand, TestSubCommandProcessor> {
+
+        TestProcessor(
+                final BaseCommand baseCommand,
+                final RegistryContainer<TestSender> registryContainer,
+                final SenderMapper<TestSender, TestSender> senderMapper,
+                final SenderValidator<TestSender> senderValidator,
+                final ExecutionProvider executionProvider
+        ) {
+            super(baseCommand, registryContainer, senderMapper, senderValidator, executionProvider, executionProvider);
+        }
+
+        @Override
+        protected TestSubCommandProcessor createProcessor(final Method method) {
+            return new TestSubCommandProcessor(getBaseCommand(), getName(), method, getRegistryContainer(), getSenderValidator());
+        }
+
+        @Override
+        protected TestSubCommand createSubCommand(
+                final TestSubCommandProcessor processor,
+                final ExecutionProvider executionProvider
+        ) {
+            return new TestSubCommand(processor, getName(), executionProvider);
+        }
+    }
+
+    static final class TestSubCommandProcessor extends AbstractSubCommandProcessor<TestSender> {
+
+        TestSubCommandProcessor(
+                final BaseCommand baseCommand,
+                final String parentName,
+                final Method method,
+                final RegistryContainer<TestSender> registryContainer,
+                final SenderValidator<TestSender> senderValidator
+        ) {
+            super(baseCommand, parentName, method, registryContainer, senderValidator);
+        }
+    }
+
+    static final class TestSubCommand extends AbstractSubCommand<TestSender> {
+
+        TestSubCommand(
+                final TestSubCommandProcessor processor,
+                final String parentName,
+                final ExecutionProvider executionProvider
+        ) {
+            super(processor, parentName, executionProvider);
+        }
+    }
+
+    static final class TestSenderValidator implements SenderValidator<TestSender> {
+
+        @Override
+        public Set<Class<? extends TestSender>> getAllowedSenders() {
+            return Collections.singleton(TestSender.class);
+        }
+
+        @Override
+        public boolean validate(
+                final MessageRegistry<TestSender> messageRegistry,
+                final dev.triumphteam.cmd.core.SubCommand<TestSender> subCommand,
+                final TestSender sender
+        ) {
+            return true;
+        }
+    }
+}
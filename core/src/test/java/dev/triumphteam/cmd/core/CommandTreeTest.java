@@ -0,0 +1,161 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core;
+
+import dev.triumphteam.cmd.core.annotation.Default;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandTreeTest {
+
+    @Test
+    void lookupsIgnoreCase() {
+        final CommandTree<String> tree = CommandTree.<String>builder()
+                .name("Teleport", "teleport")
+                .alias("TP", "teleport")
+                .name("\u00e4pfel", "apples")
+                .build();
+
+        assertThat(tree.get("teleport")).isEqualTo("teleport");
+        assertThat(tree.get("TELEPORT")).isEqualTo("teleport");
+        assertThat(tree.get("tElEpOrT")).isEqualTo("teleport");
+        assertThat(tree.get("tp")).isEqualTo("teleport");
+        assertThat(tree.get("\u00c4PFEL")).isEqualTo("apples");
+        assertThat(tree.get("APFEL")).isNull();
+        assertThat(tree.get("tele")).isNull();
+        assertThat(tree.get("teleports")).isNull();
+    }
+
+    @Test
+    void lookupsCanUseARegionOfTheInput() {
+        final CommandTree<String> tree = CommandTree.<String>builder().name("give", "give").build();
+        final String input = "/GIVE player diamond";
+
+        assertThat(tree.get(input, 1, 5)).isEqualTo("give");
+        assertThat(tree.get(input, 1, 4)).isNull();
+        assertThat(tree.get(input, 0, 5)).isNull();
+    }
+
+    @Test
+    void namesWinOverAliasesWithTheSameKey() {
+        final CommandTree<String> aliasFirst = CommandTree.<String>builder()
+                .alias("Ban", "alias")
+                .name("ban", "name")
+                .build();
+        final CommandTree<String> nameFirst = CommandTree.<String>builder()
+                .name("ban", "name")
+                .alias("BAN", "alias")
+                .build();
+
+        assertThat(aliasFirst.get("ban")).isEqualTo("name");
+        assertThat(nameFirst.get("ban")).isEqualTo("name");
+        assertThat(nameFirst.size()).isEqualTo(1);
+        assertThat(nameFirst.complete("", it -> true)).containsExactly("ban");
+    }
+
+    @Test
+    void aliasesAreLeftOutOfCompletionAndNameVisits() {
+        final CommandTree<String> tree = CommandTree.<String>builder()
+                .name("help", "help")
+                .alias("h", "help")
+                .name("home", "home")
+                .name("Hide", "hide")
+                .name("warp", "warp")
+                .build();
+
+        assertThat(tree.complete("H", it -> true)).containsExactly("help", "Hide", "home");
+        assertThat(tree.complete("he", it -> true)).containsExactly("help");
+        assertThat(tree.complete("h", it -> !it.equals("home"))).containsExactly("help", "Hide");
+        assertThat(tree.complete("x", it -> true)).isEmpty();
+
+        final List<String> all = new ArrayList<>();
+        tree.forEachMatching("h", true, (name, value) -> all.add(name));
+        assertThat(all).containsExactly("h", "help", "Hide", "home");
+
+        final List<String> names = new ArrayList<>();
+        tree.forEach((name, value) -> names.add(name));
+        assertThat(names).containsExactly("help", "Hide", "home", "warp");
+        assertThat(tree.size()).isEqualTo(5);
+    }
+
+    @Test
+    void defaultSubCommandResolvesByItsReservedName() {
+        final CommandTree<String> tree = CommandTree.<String>builder()
+                .name(Default.DEFAULT_CMD_NAME, "default")
+                .name("list", "list")
+                .build();
+
+        assertThat(tree.get(Default.DEFAULT_CMD_NAME)).isEqualTo("default");
+        assertThat(tree.get(Default.DEFAULT_CMD_NAME.toLowerCase())).isEqualTo("default");
+        // Empty input never matches a command, so callers fall back to their default sub command
+        assertThat(tree.get("")).isNull();
+        assertThat(tree.get("th")).isNull();
+    }
+
+    @Test
+    void removingKeepsTheOriginalTreeUntouched() {
+        final BaseCommand first = new BaseCommand() {};
+        final BaseCommand second = new BaseCommand() {};
+        final CommandTree<BaseCommand> tree = CommandTree.<BaseCommand>builder()
+                .name("team", first)
+                .alias("t", first)
+                .name("teams", second)
+                .name("tell", second)
+                .build();
+
+        final CommandTree<BaseCommand> removed = tree.toBuilder().removeIf(it -> it == first).build();
+
+        assertThat(removed.get("team")).isNull();
+        assertThat(removed.get("t")).isNull();
+        assertThat(removed.get("teams")).isSameAs(second);
+        assertThat(removed.get("tell")).isSameAs(second);
+        assertThat(removed.size()).isEqualTo(2);
+
+        assertThat(tree.get("team")).isSameAs(first);
+        assertThat(tree.get("t")).isSameAs(first);
+        assertThat(tree.size()).isEqualTo(4);
+
+        final CommandTree<BaseCommand> empty = removed.toBuilder().removeIf(it -> it == second).build();
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.get("teams")).isNull();
+    }
+
+    @Test
+    void toBuilderKeepsAliasesAsAliases() {
+        final CommandTree<String> tree = CommandTree.<String>builder()
+                .name("spawn", "spawn")
+                .alias("s", "spawn")
+                .build()
+                .toBuilder()
+                .name("s", "shout")
+                .build();
+
+        assertThat(tree.get("s")).isEqualTo("shout");
+        assertThat(tree.complete("s", it -> true)).containsExactly("s", "spawn");
+    }
+}
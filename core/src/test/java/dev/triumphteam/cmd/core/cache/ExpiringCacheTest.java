@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    @Test
+    void expiresAfterTheTimeToLive() throws InterruptedException {
+        final ExpiringCache<String, String> cache = new ExpiringCache<>(TimeUnit.MILLISECONDS.toNanos(50), 16);
+        cache.put("key", "value");
+        assertThat(cache.getIfPresent("key")).isEqualTo("value");
+
+        Thread.sleep(100);
+        assertThat(cache.getIfPresent("key")).isNull();
+        assertThat(cache.peek("key")).isEqualTo("value");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        final ExpiringCache<String, String> cache = new ExpiringCache<>(TimeUnit.MINUTES.toNanos(1), 2);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.getIfPresent("first");
+        cache.put("third", "3");
+
+        assertThat(cache.getIfPresent("first")).isEqualTo("1");
+        assertThat(cache.getIfPresent("second")).isNull();
+        assertThat(cache.getIfPresent("third")).isEqualTo("3");
+        assertThat(cache.getStatistics().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void staysWithinTheMaxEntriesWhenStriped() {
+        final ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(TimeUnit.MINUTES.toNanos(1), 1024);
+        for (int i = 0; i < 5000; i++) {
+            cache.put(i, i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void invalidatesOnlyTheGivenKey() {
+        final ExpiringCache<String, String> cache = new ExpiringCache<>(TimeUnit.MINUTES.toNanos(1), 16);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.invalidate("first");
+
+        assertThat(cache.getIfPresent("first")).isNull();
+        assertThat(cache.getIfPresent("second")).isEqualTo("2");
+    }
+
+    @Test
+    void dropsAPutStampedBeforeAnInvalidation() {
+        final ExpiringCache<String, String> cache = new ExpiringCache<>(TimeUnit.MINUTES.toNanos(1), 16);
+        final long stamp = cache.stamp("key");
+        cache.invalidate("key");
+
+        assertThat(cache.put("key", "stale", stamp)).isFalse();
+        assertThat(cache.getIfPresent("key")).isNull();
+
+        assertThat(cache.put("key", "fresh", cache.stamp("key"))).isTrue();
+        assertThat(cache.getIfPresent("key")).isEqualTo("fresh");
+    }
+
+    @Test
+    void doesNotCacheALoadRacingAnInvalidation() {
+        final ExpiringCache<String, String> cache = new ExpiringCache<>(TimeUnit.MINUTES.toNanos(1), 16);
+        final String loaded = cache.get("key", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.getIfPresent("key")).isNull();
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongExpiringCacheTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void loadsOnceUntilExpired() throws InterruptedException {
+        final LongExpiringCache<String> cache = new LongExpiringCache<>(TimeUnit.MILLISECONDS.toNanos(50), 16);
+        final AtomicInteger loads = new AtomicInteger();
+        final LongFunction<String> loader = key -> "prefix-" + loads.incrementAndGet();
+
+        assertThat(cache.get(1L, loader)).isEqualTo("prefix-1");
+        assertThat(cache.get(1L, loader)).isEqualTo("prefix-1");
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+
+        Thread.sleep(100);
+        assertThat(cache.get(1L, loader)).isEqualTo("prefix-2");
+    }
+
+    @Test
+    void cachesNullValues() {
+        final LongExpiringCache<String> cache = new LongExpiringCache<>(MINUTE, 16);
+        final AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get(7L, key -> {
+                loads.incrementAndGet();
+                return null;
+            })).isNull();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidatesOneKeyOrAll() {
+        final LongExpiringCache<String> cache = new LongExpiringCache<>(MINUTE, 16);
+        final AtomicInteger loads = new AtomicInteger();
+        final LongFunction<String> loader = key -> key + "-" + loads.incrementAndGet();
+
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, loader)).isEqualTo("1-3");
+        assertThat(cache.get(2L, loader)).isEqualTo("2-2");
+
+        cache.invalidateAll();
+        assertThat(cache.get(1L, loader)).isEqualTo("1-4");
+        assertThat(cache.get(2L, loader)).isEqualTo("2-5");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedWayOfAFullSet() {
+        // Eight entries are a single set of eight ways, so every key competes for the same slots
+        final LongExpiringCache<Long> cache = new LongExpiringCache<>(MINUTE, 8);
+        final AtomicInteger loads = new AtomicInteger();
+        final LongFunction<Long> loader = key -> {
+            loads.incrementAndGet();
+            return key;
+        };
+
+        for (long key = 0; key < 8; key++) {
+            cache.get(key, loader);
+            tick();
+        }
+
+        cache.get(0L, loader);
+        tick();
+        cache.get(8L, loader);
+        assertThat(loads).hasValue(9);
+        assertThat(cache.getStatistics().getEvictions()).isEqualTo(1);
+
+        // Key 1 was the least recently used, the rest are still cached
+        cache.get(0L, loader);
+        for (long key = 2; key <= 8; key++) {
+            cache.get(key, loader);
+        }
+        assertThat(loads).hasValue(9);
+
+        cache.get(1L, loader);
+        assertThat(loads).hasValue(10);
+    }
+
+    @Test
+    void collidingKeysDoNotEvictEachOtherBelowTheWayCount() {
+        final LongExpiringCache<Long> cache = new LongExpiringCache<>(MINUTE, 1024);
+        final AtomicInteger loads = new AtomicInteger();
+        final LongFunction<Long> loader = key -> {
+            loads.incrementAndGet();
+            return key;
+        };
+
+        // Any two keys in a set of eight ways stay cached, whatever set they land in
+        for (int round = 0; round < 10; round++) {
+            cache.get(100L, loader);
+            cache.get(200L, loader);
+        }
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStatistics().getEvictions()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThatThrownBy(() -> new LongExpiringCache<>(0, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LongExpiringCache<>(MINUTE, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Waits for the clock to move, so consecutive accesses never share a timestamp.
+     */
+    private static void tick() {
+        final long now = System.nanoTime();
+        while (System.nanoTime() == now) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.flag.internal;
+
+import dev.triumphteam.cmd.core.argument.ResolverInternalArgument;
+import dev.triumphteam.cmd.core.flag.Flags;
+import dev.triumphteam.cmd.core.suggestion.EmptySuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlagParserTest {
+
+    private static final String SENDER = "sender";
+    private static final String[] NAMES = {"s", "silent", "r", "reason", "t", "time", "x"};
+    private static final String[] TOKENS = {
+            "-s", "--silent", "-r", "--reason", "-t", "--time", "-x", "--x", "-", "--", "---s", "\\-s", "\\--reason",
+            "--reason=griefing", "-r=", "-r=a=b", "--silent=yes", "-s=", "--time=30", "-t=", "=", "a=b", "-=x",
+            "--=x", "word", "30", "-silent", "--s", "-rs", "-S", "--Silent", "--unknown", "-u=v", ""
+    };
+
+    private FlagParser<String> parser;
+    private LegacyFlagParser<String> legacyParser;
+
+    @BeforeEach
+    void setUp() {
+        final FlagGroup<String> group = new FlagGroup<>();
+        group.addFlag(new FlagOptions<>("s", "silent", null));
+        group.addFlag(new FlagOptions<>("r", "reason", new ResolverInternalArgument<>(
+                "reason", "", String.class, (sender, arg) -> arg, new EmptySuggestion<>(), 0, false
+        )));
+        group.addFlag(new FlagOptions<>("t", "time", new ResolverInternalArgument<>(
+                "time", "", Integer.class, (sender, arg) -> arg.matches("\\d+") ? Integer.parseInt(arg) : null, new EmptySuggestion<>(), 0, false
+        )));
+        group.addFlag(new FlagOptions<>("x", null, null));
+
+        parser = new FlagParser<>(group);
+        legacyParser = new LegacyFlagParser<>(group);
+    }
+
+    @Test
+    void parsesShortAndLongFlags() {
+        final Flags flags = parser.parse(SENDER, Arrays.asList("-s", "--reason", "griefing", "--time=30", "trailing"));
+
+        assertThat(flags.hasFlag("s")).isTrue();
+        assertThat(flags.hasFlag("silent")).isTrue();
+        assertThat(flags.getValue("r")).contains("griefing");
+        assertThat(flags.getValue("time", Integer.class)).contains(30);
+        assertThat(flags.getArgs()).containsExactly("trailing");
+    }
+
+    @Test
+    void keepsEscapedAndUnknownFlagsAsArguments() {
+        final Flags flags = parser.parse(SENDER, Arrays.asList("\\-s", "--unknown", "-", "--"));
+
+        assertThat(flags.hasFlag("s")).isFalse();
+        assertThat(flags.getArgs()).containsExactly("\\-s", "--unknown", "-", "--");
+        assertThat(flags.getText()).isEqualTo("\\-s --unknown - --");
+    }
+
+    @Test
+    void givesAnEmptyValueToATrailingFlagMissingItsArgument() {
+        final Flags flags = parser.parse(SENDER, Arrays.asList("word", "--reason"));
+
+        assertThat(flags.getValue("reason")).contains("");
+        assertThat(flags.getArgs()).containsExactly("word");
+    }
+
+    @Test
+    void agreesWithTheLegacyParser() {
+        final Random random = new Random(0x5EED);
+        for (int i = 0; i < 50_000; i++) {
+            final List<String> tokens = new ArrayList<>();
+            final int size = random.nextInt(7);
+            for (int j = 0; j < size; j++) {
+                tokens.add(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+
+            assertSame(tokens, parser.parse(SENDER, tokens), legacyParser.parse(SENDER, tokens));
+        }
+    }
+
+    private static void assertSame(final List<String> tokens, final Flags actual, final Flags expected) {
+        for (final String name : NAMES) {
+            assertThat(actual.hasFlag(name)).as("hasFlag(%s) for %s", name, tokens).isEqualTo(expected.hasFlag(name));
+            assertThat(actual.getValue(name)).as("getValue(%s) for %s", name, tokens).isEqualTo(expected.getValue(name));
+        }
+
+        assertThat(actual.getValue("reason", String.class)).as("typed reason for %s", tokens).isEqualTo(expected.getValue("reason", String.class));
+        assertThat(actual.getValue("time", Integer.class)).as("typed time for %s", tokens).isEqualTo(expected.getValue("time", Integer.class));
+        assertThat(actual.getArgs()).as("args for %s", tokens).isEqualTo(expected.getArgs());
+        assertThat(actual.getText()).as("text for %s", tokens).isEqualTo(expected.getText());
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongRegistryMapTest {
+
+    @Test
+    void putsReplacesAndRemoves() {
+        final LongRegistryMap<String> map = new LongRegistryMap<>();
+
+        assertThat(map.put(1L, "one")).isNull();
+        assertThat(map.put(-1L, "minus one")).isNull();
+        assertThat(map.put(0L, "zero")).isNull();
+        assertThat(map.put(1L, "uno")).isEqualTo("one");
+
+        assertThat(map.get(1L)).isEqualTo("uno");
+        assertThat(map.get(-1L)).isEqualTo("minus one");
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.size()).isEqualTo(3);
+
+        assertThat(map.remove(1L)).isEqualTo("uno");
+        assertThat(map.remove(1L)).isNull();
+        assertThat(map.containsKey(1L)).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keysAfterARemovedOneAreStillFound() {
+        final LongRegistryMap<Long> map = new LongRegistryMap<>();
+        for (long key = 0; key < 7; key++) {
+            map.put(key, key);
+        }
+
+        for (long key = 0; key < 7; key += 2) {
+            map.remove(key);
+        }
+
+        for (long key = 1; key < 7; key += 2) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+
+        // Re-adding over tombstones must not duplicate keys
+        map.put(3L, 30L);
+        map.put(0L, 0L);
+        assertThat(map.get(3L)).isEqualTo(30L);
+        assertThat(map.size()).isEqualTo(4);
+    }
+
+    @Test
+    void growsAndMatchesAHashMap() {
+        final LongRegistryMap<Long> map = new LongRegistryMap<>();
+        final Map<Long, Long> expected = new HashMap<>();
+
+        // Discord snowflakes share their low bits a lot, which is the case the hash has to spread
+        for (long i = 0; i < 10_000; i++) {
+            final long key = (i << 22) | 0x1000L;
+            map.put(key, i);
+            expected.put(key, i);
+            if (i % 3 == 0) {
+                final long removed = ((i / 2) << 22) | 0x1000L;
+                map.remove(removed);
+                expected.remove(removed);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+
+        final Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+
+    @Test
+    void removesMatchingValues() {
+        final LongRegistryMap<String> map = new LongRegistryMap<>();
+        map.put(1L, "keep");
+        map.put(2L, "drop");
+        map.put(3L, "drop");
+
+        assertThat(map.removeIf("drop"::equals)).isTrue();
+        assertThat(map.removeIf("drop"::equals)).isFalse();
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(1L)).isEqualTo("keep");
+        assertThat(map.get(2L)).isNull();
+    }
+
+    @Test
+    void putIfAbsentKeepsTheCurrentValue() {
+        final LongRegistryMap<String> map = new LongRegistryMap<>();
+
+        assertThat(map.putIfAbsent(5L, "first")).isNull();
+        assertThat(map.putIfAbsent(5L, "second")).isEqualTo("first");
+        assertThat(map.get(5L)).isEqualTo("first");
+    }
+
+    @Test
+    void computeIfAbsentCreatesTheValueOnce() throws Exception {
+        final LongRegistryMap<Object> map = new LongRegistryMap<>();
+        final AtomicInteger created = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> map.computeIfAbsent(42L, key -> {
+                    created.incrementAndGet();
+                    return new Object();
+                }));
+            }
+
+            final Object first = futures[0].get(30, TimeUnit.SECONDS);
+            for (final Future<?> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(created).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void readersSeeEveryPublishedKeyWhileTheTableGrows() throws Exception {
+        final LongRegistryMap<Long> map = new LongRegistryMap<>();
+        final AtomicLong published = new AtomicLong(-1);
+        final int keys = 50_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            final Future<?> writer = executor.submit(() -> {
+                for (long key = 0; key < keys; key++) {
+                    map.put(key, key);
+                    published.set(key);
+                }
+            });
+
+            final Future<?>[] readers = new Future<?>[2];
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = executor.submit(() -> {
+                    long checked = 0;
+                    while (checked < keys) {
+                        final long last = published.get();
+                        for (; checked <= last; checked++) {
+                            assertThat(map.get(checked)).isEqualTo(checked);
+                        }
+                    }
+                });
+            }
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (final Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryMapConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int KEYS_PER_WRITER = 2_000;
+
+    @Test
+    void readersOnlySeeCompleteSnapshotsWhileWritersRegister() throws Exception {
+        final RegistryMap<String, Integer> map = new RegistryMap<>();
+        map.put("built-in", -1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch writing = new CountDownLatch(WRITERS);
+        final List<Future<Integer>> futures = new ArrayList<>();
+
+        try {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                final int id = writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        for (int i = 0; i < KEYS_PER_WRITER; i++) {
+                            if (i % 10 == 0) {
+                                // Both halves of a batch are published together or not at all
+                                final Map<String, Integer> batch = new HashMap<>();
+                                batch.put(key(id, i) + "-a", i);
+                                batch.put(key(id, i) + "-b", i);
+                                map.putAll(batch);
+                            }
+                            map.put(key(id, i), i);
+                        }
+                    } finally {
+                        writing.countDown();
+                    }
+                    return 0;
+                }));
+            }
+
+            for (int reader = 0; reader < READERS; reader++) {
+                futures.add(executor.submit(read(map, start, writing)));
+            }
+
+            start.countDown();
+            int snapshots = 0;
+            for (final Future<Integer> future : futures) {
+                snapshots += future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(snapshots).isPositive();
+            assertThat(map.size()).isEqualTo(1 + WRITERS * (KEYS_PER_WRITER + KEYS_PER_WRITER / 10 * 2));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void computeIfAbsentCreatesTheValueOnce() throws Exception {
+        final RegistryMap<String, Object> map = new RegistryMap<>();
+        final AtomicInteger created = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Object>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return map.computeIfAbsent("command", it -> {
+                        created.incrementAndGet();
+                        return new Object();
+                    });
+                }));
+            }
+
+            start.countDown();
+            final Object first = futures.get(0).get(30, TimeUnit.SECONDS);
+            for (final Future<Object> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(created).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads snapshots until every writer is done, checking each one is complete.
+     * Each writer publishes its keys in order, so a snapshot holding a writer's key must hold all its earlier keys,
+     * and a snapshot must never change after it was taken.
+     */
+    private static Callable<Integer> read(
+            final RegistryMap<String, Integer> map,
+            final CountDownLatch start,
+            final CountDownLatch writing
+    ) {
+        return () -> {
+            start.await();
+            int snapshots = 0;
+            while (writing.getCount() > 0) {
+                final Map<String, Integer> snapshot = map.snapshot();
+                final int size = snapshot.size();
+                assertThat(snapshot.get("built-in")).isEqualTo(-1);
+
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    int last = -1;
+                    while (last + 1 < KEYS_PER_WRITER && snapshot.containsKey(key(writer, last + 1))) last++;
+                    for (int i = last + 1; i < KEYS_PER_WRITER; i++) {
+                        assertThat(snapshot).doesNotContainKey(key(writer, i));
+                    }
+                    for (int i = 0; i < KEYS_PER_WRITER; i += 10) {
+                        assertThat(snapshot.containsKey(key(writer, i) + "-a")).isEqualTo(snapshot.containsKey(key(writer, i) + "-b"));
+                    }
+                }
+
+                assertThat(snapshot).hasSize(size);
+                snapshots++;
+            }
+            return snapshots;
+        };
+    }
+
+    private static String key(final int writer, final int index) {
+        return "writer-" + writer + "-" + index;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.requirement;
+
+import dev.triumphteam.cmd.core.cache.CachePolicy;
+import dev.triumphteam.cmd.core.metrics.CommandMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedRequirementResolverTest {
+
+    private static final RequirementKey KEY = RequirementKey.of("cached-requirement-test");
+
+    @Test
+    void cachesTheResultOfEachSender() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedRequirementResolver<String> resolver = new CachedRequirementResolver<>(
+                sender -> calls.incrementAndGet() > 0,
+                CachePolicy.<String>builder().expireAfter(Duration.ofMinutes(1)).perSender().build()
+        );
+
+        resolver.resolve("first", KEY, CommandMetrics.noop());
+        resolver.resolve("first", KEY, CommandMetrics.noop());
+        assertThat(calls).hasValue(1);
+
+        resolver.resolve("second", KEY, CommandMetrics.noop());
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void resolvesAgainAfterTheTimeToLive() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedRequirementResolver<String> resolver = new CachedRequirementResolver<>(
+                sender -> calls.incrementAndGet() > 0,
+                CachePolicy.<String>builder().expireAfter(50, TimeUnit.MILLISECONDS).perSender().build()
+        );
+
+        resolver.resolve("sender", KEY, CommandMetrics.noop());
+        Thread.sleep(100);
+        resolver.resolve("sender", KEY, CommandMetrics.noop());
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void invalidatesOnlyTheGivenSender() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedRequirementResolver<String> resolver = new CachedRequirementResolver<>(
+                sender -> calls.incrementAndGet() > 0,
+                CachePolicy.<String>builder().expireAfter(Duration.ofMinutes(1)).perSender().build()
+        );
+
+        resolver.resolve("first", KEY, CommandMetrics.noop());
+        resolver.resolve("second", KEY, CommandMetrics.noop());
+        resolver.invalidate("first");
+
+        resolver.resolve("first", KEY, CommandMetrics.noop());
+        resolver.resolve("second", KEY, CommandMetrics.noop());
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void doesNotCacheAResultLoadedAcrossAnInvalidation() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch invalidated = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedRequirementResolver<String> resolver = new CachedRequirementResolver<>(
+                sender -> {
+                    // Only the first check blocks, it's the one raced by the invalidation
+                    if (calls.incrementAndGet() == 1) {
+                        loading.countDown();
+                        await(invalidated);
+                        return false;
+                    }
+                    return true;
+                },
+                CachePolicy.<String>builder().expireAfter(Duration.ofMinutes(1)).perSender().build()
+        );
+
+        final CompletableFuture<Boolean> racing = CompletableFuture.supplyAsync(() -> resolver.resolve("sender", KEY, CommandMetrics.noop()));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        resolver.invalidate("sender");
+        invalidated.countDown();
+
+        assertThat(racing.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(resolver.resolve("sender", KEY, CommandMetrics.noop())).isTrue();
+        assertThat(calls).hasValue(2);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("Timed out");
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
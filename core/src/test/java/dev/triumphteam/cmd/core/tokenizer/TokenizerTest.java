@@ -0,0 +1,141 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.tokenizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnRunsOfWhitespace() {
+        assertThat(Tokenizer.tokenize("give  player\tdiamond \n 64")).containsExactly("give", "player", "diamond", "64");
+        assertThat(Tokenizer.tokenize("   padded   ")).containsExactly("padded");
+        assertThat(Tokenizer.tokenize("")).isEmpty();
+        assertThat(Tokenizer.tokenize(" \t\n ")).isEmpty();
+    }
+
+    @Test
+    void quotedTokensKeepTheirWhitespace() {
+        assertThat(Tokenizer.tokenize("say \"hello  world\" 'single quoted' end"))
+                .containsExactly("say", "hello  world", "single quoted", "end");
+        assertThat(Tokenizer.tokenize("\"it's\" 'a \"b\"'")).containsExactly("it's", "a \"b\"");
+        assertThat(Tokenizer.tokenize("\"\" ''")).containsExactly("", "");
+    }
+
+    @Test
+    void quotesInsideATokenAreNotSpecial() {
+        assertThat(Tokenizer.tokenize("don't \"stop")).containsExactly("don't", "stop");
+        assertThat(Tokenizer.tokenize("a\"b c\"")).containsExactly("a\"b", "c\"");
+    }
+
+    @Test
+    void escapesWhitespaceAndQuotes() {
+        assertThat(Tokenizer.tokenize("one\\ token two")).containsExactly("one token", "two");
+        assertThat(Tokenizer.tokenize("\"say \\\"hi\\\"\"")).containsExactly("say \"hi\"");
+        assertThat(Tokenizer.tokenize("'it\\'s'")).containsExactly("it's");
+        assertThat(Tokenizer.tokenize("\\\"not quoted\\\"")).containsExactly("\"not", "quoted\"");
+    }
+
+    @Test
+    void otherBackslashesAreKept() {
+        assertThat(Tokenizer.tokenize("C:\\path\\to -r=\\d+")).containsExactly("C:\\path\\to", "-r=\\d+");
+        assertThat(Tokenizer.tokenize("trailing\\")).containsExactly("trailing\\");
+    }
+
+    @Test
+    void unterminatedQuoteRunsToTheEnd() {
+        assertThat(Tokenizer.tokenize("msg \"never closed  here")).containsExactly("msg", "never closed  here");
+        assertThat(Tokenizer.tokenize("msg '")).containsExactly("msg", "");
+        assertThat(Tokenizer.tokenize("msg \"escaped end\\\"")).containsExactly("msg", "escaped end\"");
+    }
+
+    @Test
+    void tracksTokenBoundsInTheInput() {
+        final String input = "  tp \"some player\" home";
+        final TokenizedInput tokens = Tokenizer.tokenize(input);
+
+        assertThat(tokens.getInput()).isSameAs(input);
+        assertThat(tokens.start(0)).isEqualTo(2);
+        assertThat(tokens.end(0)).isEqualTo(4);
+        assertThat(tokens.start(1)).isEqualTo(6);
+        assertThat(tokens.end(1)).isEqualTo(17);
+        assertThat(tokens.view(2).toString()).isEqualTo("home");
+        assertThatThrownBy(() -> tokens.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> tokens.start(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        final StringBuilder input = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            input.append("arg").append(i).append(' ');
+            expected.add("arg" + i);
+        }
+
+        assertThat(Tokenizer.tokenize(input)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void pooledInputIsReusedAfterClose() {
+        final TokenizedInput first = Tokenizer.acquire("first command with many arguments a b c d e f");
+        assertThat(first).hasSize(11);
+        assertThat(first.get(0)).isEqualTo("first");
+        first.close();
+
+        assertThat(first).isEmpty();
+
+        final TokenizedInput second = Tokenizer.acquire("second \"quoted one\"");
+        assertThat(second).isSameAs(first);
+        assertThat(second).containsExactly("second", "quoted one");
+        second.close();
+    }
+
+    @Test
+    void pooledInputInUseIsNotShared() {
+        try (final TokenizedInput outer = Tokenizer.acquire("outer command")) {
+            try (final TokenizedInput inner = Tokenizer.acquire("inner")) {
+                assertThat(inner).isNotSameAs(outer);
+                assertThat(inner).containsExactly("inner");
+            }
+
+            assertThat(outer).containsExactly("outer", "command");
+        }
+    }
+
+    @Test
+    void unpooledInputSurvivesClose() {
+        final TokenizedInput tokens = Tokenizer.tokenize("kept around");
+        tokens.close();
+
+        assertThat(tokens).containsExactly("kept", "around");
+        assertThat(Tokenizer.tokenize("kept around")).isNotSameAs(tokens);
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.core.flag.internal;
+
+import dev.triumphteam.cmd.core.argument.StringInternalArgument;
+import dev.triumphteam.cmd.core.flag.Flags;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Copy of the flag parser that cut every flag and value out into substrings and copied the parsed flags
+ * into a map keyed by both names. Kept as the reference {@link FlagParser} must agree with, and as the baseline
+ * of the flag parser benchmark.
+ *
+ * @param <S> The sender type.
+ */
+public final class LegacyFlagParser<S> {
+
+    private final Map<String, FlagOptions<S>> keys = new HashMap<>();
+    private final Map<String, FlagOptions<S>> longFlags = new HashMap<>();
+
+    public LegacyFlagParser(@NotNull final FlagGroup<S> flagGroup) {
+        for (final FlagOptions<S> flag : flagGroup.getFlagOptions()) {
+            keys.put(flag.getKey(), flag);
+            if (flag.getLongFlag() != null) longFlags.put(flag.getLongFlag(), flag);
+        }
+    }
+
+    @NotNull
+    public Flags parse(@NotNull final S sender, @NotNull final List<String> toParse) {
+        final Map<FlagOptions<S>, String> flags = new LinkedHashMap<>();
+        final List<String> args = new ArrayList<>();
+
+        int pointer = -1;
+        while (pointer < toParse.size() - 1) {
+            final String token = toParse.get(++pointer);
+
+            if (token.startsWith("\\")) {
+                args.add(token);
+                continue;
+            }
+
+            if ((!token.startsWith("--") || "--".equals(token)) && (!token.startsWith("-") || "-".equals(token))) {
+                args.add(token);
+                continue;
+            }
+
+            final int equals = token.indexOf('=');
+            if (equals == -1) {
+                final FlagOptions<S> flag = getMatchingFlag(token);
+                if (flag == null) {
+                    args.add(token);
+                    continue;
+                }
+
+                if (flag.hasArgument()) {
+                    if (pointer >= toParse.size() - 1) {
+                        flags.put(flag, "");
+                        continue;
+                    }
+
+                    flags.put(flag, toParse.get(++pointer));
+                    continue;
+                }
+
+                flags.put(flag, null);
+                continue;
+            }
+
+            final String flagToken = token.substring(0, equals);
+            final String argToken = token.substring(equals + 1);
+
+            final FlagOptions<S> flag = getMatchingFlag(flagToken);
+            if (flag == null || !flag.hasArgument()) {
+                args.add(token);
+                continue;
+            }
+
+            flags.put(flag, argToken);
+        }
+
+        return new Result<>(sender, flags, args);
+    }
+
+    @Nullable
+    private FlagOptions<S> getMatchingFlag(@NotNull final String token) {
+        final String stripped;
+        if (token.startsWith("--")) stripped = token.substring(2);
+        else if (token.startsWith("-")) stripped = token.substring(1);
+        else stripped = token;
+        final FlagOptions<S> flag = keys.get(stripped);
+        return flag != null ? flag : longFlags.get(stripped);
+    }
+
+    /**
+     * The old result, every flag copied into a map under both of its names.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class Result<S> implements Flags {
+
+        private final Map<String, Object> flags = new HashMap<>();
+        private final List<String> args;
+        private final S sender;
+
+        private Result(
+                @NotNull final S sender,
+                @NotNull final Map<FlagOptions<S>, String> flags,
+                @NotNull final List<String> args
+        ) {
+            this.sender = sender;
+            this.args = args;
+            flags.forEach((flag, value) -> {
+                final Object flagValue = value == null ? Boolean.TRUE : new Value<>(value, flag.getArgument());
+                if (flag.getFlag() != null) this.flags.put(flag.getFlag(), flagValue);
+                if (flag.getLongFlag() != null) this.flags.put(flag.getLongFlag(), flagValue);
+            });
+        }
+
+        @Override
+        public boolean hasFlag(@NotNull final String flag) {
+            return flags.containsKey(flag);
+        }
+
+        @NotNull
+        @Override
+        public <T> Optional<T> getValue(@NotNull final String flag, @NotNull final Class<T> type) {
+            final Object flagValue = flags.get(flag);
+            if (!(flagValue instanceof Value)) return Optional.empty();
+            final Value<S> value = (Value<S>) flagValue;
+            if (!type.equals(value.argument.getType())) return Optional.empty();
+            return Optional.ofNullable((T) value.argument.resolve(sender, value.value));
+        }
+
+        @NotNull
+        @Override
+        public Optional<String> getValue(@NotNull final String flag) {
+            final Object flagValue = flags.get(flag);
+            if (!(flagValue instanceof Value)) return Optional.empty();
+            return Optional.of(((Value<S>) flagValue).value);
+        }
+
+        @NotNull
+        @Override
+        public String getText() {
+            return getText(" ");
+        }
+
+        @NotNull
+        @Override
+        public String getText(@NotNull final String delimiter) {
+            return String.join(delimiter, args);
+        }
+
+        @NotNull
+        @Override
+        public List<String> getArgs() {
+            return Collections.unmodifiableList(args);
+        }
+    }
+
+    private static final class Value<S> {
+
+        private final String value;
+        private final StringInternalArgument<S> argument;
+
+        private Value(@NotNull final String value, @NotNull final StringInternalArgument<S> argument) {
+            this.value = value;
+            this.argument = argument;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.prefixed;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Supplies the custom prefix of a guild, usually loaded from the bot's own storage.
+ * In a guild with a custom prefix, the commands using the global prefix answer to the custom one instead,
+ * commands with their own <code>@Prefix</code> aren't affected.
+ * Results are cached by the manager, so it's only called again once the cached prefix expires or is invalidated.
+ */
+@FunctionalInterface
+public interface GuildPrefixProvider {
+
+    /**
+     * Gets the custom prefix of the guild.
+     *
+     * @param guildId The id of the guild.
+     * @return The custom prefix or null if the guild uses the global prefix.
+     */
+    @Nullable
+    String getPrefix(final long guildId);
+
+}
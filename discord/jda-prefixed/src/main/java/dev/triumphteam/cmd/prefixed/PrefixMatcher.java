@@ -0,0 +1,204 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.prefixed;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of every registered prefix, used to find the prefix a message starts with.
+ * A prefix only matches when followed by a word character, the same as the old <code>^prefix\w</code> patterns.
+ * Messages that aren't commands are usually rejected on the first character, without any allocation.
+ * When more than one prefix matches, the longest one wins.
+ */
+final class PrefixMatcher {
+
+    private static final PrefixMatcher EMPTY = new PrefixMatcher(new Node(null, new char[0], new Node[0]));
+
+    private final Node root;
+
+    private PrefixMatcher(@NotNull final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets a matcher with no prefixes, which never matches.
+     *
+     * @return The empty {@link PrefixMatcher}.
+     */
+    @NotNull
+    public static PrefixMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles the prefixes into a new matcher.
+     *
+     * @param prefixes The prefixes to match.
+     * @return A new {@link PrefixMatcher}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static PrefixMatcher of(@NotNull final Collection<String> prefixes) {
+        final MutableNode root = new MutableNode();
+        for (final String prefix : prefixes) {
+            MutableNode node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), ignored -> new MutableNode());
+            }
+            node.prefix = prefix;
+        }
+
+        return new PrefixMatcher(root.freeze());
+    }
+
+    /**
+     * Finds the prefix the input starts with, ignoring leading whitespace like the tokenizer does.
+     *
+     * @param input The raw message content.
+     * @return The longest matching prefix or null if the input doesn't start with any.
+     */
+    @Nullable
+    public String match(@NotNull final CharSequence input) {
+        final int length = input.length();
+        final int start = skipWhitespace(input);
+
+        Node node = root;
+        String matched = null;
+
+        for (int i = start; ; i++) {
+            if (node.prefix != null && i < length && isWordCharacter(input.charAt(i))) matched = node.prefix;
+            if (i >= length) break;
+
+            node = node.child(input.charAt(i));
+            if (node == null) break;
+        }
+
+        return matched;
+    }
+
+    /**
+     * Checks if the input starts with a single prefix, following the same rules as {@link #match(CharSequence)}.
+     * Used for prefixes that change per guild, which aren't compiled into a matcher.
+     *
+     * @param input  The raw message content.
+     * @param prefix The prefix to check.
+     * @return True if the input starts with the prefix followed by a word character.
+     */
+    public static boolean matches(@NotNull final CharSequence input, @NotNull final String prefix) {
+        final int start = skipWhitespace(input);
+        final int end = start + prefix.length();
+        if (prefix.isEmpty() || end >= input.length()) return false;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(start + i) != prefix.charAt(i)) return false;
+        }
+
+        return isWordCharacter(input.charAt(end));
+    }
+
+    private static int skipWhitespace(@NotNull final CharSequence input) {
+        int index = 0;
+        while (index < input.length() && Character.isWhitespace(input.charAt(index))) index++;
+        return index;
+    }
+
+    /**
+     * Checks if the character is part of the <code>\w</code> regex class.
+     *
+     * @param character The character to check.
+     * @return True if it's an ASCII letter, digit or underscore.
+     */
+    private static boolean isWordCharacter(final char character) {
+        return (character >= 'a' && character <= 'z') ||
+                (character >= 'A' && character <= 'Z') ||
+                (character >= '0' && character <= '9') ||
+                character == '_';
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "PrefixMatcher{root=" + root + '}';
+    }
+
+    private static final class Node {
+
+        private final String prefix;
+        // Sorted, so children are found with a binary search
+        private final char[] keys;
+        private final Node[] children;
+
+        private Node(@Nullable final String prefix, @NotNull final char[] keys, @NotNull final Node[] children) {
+            this.prefix = prefix;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        @Nullable
+        private Node child(final char key) {
+            final char[] keys = this.keys;
+            if (keys.length == 1) return keys[0] == key ? children[0] : null;
+
+            final int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return "Node{" +
+                    "prefix=" + prefix +
+                    ", keys=" + Arrays.toString(keys) +
+                    '}';
+        }
+    }
+
+    private static final class MutableNode {
+
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private String prefix = null;
+
+        @NotNull
+        private Node freeze() {
+            final char[] keys = new char[children.size()];
+            final Node[] frozen = new Node[children.size()];
+
+            int index = 0;
+            for (final Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                keys[index] = entry.getKey();
+                frozen[index] = entry.getValue().freeze();
+                index++;
+            }
+
+            return new Node(prefix, keys, frozen);
+        }
+    }
+}
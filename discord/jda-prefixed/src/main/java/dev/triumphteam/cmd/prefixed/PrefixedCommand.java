@@ -23,20 +23,20 @@
  */
 package dev.triumphteam.cmd.prefixed;
 
+import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.Command;
+import dev.triumphteam.cmd.core.CommandTree;
 import dev.triumphteam.cmd.core.SubCommand;
-import dev.triumphteam.cmd.core.annotation.Default;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmd.prefixed.sender.PrefixedSender;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Main implementation of the command for prefixed JDA.
@@ -45,7 +45,9 @@ import java.util.Map;
  */
 final class PrefixedCommand<S> implements Command<S, PrefixedSubCommand<S>> {
 
-    private final Map<String, PrefixedSubCommand<S>> subCommands = new HashMap<>();
+    // Rebuilt and republished on registration, so dispatching threads never need a lock
+    private volatile CommandTree<PrefixedSubCommand<S>> subCommands = CommandTree.empty();
+    private volatile PrefixedSubCommand<S> defaultSubCommand = null;
 
     private final String name;
     private final List<String> alias;
@@ -74,12 +76,38 @@ final class PrefixedCommand<S> implements Command<S, PrefixedSubCommand<S>> {
     }
 
     @Override
-    public void addSubCommands(
+    public synchronized void addSubCommands(
             @NotNull final Map<String, PrefixedSubCommand<S>> subCommands,
             @NotNull final Map<String, PrefixedSubCommand<S>> subCommandAliases
     ) {
-        this.subCommands.putAll(subCommands);
-        this.subCommands.putAll(subCommandAliases);
+        final CommandTree.Builder<PrefixedSubCommand<S>> builder = this.subCommands.toBuilder();
+        subCommands.forEach((name, subCommand) -> {
+            if (subCommand.isDefault()) {
+                defaultSubCommand = subCommand;
+                return;
+            }
+
+            builder.name(name, subCommand);
+        });
+        subCommandAliases.forEach(builder::alias);
+
+        this.subCommands = builder.build();
+    }
+
+    @Override
+    public boolean removeSubCommands(@NotNull final BaseCommand baseCommand) {
+        return removeSubCommandsIf(it -> it.getBaseCommand() == baseCommand);
+    }
+
+    @Override
+    public synchronized boolean removeSubCommandsIf(@NotNull final Predicate<? super PrefixedSubCommand<S>> filter) {
+        final PrefixedSubCommand<S> defaultSubCommand = this.defaultSubCommand;
+        if (defaultSubCommand != null && filter.test(defaultSubCommand)) {
+            this.defaultSubCommand = null;
+        }
+
+        this.subCommands = subCommands.toBuilder().removeIf(filter).build();
+        return subCommands.isEmpty() && this.defaultSubCommand == null;
     }
 
     /**
@@ -89,14 +117,8 @@ final class PrefixedCommand<S> implements Command<S, PrefixedSubCommand<S>> {
      * @param args   The command arguments.
      */
     public void execute(@NotNull final S sender, @NotNull final List<String> args) {
-        SubCommand<S> subCommand = getDefaultSubCommand();
-
-        String subCommandName = "";
-        if (args.size() > 0) subCommandName = args.get(0).toLowerCase();
-
-        if (subCommand == null || subCommandExists(subCommandName)) {
-            subCommand = getSubCommand(subCommandName);
-        }
+        SubCommand<S> subCommand = args.isEmpty() ? null : subCommands.get(args.get(0));
+        if (subCommand == null) subCommand = defaultSubCommand;
 
         if (subCommand == null) {
             //sender.sendMessage("Command doesn't exist matey.");
@@ -108,35 +130,4 @@ final class PrefixedCommand<S> implements Command<S, PrefixedSubCommand<S>> {
         subCommand.execute(sender, arguments);
     }
 
-    /**
-     * Gets the default sub command or null if there is none.
-     *
-     * @return The default sub command.
-     */
-    @Nullable
-    private SubCommand<S> getDefaultSubCommand() {
-        return subCommands.get(Default.DEFAULT_CMD_NAME);
-    }
-
-    /**
-     * Gets the valid sub command for the given name or null if there is none.
-     *
-     * @param key The sub command name.
-     * @return A sub command or null.
-     */
-    @Nullable
-    private SubCommand<S> getSubCommand(@NotNull final String key) {
-        return subCommands.get(key);
-    }
-
-    /**
-     * Checks if the given sub command exists.
-     *
-     * @param key The sub command name.
-     * @return True if the sub command exists.
-     */
-    private boolean subCommandExists(@NotNull final String key) {
-        return subCommands.containsKey(key);
-    }
-
 }
@@ -23,15 +23,20 @@
  */
 package dev.triumphteam.cmd.prefixed;
 
+import dev.triumphteam.cmd.core.CommandTree;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
 import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
+import dev.triumphteam.cmd.core.sender.LazySender;
+import dev.triumphteam.cmd.prefixed.sender.PrefixedSender;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Main executor for the commands.
@@ -40,7 +45,7 @@ import java.util.Map;
  */
 final class PrefixedCommandExecutor<S> {
 
-    private final Map<String, PrefixedCommand<S>> commands = new HashMap<>();
+    private volatile CommandTree<PrefixedCommand<S>> commands = CommandTree.empty();
 
     private final MessageRegistry<S> messageRegistry;
 
@@ -62,38 +67,68 @@ final class PrefixedCommandExecutor<S> {
      *
      * @param processor The processor with all the command data.
      */
-    public void register(@NotNull final PrefixedCommandProcessor<S> processor) {
+    public synchronized void register(@NotNull final PrefixedCommandProcessor<S> processor) {
         final String name = processor.getName();
 
-        final PrefixedCommand<S> command = commands.computeIfAbsent(name, p -> new PrefixedCommand<>(processor, syncExecutionProvider, asyncExecutionProvider));
+        PrefixedCommand<S> command = commands.get(name);
+        if (command == null) {
+            command = new PrefixedCommand<>(processor, syncExecutionProvider, asyncExecutionProvider);
 
-        for (final String alias : processor.getAlias()) {
-            commands.putIfAbsent(alias, command);
+            final CommandTree.Builder<PrefixedCommand<S>> builder = commands.toBuilder().name(name, command);
+            for (final String alias : processor.getAlias()) {
+                builder.alias(alias, command);
+            }
+            commands = builder.build();
         }
 
         command.addSubCommands(processor.getSubCommands(), processor.getSubCommandsAlias());
     }
 
+    /**
+     * Removes every sub command matching the filter.
+     * Commands left empty are dropped from a rebuilt tree, which replaces the current one in a single write.
+     *
+     * @param filter The filter for the sub commands to remove.
+     * @return Whether this executor has no commands left.
+     */
+    public synchronized boolean unregister(@NotNull final Predicate<? super PrefixedSubCommand<S>> filter) {
+        final Set<PrefixedCommand<S>> emptied = Collections.newSetFromMap(new IdentityHashMap<>());
+        commands.forEach((name, command) -> {
+            if (command.removeSubCommandsIf(filter)) emptied.add(command);
+        });
+
+        if (!emptied.isEmpty()) commands = commands.toBuilder().removeIf(emptied::contains).build();
+        return commands.isEmpty();
+    }
+
+    /**
+     * Checks if this executor has any command registered.
+     *
+     * @return Whether no command is registered.
+     */
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
     /**
      * Executes the given command for the given sender.
      *
      * @param commandName The command name.
-     * @param sender      The command sender.
+     * @param sender      The command sender, mapped once it's needed.
      * @param args        The command arguments.
      */
     public void execute(
             @NotNull final String commandName,
-            @NotNull final S sender,
+            @NotNull final LazySender<PrefixedSender, S> sender,
             @NotNull final List<String> args
     ) {
-
         final PrefixedCommand<S> command = commands.get(commandName);
         if (command == null) {
-            messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, sender, new DefaultMessageContext(commandName, ""));
+            messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, sender.get(), new DefaultMessageContext(commandName, ""));
             return;
         }
 
-        command.execute(sender, args);
+        command.execute(sender.get(), args);
     }
 
 }
@@ -27,20 +27,16 @@ import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
 import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.sender.LazySender;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
+import dev.triumphteam.cmd.core.tokenizer.TokenizedInput;
+import dev.triumphteam.cmd.core.tokenizer.Tokenizer;
 import dev.triumphteam.cmd.prefixed.sender.PrefixedSender;
-import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Listener for the JDA's {@link MessageReceivedEvent}, which triggers the command execution.
@@ -74,48 +70,51 @@ final class PrefixedCommandListener<S> extends ListenerAdapter {
         final User author = event.getAuthor();
         if (author.isBot()) return;
 
-        final Guild guild = event.getGuild();
         final Message message = event.getMessage();
-        final List<String> args = Arrays.asList(message.getContentRaw().split(" "));
-
-        final S sender = senderMapper.map(new PrefixedCommandSender(message));
-
-        if (args.isEmpty()) return;
-
-        final String firstArg = args.get(0);
-        final String prefix = getPrefix(firstArg);
+        final String content = message.getContentRaw();
+        final boolean fromGuild = event.isFromGuild();
+        final long guildId = fromGuild ? event.getGuild().getIdLong() : 0L;
+
+        // Rejects messages that aren't commands before anything is split or allocated
+        String prefix = commandManager.getPrefixMatcher().match(content);
+        String commandPrefix = prefix;
+
+        // A guild's custom prefix only replaces the global one, so a command's own prefix never asks the provider
+        final String globalPrefix = commandManager.getGlobalPrefix();
+        if (fromGuild && (prefix == null || prefix.equals(globalPrefix))) {
+            final String guildPrefix = commandManager.getGuildPrefix(guildId);
+            if (guildPrefix != null) {
+                if (PrefixMatcher.matches(content, guildPrefix)) {
+                    prefix = guildPrefix;
+                    commandPrefix = globalPrefix;
+                } else {
+                    prefix = null;
+                }
+            }
+        }
 
         if (prefix == null) return;
 
-        final String commandName = firstArg.replace(prefix, "");
+        try (final TokenizedInput args = Tokenizer.acquire(content)) {
+            if (args.isEmpty()) return;
 
-        PrefixedCommandExecutor<S> commandExecutor = commandManager.getCommand(prefix);
-        if (commandExecutor == null) commandExecutor = commandManager.getCommand(guild, prefix);
-        if (commandExecutor == null) {
-            messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, sender, new DefaultMessageContext(commandName, ""));
-            return;
-        }
+            final String firstArg = args.get(0);
+            if (!firstArg.startsWith(prefix)) return;
 
-        commandExecutor.execute(commandName, sender, args.subList(1, args.size()));
-    }
+            final String commandName = firstArg.substring(prefix.length());
 
-    /**
-     * Checks if the command string contains a valid prefix, returns null if it doesn't.
-     *
-     * @param command The command string.
-     * @return A prefix from the allowed prefixes.
-     */
-    @Nullable
-    private String getPrefix(final String command) {
-        for (Pattern prefix : commandManager.getPrefixesRegexes()) {
-            final Matcher matcher = prefix.matcher(command);
+            // Most messages aren't commands, so the sender is only created and mapped once one is needed
+            final LazySender<PrefixedSender, S> sender = LazySender.of(senderMapper, new PrefixedCommandSender(message));
 
-            if (matcher.find()) {
-                return matcher.group("prefix");
+            PrefixedCommandExecutor<S> commandExecutor = commandManager.getCommand(commandPrefix);
+            if (commandExecutor == null && fromGuild) commandExecutor = commandManager.getCommand(guildId, commandPrefix);
+            if (commandExecutor == null) {
+                messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, sender.get(), new DefaultMessageContext(commandName, ""));
+                return;
             }
-        }
 
-        return null;
+            commandExecutor.execute(commandName, sender, args.subList(1, args.size()));
+        }
     }
 
 }
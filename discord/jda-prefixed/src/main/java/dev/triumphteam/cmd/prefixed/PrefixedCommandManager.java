@@ -26,12 +26,17 @@ package dev.triumphteam.cmd.prefixed;
 import com.google.common.primitives.Longs;
 import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.CommandManager;
+import dev.triumphteam.cmd.core.cache.LongExpiringCache;
 import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
-import dev.triumphteam.cmd.core.execution.AsyncExecutionProvider;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
+import dev.triumphteam.cmd.core.execution.AsyncExecutionProvider;
+import dev.triumphteam.cmd.core.execution.ThreadPoolExecutionProvider;
 import dev.triumphteam.cmd.core.message.MessageKey;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
+import dev.triumphteam.cmd.core.registry.LongRegistryMap;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmd.prefixed.sender.PrefixedSender;
@@ -46,10 +51,14 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,6 +67,12 @@ import java.util.regex.Pattern;
  * Allows for registering of global and guild specific commands.
  * As well the implementation of custom command senders.
  *
+ * By default <code>@Async</code> commands run on the common pool through the {@link AsyncExecutionProvider}, which has no bound.
+ * For bots with heavy traffic a {@link ThreadPoolExecutionProvider} is recommended instead, passed to the constructor
+ * that takes an async {@link ExecutionProvider}, since it limits the threads and queue, and exposes their counters:
+ * {@code ThreadPoolExecutionProvider.builder().threads(8).queueSize(256).build()}.
+ * The provider isn't closed by the manager, close it when shutting down.
+ *
  * @param <S> The sender type.
  */
 public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSender, S> {
@@ -69,24 +84,28 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
 
     private final RegistryContainer<S> registryContainer = new RegistryContainer<>();
 
-    private final Set<String> prefixes = new HashSet<>();
-    private final Set<Pattern> prefixesRegexes = new HashSet<>();
-    private final Map<String, PrefixedCommandExecutor<S>> globalCommands = new HashMap<>();
-    private final Map<Long, Map<String, PrefixedCommandExecutor<S>>> guildCommands = new HashMap<>();
+    // Read by the listener for every message, so all of these are copy-on-write
+    private final Set<String> prefixes = new CopyOnWriteArraySet<>();
+    private volatile PrefixMatcher prefixMatcher = PrefixMatcher.empty();
+    private final RegistryMap<String, PrefixedCommandExecutor<S>> globalCommands = new RegistryMap<>();
+    private final LongRegistryMap<RegistryMap<String, PrefixedCommandExecutor<S>>> guildCommands = new LongRegistryMap<>();
+    private volatile GuildPrefixes guildPrefixes = null;
 
     private final String globalPrefix;
 
     private final ExecutionProvider syncExecutionProvider = new SyncExecutionProvider();
-    private final ExecutionProvider asyncExecutionProvider = new AsyncExecutionProvider();
+    private final ExecutionProvider asyncExecutionProvider;
 
     private PrefixedCommandManager(
             @NotNull final JDA jda,
             @NotNull final String globalPrefix,
             @NotNull final SenderMapper<PrefixedSender, S> senderMapper,
-            @NotNull final SenderValidator<S> senderValidator
+            @NotNull final SenderValidator<S> senderValidator,
+            @NotNull final ExecutionProvider asyncExecutionProvider
     ) {
         super(senderMapper, senderValidator);
         this.globalPrefix = globalPrefix;
+        this.asyncExecutionProvider = asyncExecutionProvider;
 
         jda.addEventListener(new PrefixedCommandListener<>(this, registryContainer, senderMapper));
     }
@@ -110,7 +129,37 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
             @NotNull final SenderMapper<PrefixedSender, S> senderMapper,
             @NotNull final SenderValidator<S> senderValidator
     ) {
-        return new PrefixedCommandManager<>(jda, globalPrefix, senderMapper, senderValidator);
+        return create(
+                jda,
+                globalPrefix,
+                senderMapper,
+                senderValidator,
+                new AsyncExecutionProvider()
+        );
+    }
+
+    /**
+     * Creates a new instance of the PrefixedCommandManager with a custom provider for <code>@Async</code> commands.
+     * By default, they run on the unbounded {@link AsyncExecutionProvider}, a bounded {@link ThreadPoolExecutionProvider} is recommended instead.
+     *
+     * @param jda                    The JDA instance.
+     * @param globalPrefix           The global prefix.
+     * @param senderMapper           The sender mapper.
+     * @param senderValidator        The sender validator.
+     * @param asyncExecutionProvider The provider used to run asynchronous commands.
+     * @param <S>                    The sender type.
+     * @return The new instance.
+     */
+    @NotNull
+    @Contract("_, _, _, _, _ -> new")
+    public static <S> PrefixedCommandManager<S> create(
+            @NotNull final JDA jda,
+            @NotNull final String globalPrefix,
+            @NotNull final SenderMapper<PrefixedSender, S> senderMapper,
+            @NotNull final SenderValidator<S> senderValidator,
+            @NotNull final ExecutionProvider asyncExecutionProvider
+    ) {
+        return new PrefixedCommandManager<>(jda, globalPrefix, senderMapper, senderValidator, asyncExecutionProvider);
     }
 
     /**
@@ -154,25 +203,41 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
     }
 
     /**
-     * Creates a new instance of the PrefixedCommandManager with its default sender.
+     * Creates a new instance of the PrefixedCommandManager with its default sender and a custom provider for <code>@Async</code> commands.
      *
-     * @param jda The JDA instance.
+     * @param jda                    The JDA instance.
+     * @param globalPrefix           The global prefix.
+     * @param asyncExecutionProvider The provider used to run asynchronous commands.
      * @return The new instance.
      */
     @NotNull
-    @Contract("_, -> new")
-    public static PrefixedCommandManager<PrefixedSender> create(@NotNull final JDA jda) {
-        return create(jda, "");
+    @Contract("_, _, _ -> new")
+    public static PrefixedCommandManager<PrefixedSender> create(
+            @NotNull final JDA jda,
+            @NotNull final String globalPrefix,
+            @NotNull final ExecutionProvider asyncExecutionProvider
+    ) {
+        final PrefixedCommandManager<PrefixedSender> manager = create(
+                jda,
+                globalPrefix,
+                SenderMapper.defaultMapper(),
+                new PrefixedSenderValidator(),
+                asyncExecutionProvider
+        );
+        setUpDefaults(manager);
+        return manager;
     }
 
     /**
-     * Registers a global command.
+     * Creates a new instance of the PrefixedCommandManager with its default sender.
      *
-     * @param baseCommand The {@link BaseCommand} to be registered.
+     * @param jda The JDA instance.
+     * @return The new instance.
      */
-    @Override
-    public void registerCommand(@NotNull final BaseCommand baseCommand) {
-        addCommand(null, baseCommand);
+    @NotNull
+    @Contract("_, -> new")
+    public static PrefixedCommandManager<PrefixedSender> create(@NotNull final JDA jda) {
+        return create(jda, "");
     }
 
     /**
@@ -182,7 +247,10 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
      * @param baseCommand The {@link BaseCommand} to be registered.
      */
     public void registerCommand(@NotNull final Guild guild, @NotNull final BaseCommand baseCommand) {
-        addCommand(guild, baseCommand);
+        final PrefixedCommandProcessor<S> processor = scanCommand(baseCommand);
+        synchronized (this) {
+            addCommand(guild, processor);
+        }
     }
 
     /**
@@ -197,24 +265,102 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
         }
     }
 
+    /**
+     * Sets the provider for the guilds' custom prefixes, caching up to 4096 guilds for 10 minutes.
+     * In a guild with a custom prefix, commands using the global prefix answer to the custom one instead,
+     * commands with their own prefix keep it.
+     *
+     * @param provider The {@link GuildPrefixProvider} to load the prefixes from.
+     */
+    public void setGuildPrefixProvider(@NotNull final GuildPrefixProvider provider) {
+        setGuildPrefixProvider(provider, Duration.ofMinutes(10), 4096);
+    }
+
+    /**
+     * Sets the provider for the guilds' custom prefixes.
+     * In a guild with a custom prefix, commands using the global prefix answer to the custom one instead,
+     * commands with their own prefix keep it.
+     *
+     * @param provider   The {@link GuildPrefixProvider} to load the prefixes from.
+     * @param timeToLive How long a loaded prefix is kept before it's loaded again.
+     * @param maxEntries The max amount of guilds to keep cached, rounded down to a power of two.
+     */
+    public void setGuildPrefixProvider(
+            @NotNull final GuildPrefixProvider provider,
+            @NotNull final Duration timeToLive,
+            final int maxEntries
+    ) {
+        if (globalPrefix.isEmpty()) {
+            throw new IllegalStateException("Custom guild prefixes replace the global prefix, which isn't set.");
+        }
+
+        guildPrefixes = new GuildPrefixes(provider, new LongExpiringCache<>(timeToLive.toNanos(), maxEntries));
+    }
+
+    /**
+     * Invalidates the cached custom prefix of a guild, should be called when its prefix changes.
+     *
+     * @param guildId The id of the guild.
+     */
+    public void invalidateGuildPrefix(final long guildId) {
+        final GuildPrefixes guildPrefixes = this.guildPrefixes;
+        if (guildPrefixes != null) guildPrefixes.cache.invalidate(guildId);
+    }
+
+    /**
+     * Unregisters every global and guild sub command declared in the given {@link BaseCommand}.
+     * Executors left without commands are removed, and so are the prefixes no other command uses anymore.
+     *
+     * @param command The {@link BaseCommand} to be unregistered.
+     */
     @Override
-    public void unregisterCommand(@NotNull final BaseCommand command) {
-        // TODO: 11/23/2021 Add unregistering commands and also guild commands
+    public synchronized void unregisterCommand(@NotNull final BaseCommand command) {
+        removeSubCommands(it -> it.getBaseCommand() == command);
     }
 
-    @NotNull
+    /**
+     * Removes the sub commands published for the processor, leaving other registrations of its {@link BaseCommand} alone.
+     *
+     * @param processor The processor holding the published command.
+     */
     @Override
-    protected RegistryContainer<S> getRegistryContainer() {
-        return registryContainer;
+    protected void unpublishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        removeSubCommands(processor::ownsSubCommand);
     }
 
     /**
-     * Adds a command to the manager.
+     * Removes every global and guild sub command matching the filter.
+     * Executors left without commands are removed, and so are the prefixes no other command uses anymore.
      *
-     * @param guild       The guild to add the command to or null if it's a global command.
-     * @param baseCommand The {@link BaseCommand} to be added.
+     * @param filter The filter for the sub commands to remove.
      */
-    private void addCommand(@Nullable final Guild guild, @NotNull final BaseCommand baseCommand) {
+    private void removeSubCommands(@NotNull final Predicate<? super PrefixedSubCommand<S>> filter) {
+        // An executor can be mapped under more than one key, so unregister each one only once
+        final Set<PrefixedCommandExecutor<S>> executors = Collections.newSetFromMap(new IdentityHashMap<>());
+        executors.addAll(globalCommands.values());
+        guildCommands.values().forEach(commands -> executors.addAll(commands.values()));
+        executors.forEach(executor -> executor.unregister(filter));
+
+        globalCommands.removeIf((prefix, executor) -> executor.isEmpty());
+        for (final RegistryMap<String, PrefixedCommandExecutor<S>> commands : guildCommands.values()) {
+            commands.removeIf((prefix, executor) -> executor.isEmpty());
+        }
+        guildCommands.removeIf(RegistryMap::isEmpty);
+
+        final Set<String> usedPrefixes = new HashSet<>(globalCommands.snapshot().keySet());
+        guildCommands.values().forEach(commands -> usedPrefixes.addAll(commands.snapshot().keySet()));
+        if (prefixes.retainAll(usedPrefixes)) prefixMatcher = PrefixMatcher.of(prefixes);
+    }
+
+    @NotNull
+    @Override
+    protected RegistryContainer<S> getRegistryContainer() {
+        return registryContainer;
+    }
+
+    @NotNull
+    @Override
+    protected PrefixedCommandProcessor<S> scanCommand(@NotNull final BaseCommand baseCommand) {
         final PrefixedCommandProcessor<S> processor = new PrefixedCommandProcessor<>(
                 baseCommand,
                 registryContainer,
@@ -224,18 +370,38 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
                 asyncExecutionProvider
         );
 
-        String prefix = processor.getPrefix();
-        if (prefix.isEmpty()) {
-            if (globalPrefix.isEmpty()) {
-                throw new CommandRegistrationException("The command prefix cannot be empty.", baseCommand.getClass());
-            }
-
-            prefix = globalPrefix;
+        if (processor.getPrefix().isEmpty() && globalPrefix.isEmpty()) {
+            throw new CommandRegistrationException("The command prefix cannot be empty.", baseCommand.getClass());
         }
 
-        prefixes.add(prefix);
+        return processor;
+    }
+
+    /**
+     * Publishes a scanned command as a global command.
+     *
+     * @param processor The processor holding the scanned command.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void publishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        addCommand(null, (PrefixedCommandProcessor<S>) processor);
+    }
+
+    /**
+     * Adds a command to the manager.
+     *
+     * @param guild     The guild to add the command to or null if it's a global command.
+     * @param processor The processor holding the already scanned command.
+     */
+    private void addCommand(@Nullable final Guild guild, @NotNull final PrefixedCommandProcessor<S> processor) {
+        final String prefix = processor.getPrefix().isEmpty() ? globalPrefix : processor.getPrefix();
+
         // TODO: 11/26/2021 Join into a map
-        prefixesRegexes.add(Pattern.compile("^(?<prefix>" + Pattern.quote(prefix) + ")[\\w]"));
+        // The matcher is immutable, so it's only recompiled when a new prefix shows up
+        synchronized (this) {
+            if (prefixes.add(prefix)) prefixMatcher = PrefixMatcher.of(prefixes);
+        }
 
         // Global command
         if (guild == null) {
@@ -254,7 +420,7 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
 
         // Guild command
         final PrefixedCommandExecutor<S> commandExecutor = guildCommands
-                .computeIfAbsent(guild.getIdLong(), ignored -> new HashMap<>())
+                .computeIfAbsent(guild.getIdLong(), ignored -> new RegistryMap<>())
                 .computeIfAbsent(
                         prefix,
                         ignored -> new PrefixedCommandExecutor<>(
@@ -275,13 +441,13 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
     /**
      * Gets a guild command.
      *
-     * @param guild  The {@link Guild} to get the command from.
-     * @param prefix The prefix of the command.
+     * @param guildId The id of the guild to get the command from.
+     * @param prefix  The prefix of the command.
      * @return The {@link BaseCommand} or null if it doesn't exist.
      */
     @Nullable
-    PrefixedCommandExecutor<S> getCommand(@NotNull final Guild guild, @NotNull final String prefix) {
-        final Map<String, PrefixedCommandExecutor<S>> commands = guildCommands.get(guild.getIdLong());
+    PrefixedCommandExecutor<S> getCommand(final long guildId, @NotNull final String prefix) {
+        final RegistryMap<String, PrefixedCommandExecutor<S>> commands = guildCommands.get(guildId);
         return commands != null ? commands.get(prefix) : null;
     }
 
@@ -307,13 +473,36 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
     }
 
     /**
-     * Gets a {@link Set} with all registered prefixes regexes.
+     * Gets the global prefix, used by commands without their own prefix.
      *
-     * @return A {@link Set} with all the registered prefixes regexes.
+     * @return The global prefix, empty if there is none.
      */
     @NotNull
-    Set<Pattern> getPrefixesRegexes() {
-        return prefixesRegexes;
+    String getGlobalPrefix() {
+        return globalPrefix;
+    }
+
+    /**
+     * Gets the custom prefix of a guild, loading it from the {@link GuildPrefixProvider} if it isn't cached.
+     *
+     * @param guildId The id of the guild.
+     * @return The custom prefix or null if there is none.
+     */
+    @Nullable
+    String getGuildPrefix(final long guildId) {
+        final GuildPrefixes guildPrefixes = this.guildPrefixes;
+        if (guildPrefixes == null) return null;
+        return guildPrefixes.cache.get(guildId, guildPrefixes.loader);
+    }
+
+    /**
+     * Gets the {@link PrefixMatcher} compiled from all the registered prefixes.
+     *
+     * @return The current {@link PrefixMatcher}.
+     */
+    @NotNull
+    PrefixMatcher getPrefixMatcher() {
+        return prefixMatcher;
     }
 
     private static void setUpDefaults(@NotNull final PrefixedCommandManager<PrefixedSender> manager) {
@@ -321,6 +510,7 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
         manager.registerMessage(MessageKey.TOO_MANY_ARGUMENTS, (sender, context) -> sender.getMessage().reply("Invalid usage.").queue());
         manager.registerMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, (sender, context) -> sender.getMessage().reply("Invalid usage.").queue());
         manager.registerMessage(MessageKey.INVALID_ARGUMENT, (sender, context) -> sender.getMessage().reply("Invalid argument `" + context.getTypedArgument() + "` for type `" + context.getArgumentType().getSimpleName() + "`.").queue());
+        manager.registerMessage(MessageKey.RESOLUTION_TIMEOUT, (sender, context) -> sender.getMessage().reply("The command took too long to respond, try again.").queue());
 
         manager.registerArgument(User.class, (sender, arg) -> {
             final JDA jda = sender.getJDA();
@@ -368,4 +558,15 @@ public final class PrefixedCommandManager<S> extends CommandManager<PrefixedSend
         });
     }
 
+    private static final class GuildPrefixes {
+
+        private final LongFunction<String> loader;
+        private final LongExpiringCache<String> cache;
+
+        private GuildPrefixes(@NotNull final GuildPrefixProvider provider, @NotNull final LongExpiringCache<String> cache) {
+            // Created once, so the dispatch path doesn't allocate a new lambda per message
+            this.loader = provider::getPrefix;
+            this.cache = cache;
+        }
+    }
 }
@@ -5,4 +5,14 @@ plugins {
 
 dependencies {
     api(project(":triumph-cmd-jda-common"))
-}
\ No newline at end of file
+
+    testImplementation(libs.junit.api)
+    testImplementation(libs.junit.engine)
+    testImplementation(libs.assertj)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
+}
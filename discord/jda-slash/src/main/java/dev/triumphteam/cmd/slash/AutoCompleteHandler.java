@@ -0,0 +1,237 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash;
+
+import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.argument.InternalArgument;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
+import dev.triumphteam.cmd.core.cache.ExpiringCache;
+import dev.triumphteam.cmd.core.execution.ExecutionProvider;
+import dev.triumphteam.cmd.core.sender.SenderMapper;
+import dev.triumphteam.cmd.core.suggestion.SuggestionContext;
+import dev.triumphteam.cmd.core.util.FutureUtils;
+import dev.triumphteam.cmd.slash.sender.SlashSender;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers autocomplete interactions with the suggestions of the focused option's argument.
+ * Results are cached per guild, command, sub command, focused option and the values of every option, unless the
+ * argument's suggestions are sender scoped, those are never shared. The suggestions are resolved on the async
+ * {@link ExecutionProvider} and, if they take longer than the deadline or the provider rejects them, the interaction
+ * is answered with the last result for the same input, even if expired, or with no choices.
+ * A late result is still cached for the next time.
+ *
+ * @param <S> The sender type.
+ */
+final class AutoCompleteHandler<S> {
+
+    // Discord's limits for autocomplete choices
+    private static final int MAX_CHOICES = 25;
+    private static final int MAX_CHOICE_LENGTH = 100;
+
+    private final SenderMapper<SlashSender, S> senderMapper;
+    private final ExecutionProvider executionProvider;
+    private final ExpiringCache<Key, List<String>> cache;
+    private final long deadlineMillis;
+
+    public AutoCompleteHandler(
+            @NotNull final SenderMapper<SlashSender, S> senderMapper,
+            @NotNull final ExecutionProvider executionProvider,
+            final long timeToLiveMillis,
+            final int maxEntries,
+            final long deadlineMillis
+    ) {
+        this.senderMapper = senderMapper;
+        this.executionProvider = executionProvider;
+        this.cache = new ExpiringCache<>(TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis), maxEntries);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Answers the autocomplete interaction for the given command.
+     *
+     * @param event   The autocomplete event.
+     * @param command The command being typed.
+     */
+    public void handle(@NotNull final CommandAutoCompleteInteractionEvent event, @NotNull final SlashCommand<S> command) {
+        final String subCommandName = event.getSubcommandName() != null ? event.getSubcommandName() : Default.DEFAULT_CMD_NAME;
+        final SlashSubCommand<S> subCommand = command.getSubCommand(subCommandName);
+        if (subCommand == null) {
+            reply(event, Collections.emptyList());
+            return;
+        }
+
+        final AutoCompleteQuery focused = event.getFocusedOption();
+        final InternalArgument<S, ?> argument = subCommand.getOptionArgument(focused.getName());
+        if (argument == null) {
+            reply(event, Collections.emptyList());
+            return;
+        }
+
+        final String current = focused.getValue();
+        final List<String> values = subCommand.getOptionValues(event.getOptions());
+
+        // Sender scoped suggestions differ between users, so they skip this cache and rely on their own
+        final Key key = argument.hasSenderScopedSuggestions()
+                ? null
+                : new Key(event.isFromGuild() ? event.getGuild().getIdLong() : 0L, event.getName(), subCommandName, focused.getName(), values);
+
+        if (key != null) {
+            final List<String> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                reply(event, cached);
+                return;
+            }
+        }
+
+        final List<String> stale = key != null ? cache.peek(key) : null;
+        final CompletableFuture<List<String>> future = new CompletableFuture<>();
+        try {
+            executionProvider.execute(() -> {
+                try {
+                    final S sender = senderMapper.map(new SlashAutoCompleteSender(event));
+                    final SuggestionContext context = new SuggestionContext(values, event.getName(), subCommandName);
+                    future.complete(rank(argument.suggestions(sender, Collections.singletonList(current), context), current));
+                } catch (final Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (final RejectedExecutionException exception) {
+            reply(event, stale != null ? stale : Collections.emptyList());
+            return;
+        }
+
+        if (key != null) future.thenAccept(result -> cache.put(key, result));
+        FutureUtils.within(future, deadlineMillis, TimeUnit.MILLISECONDS).whenComplete((ignored, throwable) -> {
+            final List<String> result = FutureUtils.resultOrNull(future);
+            if (result != null) reply(event, result);
+            else reply(event, stale != null ? stale : Collections.emptyList());
+        });
+    }
+
+    /**
+     * Invalidates all the cached results.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gets the statistics of the result cache.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Ranks the suggestions and keeps the best ones that Discord accepts.
+     * An exact match comes first, then the ones starting with the typed value in the same case, then the shortest,
+     * and finally in alphabetical order. Only the best {@link #MAX_CHOICES} are kept, using a bounded heap instead of
+     * sorting every suggestion.
+     *
+     * @param suggestions The suggestions, already filtered by the typed value.
+     * @param current     The typed value.
+     * @return The ranked choices.
+     */
+    @NotNull
+    static List<String> rank(@NotNull final List<String> suggestions, @NotNull final String current) {
+        final Comparator<String> ranking = Comparator
+                .comparingInt((String suggestion) -> suggestion.equalsIgnoreCase(current) ? 0 : 1)
+                .thenComparingInt(suggestion -> suggestion.startsWith(current) ? 0 : 1)
+                .thenComparingInt(String::length)
+                .thenComparing(String.CASE_INSENSITIVE_ORDER);
+
+        // The head is the worst of the kept choices, so it's the one replaced by a better one
+        final PriorityQueue<String> best = new PriorityQueue<>(MAX_CHOICES + 1, ranking.reversed());
+        for (final String suggestion : suggestions) {
+            if (suggestion.isEmpty() || suggestion.length() > MAX_CHOICE_LENGTH) continue;
+            best.add(suggestion);
+            if (best.size() > MAX_CHOICES) best.poll();
+        }
+
+        final List<String> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        return Collections.unmodifiableList(ranked);
+    }
+
+    private static void reply(@NotNull final CommandAutoCompleteInteractionEvent event, @NotNull final List<String> choices) {
+        event.replyChoiceStrings(choices).queue();
+    }
+
+    private static final class Key {
+
+        private final long guildId;
+        private final String command;
+        private final String subCommand;
+        private final String option;
+        private final List<String> values;
+
+        private Key(
+                final long guildId,
+                @NotNull final String command,
+                @NotNull final String subCommand,
+                @NotNull final String option,
+                @NotNull final List<String> values
+        ) {
+            this.guildId = guildId;
+            this.command = command;
+            this.subCommand = subCommand;
+            this.option = option;
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key that = (Key) o;
+            return guildId == that.guildId &&
+                    command.equals(that.command) &&
+                    subCommand.equals(that.subCommand) &&
+                    option.equals(that.option) &&
+                    values.equals(that.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(guildId, command, subCommand, option, values);
+        }
+    }
+}
@@ -23,23 +23,29 @@
  */
 package dev.triumphteam.cmd.slash;
 
+import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.Command;
 import dev.triumphteam.cmd.core.SubCommand;
 import dev.triumphteam.cmd.core.annotation.Default;
 import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmd.slash.choices.ChoiceRegistry;
+import dev.triumphteam.cmd.slash.sync.SyncCommand;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -49,7 +55,7 @@ import java.util.stream.Collectors;
  */
 final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
 
-    private final Map<String, SlashSubCommand<S>> subCommands = new HashMap<>();
+    private final RegistryMap<String, SlashSubCommand<S>> subCommands = new RegistryMap<>();
 
     private final String name;
     private final String description;
@@ -65,7 +71,10 @@ final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
     private final ExecutionProvider syncExecutionProvider;
     private final ExecutionProvider asyncExecutionProvider;
 
-    private boolean isDefault = false;
+    private volatile boolean isDefault = false;
+
+    // Data built for the current sub commands and choice version, cleared whenever the sub commands change
+    private volatile BuiltData builtData = null;
 
     public SlashCommand(
             @NotNull final SlashCommandProcessor<S> processor,
@@ -99,7 +108,7 @@ final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
      * {@inheritDoc}
      */
     @Override
-    public void addSubCommands(
+    public synchronized void addSubCommands(
             @NotNull final Map<String, SlashSubCommand<S>> subCommands,
             @NotNull final Map<String, SlashSubCommand<S>> subCommandAliases
     ) {
@@ -110,26 +119,77 @@ final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
         }
 
         this.subCommands.putAll(subCommands);
+        builtData = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeSubCommands(@NotNull final BaseCommand baseCommand) {
+        return removeSubCommandsIf(it -> it.getBaseCommand() == baseCommand);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean removeSubCommandsIf(@NotNull final Predicate<? super SlashSubCommand<S>> filter) {
+        subCommands.removeIf((name, subCommand) -> filter.test(subCommand));
+        if (subCommands.isEmpty()) isDefault = false;
+        builtData = null;
+        return subCommands.isEmpty();
     }
 
     /**
      * Executes the current command for the given sender.
      *
-     * @param sender The sender.
-     * @param args   The command arguments.
+     * @param sender         The sender.
+     * @param subCommandName The name of the sub command to execute.
+     * @param options        The options of the interaction.
      */
     public void execute(
             @NotNull final S sender,
             @NotNull final String subCommandName,
-            @NotNull final Map<String, String> args
+            @NotNull final List<OptionMapping> options
     ) {
         final SlashSubCommand<S> subCommand = getSubCommand(subCommandName);
         if (subCommand == null) return;
-        subCommand.execute(sender, subCommand.mapArguments(args));
+        subCommand.executeInteraction(sender, options);
+    }
+
+    /**
+     * Gets the command to be synchronized with Discord, its data and privileges.
+     * It's built once and reused until the sub commands change or the registered choices are invalidated,
+     * so the returned data is shared and must not be modified.
+     *
+     * @return The {@link SyncCommand}.
+     */
+    @NotNull
+    public SyncCommand asSyncCommand() {
+        final long version = choiceRegistry.getVersion();
+        final BuiltData data = builtData;
+        if (data != null && data.version == version) return data.command;
+        return build(version);
+    }
+
+    @NotNull
+    private synchronized SyncCommand build(final long version) {
+        // Another thread may have built it while this one waited for the lock
+        final BuiltData data = builtData;
+        if (data != null && data.version == version) return data.command;
+
+        final List<CommandPrivilege> privileges = new ArrayList<>(enabledRoles.size() + disabledRoles.size());
+        enabledRoles.forEach(id -> privileges.add(new CommandPrivilege(CommandPrivilege.Type.ROLE, true, id)));
+        disabledRoles.forEach(id -> privileges.add(new CommandPrivilege(CommandPrivilege.Type.ROLE, false, id)));
+
+        final SyncCommand command = SyncCommand.of(createCommandData(), privileges);
+        builtData = new BuiltData(version, command);
+        return command;
     }
 
     @NotNull
-    public SlashCommandData asCommandData() {
+    private SlashCommandData createCommandData() {
         final SlashCommandData commandData = Commands.slash(name, description);
         commandData.setDefaultEnabled(enabledRoles.isEmpty());
 
@@ -142,6 +202,7 @@ final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
         }
 
         final List<SubcommandData> subData = subCommands
+                .snapshot()
                 .entrySet()
                 .stream()
                 .map(entry -> new SubcommandData(entry.getKey().toLowerCase(), entry.getValue().getDescription()).addOptions(entry.getValue().getJdaOptions()))
@@ -168,7 +229,21 @@ final class SlashCommand<S> implements Command<S, SlashSubCommand<S>> {
      * @return A sub command or null.
      */
     @Nullable
-    private SlashSubCommand<S> getSubCommand(@NotNull final String key) {
+    SlashSubCommand<S> getSubCommand(@NotNull final String key) {
         return subCommands.get(key);
     }
+
+    /**
+     * Built command together with the choice version it was built for.
+     */
+    private static final class BuiltData {
+
+        private final long version;
+        private final SyncCommand command;
+
+        private BuiltData(final long version, @NotNull final SyncCommand command) {
+            this.version = version;
+            this.command = command;
+        }
+    }
 }
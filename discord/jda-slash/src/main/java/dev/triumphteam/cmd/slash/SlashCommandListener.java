@@ -23,7 +23,6 @@
  */
 package dev.triumphteam.cmd.slash;
 
-import com.google.common.collect.Maps;
 import dev.triumphteam.cmd.core.annotation.Default;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.slash.sender.SlashSender;
@@ -34,12 +33,6 @@ import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEve
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 /**
  * Listener for handling slash command registration and execution.
  *
@@ -79,17 +72,15 @@ final class SlashCommandListener<S> extends ListenerAdapter {
         final S sender = senderMapper.map(new SlashCommandSender(event));
 
         final String subCommandName = event.getSubcommandName();
-
-        final Map<String, String> args = event.getOptions()
-                .stream()
-                .map(it -> Maps.immutableEntry(it.getName(), it.getAsString()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        command.execute(sender, subCommandName != null ? subCommandName : Default.DEFAULT_CMD_NAME, args);
+        command.execute(sender, subCommandName != null ? subCommandName : Default.DEFAULT_CMD_NAME, event.getOptions());
     }
 
-    private static final List<String> ass = Arrays.asList("Hello", "There", "Ass", "Fuck", "Hoy");
-
+    /**
+     * Handler for the autocomplete of the slash command options.
+     * Suggestions come from the focused option's argument, see {@link AutoCompleteHandler}.
+     *
+     * @param event The autocomplete event.
+     */
     @Override
     public void onCommandAutoCompleteInteraction(@NotNull final CommandAutoCompleteInteractionEvent event) {
         final String name = event.getName();
@@ -102,12 +93,7 @@ final class SlashCommandListener<S> extends ListenerAdapter {
 
         if (command == null) return;
 
-        // final S sender = senderMapper.map(new SlashCommandSender(event));
-        event.replyChoiceStrings(
-                ass.stream()
-                        .filter(it -> it.toLowerCase(Locale.ROOT).startsWith(event.getFocusedOption().getValue().toLowerCase(Locale.ROOT)))
-                        .collect(Collectors.toList())
-        ).queue();
+        commandManager.getAutoCompleteHandler().handle(event, command);
     }
 
     /**
@@ -117,6 +103,11 @@ final class SlashCommandListener<S> extends ListenerAdapter {
      */
     @Override
     public void onReady(@NotNull final ReadyEvent event) {
-        commandManager.updateAllCommands();
+        commandManager.updateAllCommands().exceptionally(throwable -> {
+            // Nothing else waits on the synchronization, so report it like JDA does for failed requests
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            return null;
+        });
     }
 }
@@ -23,18 +23,28 @@
  */
 package dev.triumphteam.cmd.slash;
 
-import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
 import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.CommandManager;
-import dev.triumphteam.cmd.core.execution.AsyncExecutionProvider;
+import dev.triumphteam.cmd.core.cache.CacheStatistics;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
 import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
+import dev.triumphteam.cmd.core.execution.AsyncExecutionProvider;
+import dev.triumphteam.cmd.core.execution.ThreadPoolExecutionProvider;
 import dev.triumphteam.cmd.core.message.MessageKey;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
+import dev.triumphteam.cmd.core.registry.LongRegistryMap;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import dev.triumphteam.cmd.slash.choices.ChoiceKey;
 import dev.triumphteam.cmd.slash.sender.SlashSender;
+import dev.triumphteam.cmd.slash.sync.CommandSyncClient;
+import dev.triumphteam.cmd.slash.sync.CommandSyncResult;
+import dev.triumphteam.cmd.slash.sync.CommandSynchronizer;
+import dev.triumphteam.cmd.slash.sync.JdaCommandSyncClient;
+import dev.triumphteam.cmd.slash.sync.SyncCommand;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -42,47 +52,75 @@ import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.VoiceChannel;
-import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Command Manager for Slash Commands.
  * Allows for registering of global and guild specific commands.
  * As well the implementation of custom command senders.
  *
+ * By default <code>@Async</code> commands run on the common pool through the {@link AsyncExecutionProvider}, which has no bound.
+ * For bots with heavy traffic a {@link ThreadPoolExecutionProvider} is recommended instead, passed to the constructor
+ * that takes an async {@link ExecutionProvider}, since it limits the threads and queue, and exposes their counters:
+ * {@code ThreadPoolExecutionProvider.builder().threads(8).queueSize(256).build()}.
+ * The provider isn't closed by the manager, close it when shutting down.
+ *
  * @param <S> The sender type.
  */
 public final class SlashCommandManager<S> extends CommandManager<SlashSender, S> {
 
-    private final JDA jda;
-
     private final SlashRegistryContainer<S> registryContainer = new SlashRegistryContainer<>();
 
-    private final Map<String, SlashCommand<S>> globalCommands = new HashMap<>();
-    private final Map<Long, Map<String, SlashCommand<S>>> guildCommands = new HashMap<>();
+    private final RegistryMap<String, SlashCommand<S>> globalCommands = new RegistryMap<>();
+    private final LongRegistryMap<RegistryMap<String, SlashCommand<S>>> guildCommands = new LongRegistryMap<>();
 
     private final ExecutionProvider syncExecutionProvider = new SyncExecutionProvider();
-    private final ExecutionProvider asyncExecutionProvider = new AsyncExecutionProvider();
+    private final ExecutionProvider asyncExecutionProvider;
+
+    private final SenderMapper<SlashSender, S> senderMapper;
+    private volatile AutoCompleteHandler<S> autoCompleteHandler;
+    private volatile CommandSynchronizer synchronizer;
+
+    private static final String DEFAULT_SYNC_STATE_FILE = "triumph-slash-commands";
 
     public SlashCommandManager(
             @NotNull final JDA jda,
             @NotNull final SenderMapper<SlashSender, S> senderMapper,
             @NotNull final SenderValidator<S> senderValidator
+    ) {
+        this(
+                jda,
+                senderMapper,
+                senderValidator,
+                new AsyncExecutionProvider()
+        );
+    }
+
+    public SlashCommandManager(
+            @NotNull final JDA jda,
+            @NotNull final SenderMapper<SlashSender, S> senderMapper,
+            @NotNull final SenderValidator<S> senderValidator,
+            @NotNull final ExecutionProvider asyncExecutionProvider
     ) {
         super(senderMapper, senderValidator);
-        this.jda = jda;
+        this.asyncExecutionProvider = asyncExecutionProvider;
+        this.senderMapper = senderMapper;
+        this.autoCompleteHandler = new AutoCompleteHandler<>(senderMapper, asyncExecutionProvider, 30_000L, 1024, 2_500L);
+        this.synchronizer = CommandSynchronizer.builder(new JdaCommandSyncClient(jda))
+                .stateFile(getDefaultSyncStateFile(jda))
+                .build();
 
         jda.addEventListener(new SlashCommandListener<>(this, senderMapper));
     }
@@ -107,6 +145,28 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
         return new SlashCommandManager<>(jda, senderMapper, senderValidator);
     }
 
+    /**
+     * Creates a new instance of the {@link SlashCommandManager} with a custom provider for <code>@Async</code> commands.
+     * By default, they run on the unbounded {@link AsyncExecutionProvider}, a bounded {@link ThreadPoolExecutionProvider} is recommended instead.
+     *
+     * @param jda                    The JDA instance created.
+     * @param senderMapper           The Mapper to get the custom sender from.
+     * @param senderValidator        The validator to validate the sender.
+     * @param asyncExecutionProvider The provider used to run asynchronous commands.
+     * @param <S>                    The type of the custom sender.
+     * @return A new instance of the {@link SlashCommandManager}.
+     */
+    @NotNull
+    @Contract("_, _, _, _ -> new")
+    public static <S> SlashCommandManager<S> create(
+            @NotNull final JDA jda,
+            @NotNull final SenderMapper<SlashSender, S> senderMapper,
+            @NotNull final SenderValidator<S> senderValidator,
+            @NotNull final ExecutionProvider asyncExecutionProvider
+    ) {
+        return new SlashCommandManager<>(jda, senderMapper, senderValidator, asyncExecutionProvider);
+    }
+
     /**
      * Creates a new instance of the {@link SlashCommandManager}.
      * This factory adds all the defaults based on the default sender {@link SlashSender}.
@@ -121,13 +181,27 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
     }
 
     /**
-     * Registers a global command.
+     * Creates a new instance of the {@link SlashCommandManager} with a custom provider for <code>@Async</code> commands.
+     * This factory adds all the defaults based on the default sender {@link SlashSender}.
      *
-     * @param baseCommand The {@link BaseCommand} to be registered.
+     * @param jda                    The JDA instance created.
+     * @param asyncExecutionProvider The provider used to run asynchronous commands.
+     * @return A new instance of the {@link SlashCommandManager}.
      */
-    @Override
-    public void registerCommand(@NotNull final BaseCommand baseCommand) {
-        addCommand(null, baseCommand, Collections.emptyList(), Collections.emptyList());
+    @NotNull
+    @Contract("_, _ -> new")
+    public static SlashCommandManager<SlashSender> create(
+            @NotNull final JDA jda,
+            @NotNull final ExecutionProvider asyncExecutionProvider
+    ) {
+        final SlashCommandManager<SlashSender> commandManager = create(
+                jda,
+                SenderMapper.defaultMapper(),
+                new SlashSenderValidator(),
+                asyncExecutionProvider
+        );
+        setUpDefaults(commandManager);
+        return commandManager;
     }
 
     /**
@@ -169,7 +243,9 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
             @NotNull final List<Long> enabledRoles,
             @NotNull final List<Long> disabledRoles
     ) {
-        addCommand(guild, baseCommand, enabledRoles, disabledRoles);
+        synchronized (this) {
+            addCommand(guild, baseCommand, enabledRoles, disabledRoles);
+        }
     }
 
     /**
@@ -184,51 +260,143 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
         }
     }
 
+    /**
+     * Configures how autocomplete results are cached and how long suggestions can take to resolve.
+     * Past the deadline, the interaction is answered with the last result for the same input or with no choices,
+     * so it should stay well below Discord's 3 seconds window. By default, results are kept for 30 seconds,
+     * up to 1024 of them, with a deadline of 2.5 seconds.
+     *
+     * @param timeToLive How long a result is cached.
+     * @param maxEntries The max amount of cached results.
+     * @param deadline   How long to wait for the suggestions before answering without them.
+     */
+    public void configureAutoComplete(
+            @NotNull final Duration timeToLive,
+            final int maxEntries,
+            @NotNull final Duration deadline
+    ) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) throw new IllegalArgumentException("The time to live must be positive");
+        if (maxEntries <= 0) throw new IllegalArgumentException("The max entries must be positive");
+        if (deadline.isNegative() || deadline.isZero()) throw new IllegalArgumentException("The deadline must be positive");
+
+        autoCompleteHandler = new AutoCompleteHandler<>(senderMapper, asyncExecutionProvider, timeToLive.toMillis(), maxEntries, deadline.toMillis());
+    }
+
+    /**
+     * Invalidates all the cached autocomplete results, for when the suggested data changes.
+     */
+    public void invalidateAutoComplete() {
+        autoCompleteHandler.invalidateAll();
+    }
+
+    /**
+     * Gets the statistics of the autocomplete result cache.
+     *
+     * @return The {@link CacheStatistics}.
+     */
+    @NotNull
+    public CacheStatistics getAutoCompleteStatistics() {
+        return autoCompleteHandler.getStatistics();
+    }
+
     public void registerChoices(@NotNull final ChoiceKey key, @NotNull final Supplier<List<String>> choiceSupplier) {
         registryContainer.getChoiceRegistry().register(key, choiceSupplier);
     }
 
+    /**
+     * Declares that the choices registered with the given key changed.
+     * Command data is built once and reused by every update, so without this the new choices won't reach Discord.
+     * The change is only pushed on the next {@link #updateAllCommands()}.
+     *
+     * @param key The key of the choices that changed.
+     */
+    public void invalidateChoices(@NotNull final ChoiceKey key) {
+        registryContainer.getChoiceRegistry().invalidate(key);
+    }
+
+    /**
+     * Unregisters every global and guild sub command declared in the given {@link BaseCommand}.
+     * Commands left without sub commands are removed, the change only reaches Discord on the next {@link #updateAllCommands()}.
+     * Guilds keep their (possibly empty) entry so that the update also clears their removed commands.
+     *
+     * @param command The {@link BaseCommand} to be unregistered.
+     */
     @Override
-    public void unregisterCommand(final @NotNull BaseCommand command) {
-        // TODO: 12/7/2021 Implement some sort of unregistering
+    public synchronized void unregisterCommand(final @NotNull BaseCommand command) {
+        globalCommands.removeIf((name, slashCommand) -> slashCommand.removeSubCommands(command));
+        for (final RegistryMap<String, SlashCommand<S>> commands : guildCommands.values()) {
+            commands.removeIf((name, slashCommand) -> slashCommand.removeSubCommands(command));
+        }
     }
 
     /**
-     * Updates all the commands in one go.
+     * Removes the global sub commands published for the processor, leaving other registrations of its {@link BaseCommand} alone.
+     *
+     * @param processor The processor holding the published command.
+     */
+    @Override
+    protected void unpublishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        globalCommands.removeIf((name, slashCommand) -> slashCommand.removeSubCommandsIf(processor::ownsSubCommand));
+    }
+
+    /**
+     * Synchronizes all the commands with Discord, only sending the ones that changed since the last time.
      * This should be used if the default trigger for the updating of the commands isn't working.
      * Or if commands are added after the initial setup.
+     *
+     * @return A future completed once every scope is synchronized, exceptionally if any of them failed.
+     * @see CommandSynchronizer
+     */
+    @NotNull
+    public CompletableFuture<Void> updateAllCommands() {
+        final CommandSynchronizer synchronizer = this.synchronizer;
+        final List<CompletableFuture<CommandSyncResult>> results = new ArrayList<>();
+
+        results.add(synchronizer.sync(CommandSyncClient.GLOBAL, toSyncCommands(globalCommands.values())));
+        guildCommands.forEach((guildId, commands) -> results.add(synchronizer.sync(guildId, toSyncCommands(commands.values()))));
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Replaces the {@link CommandSynchronizer} used to push the commands to Discord, closing the current one.
+     * By default, it uses a {@link JdaCommandSyncClient} and keeps its state in <code>triumph-slash-commands.properties</code>
+     * in the working directory, one file per shard, so unchanged commands aren't pushed again after a restart.
+     *
+     * @param synchronizer The new {@link CommandSynchronizer}.
+     */
+    public void setCommandSynchronizer(@NotNull final CommandSynchronizer synchronizer) {
+        final CommandSynchronizer previous = this.synchronizer;
+        this.synchronizer = synchronizer;
+        if (previous != synchronizer) previous.close();
+    }
+
+    /**
+     * Gets the file the default synchronizer keeps its state in, shards get their own so they don't overwrite each other.
+     *
+     * @param jda The JDA instance.
+     * @return The state file in the working directory.
+     */
+    @NotNull
+    private static Path getDefaultSyncStateFile(@NotNull final JDA jda) {
+        final JDA.ShardInfo shardInfo = jda.getShardInfo();
+        if (JDA.ShardInfo.SINGLE.equals(shardInfo)) return Paths.get(DEFAULT_SYNC_STATE_FILE + ".properties");
+        return Paths.get(DEFAULT_SYNC_STATE_FILE + '-' + shardInfo.getShardId() + ".properties");
+    }
+
+    /**
+     * Creates the payloads to synchronize, each command with the privileges of its roles.
+     *
+     * @param commands The commands of a scope.
+     * @return The {@link SyncCommand}s.
      */
-    public void updateAllCommands() {
-        jda.updateCommands().addCommands(globalCommands.values().stream().map(SlashCommand::asCommandData).collect(Collectors.toList())).queue();
-
-        guildCommands
-                .entrySet()
-                .stream()
-                .map(entry -> {
-                    final Guild guild = jda.getGuildById(entry.getKey());
-                    return guild != null ? Maps.immutableEntry(guild, entry.getValue()) : null;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
-                .forEach((guild, commands) -> guild.updateCommands()
-                        .addCommands(commands.values().stream().map(SlashCommand::asCommandData).collect(Collectors.toList()))
-                        .queue(cmds -> guild.updateCommandPrivileges(
-                                cmds.stream()
-                                        .map(cmd -> {
-                                            final SlashCommand<S> command = commands.get(cmd.getName());
-                                            if (command == null) return null;
-
-                                            final List<CommandPrivilege> privileges = Stream.concat(
-                                                    command.getEnabledRoles().stream().map(id -> new CommandPrivilege(CommandPrivilege.Type.ROLE, true, id)),
-                                                    command.getDisabledRoles().stream().map(id -> new CommandPrivilege(CommandPrivilege.Type.ROLE, false, id))
-                                            ).collect(Collectors.toList());
-
-                                            if (privileges.isEmpty()) return null;
-                                            return Maps.immutableEntry(cmd.getId(), privileges);
-                                        })
-                                        .filter(Objects::nonNull)
-                                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
-                        ).queue()));
+    @NotNull
+    private List<SyncCommand> toSyncCommands(@NotNull final Collection<SlashCommand<S>> commands) {
+        final List<SyncCommand> syncCommands = new ArrayList<>(commands.size());
+        for (final SlashCommand<S> command : commands) {
+            syncCommands.add(command.asSyncCommand());
+        }
+        return syncCommands;
     }
 
     @NotNull
@@ -249,7 +417,16 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
             @NotNull final List<Long> enabledRoles,
             @NotNull final List<Long> disabledRoles
     ) {
-        final SlashCommandProcessor<S> processor = new SlashCommandProcessor<>(
+        final SlashCommandProcessor<S> processor = scanCommand(baseCommand);
+        synchronized (this) {
+            addCommand(guild, processor, enabledRoles, disabledRoles);
+        }
+    }
+
+    @NotNull
+    @Override
+    protected SlashCommandProcessor<S> scanCommand(@NotNull final BaseCommand baseCommand) {
+        return new SlashCommandProcessor<>(
                 baseCommand,
                 registryContainer,
                 getSenderMapper(),
@@ -257,7 +434,25 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
                 syncExecutionProvider,
                 asyncExecutionProvider
         );
+    }
+
+    /**
+     * Publishes a scanned command as a global command.
+     *
+     * @param processor The processor holding the scanned command.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void publishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        addCommand(null, (SlashCommandProcessor<S>) processor, Collections.emptyList(), Collections.emptyList());
+    }
 
+    private void addCommand(
+            @Nullable final Guild guild,
+            @NotNull final SlashCommandProcessor<S> processor,
+            @NotNull final List<Long> enabledRoles,
+            @NotNull final List<Long> disabledRoles
+    ) {
         final String name = processor.getName();
 
         final List<Long> finalEnabledRoles = new ArrayList<>(enabledRoles);
@@ -272,7 +467,7 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
             command = globalCommands.computeIfAbsent(name, ignored -> new SlashCommand<>(processor, finalEnabledRoles, finalDisabledRoles, syncExecutionProvider, asyncExecutionProvider));
         } else {
             command = guildCommands
-                    .computeIfAbsent(guild.getIdLong(), map -> new HashMap<>())
+                    .computeIfAbsent(guild.getIdLong(), ignored -> new RegistryMap<>())
                     .computeIfAbsent(name, ignored -> new SlashCommand<>(processor, finalEnabledRoles, finalDisabledRoles, syncExecutionProvider, asyncExecutionProvider));
         }
 
@@ -299,10 +494,20 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
      */
     @Nullable
     SlashCommand<S> getCommand(@NotNull Guild guild, @NotNull final String name) {
-        final Map<String, SlashCommand<S>> commands = guildCommands.get(guild.getIdLong());
+        final RegistryMap<String, SlashCommand<S>> commands = guildCommands.get(guild.getIdLong());
         return commands != null ? commands.get(name) : null;
     }
 
+    /**
+     * Gets the handler answering autocomplete interactions.
+     *
+     * @return The current {@link AutoCompleteHandler}.
+     */
+    @NotNull
+    AutoCompleteHandler<S> getAutoCompleteHandler() {
+        return autoCompleteHandler;
+    }
+
     /**
      * Sets up all the default values for the default sender on the platform.
      *
@@ -313,13 +518,24 @@ public final class SlashCommandManager<S> extends CommandManager<SlashSender, S>
         manager.registerMessage(MessageKey.TOO_MANY_ARGUMENTS, (sender, context) -> sender.reply("Invalid usage.").setEphemeral(true).queue());
         manager.registerMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, (sender, context) -> sender.reply("Invalid usage.").setEphemeral(true).queue());
         manager.registerMessage(MessageKey.INVALID_ARGUMENT, (sender, context) -> sender.reply("Invalid argument `" + context.getTypedArgument() + "` for type `" + context.getArgumentType().getSimpleName() + "`.").setEphemeral(true).queue());
+        manager.registerMessage(MessageKey.RESOLUTION_TIMEOUT, (sender, context) -> sender.reply("The command took too long to respond, try again.").setEphemeral(true).queue());
 
         manager.registerArgument(Member.class, (sender, arg) -> {
             final Guild guild = sender.getGuild();
             if (guild == null) return null;
             return guild.getMemberById(arg);
         });
-        manager.registerArgument(User.class, (sender, arg) -> sender.getEvent().getJDA().retrieveUserById(arg));
+        manager.registerAsyncArgument(User.class, (sender, arg) -> {
+            final Long id = Longs.tryParse(arg);
+            if (id == null) return CompletableFuture.completedFuture(null);
+
+            final JDA jda = sender.getEvent().getJDA();
+            final User user = jda.getUserById(id);
+            if (user != null) return CompletableFuture.completedFuture(user);
+
+            // Unknown users fail the action, which counts as an invalid argument
+            return jda.retrieveUserById(id).submit();
+        });
         manager.registerArgument(TextChannel.class, (sender, arg) -> {
             final Guild guild = sender.getGuild();
             if (guild == null) return null;
@@ -30,11 +30,18 @@ import dev.triumphteam.cmd.slash.choices.Choice;
 import dev.triumphteam.cmd.slash.choices.EmptyChoice;
 import dev.triumphteam.cmd.slash.util.JdaOptionUtil;
 import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 final class SlashSubCommand<S> extends AbstractSubCommand<S> {
@@ -42,6 +49,11 @@ final class SlashSubCommand<S> extends AbstractSubCommand<S> {
     private final String description;
     private final List<Choice> choices;
 
+    // Option name to argument index and the typed reader of each argument, null for options read as strings
+    private final Map<String, Integer> optionIndexes = new HashMap<>();
+    private final Function<OptionMapping, Object>[] optionReaders;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public SlashSubCommand(
             @NotNull final SlashSubCommandProcessor<S> processor,
             @NotNull final String parentName,
@@ -50,6 +62,77 @@ final class SlashSubCommand<S> extends AbstractSubCommand<S> {
         super(processor, parentName, executionProvider);
         this.description = processor.getDescription();
         this.choices = processor.getChoices();
+
+        final List<InternalArgument<S, ?>> internalArguments = getArguments();
+        this.optionReaders = new Function[internalArguments.size()];
+        for (int i = 0; i < internalArguments.size(); i++) {
+            final InternalArgument<S, ?> internalArgument = internalArguments.get(i);
+            optionIndexes.put(internalArgument.getName(), i);
+            optionReaders[i] = JdaOptionUtil.readerFor(internalArgument.getType());
+        }
+    }
+
+    /**
+     * Executes the sub command with the options of the interaction.
+     * Each option goes straight into its argument's slot, typed options are read with their typed accessors
+     * and only string options, or typed ones that couldn't be read, are resolved from their string value.
+     *
+     * @param sender  The sender.
+     * @param options The options of the interaction.
+     */
+    public void executeInteraction(@NotNull final S sender, @NotNull final List<OptionMapping> options) {
+        final int size = optionReaders.length;
+        final String[] raw = new String[size];
+        final Object[] resolved = new Object[size];
+
+        for (int i = 0; i < options.size(); i++) {
+            final OptionMapping option = options.get(i);
+            final Integer index = optionIndexes.get(option.getName());
+            if (index == null) continue;
+
+            final Function<OptionMapping, Object> reader = optionReaders[index];
+            final Object value = reader != null ? reader.apply(option) : null;
+            if (value != null) {
+                resolved[index] = value;
+                continue;
+            }
+
+            raw[index] = option.getAsString();
+        }
+
+        execute(sender, Arrays.asList(raw), resolved);
+    }
+
+    /**
+     * Gets the argument an option fills.
+     *
+     * @param name The name of the option.
+     * @return The argument or null if the sub command has no option with that name.
+     */
+    @Nullable
+    public InternalArgument<S, ?> getOptionArgument(@NotNull final String name) {
+        final Integer index = optionIndexes.get(name);
+        return index != null ? getArguments().get(index) : null;
+    }
+
+    /**
+     * Gets the string value of every option in argument order, empty for the ones not given.
+     *
+     * @param options The options of the interaction.
+     * @return The values, one per argument.
+     */
+    @NotNull
+    public List<String> getOptionValues(@NotNull final List<OptionMapping> options) {
+        final String[] values = new String[optionReaders.length];
+        Arrays.fill(values, "");
+
+        for (int i = 0; i < options.size(); i++) {
+            final OptionMapping option = options.get(i);
+            final Integer index = optionIndexes.get(option.getName());
+            if (index != null) values[index] = option.getAsString();
+        }
+
+        return Arrays.asList(values);
     }
 
     public String getDescription() {
@@ -63,17 +146,21 @@ final class SlashSubCommand<S> extends AbstractSubCommand<S> {
         for (int i = 0; i < internalArguments.size(); i++) {
             final InternalArgument<S, ?> internalArgument = internalArguments.get(i);
 
+            final OptionType type = JdaOptionUtil.fromType(internalArgument.getType());
             final OptionData option = new OptionData(
-                    JdaOptionUtil.fromType(internalArgument.getType()),
+                    type,
                     internalArgument.getName(),
                     internalArgument.getDescription(),
                     !internalArgument.isOptional()
             );
-            option.setAutoComplete(true);
             options.add(option);
 
+            // Discord doesn't allow autocomplete on options with choices, and suggestions are always strings
             final Choice suggestion = getChoice(i);
-            if (suggestion instanceof EmptyChoice) continue;
+            if (suggestion instanceof EmptyChoice) {
+                option.setAutoComplete(type == OptionType.STRING);
+                continue;
+            }
 
             option.addChoices(suggestion.getChoices().stream().map(it -> new Command.Choice(it, it)).limit(25).collect(Collectors.toList()));
         }
@@ -62,6 +62,9 @@ final class SlashSubCommandProcessor<S> extends AbstractSubCommandProcessor<S> {
 
     private final List<Choice> choices;
 
+    // Discord drops interactions not answered within 3 seconds, this leaves the command time to reply after resolving
+    private static final long DEFAULT_RESOLUTION_TIMEOUT_MILLIS = 2000L;
+
     public SlashSubCommandProcessor(
             @NotNull final BaseCommand baseCommand,
             @NotNull final String parentName,
@@ -79,6 +82,11 @@ final class SlashSubCommandProcessor<S> extends AbstractSubCommandProcessor<S> {
         this.choices = extractChoices(method, baseCommand.getClass());
     }
 
+    @Override
+    protected long getDefaultResolutionTimeoutMillis() {
+        return DEFAULT_RESOLUTION_TIMEOUT_MILLIS;
+    }
+
     @Override
     protected List<BiConsumer<Boolean, InternalArgument<S, ?>>> getArgValidations() {
         return Collections.singletonList(validateLimitless());
@@ -89,7 +97,6 @@ final class SlashSubCommandProcessor<S> extends AbstractSubCommandProcessor<S> {
         return choices;
     }
 
-
     public List<Choice> extractChoices(
             @NotNull final Method method,
             @NotNull final Class<? extends BaseCommand> commandClass
@@ -23,20 +23,41 @@
  */
 package dev.triumphteam.cmd.slash.choices;
 
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 public final class ChoiceRegistry {
 
-    private final Map<ChoiceKey, Supplier<List<String>>> suggestions = new HashMap<>();
+    private final RegistryMap<ChoiceKey, Supplier<List<String>>> suggestions = new RegistryMap<>();
+
+    // Bumped whenever registered choices change, so built command data knows it's out of date
+    private final AtomicLong version = new AtomicLong();
 
     public void register(@NotNull final ChoiceKey key, @NotNull final Supplier<List<String>> resolver) {
-        suggestions.put(key, resolver);
+        if (suggestions.put(key, resolver) != null) version.incrementAndGet();
+    }
+
+    /**
+     * Marks the choices of the given key as changed, so commands using them rebuild their data on the next update.
+     *
+     * @param key The key of the choices that changed.
+     */
+    public void invalidate(@NotNull final ChoiceKey key) {
+        if (suggestions.containsKey(key)) version.incrementAndGet();
+    }
+
+    /**
+     * Gets the current version of the registered choices, it changes every time any of them is invalidated.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     @Nullable
@@ -0,0 +1,87 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The REST calls the {@link CommandSynchronizer} needs to push commands to Discord.
+ * Every call targets a scope, which is either {@link #GLOBAL} or the id of a guild.
+ * The default implementation is {@link JdaCommandSyncClient}, a stand-in can be used to run the synchronization offline.
+ */
+public interface CommandSyncClient {
+
+    /**
+     * The scope of the global commands, snowflakes are never 0.
+     */
+    long GLOBAL = 0L;
+
+    /**
+     * Creates or replaces a single command.
+     *
+     * @param scope The scope of the command.
+     * @param data  The command payload.
+     * @return A future with the id of the command.
+     */
+    @NotNull
+    CompletableFuture<Long> upsert(final long scope, @NotNull final SlashCommandData data);
+
+    /**
+     * Deletes a single command.
+     *
+     * @param scope     The scope of the command.
+     * @param commandId The id of the command.
+     * @return A future completed once it's deleted.
+     */
+    @NotNull
+    CompletableFuture<Void> delete(final long scope, final long commandId);
+
+    /**
+     * Replaces every command of the scope with the given ones.
+     *
+     * @param scope    The scope of the commands.
+     * @param commands The command payloads.
+     * @return A future with the id of each command, mapped by name.
+     */
+    @NotNull
+    CompletableFuture<Map<String, Long>> overwrite(final long scope, @NotNull final Collection<SlashCommandData> commands);
+
+    /**
+     * Replaces the privileges of the commands of a guild.
+     *
+     * @param guildId    The id of the guild.
+     * @param privileges The privileges, mapped by command id.
+     * @return A future completed once they're updated.
+     */
+    @NotNull
+    CompletableFuture<Void> updatePrivileges(final long guildId, @NotNull final Map<Long, List<CommandPrivilege>> privileges);
+
+}
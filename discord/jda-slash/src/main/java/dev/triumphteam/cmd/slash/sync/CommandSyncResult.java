@@ -21,9 +21,24 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package dev.triumphteam.cmd.core.flag.internal;
+package dev.triumphteam.cmd.slash.sync;
 
-public final class EmptyFlagValue implements FlagValue {
+/**
+ * What a {@link CommandSynchronizer} had to do to bring a scope up to date.
+ */
+public enum CommandSyncResult {
+
+    /**
+     * Nothing changed since the last synchronization, no request was sent.
+     */
+    UNCHANGED,
+    /**
+     * Only the commands that changed were created, replaced or deleted.
+     */
+    UPDATED,
+    /**
+     * Every command of the scope was replaced at once, used when the scope has no known state.
+     */
+    OVERWRITTEN
 
-    public static final EmptyFlagValue INSTANCE = new EmptyFlagValue();
 }
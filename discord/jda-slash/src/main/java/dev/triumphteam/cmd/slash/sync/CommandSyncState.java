@@ -0,0 +1,227 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The hash and id of every command as of the last successful synchronization, per scope.
+ * It can be kept in a file, so a restart doesn't have to push every command again, or only in memory.
+ * The file is a properties file with one <code>scope/name=hash:privilegesHash:id</code> line per command, and it's replaced
+ * atomically on every save so a crash never leaves it half written.
+ */
+public final class CommandSyncState {
+
+    private final Path file;
+    private final Map<Long, Map<String, Entry>> scopes = new HashMap<>();
+
+    private CommandSyncState(@Nullable final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates a state that's only kept in memory.
+     *
+     * @return A new empty {@link CommandSyncState}.
+     */
+    @NotNull
+    @Contract(" -> new")
+    public static CommandSyncState inMemory() {
+        return new CommandSyncState(null);
+    }
+
+    /**
+     * Creates a state kept in the given file, loading it if it exists.
+     *
+     * @param file The file to load from and save to.
+     * @return A new {@link CommandSyncState}.
+     * @throws UncheckedIOException If the file exists but can't be read.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static CommandSyncState load(@NotNull final Path file) {
+        final CommandSyncState state = new CommandSyncState(file);
+        if (!Files.exists(file)) return state;
+
+        final Properties properties = new Properties();
+        try (final InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Could not read the command sync state from " + file, exception);
+        }
+
+        for (final String key : properties.stringPropertyNames()) {
+            final int separator = key.indexOf('/');
+            final String value = properties.getProperty(key);
+            final int hashSeparator = value.indexOf(':');
+            final int idSeparator = value.lastIndexOf(':');
+            if (separator < 0 || idSeparator < 0) continue;
+
+            // Lines without a privileges hash are from older versions, their privileges are simply sent again
+            final String privilegesHash = hashSeparator == idSeparator ? "" : value.substring(hashSeparator + 1, idSeparator);
+
+            try {
+                final long scope = Long.parseUnsignedLong(key.substring(0, separator));
+                final long id = Long.parseUnsignedLong(value.substring(idSeparator + 1));
+                state.scopes
+                        .computeIfAbsent(scope, ignored -> new HashMap<>())
+                        .put(key.substring(separator + 1), new Entry(value.substring(0, hashSeparator), privilegesHash, id));
+            } catch (final NumberFormatException ignored) {
+                // A broken line only means that command is pushed again
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Gets the commands of a scope as of the last synchronization.
+     *
+     * @param scope The scope.
+     * @return An unmodifiable copy of the entries, mapped by command name.
+     */
+    @NotNull
+    public synchronized Map<String, Entry> get(final long scope) {
+        final Map<String, Entry> entries = scopes.get(scope);
+        if (entries == null) return Collections.emptyMap();
+        return Collections.unmodifiableMap(new HashMap<>(entries));
+    }
+
+    /**
+     * Replaces the commands of a scope.
+     *
+     * @param scope   The scope.
+     * @param entries The new entries, mapped by command name.
+     */
+    public synchronized void put(final long scope, @NotNull final Map<String, Entry> entries) {
+        if (entries.isEmpty()) {
+            scopes.remove(scope);
+            return;
+        }
+
+        scopes.put(scope, new HashMap<>(entries));
+    }
+
+    /**
+     * Writes the state to its file, if it has one.
+     *
+     * @throws UncheckedIOException If the file can't be written.
+     */
+    public void save() {
+        if (file == null) return;
+
+        final Properties properties = new Properties();
+        synchronized (this) {
+            scopes.forEach((scope, entries) -> entries.forEach((name, entry) ->
+                    properties.setProperty(
+                            Long.toUnsignedString(scope) + '/' + name,
+                            entry.hash + ':' + entry.privilegesHash + ':' + Long.toUnsignedString(entry.id)
+                    )
+            ));
+        }
+
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            final Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (final OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, "Last synchronized slash commands, delete to push every command again");
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Could not write the command sync state to " + file, exception);
+        }
+    }
+
+    @NotNull
+    @Override
+    public synchronized String toString() {
+        return "CommandSyncState{" +
+                "file=" + file +
+                ", scopes=" + scopes.size() +
+                '}';
+    }
+
+    /**
+     * The state of a single synchronized command.
+     * The privileges hash is empty until the privileges of the command were successfully sent.
+     */
+    public static final class Entry {
+
+        private final String hash;
+        private final String privilegesHash;
+        private final long id;
+
+        public Entry(@NotNull final String hash, @NotNull final String privilegesHash, final long id) {
+            this.hash = hash;
+            this.privilegesHash = privilegesHash;
+            this.id = id;
+        }
+
+        @NotNull
+        public String getHash() {
+            return hash;
+        }
+
+        @NotNull
+        public String getPrivilegesHash() {
+            return privilegesHash;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "hash=" + hash +
+                    ", privilegesHash=" + privilegesHash +
+                    ", id=" + id +
+                    '}';
+        }
+    }
+}
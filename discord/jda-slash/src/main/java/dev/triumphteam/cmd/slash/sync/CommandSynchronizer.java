@@ -0,0 +1,519 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes slash commands to Discord, only sending what changed since the last synchronization.
+ * Each command is compared by the hash of its payload against the {@link CommandSyncState}: changed and new commands
+ * are upserted, commands that are gone are deleted and an unchanged scope sends nothing at all.
+ * A scope without any known state is overwritten in a single request instead.
+ *
+ * <p>Scopes are queued and started in batches, at most {@link Builder#batchSize(int)} every
+ * {@link Builder#interval(Duration)}, so a restart with thousands of guilds doesn't flood the REST queue.
+ * Queuing a scope that's still waiting replaces its commands, and a scope is never synchronized twice at once.
+ * The state file is written by the same scheduler, at most once every {@link Builder#saveInterval(Duration)}
+ * and once the queue is done, rather than after every scope.</p>
+ */
+public final class CommandSynchronizer implements AutoCloseable {
+
+    private final CommandSyncClient client;
+    private final CommandSyncState state;
+    private final int batchSize;
+    private final long saveInterval;
+    private final ScheduledExecutorService scheduler;
+
+    // Writes of the state file are done under the save lock, dirty is also set without it when the state changes
+    private final Object saveLock = new Object();
+    private volatile boolean dirty = false;
+    private long lastSave = System.nanoTime();
+
+    // Both guarded by this
+    private final Map<Long, PendingSync> pending = new LinkedHashMap<>();
+    private final Set<Long> running = new HashSet<>();
+
+    private CommandSynchronizer(@NotNull final Builder builder) {
+        this.client = builder.client;
+        this.state = builder.state;
+        this.batchSize = builder.batchSize;
+        this.saveInterval = builder.saveInterval.toNanos();
+
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "triumph-cmd-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = builder.interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::startBatch, interval, interval, TimeUnit.NANOSECONDS);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates a new builder for the {@link CommandSynchronizer}.
+     *
+     * @param client The client used to send the requests.
+     * @return A new {@link Builder}.
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static Builder builder(@NotNull final CommandSyncClient client) {
+        return new Builder(client);
+    }
+
+    /**
+     * Queues the synchronization of a scope.
+     *
+     * @param scope    The scope, {@link CommandSyncClient#GLOBAL} or a guild id.
+     * @param commands Every command the scope should have.
+     * @return A future with what had to be done, completed exceptionally if any request failed.
+     */
+    @NotNull
+    public synchronized CompletableFuture<CommandSyncResult> sync(final long scope, @NotNull final Collection<SyncCommand> commands) {
+        final PendingSync existing = pending.get(scope);
+        if (existing != null) {
+            existing.commands = new ArrayList<>(commands);
+            return existing.future;
+        }
+
+        final PendingSync sync = new PendingSync(new ArrayList<>(commands));
+        pending.put(scope, sync);
+        return sync.future;
+    }
+
+    /**
+     * Gets the state the synchronizer compares against.
+     *
+     * @return The {@link CommandSyncState}.
+     */
+    @NotNull
+    public CommandSyncState getState() {
+        return state;
+    }
+
+    /**
+     * Gets how many scopes are waiting to be synchronized.
+     *
+     * @return The amount of queued scopes.
+     */
+    public synchronized int getQueueSize() {
+        return pending.size();
+    }
+
+    /**
+     * Stops starting new batches and writes the state, the ones already running still finish and save when they do.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush(true);
+    }
+
+    /**
+     * Starts the next batch of queued scopes, skipping the ones still running.
+     */
+    private void startBatch() {
+        flush(false);
+
+        final Map<Long, PendingSync> batch = new LinkedHashMap<>();
+        synchronized (this) {
+            final Iterator<Map.Entry<Long, PendingSync>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                final Map.Entry<Long, PendingSync> entry = iterator.next();
+                if (running.contains(entry.getKey())) continue;
+
+                iterator.remove();
+                running.add(entry.getKey());
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        batch.forEach((scope, sync) -> {
+            CompletableFuture<CommandSyncResult> result;
+            try {
+                result = synchronize(scope, sync.commands);
+            } catch (final Throwable throwable) {
+                result = new CompletableFuture<>();
+                result.completeExceptionally(throwable);
+            }
+
+            result.whenComplete((value, throwable) -> {
+                synchronized (this) {
+                    running.remove(scope);
+                }
+
+                if (throwable != null) sync.future.completeExceptionally(unwrap(throwable));
+                else sync.future.complete(value);
+            });
+        });
+    }
+
+    /**
+     * Compares the commands with the last known state of the scope and sends only what's needed.
+     *
+     * @param scope    The scope to synchronize.
+     * @param commands Every command the scope should have.
+     * @return A future with what had to be done.
+     */
+    @NotNull
+    private CompletableFuture<CommandSyncResult> synchronize(final long scope, @NotNull final List<SyncCommand> commands) {
+        final Map<String, SyncCommand> current = new LinkedHashMap<>();
+        for (final SyncCommand command : commands) {
+            current.put(command.getName(), command);
+        }
+
+        final Map<String, CommandSyncState.Entry> stored = state.get(scope);
+
+        final List<SyncCommand> changed = new ArrayList<>();
+        for (final SyncCommand command : current.values()) {
+            final CommandSyncState.Entry entry = stored.get(command.getName());
+            if (entry == null || !entry.getHash().equals(command.getHash())) changed.add(command);
+        }
+
+        final List<String> removed = new ArrayList<>();
+        for (final String name : stored.keySet()) {
+            if (!current.containsKey(name)) removed.add(name);
+        }
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            if (!needsPrivileges(scope, current, stored)) return CompletableFuture.completedFuture(CommandSyncResult.UNCHANGED);
+            return updatePrivileges(scope, current, new HashMap<>(stored), CommandSyncResult.UPDATED);
+        }
+
+        if (stored.isEmpty()) {
+            final List<SlashCommandData> data = new ArrayList<>();
+            for (final SyncCommand command : current.values()) {
+                data.add(command.getData());
+            }
+
+            return client.overwrite(scope, data).thenCompose(ids -> {
+                final Map<String, CommandSyncState.Entry> entries = new HashMap<>();
+                ids.forEach((name, id) -> {
+                    final SyncCommand command = current.get(name);
+                    if (command != null) entries.put(name, new CommandSyncState.Entry(command.getHash(), "", id));
+                });
+
+                save(scope, entries);
+                return updatePrivileges(scope, current, entries, CommandSyncResult.OVERWRITTEN);
+            });
+        }
+
+        // Every request is tracked on its own, so the ones that succeeded are saved even if others fail
+        final Map<String, CommandSyncState.Entry> entries = new HashMap<>(stored);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<CompletableFuture<?>> requests = new ArrayList<>();
+
+        for (final SyncCommand command : changed) {
+            requests.add(client.upsert(scope, command.getData()).handle((id, throwable) -> {
+                if (throwable != null) {
+                    failure.compareAndSet(null, throwable);
+                    return null;
+                }
+
+                synchronized (entries) {
+                    // The id of an updated command doesn't change, and neither do its privileges
+                    final CommandSyncState.Entry previous = entries.get(command.getName());
+                    final String privilegesHash = previous != null && previous.getId() == id ? previous.getPrivilegesHash() : "";
+                    entries.put(command.getName(), new CommandSyncState.Entry(command.getHash(), privilegesHash, id));
+                }
+                return null;
+            }));
+        }
+
+        for (final String name : removed) {
+            requests.add(client.delete(scope, stored.get(name).getId()).handle((ignored, throwable) -> {
+                if (throwable != null) {
+                    failure.compareAndSet(null, throwable);
+                    return null;
+                }
+
+                synchronized (entries) {
+                    entries.remove(name);
+                }
+                return null;
+            }));
+        }
+
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+            save(scope, entries);
+
+            final Throwable throwable = failure.get();
+            if (throwable != null) throw new CompletionException(throwable);
+            return updatePrivileges(scope, current, entries, CommandSyncResult.UPDATED);
+        });
+    }
+
+    /**
+     * Checks if any command of a guild has privileges that weren't successfully sent yet.
+     * Global commands have no privileges.
+     *
+     * @param scope    The scope being synchronized.
+     * @param commands The commands of the scope, mapped by name.
+     * @param entries  The synchronized entries.
+     * @return Whether the privileges of the scope have to be sent.
+     */
+    private boolean needsPrivileges(
+            final long scope,
+            @NotNull final Map<String, SyncCommand> commands,
+            @NotNull final Map<String, CommandSyncState.Entry> entries
+    ) {
+        if (scope == CommandSyncClient.GLOBAL) return false;
+
+        for (final SyncCommand command : commands.values()) {
+            final CommandSyncState.Entry entry = entries.get(command.getName());
+            if (entry != null && !entry.getPrivilegesHash().equals(command.getPrivilegesHash())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the privileges of every command of a guild, since Discord replaces them all at once.
+     * The privileges hashes are only saved once the request succeeds, so a failed one is retried on the next synchronization.
+     *
+     * @param scope    The scope that was synchronized.
+     * @param commands The commands of the scope, mapped by name.
+     * @param entries  The synchronized entries, with the command ids.
+     * @param result   The result to complete with.
+     * @return A future completed once the privileges are updated.
+     */
+    @NotNull
+    private CompletableFuture<CommandSyncResult> updatePrivileges(
+            final long scope,
+            @NotNull final Map<String, SyncCommand> commands,
+            @NotNull final Map<String, CommandSyncState.Entry> entries,
+            @NotNull final CommandSyncResult result
+    ) {
+        if (!needsPrivileges(scope, commands, entries)) return CompletableFuture.completedFuture(result);
+
+        final Map<Long, List<CommandPrivilege>> privileges = new HashMap<>();
+        commands.forEach((name, command) -> {
+            final CommandSyncState.Entry entry = entries.get(name);
+            if (entry == null || command.getPrivileges().isEmpty()) return;
+            privileges.put(entry.getId(), command.getPrivileges());
+        });
+
+        return client.updatePrivileges(scope, privileges).thenApply(ignored -> {
+            commands.forEach((name, command) -> {
+                final CommandSyncState.Entry entry = entries.get(name);
+                if (entry == null) return;
+                entries.put(name, new CommandSyncState.Entry(entry.getHash(), command.getPrivilegesHash(), entry.getId()));
+            });
+
+            save(scope, entries);
+            return result;
+        });
+    }
+
+    /**
+     * Stores the new entries of a scope, the file is only written by the scheduler, see {@link #flush(boolean)}.
+     *
+     * @param scope   The scope.
+     * @param entries The new entries.
+     */
+    private void save(final long scope, @NotNull final Map<String, CommandSyncState.Entry> entries) {
+        synchronized (entries) {
+            state.put(scope, entries);
+        }
+        dirty = true;
+
+        // Nothing else would write it once closed
+        if (scheduler.isShutdown()) flush(true);
+    }
+
+    /**
+     * Writes the state to its file if it changed, at most once every save interval,
+     * unless forced or the queue is done so the final state isn't left waiting.
+     * Writes never overlap, so a forced flush returns only once the file is up to date, even if the scheduler was writing it.
+     *
+     * @param force Whether to write it regardless of the interval.
+     */
+    private void flush(final boolean force) {
+        synchronized (saveLock) {
+            if (!dirty) return;
+
+            final boolean idle;
+            synchronized (this) {
+                idle = pending.isEmpty() && running.isEmpty();
+            }
+
+            final long now = System.nanoTime();
+            if (!force && !idle && now - lastSave < saveInterval) return;
+
+            dirty = false;
+            lastSave = now;
+            try {
+                state.save();
+            } catch (final Throwable throwable) {
+                dirty = true;
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        }
+    }
+
+    @NotNull
+    private static Throwable unwrap(@NotNull final Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) return throwable.getCause();
+        return throwable;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "CommandSynchronizer{" +
+                "client=" + client +
+                ", state=" + state +
+                ", batchSize=" + batchSize +
+                '}';
+    }
+
+    /**
+     * A scope waiting to be synchronized, its commands are replaced if it's queued again before starting.
+     */
+    private static final class PendingSync {
+
+        private final CompletableFuture<CommandSyncResult> future = new CompletableFuture<>();
+        private volatile List<SyncCommand> commands;
+
+        private PendingSync(@NotNull final List<SyncCommand> commands) {
+            this.commands = commands;
+        }
+    }
+
+    /**
+     * Builder for the {@link CommandSynchronizer}.
+     */
+    public static final class Builder {
+
+        private final CommandSyncClient client;
+        private CommandSyncState state = CommandSyncState.inMemory();
+        private int batchSize = 10;
+        private Duration interval = Duration.ofSeconds(1);
+        private Duration saveInterval = Duration.ofSeconds(10);
+
+        private Builder(@NotNull final CommandSyncClient client) {
+            this.client = client;
+        }
+
+        /**
+         * Sets the state to compare against, by default it's only kept in memory.
+         *
+         * @param state The {@link CommandSyncState}.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder state(@NotNull final CommandSyncState state) {
+            this.state = state;
+            return this;
+        }
+
+        /**
+         * Keeps the state in a file, so unchanged commands aren't pushed again after a restart.
+         *
+         * @param file The file to load the state from and save it to.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder stateFile(@NotNull final Path file) {
+            this.state = CommandSyncState.load(file);
+            return this;
+        }
+
+        /**
+         * Sets how many scopes can start in each interval.
+         *
+         * @param batchSize The amount of scopes per batch.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder batchSize(final int batchSize) {
+            if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets how often a new batch of scopes starts.
+         *
+         * @param interval The interval between batches.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder interval(@NotNull final Duration interval) {
+            if (interval.isNegative() || interval.isZero()) throw new IllegalArgumentException("Interval must be positive");
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Sets the least time between two writes of the state file while scopes are still being synchronized.
+         *
+         * @param saveInterval The interval between writes.
+         * @return This builder.
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Builder saveInterval(@NotNull final Duration saveInterval) {
+            if (saveInterval.isNegative()) throw new IllegalArgumentException("Save interval must not be negative");
+            this.saveInterval = saveInterval;
+            return this;
+        }
+
+        /**
+         * Creates the synchronizer and starts its scheduler.
+         *
+         * @return A new {@link CommandSynchronizer}.
+         */
+        @NotNull
+        @Contract(" -> new")
+        public CommandSynchronizer build() {
+            return new CommandSynchronizer(this);
+        }
+    }
+}
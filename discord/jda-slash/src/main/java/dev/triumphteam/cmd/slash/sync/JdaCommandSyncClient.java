@@ -0,0 +1,120 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CommandSyncClient} backed by JDA's REST actions, which already handle Discord's rate limits per route.
+ */
+public final class JdaCommandSyncClient implements CommandSyncClient {
+
+    private final JDA jda;
+
+    public JdaCommandSyncClient(@NotNull final JDA jda) {
+        this.jda = jda;
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Long> upsert(final long scope, @NotNull final SlashCommandData data) {
+        if (scope == GLOBAL) return jda.upsertCommand(data).submit().thenApply(Command::getIdLong);
+
+        final Guild guild = getGuild(scope);
+        if (guild == null) return unavailable(scope);
+        return guild.upsertCommand(data).submit().thenApply(Command::getIdLong);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Void> delete(final long scope, final long commandId) {
+        if (scope == GLOBAL) return jda.deleteCommandById(commandId).submit();
+
+        final Guild guild = getGuild(scope);
+        if (guild == null) return unavailable(scope);
+        return guild.deleteCommandById(commandId).submit();
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Map<String, Long>> overwrite(final long scope, @NotNull final Collection<SlashCommandData> commands) {
+        if (scope == GLOBAL) return jda.updateCommands().addCommands(commands).submit().thenApply(JdaCommandSyncClient::mapIds);
+
+        final Guild guild = getGuild(scope);
+        if (guild == null) return unavailable(scope);
+        return guild.updateCommands().addCommands(commands).submit().thenApply(JdaCommandSyncClient::mapIds);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Void> updatePrivileges(final long guildId, @NotNull final Map<Long, List<CommandPrivilege>> privileges) {
+        final Guild guild = getGuild(guildId);
+        if (guild == null) return unavailable(guildId);
+
+        final Map<String, List<CommandPrivilege>> byId = new HashMap<>();
+        privileges.forEach((id, commandPrivileges) -> byId.put(Long.toUnsignedString(id), commandPrivileges));
+        return guild.updateCommandPrivileges(byId).submit().thenApply(ignored -> null);
+    }
+
+    @Nullable
+    private Guild getGuild(final long guildId) {
+        return jda.getGuildById(guildId);
+    }
+
+    @NotNull
+    private static Map<String, Long> mapIds(@NotNull final List<Command> commands) {
+        final Map<String, Long> ids = new HashMap<>();
+        for (final Command command : commands) {
+            ids.put(command.getName(), command.getIdLong());
+        }
+        return ids;
+    }
+
+    @NotNull
+    private static <T> CompletableFuture<T> unavailable(final long guildId) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("Guild " + guildId + " isn't available"));
+        return future;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "JdaCommandSyncClient{" +
+                "jda=" + jda +
+                '}';
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A command to be synchronized, its payload together with the privileges it should have.
+ * The payload hash is a SHA-256 of the payload written as JSON with sorted keys, so it's the same across restarts and JVMs,
+ * unlike the order JDA happens to serialize it in. The privileges are hashed on their own, since they're sent separately.
+ */
+public final class SyncCommand {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SlashCommandData data;
+    private final List<CommandPrivilege> privileges;
+    private final String hash;
+    private final String privilegesHash;
+
+    private SyncCommand(@NotNull final SlashCommandData data, @NotNull final List<CommandPrivilege> privileges) {
+        this.data = data;
+        this.privileges = Collections.unmodifiableList(new ArrayList<>(privileges));
+
+        final StringBuilder payload = new StringBuilder();
+        appendCanonical(payload, data.toData());
+        this.hash = sha256(payload.toString());
+
+        // Privileges are a set for Discord, so their order doesn't matter either
+        final List<String> sortedPrivileges = new ArrayList<>();
+        for (final CommandPrivilege privilege : this.privileges) {
+            sortedPrivileges.add(privilege.getType() + ":" + privilege.getIdLong() + ":" + privilege.isEnabled());
+        }
+        Collections.sort(sortedPrivileges);
+        this.privilegesHash = sha256(sortedPrivileges.toString());
+    }
+
+    /**
+     * Creates a command to be synchronized.
+     *
+     * @param data       The command payload.
+     * @param privileges The privileges of the command, only applied in guilds.
+     * @return A new {@link SyncCommand}.
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static SyncCommand of(@NotNull final SlashCommandData data, @NotNull final List<CommandPrivilege> privileges) {
+        return new SyncCommand(data, privileges);
+    }
+
+    @NotNull
+    public String getName() {
+        return data.getName();
+    }
+
+    @NotNull
+    public SlashCommandData getData() {
+        return data;
+    }
+
+    @NotNull
+    public List<CommandPrivilege> getPrivileges() {
+        return privileges;
+    }
+
+    /**
+     * Gets the stable hash of the payload.
+     *
+     * @return The hash as a hex string.
+     */
+    @NotNull
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the stable hash of the privileges.
+     *
+     * @return The hash as a hex string.
+     */
+    @NotNull
+    public String getPrivilegesHash() {
+        return privilegesHash;
+    }
+
+    @NotNull
+    private static String sha256(@NotNull final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            final char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (final NoSuchAlgorithmException exception) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Writes the value as JSON, with the keys of every object sorted.
+     *
+     * @param builder The builder to write to.
+     * @param value   The value to write.
+     */
+    private static void appendCanonical(@NotNull final StringBuilder builder, final Object value) {
+        if (value instanceof DataObject) {
+            appendCanonical(builder, ((DataObject) value).toMap());
+            return;
+        }
+
+        if (value instanceof DataArray) {
+            appendCanonical(builder, ((DataArray) value).toList());
+            return;
+        }
+
+        if (value instanceof Map) {
+            final Map<String, Object> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((key, entry) -> sorted.put(String.valueOf(key), entry));
+
+            builder.append('{');
+            boolean first = true;
+            for (final Map.Entry<String, Object> entry : sorted.entrySet()) {
+                if (!first) builder.append(',');
+                first = false;
+                appendString(builder, entry.getKey());
+                builder.append(':');
+                appendCanonical(builder, entry.getValue());
+            }
+            builder.append('}');
+            return;
+        }
+
+        if (value instanceof List) {
+            builder.append('[');
+            boolean first = true;
+            for (final Object element : (List<?>) value) {
+                if (!first) builder.append(',');
+                first = false;
+                appendCanonical(builder, element);
+            }
+            builder.append(']');
+            return;
+        }
+
+        if (value instanceof String) {
+            appendString(builder, (String) value);
+            return;
+        }
+
+        builder.append(value);
+    }
+
+    private static void appendString(@NotNull final StringBuilder builder, @NotNull final String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character == '"' || character == '\\') builder.append('\\');
+            builder.append(character);
+        }
+        builder.append('"');
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "SyncCommand{" +
+                "name=" + getName() +
+                ", hash=" + hash +
+                ", privilegesHash=" + privilegesHash +
+                '}';
+    }
+}
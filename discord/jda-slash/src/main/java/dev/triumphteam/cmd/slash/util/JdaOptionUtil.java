@@ -29,15 +29,19 @@ import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 public final class JdaOptionUtil {
 
     private static final Map<Class<?>, OptionType> OPTION_TYPE_MAP;
+    private static final Map<Class<?>, Function<OptionMapping, Object>> OPTION_READER_MAP;
 
     static {
         final Map<Class<?>, OptionType> map = new HashMap<>();
@@ -58,6 +62,33 @@ public final class JdaOptionUtil {
         map.put(MessageChannel.class, OptionType.CHANNEL);
 
         OPTION_TYPE_MAP = ImmutableMap.copyOf(map);
+
+        final Map<Class<?>, Function<OptionMapping, Object>> readers = new HashMap<>();
+        final Function<OptionMapping, Object> shortReader = option -> {
+            final long value = option.getAsLong();
+            return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE ? (short) value : null;
+        };
+        final Function<OptionMapping, Object> intReader = option -> {
+            final long value = option.getAsLong();
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : null;
+        };
+        readers.put(Short.class, shortReader);
+        readers.put(short.class, shortReader);
+        readers.put(Integer.class, intReader);
+        readers.put(int.class, intReader);
+        readers.put(Long.class, OptionMapping::getAsLong);
+        readers.put(long.class, OptionMapping::getAsLong);
+        readers.put(Double.class, OptionMapping::getAsDouble);
+        readers.put(double.class, OptionMapping::getAsDouble);
+        readers.put(Boolean.class, OptionMapping::getAsBoolean);
+        readers.put(boolean.class, OptionMapping::getAsBoolean);
+        readers.put(Role.class, OptionMapping::getAsRole);
+        readers.put(User.class, OptionMapping::getAsUser);
+        readers.put(Member.class, OptionMapping::getAsMember);
+        readers.put(TextChannel.class, OptionMapping::getAsTextChannel);
+        readers.put(MessageChannel.class, OptionMapping::getAsMessageChannel);
+
+        OPTION_READER_MAP = ImmutableMap.copyOf(readers);
     }
 
     private JdaOptionUtil() {}
@@ -67,4 +98,22 @@ public final class JdaOptionUtil {
         return OPTION_TYPE_MAP.getOrDefault(type, OptionType.STRING);
     }
 
+    /**
+     * Gets a reader that takes the value straight from the typed {@link OptionMapping} accessors,
+     * so Discord's already resolved values don't go through a string and the argument resolver again.
+     * The reader returns null when the option doesn't have the expected type or the value doesn't fit,
+     * so the caller can fall back to resolving the option as a string.
+     *
+     * @param type The argument type.
+     * @return The reader or null if the type is sent as a string option.
+     */
+    @Nullable
+    public static Function<OptionMapping, Object> readerFor(@NotNull final Class<?> type) {
+        final Function<OptionMapping, Object> reader = OPTION_READER_MAP.get(type);
+        if (reader == null) return null;
+
+        final OptionType optionType = fromType(type);
+        return option -> option.getType() == optionType ? reader.apply(option) : null;
+    }
+
 }
@@ -0,0 +1,266 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Matt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.triumphteam.cmd.slash.sync;
+
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.privileges.CommandPrivilege;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandSynchronizerTest {
+
+    private static final long GUILD = 81384788765712384L;
+
+    private final RecordingSyncClient client = new RecordingSyncClient();
+    private final List<CommandSynchronizer> synchronizers = new ArrayList<>();
+
+    @AfterEach
+    void closeSynchronizers() {
+        synchronizers.forEach(CommandSynchronizer::close);
+    }
+
+    @Test
+    void hashIgnoresHowThePayloadWasBuilt() {
+        final SlashCommandData first = Commands.slash("ban", "Bans a member")
+                .addOption(OptionType.USER, "member", "The member", true)
+                .addOption(OptionType.STRING, "reason", "The reason");
+        final SlashCommandData second = Commands.slash("ban", "Bans a member")
+                .addOption(OptionType.USER, "member", "The member", true)
+                .addOption(OptionType.STRING, "reason", "The reason");
+
+        assertThat(command(first).getHash()).isEqualTo(command(second).getHash());
+        assertThat(command(Commands.slash("ban", "Bans someone")).getHash()).isNotEqualTo(command(first).getHash());
+
+        final List<CommandPrivilege> privileges = Arrays.asList(CommandPrivilege.enableUser(1L), CommandPrivilege.disableRole(2L));
+        final List<CommandPrivilege> reversed = new ArrayList<>(privileges);
+        Collections.reverse(reversed);
+        assertThat(SyncCommand.of(first, privileges).getPrivilegesHash())
+                .isEqualTo(SyncCommand.of(second, reversed).getPrivilegesHash())
+                .isNotEqualTo(command(first).getPrivilegesHash());
+    }
+
+    @Test
+    void unknownScopeIsOverwrittenThenLeftAlone() throws Exception {
+        final CommandSynchronizer synchronizer = synchronizer(CommandSyncState.inMemory());
+
+        assertThat(sync(synchronizer, CommandSyncClient.GLOBAL, slash("ping"), slash("help")))
+                .isEqualTo(CommandSyncResult.OVERWRITTEN);
+        assertThat(client.overwrites).isEqualTo(1);
+        assertThat(synchronizer.getState().get(CommandSyncClient.GLOBAL)).containsOnlyKeys("ping", "help");
+
+        assertThat(sync(synchronizer, CommandSyncClient.GLOBAL, slash("help"), slash("ping")))
+                .isEqualTo(CommandSyncResult.UNCHANGED);
+        assertThat(client.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyChangedCommandsAreSent() throws Exception {
+        final CommandSynchronizer synchronizer = synchronizer(CommandSyncState.inMemory());
+        sync(synchronizer, CommandSyncClient.GLOBAL, slash("ping"), slash("help"), slash("old"));
+        final long pingId = synchronizer.getState().get(CommandSyncClient.GLOBAL).get("ping").getId();
+
+        final SyncCommand changedHelp = command(Commands.slash("help", "Shows every command"));
+        assertThat(sync(synchronizer, CommandSyncClient.GLOBAL, slash("ping"), changedHelp, slash("new")))
+                .isEqualTo(CommandSyncResult.UPDATED);
+
+        assertThat(client.upserted).containsExactlyInAnyOrder("help", "new");
+        assertThat(client.deletes).isEqualTo(1);
+        assertThat(client.overwrites).isEqualTo(1);
+
+        final Map<String, CommandSyncState.Entry> entries = synchronizer.getState().get(CommandSyncClient.GLOBAL);
+        assertThat(entries).containsOnlyKeys("ping", "help", "new");
+        assertThat(entries.get("ping").getId()).isEqualTo(pingId);
+        assertThat(entries.get("help").getHash()).isEqualTo(changedHelp.getHash());
+    }
+
+    @Test
+    void successfulRequestsAreKeptWhenOthersFail() throws Exception {
+        final CommandSyncState state = CommandSyncState.inMemory();
+        final Map<String, CommandSyncState.Entry> stale = new HashMap<>();
+        // Discord doesn't know this id, so deleting it fails
+        stale.put("gone", new CommandSyncState.Entry("stale", "", 999L));
+        state.put(CommandSyncClient.GLOBAL, stale);
+        final CommandSynchronizer synchronizer = synchronizer(state);
+
+        final CompletableFuture<CommandSyncResult> future = synchronizer.sync(CommandSyncClient.GLOBAL, Collections.singletonList(slash("ping")));
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        // The upsert went through and the failed delete is retried on the next synchronization
+        assertThat(state.get(CommandSyncClient.GLOBAL)).containsOnlyKeys("ping", "gone");
+    }
+
+    @Test
+    void failedPrivilegesAreRetried() throws Exception {
+        final CommandSynchronizer synchronizer = synchronizer(CommandSyncState.inMemory());
+        final SyncCommand command = SyncCommand.of(Commands.slash("mod", "Moderation"), Collections.singletonList(CommandPrivilege.enableRole(5L)));
+
+        client.failPrivileges = true;
+        final CompletableFuture<CommandSyncResult> failed = synchronizer.sync(GUILD, Collections.singletonList(command));
+        assertThatThrownBy(() -> failed.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(client.privilegeUpdates).isEqualTo(1);
+
+        client.failPrivileges = false;
+        assertThat(sync(synchronizer, GUILD, command)).isEqualTo(CommandSyncResult.UPDATED);
+        assertThat(client.privilegeUpdates).isEqualTo(2);
+        assertThat(client.overwrites).isEqualTo(1);
+        assertThat(client.upserted).isEmpty();
+
+        assertThat(sync(synchronizer, GUILD, command)).isEqualTo(CommandSyncResult.UNCHANGED);
+        assertThat(client.privilegeUpdates).isEqualTo(2);
+    }
+
+    @Test
+    void globalCommandsNeverSendPrivileges() throws Exception {
+        final CommandSynchronizer synchronizer = synchronizer(CommandSyncState.inMemory());
+        final SyncCommand command = SyncCommand.of(Commands.slash("mod", "Moderation"), Collections.singletonList(CommandPrivilege.enableRole(5L)));
+
+        assertThat(sync(synchronizer, CommandSyncClient.GLOBAL, command)).isEqualTo(CommandSyncResult.OVERWRITTEN);
+        assertThat(sync(synchronizer, CommandSyncClient.GLOBAL, command)).isEqualTo(CommandSyncResult.UNCHANGED);
+        assertThat(client.privilegeUpdates).isZero();
+    }
+
+    @Test
+    void stateFileSkipsUnchangedCommandsAfterARestart(@TempDir final Path directory) throws Exception {
+        final Path file = directory.resolve("commands.properties");
+
+        final CommandSynchronizer first = synchronizer(CommandSyncState.load(file));
+        sync(first, GUILD, slash("ping"), slash("help"));
+        first.close();
+
+        final CommandSynchronizer second = synchronizer(CommandSyncState.load(file));
+        assertThat(sync(second, GUILD, slash("ping"), slash("help"))).isEqualTo(CommandSyncResult.UNCHANGED);
+        assertThat(sync(second, GUILD, slash("ping"))).isEqualTo(CommandSyncResult.UPDATED);
+        assertThat(client.overwrites).isEqualTo(1);
+        assertThat(client.deletes).isEqualTo(1);
+    }
+
+    private CommandSynchronizer synchronizer(final CommandSyncState state) {
+        final CommandSynchronizer synchronizer = CommandSynchronizer.builder(client)
+                .state(state)
+                .interval(Duration.ofMillis(5))
+                .build();
+        synchronizers.add(synchronizer);
+        return synchronizer;
+    }
+
+    private static CommandSyncResult sync(
+            final CommandSynchronizer synchronizer,
+            final long scope,
+            final SyncCommand... commands
+    ) throws Exception {
+        return synchronizer.sync(scope, Arrays.asList(commands)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static SyncCommand slash(final String name) {
+        return command(Commands.slash(name, "The " + name + " command"));
+    }
+
+    private static SyncCommand command(final SlashCommandData data) {
+        return SyncCommand.of(data, Collections.emptyList());
+    }
+
+    /**
+     * Client that keeps the commands of each scope in memory and records every request.
+     */
+    private static final class RecordingSyncClient implements CommandSyncClient {
+
+        private final AtomicLong ids = new AtomicLong(1000);
+        private final Map<Long, Map<String, Long>> scopes = new HashMap<>();
+        private final Set<String> upserted = Collections.synchronizedSet(new HashSet<>());
+
+        private volatile int deletes = 0;
+        private volatile int overwrites = 0;
+        private volatile int privilegeUpdates = 0;
+        private volatile boolean failPrivileges = false;
+
+        @Override
+        public synchronized CompletableFuture<Long> upsert(final long scope, final SlashCommandData data) {
+            upserted.add(data.getName());
+            return CompletableFuture.completedFuture(getScope(scope).computeIfAbsent(data.getName(), ignored -> ids.incrementAndGet()));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Void> delete(final long scope, final long commandId) {
+            deletes++;
+            if (getScope(scope).values().remove(commandId)) return CompletableFuture.completedFuture(null);
+            return failed(new IllegalStateException("Unknown command " + commandId));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Map<String, Long>> overwrite(final long scope, final Collection<SlashCommandData> commands) {
+            overwrites++;
+            final Map<String, Long> created = getScope(scope);
+            created.clear();
+            for (final SlashCommandData data : commands) {
+                created.put(data.getName(), ids.incrementAndGet());
+            }
+            return CompletableFuture.completedFuture(new HashMap<>(created));
+        }
+
+        @Override
+        public synchronized CompletableFuture<Void> updatePrivileges(final long guildId, final Map<Long, List<CommandPrivilege>> privileges) {
+            privilegeUpdates++;
+            if (failPrivileges) return failed(new IllegalStateException("Privileges rejected"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private synchronized int requests() {
+            return upserted.size() + deletes + overwrites + privilegeUpdates;
+        }
+
+        private Map<String, Long> getScope(final long scope) {
+            return scopes.computeIfAbsent(scope, ignored -> new HashMap<>());
+        }
+
+        private static <T> CompletableFuture<T> failed(final Throwable throwable) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(throwable);
+            return future;
+        }
+    }
+}
@@ -25,9 +25,9 @@ package dev.triumphteam.cmd.bukkit;
 
 import dev.triumphteam.cmd.bukkit.message.BukkitMessageKey;
 import dev.triumphteam.cmd.bukkit.message.NoPermissionMessageContext;
+import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.Command;
-import dev.triumphteam.cmd.core.SubCommand;
-import dev.triumphteam.cmd.core.annotation.Default;
+import dev.triumphteam.cmd.core.CommandTree;
 import dev.triumphteam.cmd.core.message.MessageKey;
 import dev.triumphteam.cmd.core.message.MessageRegistry;
 import dev.triumphteam.cmd.core.message.context.DefaultMessageContext;
@@ -35,13 +35,11 @@ import dev.triumphteam.cmd.core.registry.RegistryContainer;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 import static java.util.Collections.emptyList;
 
@@ -51,8 +49,9 @@ public final class BukkitCommand<S> extends org.bukkit.command.Command implement
 
     private final SenderMapper<CommandSender, S> senderMapper;
 
-    private final Map<String, BukkitSubCommand<S>> subCommands = new HashMap<>();
-    private final Map<String, BukkitSubCommand<S>> subCommandAliases = new HashMap<>();
+    // Rebuilt and republished on registration, so dispatching threads never need a lock
+    private volatile CommandTree<BukkitSubCommand<S>> subCommands = CommandTree.empty();
+    private volatile BukkitSubCommand<S> defaultSubCommand = null;
 
     @SuppressWarnings("unchecked")
     public BukkitCommand(@NotNull final String name, @NotNull final BukkitCommandProcessor<S> processor) {
@@ -68,30 +67,58 @@ public final class BukkitCommand<S> extends org.bukkit.command.Command implement
      * {@inheritDoc}
      */
     @Override
-    public void addSubCommands(
+    public synchronized void addSubCommands(
             @NotNull final Map<String, BukkitSubCommand<S>> subCommands,
             @NotNull final Map<String, BukkitSubCommand<S>> subCommandAliases
     ) {
-        this.subCommands.putAll(subCommands);
-        this.subCommandAliases.putAll(subCommandAliases);
+        final CommandTree.Builder<BukkitSubCommand<S>> builder = this.subCommands.toBuilder();
+        subCommands.forEach((name, subCommand) -> {
+            if (subCommand.isDefault()) {
+                defaultSubCommand = subCommand;
+                return;
+            }
+
+            builder.name(name, subCommand);
+        });
+        subCommandAliases.forEach(builder::alias);
+
+        this.subCommands = builder.build();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public boolean execute(@NotNull final CommandSender sender, @NotNull final String commandLabel, @NotNull final String[] args) {
-        BukkitSubCommand<S> subCommand = getDefaultSubCommand();
+    public boolean removeSubCommands(@NotNull final BaseCommand baseCommand) {
+        return removeSubCommandsIf(it -> it.getBaseCommand() == baseCommand);
+    }
 
-        String subCommandName = "";
-        if (args.length > 0) subCommandName = args[0].toLowerCase();
-        if (subCommand == null || subCommandExists(subCommandName)) {
-            subCommand = getSubCommand(subCommandName);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean removeSubCommandsIf(@NotNull final Predicate<? super BukkitSubCommand<S>> filter) {
+        final BukkitSubCommand<S> defaultSubCommand = this.defaultSubCommand;
+        if (defaultSubCommand != null && filter.test(defaultSubCommand)) {
+            this.defaultSubCommand = null;
         }
 
+        this.subCommands = subCommands.toBuilder().removeIf(filter).build();
+        return subCommands.isEmpty() && this.defaultSubCommand == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(@NotNull final CommandSender sender, @NotNull final String commandLabel, @NotNull final String[] args) {
+        BukkitSubCommand<S> subCommand = args.length > 0 ? subCommands.get(args[0]) : null;
+        if (subCommand == null) subCommand = defaultSubCommand;
+
         final S mappedSender = senderMapper.map(sender);
 
         if (subCommand == null || (args.length > 0 && subCommand.isDefault() && !subCommand.hasArguments())) {
+            final String subCommandName = args.length > 0 ? args[0].toLowerCase() : "";
             messageRegistry.sendMessage(MessageKey.UNKNOWN_COMMAND, mappedSender, new DefaultMessageContext(getName(), subCommandName));
             return true;
         }
@@ -112,19 +139,20 @@ public final class BukkitCommand<S> extends org.bukkit.command.Command implement
     @Override
     public List<String> tabComplete(@NotNull final CommandSender sender, @NotNull final String alias, @NotNull final String[] args) throws IllegalArgumentException {
         if (args.length == 0) return emptyList();
-        BukkitSubCommand<S> subCommand = getDefaultSubCommand();
+        BukkitSubCommand<S> subCommand = defaultSubCommand;
 
-        final String arg = args[0].toLowerCase();
+        final String arg = args[0];
 
         if (args.length == 1 && (subCommand == null || !subCommand.hasArguments())) {
-            return subCommands.entrySet().stream().filter(it -> !it.getValue().isDefault()).filter(it -> it.getKey().startsWith(arg)).filter(it -> {
-                final String permission = it.getValue().getPermission();
+            return subCommands.complete(arg, it -> {
+                final String permission = it.getPermission();
                 if (permission.isEmpty()) return true;
                 return sender.hasPermission(permission);
-            }).map(Map.Entry::getKey).collect(Collectors.toList());
+            });
         }
 
-        if (subCommandExists(arg)) subCommand = getSubCommand(arg);
+        final BukkitSubCommand<S> found = subCommands.get(arg);
+        if (found != null) subCommand = found;
         if (subCommand == null) return emptyList();
 
         final String permission = subCommand.getPermission();
@@ -135,37 +163,4 @@ public final class BukkitCommand<S> extends org.bukkit.command.Command implement
         final List<String> commandArgs = Arrays.asList(args);
         return subCommand.getSuggestions(mappedSender, !subCommand.isDefault() ? commandArgs.subList(1, commandArgs.size()) : commandArgs);
     }
-
-    /**
-     * Gets a default command if present.
-     *
-     * @return A default SubCommand.
-     */
-    @Nullable
-    private BukkitSubCommand<S> getDefaultSubCommand() {
-        return subCommands.get(Default.DEFAULT_CMD_NAME);
-    }
-
-    /**
-     * Used in order to search for the given {@link SubCommand<CommandSender>} in the {@link #subCommandAliases}
-     *
-     * @param key the String to look for the {@link SubCommand<CommandSender>}
-     * @return the {@link SubCommand<CommandSender>} for the particular key or NULL
-     */
-    @Nullable
-    private BukkitSubCommand<S> getSubCommand(@NotNull final String key) {
-        final BukkitSubCommand<S> subCommand = subCommands.get(key);
-        if (subCommand != null) return subCommand;
-        return subCommandAliases.get(key);
-    }
-
-    /**
-     * Checks if a SubCommand with the specified key exists.
-     *
-     * @param key the Key to check for
-     * @return whether a SubCommand with that key exists
-     */
-    private boolean subCommandExists(@NotNull final String key) {
-        return subCommands.containsKey(key) || subCommandAliases.containsKey(key);
-    }
 }
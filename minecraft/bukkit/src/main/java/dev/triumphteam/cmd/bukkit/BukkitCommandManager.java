@@ -26,11 +26,13 @@ package dev.triumphteam.cmd.bukkit;
 import dev.triumphteam.cmd.bukkit.message.BukkitMessageKey;
 import dev.triumphteam.cmd.core.BaseCommand;
 import dev.triumphteam.cmd.core.CommandManager;
+import dev.triumphteam.cmd.core.cache.CachePolicy;
 import dev.triumphteam.cmd.core.exceptions.CommandRegistrationException;
 import dev.triumphteam.cmd.core.execution.ExecutionProvider;
-import dev.triumphteam.cmd.core.execution.SyncExecutionProvider;
 import dev.triumphteam.cmd.core.message.MessageKey;
+import dev.triumphteam.cmd.core.processor.AbstractCommandProcessor;
 import dev.triumphteam.cmd.core.registry.RegistryContainer;
+import dev.triumphteam.cmd.core.registry.RegistryMap;
 import dev.triumphteam.cmd.core.sender.SenderMapper;
 import dev.triumphteam.cmd.core.sender.SenderValidator;
 import org.bukkit.Bukkit;
@@ -48,8 +50,11 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public final class BukkitCommandManager<S> extends CommandManager<CommandSender, S> {
@@ -57,9 +62,9 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
     private final Plugin plugin;
     private final RegistryContainer<S> registryContainer = new RegistryContainer<>();
 
-    private final Map<String, BukkitCommand<S>> commands = new HashMap<>();
+    private final RegistryMap<String, BukkitCommand<S>> commands = new RegistryMap<>();
 
-    private final ExecutionProvider syncExecutionProvider = new SyncExecutionProvider();
+    private final ExecutionProvider syncExecutionProvider;
     private final ExecutionProvider asyncExecutionProvider;
 
     private final CommandMap commandMap;
@@ -72,6 +77,7 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
     ) {
         super(senderMapper, senderValidator);
         this.plugin = plugin;
+        this.syncExecutionProvider = new BukkitSyncExecutionProvider(plugin);
         this.asyncExecutionProvider = new BukkitAsyncExecutionProvider(plugin);
 
         this.commandMap = getCommandMap();
@@ -116,9 +122,10 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
         return new BukkitCommandManager<>(plugin, senderMapper, senderValidator);
     }
 
+    @NotNull
     @Override
-    public void registerCommand(@NotNull final BaseCommand baseCommand) {
-        final BukkitCommandProcessor<S> processor = new BukkitCommandProcessor<>(
+    protected BukkitCommandProcessor<S> scanCommand(@NotNull final BaseCommand baseCommand) {
+        return new BukkitCommandProcessor<>(
                 baseCommand,
                 registryContainer,
                 getSenderMapper(),
@@ -126,7 +133,12 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
                 syncExecutionProvider,
                 asyncExecutionProvider
         );
+    }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void publishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> scanned) {
+        final BukkitCommandProcessor<S> processor = (BukkitCommandProcessor<S>) scanned;
         final BukkitCommand<S> command = commands.computeIfAbsent(processor.getName(), ignored -> createAndRegisterCommand(processor.getName(), processor));
         // Adding sub commands.
         command.addSubCommands(processor.getSubCommands(), processor.getSubCommandsAlias());
@@ -138,9 +150,50 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
         });
     }
 
+    /**
+     * Unregisters every sub command declared in the given {@link BaseCommand}.
+     * Commands left without sub commands are removed from the manager and from Bukkit's known commands,
+     * including the plugin prefixed label, after which the command list is resent to the players.
+     * Registering a new instance afterwards is how a module's commands are reloaded without a restart.
+     *
+     * @param command The {@link BaseCommand} to be unregistered.
+     */
     @Override
     public void unregisterCommand(@NotNull final BaseCommand command) {
-        // TODO add a remove functionality
+        if (removeSubCommands(it -> it.getBaseCommand() == command)) syncCommands();
+    }
+
+    /**
+     * Removes the sub commands published for the processor, leaving other registrations of its {@link BaseCommand} alone.
+     * Publishing doesn't resend the command list, so neither does this.
+     *
+     * @param processor The processor holding the published command.
+     */
+    @Override
+    protected void unpublishCommand(@NotNull final AbstractCommandProcessor<?, S, ?, ?> processor) {
+        removeSubCommands(processor::ownsSubCommand);
+    }
+
+    /**
+     * Removes every sub command matching the filter, and the commands left without sub commands.
+     *
+     * @param filter The filter for the sub commands to remove.
+     * @return Whether any command was removed.
+     */
+    private synchronized boolean removeSubCommands(@NotNull final Predicate<? super BukkitSubCommand<S>> filter) {
+        final List<BukkitCommand<S>> emptied = new ArrayList<>();
+        for (final BukkitCommand<S> bukkitCommand : commands.values()) {
+            if (bukkitCommand.removeSubCommandsIf(filter)) emptied.add(bukkitCommand);
+        }
+
+        if (emptied.isEmpty()) return false;
+
+        commands.removeIf((name, bukkitCommand) -> emptied.contains(bukkitCommand));
+        for (final BukkitCommand<S> bukkitCommand : emptied) {
+            bukkitCommands.values().removeIf(it -> it == bukkitCommand);
+            bukkitCommand.unregister(commandMap);
+        }
+        return true;
     }
 
     @NotNull
@@ -173,6 +226,7 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
         manager.registerMessage(MessageKey.TOO_MANY_ARGUMENTS, (sender, context) -> sender.sendMessage("Invalid usage."));
         manager.registerMessage(MessageKey.NOT_ENOUGH_ARGUMENTS, (sender, context) -> sender.sendMessage("Invalid usage."));
         manager.registerMessage(MessageKey.INVALID_ARGUMENT, (sender, context) -> sender.sendMessage("Invalid argument `" + context.getTypedArgument() + "` for type `" + context.getArgumentType().getSimpleName() + "`."));
+        manager.registerMessage(MessageKey.RESOLUTION_TIMEOUT, (sender, context) -> sender.sendMessage("The command took too long to respond, try again."));
 
         manager.registerMessage(BukkitMessageKey.NO_PERMISSION, (sender, context) -> sender.sendMessage("You do not have permission to perform this command. Permission needed: `" + context.getPermission() + "`."));
         manager.registerMessage(BukkitMessageKey.PLAYER_ONLY, (sender, context) -> sender.sendMessage("This command can only be used by players."));
@@ -182,7 +236,26 @@ public final class BukkitCommandManager<S> extends CommandManager<CommandSender,
         manager.registerArgument(Player.class, (sender, arg) -> Bukkit.getPlayer(arg));
         manager.registerArgument(World.class, (sender, arg) -> Bukkit.getWorld(arg));
 
-        manager.registerSuggestion(Player.class, (sender, context) -> Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()));
+        manager.registerSuggestion(
+                Player.class,
+                (sender, context) -> Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()),
+                CachePolicy.expireAfter(Duration.ofSeconds(1))
+        );
+    }
+
+    /**
+     * Resends the command list to online players, so removed commands stop showing up in their completions.
+     * Only exists on newer server versions, older ones don't keep a client side command list.
+     */
+    private void syncCommands() {
+        try {
+            final Server server = Bukkit.getServer();
+            final Method syncCommands = server.getClass().getDeclaredMethod("syncCommands");
+            syncCommands.setAccessible(true);
+            syncCommands.invoke(server);
+        } catch (final ReflectiveOperationException ignored) {
+            // Not available on this version, nothing to sync
+        }
     }
 
     /**
@@ -8,6 +8,8 @@ rootProject.name = "triumph-cmd"
 listOf(
     "core",
     "kotlin-extras",
+    "benchmarks",
+    "annotation-processor",
     // "cli"
 ).forEach(::includeProject)
 